@@ -0,0 +1,55 @@
+package com.mapbox.navigation.base.internal
+
+import android.content.Context
+import android.content.res.Configuration
+import android.content.res.Resources
+import java.lang.ref.WeakReference
+import java.util.Locale
+
+/**
+ * Keeps the [Resources] of a [Context] localized to a [Locale].
+ *
+ * Formatters run on every route progress update and creating a configuration context
+ * each time is expensive. The localized resources are reused as long as they are requested
+ * for the same context and the configuration of that context didn't change.
+ */
+object LocalizedResources {
+
+    private val cache = HashMap<Locale?, CacheEntry>()
+
+    /**
+     * Returns the resources of [context] localized to [locale].
+     *
+     * @param context to get the resources for
+     * @param locale to localize the resources to, *null* to keep the locale of the context
+     * @return localized [Resources]
+     */
+    @JvmStatic
+    @Synchronized
+    fun get(context: Context, locale: Locale?): Resources {
+        val configuration = context.resources.configuration
+        val entry = cache[locale]
+        if (entry != null &&
+            entry.context.get() === context &&
+            entry.configuration == configuration
+        ) {
+            return entry.resources
+        }
+        val localizedConfiguration = Configuration(configuration).also {
+            it.setLocale(locale)
+        }
+        val resources = context.createConfigurationContext(localizedConfiguration).resources
+        cache[locale] = CacheEntry(
+            WeakReference(context),
+            Configuration(configuration),
+            resources
+        )
+        return resources
+    }
+
+    private class CacheEntry(
+        val context: WeakReference<Context>,
+        val configuration: Configuration,
+        val resources: Resources
+    )
+}
@@ -1,7 +1,6 @@
 package com.mapbox.navigation.base.internal.time
 
 import android.content.Context
-import android.content.res.Configuration
 import android.content.res.Resources
 import android.graphics.Typeface
 import android.text.SpannableStringBuilder
@@ -9,6 +8,7 @@ import android.text.style.RelativeSizeSpan
 import android.text.style.StyleSpan
 import com.mapbox.navigation.base.R
 import com.mapbox.navigation.base.TimeFormat
+import com.mapbox.navigation.base.internal.LocalizedResources
 import com.mapbox.navigation.base.time.TimeFormattingChain
 import com.mapbox.navigation.base.time.span.SpanItem
 import com.mapbox.navigation.base.time.span.TextSpanItem
@@ -25,6 +25,9 @@ object TimeFormatter {
 
     private const val TIME_STRING_FORMAT = " %s "
 
+    private val twentyFourHourResolver by lazy { TimeFormattingChain().setup(true) }
+    private val twelveHourResolver by lazy { TimeFormattingChain().setup(false) }
+
     /**
      * Format time
      *
@@ -59,8 +62,12 @@ object TimeFormatter {
         @TimeFormat.Type type: Int,
         isDeviceTwentyFourHourFormat: Boolean
     ): String {
-        val chain = TimeFormattingChain()
-        return chain.setup(isDeviceTwentyFourHourFormat).obtainTimeFormatted(type, time)
+        val resolver = if (isDeviceTwentyFourHourFormat) {
+            twentyFourHourResolver
+        } else {
+            twelveHourResolver
+        }
+        return resolver.obtainTimeFormatted(type, time)
     }
 
     /**
@@ -89,7 +96,7 @@ object TimeFormatter {
         val minutes = hoursAndMinutes.second
 
         val textSpanItems = ArrayList<SpanItem>()
-        val resources = context.resourcesWithLocale(locale)
+        val resources = LocalizedResources.get(context, locale)
         formatDays(resources, days, textSpanItems)
         formatHours(resources, hours, textSpanItems)
         formatMinutes(resources, minutes, textSpanItems)
@@ -149,13 +156,6 @@ object TimeFormatter {
         }
     }
 
-    private fun Context.resourcesWithLocale(locale: Locale?): Resources {
-        val config = Configuration(this.resources.configuration).also {
-            it.setLocale(locale)
-        }
-        return this.createConfigurationContext(config).resources
-    }
-
     private fun getHoursAndMinutes(seconds: Long): Pair<Long, Long> {
         val initialHoursValue = TimeUnit.SECONDS.toHours(seconds)
         val leftOverSeconds = seconds - TimeUnit.HOURS.toSeconds(initialHoursValue)
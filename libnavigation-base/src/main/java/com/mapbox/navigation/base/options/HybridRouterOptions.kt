@@ -0,0 +1,100 @@
+package com.mapbox.navigation.base.options
+
+/**
+ * Defines how the default hybrid router combines the off-board and the on-board routers.
+ *
+ * By default the off-board router is used while the network is available and the on-board
+ * router is only tried once the off-board one fails.
+ * If [isRaceEnabled] is *true* and the network is available, the on-board router is also
+ * started when the off-board one hasn't answered within [onboardRouterDelayMillis].
+ * The first successful response is used and the other request is canceled.
+ *
+ * @param isRaceEnabled Boolean *true* if route requests should be raced, otherwise *false*
+ * @param onboardRouterDelayMillis time the off-board router has to answer before the on-board
+ * router is started too
+ */
+class HybridRouterOptions private constructor(
+    val isRaceEnabled: Boolean,
+    val onboardRouterDelayMillis: Long
+) {
+
+    /**
+     * Get a builder to customize a subset of current options.
+     */
+    fun toBuilder(): Builder = Builder().apply {
+        isRaceEnabled(isRaceEnabled)
+        onboardRouterDelayMillis(onboardRouterDelayMillis)
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as HybridRouterOptions
+
+        if (isRaceEnabled != other.isRaceEnabled) return false
+        if (onboardRouterDelayMillis != other.onboardRouterDelayMillis) return false
+
+        return true
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun hashCode(): Int {
+        var result = isRaceEnabled.hashCode()
+        result = 31 * result + onboardRouterDelayMillis.hashCode()
+        return result
+    }
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "HybridRouterOptions(" +
+            "isRaceEnabled=$isRaceEnabled, " +
+            "onboardRouterDelayMillis=$onboardRouterDelayMillis" +
+            ")"
+    }
+
+    /**
+     * Build a new [HybridRouterOptions]
+     */
+    class Builder {
+        private var isRaceEnabled: Boolean = false
+        private var onboardRouterDelayMillis: Long = DEFAULT_ONBOARD_ROUTER_DELAY_MILLIS
+
+        /**
+         * Defines if route requests are raced between the off-board and the on-board router.
+         * Defaults to *false*.
+         */
+        fun isRaceEnabled(flag: Boolean): Builder = apply {
+            this.isRaceEnabled = flag
+        }
+
+        /**
+         * Defines the time the off-board router has to answer before the on-board router
+         * is started too. Defaults to 1500 milliseconds.
+         */
+        fun onboardRouterDelayMillis(onboardRouterDelayMillis: Long): Builder = apply {
+            this.onboardRouterDelayMillis = onboardRouterDelayMillis
+        }
+
+        /**
+         * Build the [HybridRouterOptions]
+         */
+        fun build(): HybridRouterOptions {
+            return HybridRouterOptions(
+                isRaceEnabled = isRaceEnabled,
+                onboardRouterDelayMillis = onboardRouterDelayMillis
+            )
+        }
+    }
+
+    private companion object {
+        private const val DEFAULT_ONBOARD_ROUTER_DELAY_MILLIS = 1500L
+    }
+}
@@ -6,6 +6,7 @@ import com.mapbox.android.core.location.LocationEngineProvider
 import com.mapbox.android.core.location.LocationEngineRequest
 import com.mapbox.navigation.base.TimeFormat
 import com.mapbox.navigation.base.formatter.DistanceFormatterOptions
+import java.util.concurrent.Executor
 
 /**
  * Default navigator approximate prediction in milliseconds
@@ -16,6 +17,11 @@ import com.mapbox.navigation.base.formatter.DistanceFormatterOptions
  */
 const val DEFAULT_NAVIGATOR_PREDICTION_MILLIS = 1100L
 
+/**
+ * Default minimum time in milliseconds between two updates of the trip notification
+ */
+const val DEFAULT_NOTIFICATION_UPDATE_INTERVAL_MILLIS = 1000L
+
 /**
  * This value will be used to offset the time at which the current location was calculated
  * in such a way as to project the location forward along the current trajectory so as to
@@ -36,6 +42,16 @@ const val DEFAULT_NAVIGATOR_PREDICTION_MILLIS = 1100L
  * @param eHorizonOptions [EHorizonOptions] defines configuration for the Electronic Horizon
  * @param isRouteRefreshEnabled Boolean *true* if need to enable route refresh mechanism, otherwise *false*
  * @param incidentsOptions defines configuration for live incidents
+ * @param observerExecutor [Executor] used to notify observers that declare themselves thread-safe.
+ * If *null*, all observers are notified on the main thread.
+ * @param isSpeculativeRerouteEnabled Boolean *true* if routes from likely deviation points
+ * should be requested ahead of an off-route event, otherwise *false*. Every maneuver can cost
+ * up to 3 additional directions requests, which are billed like any other route request
+ * @param hybridRouterOptions [HybridRouterOptions] defines how the default router combines
+ * the off-board and on-board routers, applied to router modules implementing
+ * [com.mapbox.navigation.base.route.HybridRouter]
+ * @param routesCacheOptions [RoutesCacheOptions] defines the in-memory cache of route responses
+ * @param notificationUpdateIntervalMillis minimum time between two updates of the trip notification
  */
 class NavigationOptions private constructor(
     val applicationContext: Context,
@@ -53,6 +69,11 @@ class NavigationOptions private constructor(
     val eHorizonOptions: EHorizonOptions,
     val isRouteRefreshEnabled: Boolean,
     val incidentsOptions: IncidentsOptions,
+    val observerExecutor: Executor?,
+    val isSpeculativeRerouteEnabled: Boolean,
+    val hybridRouterOptions: HybridRouterOptions,
+    val routesCacheOptions: RoutesCacheOptions,
+    val notificationUpdateIntervalMillis: Long,
 ) {
 
     /**
@@ -73,6 +94,11 @@ class NavigationOptions private constructor(
         eHorizonOptions(eHorizonOptions)
         isRouteRefreshEnabled(isRouteRefreshEnabled)
         incidentsOptions(incidentsOptions)
+        observerExecutor(observerExecutor)
+        isSpeculativeRerouteEnabled(isSpeculativeRerouteEnabled)
+        hybridRouterOptions(hybridRouterOptions)
+        routesCacheOptions(routesCacheOptions)
+        notificationUpdateIntervalMillis(notificationUpdateIntervalMillis)
     }
 
     /**
@@ -99,6 +125,11 @@ class NavigationOptions private constructor(
         if (eHorizonOptions != other.eHorizonOptions) return false
         if (isRouteRefreshEnabled != other.isRouteRefreshEnabled) return false
         if (incidentsOptions != other.incidentsOptions) return false
+        if (observerExecutor != other.observerExecutor) return false
+        if (isSpeculativeRerouteEnabled != other.isSpeculativeRerouteEnabled) return false
+        if (hybridRouterOptions != other.hybridRouterOptions) return false
+        if (routesCacheOptions != other.routesCacheOptions) return false
+        if (notificationUpdateIntervalMillis != other.notificationUpdateIntervalMillis) return false
 
         return true
     }
@@ -122,6 +153,11 @@ class NavigationOptions private constructor(
         result = 31 * result + eHorizonOptions.hashCode()
         result = 31 * result + isRouteRefreshEnabled.hashCode()
         result = 31 * result + incidentsOptions.hashCode()
+        result = 31 * result + (observerExecutor?.hashCode() ?: 0)
+        result = 31 * result + isSpeculativeRerouteEnabled.hashCode()
+        result = 31 * result + hybridRouterOptions.hashCode()
+        result = 31 * result + routesCacheOptions.hashCode()
+        result = 31 * result + notificationUpdateIntervalMillis.hashCode()
         return result
     }
 
@@ -144,7 +180,12 @@ class NavigationOptions private constructor(
             "deviceProfile=$deviceProfile, " +
             "eHorizonOptions=$eHorizonOptions " +
             "isRouteRefreshEnabled=$isRouteRefreshEnabled " +
-            "incidentsOptions=$incidentsOptions" +
+            "incidentsOptions=$incidentsOptions, " +
+            "observerExecutor=$observerExecutor, " +
+            "isSpeculativeRerouteEnabled=$isSpeculativeRerouteEnabled, " +
+            "hybridRouterOptions=$hybridRouterOptions, " +
+            "routesCacheOptions=$routesCacheOptions, " +
+            "notificationUpdateIntervalMillis=$notificationUpdateIntervalMillis" +
             ")"
     }
 
@@ -175,6 +216,13 @@ class NavigationOptions private constructor(
         private var eHorizonOptions: EHorizonOptions = EHorizonOptions.Builder().build()
         private var isRouteRefreshEnabled: Boolean = true
         private var incidentsOptions: IncidentsOptions = IncidentsOptions.Builder().build()
+        private var observerExecutor: Executor? = null
+        private var isSpeculativeRerouteEnabled: Boolean = false
+        private var hybridRouterOptions: HybridRouterOptions =
+            HybridRouterOptions.Builder().build()
+        private var routesCacheOptions: RoutesCacheOptions = RoutesCacheOptions.Builder().build()
+        private var notificationUpdateIntervalMillis: Long =
+            DEFAULT_NOTIFICATION_UPDATE_INTERVAL_MILLIS
 
         /**
          * Defines [Mapbox Access Token](https://docs.mapbox.com/help/glossary/access-token/)
@@ -266,6 +314,54 @@ class NavigationOptions private constructor(
         fun incidentsOptions(incidentsOptions: IncidentsOptions): Builder =
             apply { this.incidentsOptions = incidentsOptions }
 
+        /**
+         * Defines the [Executor] used to notify route progress, location and map matcher result
+         * observers that implement `ThreadSafeObserver`. Only observers that update the UI
+         * are then notified on the main thread. The observers are notified one at a time,
+         * in the order of the updates, even if the executor runs tasks concurrently.
+         *
+         * Defaults to *null*, all observers are notified on the main thread.
+         */
+        fun observerExecutor(observerExecutor: Executor?): Builder =
+            apply { this.observerExecutor = observerExecutor }
+
+        /**
+         * Defines if speculative reroute is enabled.
+         *
+         * When the driver approaches a maneuver, the default reroute controller requests
+         * routes starting at the exits of the maneuver intersection that are not part of the route.
+         * If the driver misses the maneuver and goes off-route through one of them,
+         * the already fetched route is used instead of waiting for a new request.
+         *
+         * Enabling it results in additional route requests: up to 3 per maneuver, one for each
+         * exit of the maneuver intersection that isn't part of the route. Each of them is a
+         * directions request billed like any other, whether the candidate is used or not.
+         *
+         * Defaults to *false*.
+         */
+        fun isSpeculativeRerouteEnabled(flag: Boolean): Builder =
+            apply { this.isSpeculativeRerouteEnabled = flag }
+
+        /**
+         * Defines how the default router combines the off-board and on-board routers
+         */
+        fun hybridRouterOptions(hybridRouterOptions: HybridRouterOptions): Builder =
+            apply { this.hybridRouterOptions = hybridRouterOptions }
+
+        /**
+         * Defines the in-memory cache of route responses. Disabled by default.
+         */
+        fun routesCacheOptions(routesCacheOptions: RoutesCacheOptions): Builder =
+            apply { this.routesCacheOptions = routesCacheOptions }
+
+        /**
+         * Defines the minimum time between two updates of the trip notification.
+         * Changes that happen in between are shown together once the time has passed.
+         * Defaults to 1 second.
+         */
+        fun notificationUpdateIntervalMillis(notificationUpdateIntervalMillis: Long): Builder =
+            apply { this.notificationUpdateIntervalMillis = notificationUpdateIntervalMillis }
+
         /**
          * Build a new instance of [NavigationOptions]
          * @return NavigationOptions
@@ -288,6 +384,11 @@ class NavigationOptions private constructor(
                 eHorizonOptions = eHorizonOptions,
                 isRouteRefreshEnabled = isRouteRefreshEnabled,
                 incidentsOptions = incidentsOptions,
+                observerExecutor = observerExecutor,
+                isSpeculativeRerouteEnabled = isSpeculativeRerouteEnabled,
+                hybridRouterOptions = hybridRouterOptions,
+                routesCacheOptions = routesCacheOptions,
+                notificationUpdateIntervalMillis = notificationUpdateIntervalMillis,
             )
         }
     }
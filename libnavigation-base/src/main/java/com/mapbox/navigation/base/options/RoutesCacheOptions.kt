@@ -0,0 +1,133 @@
+package com.mapbox.navigation.base.options
+
+/**
+ * Defines the in-memory cache of route responses kept by the directions session.
+ *
+ * When enabled, a route request with the same options as a recent one is answered
+ * from the cache instead of the router. Coordinates of the requests are compared
+ * after being rounded to [coordinatesDecimalPlaces].
+ * Faster route and speculative reroute requests always go to the router,
+ * so that they are answered with up-to-date traffic.
+ *
+ * @param isEnabled Boolean *true* if route responses should be cached, otherwise *false*
+ * @param maxSizeBytes approximate maximum size of the cached responses
+ * @param timeToLiveMillis time after which a cached response is not used anymore
+ * @param coordinatesDecimalPlaces number of decimal places the coordinates of a request
+ * are rounded to before they are compared
+ */
+class RoutesCacheOptions private constructor(
+    val isEnabled: Boolean,
+    val maxSizeBytes: Long,
+    val timeToLiveMillis: Long,
+    val coordinatesDecimalPlaces: Int
+) {
+
+    /**
+     * Get a builder to customize a subset of current options.
+     */
+    fun toBuilder(): Builder = Builder().apply {
+        isEnabled(isEnabled)
+        maxSizeBytes(maxSizeBytes)
+        timeToLiveMillis(timeToLiveMillis)
+        coordinatesDecimalPlaces(coordinatesDecimalPlaces)
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as RoutesCacheOptions
+
+        if (isEnabled != other.isEnabled) return false
+        if (maxSizeBytes != other.maxSizeBytes) return false
+        if (timeToLiveMillis != other.timeToLiveMillis) return false
+        if (coordinatesDecimalPlaces != other.coordinatesDecimalPlaces) return false
+
+        return true
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun hashCode(): Int {
+        var result = isEnabled.hashCode()
+        result = 31 * result + maxSizeBytes.hashCode()
+        result = 31 * result + timeToLiveMillis.hashCode()
+        result = 31 * result + coordinatesDecimalPlaces
+        return result
+    }
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "RoutesCacheOptions(" +
+            "isEnabled=$isEnabled, " +
+            "maxSizeBytes=$maxSizeBytes, " +
+            "timeToLiveMillis=$timeToLiveMillis, " +
+            "coordinatesDecimalPlaces=$coordinatesDecimalPlaces" +
+            ")"
+    }
+
+    /**
+     * Build a new [RoutesCacheOptions]
+     */
+    class Builder {
+        private var isEnabled: Boolean = false
+        private var maxSizeBytes: Long = DEFAULT_MAX_SIZE_BYTES
+        private var timeToLiveMillis: Long = DEFAULT_TIME_TO_LIVE_MILLIS
+        private var coordinatesDecimalPlaces: Int = DEFAULT_COORDINATES_DECIMAL_PLACES
+
+        /**
+         * Defines if route responses are cached. Defaults to *false*.
+         */
+        fun isEnabled(flag: Boolean): Builder = apply {
+            this.isEnabled = flag
+        }
+
+        /**
+         * Defines the approximate maximum size of the cached responses,
+         * the least recently used responses are dropped first. Defaults to 4 MB.
+         */
+        fun maxSizeBytes(maxSizeBytes: Long): Builder = apply {
+            this.maxSizeBytes = maxSizeBytes
+        }
+
+        /**
+         * Defines the time after which a cached response is not used anymore.
+         * Defaults to 5 minutes.
+         */
+        fun timeToLiveMillis(timeToLiveMillis: Long): Builder = apply {
+            this.timeToLiveMillis = timeToLiveMillis
+        }
+
+        /**
+         * Defines the number of decimal places the coordinates of a request are rounded to
+         * before they are compared. Defaults to 4, about 11 meters.
+         */
+        fun coordinatesDecimalPlaces(coordinatesDecimalPlaces: Int): Builder = apply {
+            this.coordinatesDecimalPlaces = coordinatesDecimalPlaces
+        }
+
+        /**
+         * Build the [RoutesCacheOptions]
+         */
+        fun build(): RoutesCacheOptions {
+            return RoutesCacheOptions(
+                isEnabled = isEnabled,
+                maxSizeBytes = maxSizeBytes,
+                timeToLiveMillis = timeToLiveMillis,
+                coordinatesDecimalPlaces = coordinatesDecimalPlaces
+            )
+        }
+    }
+
+    private companion object {
+        private const val DEFAULT_MAX_SIZE_BYTES = 4L * 1024 * 1024
+        private const val DEFAULT_TIME_TO_LIVE_MILLIS = 5L * 60 * 1000
+        private const val DEFAULT_COORDINATES_DECIMAL_PLACES = 4
+    }
+}
@@ -0,0 +1,28 @@
+package com.mapbox.navigation.base.route
+
+import com.mapbox.navigation.base.options.HybridRouterOptions
+
+/**
+ * [Router] that combines an on-board and an off-board router.
+ *
+ * If the router module implements it, it's configured with the
+ * [com.mapbox.navigation.base.options.NavigationOptions.hybridRouterOptions]
+ * and its latencies are available via `MapboxNavigation#getRouterLatencyStats`.
+ */
+interface HybridRouter : Router {
+
+    /**
+     * Sets the options that define how the on-board and the off-board routers are combined.
+     * Applied to the route requests made after the call.
+     *
+     * @param hybridRouterOptions HybridRouterOptions
+     */
+    fun setHybridRouterOptions(hybridRouterOptions: HybridRouterOptions)
+
+    /**
+     * Returns the latencies of the successful route requests made so far.
+     *
+     * @return RouterLatencyStats
+     */
+    fun getLatencyStats(): RouterLatencyStats
+}
@@ -0,0 +1,83 @@
+package com.mapbox.navigation.base.route
+
+/**
+ * Histogram of the latencies of successful route requests made by a router.
+ *
+ * Latencies are counted in buckets bounded by [bucketUpperBoundsMillis],
+ * the last bucket counts all the latencies above the highest bound.
+ *
+ * @param bucketUpperBoundsMillis upper bounds of the buckets in milliseconds, inclusive
+ * @param counts number of requests in each bucket, the last item is the number of requests
+ * slower than the highest bound
+ */
+class RouterLatencyHistogram(
+    val bucketUpperBoundsMillis: List<Long>,
+    val counts: List<Long>
+) {
+
+    init {
+        require(counts.size == bucketUpperBoundsMillis.size + 1) {
+            "counts must have one item more than bucketUpperBoundsMillis"
+        }
+    }
+
+    /**
+     * Number of recorded requests.
+     */
+    val totalCount: Long = counts.sum()
+
+    /**
+     * Returns the upper bound of the bucket the [percentile] of the requests falls in,
+     * [Long.MAX_VALUE] if it's above the highest bound or *null* if nothing was recorded yet.
+     *
+     * @param percentile value between 0 and 1
+     */
+    fun getPercentileMillis(percentile: Double): Long? {
+        if (totalCount == 0L) {
+            return null
+        }
+        val target = (percentile * totalCount).coerceAtLeast(1.0)
+        var cumulative = 0L
+        for (bucket in bucketUpperBoundsMillis.indices) {
+            cumulative += counts[bucket]
+            if (cumulative >= target) {
+                return bucketUpperBoundsMillis[bucket]
+            }
+        }
+        return Long.MAX_VALUE
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as RouterLatencyHistogram
+
+        if (bucketUpperBoundsMillis != other.bucketUpperBoundsMillis) return false
+        if (counts != other.counts) return false
+
+        return true
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun hashCode(): Int {
+        var result = bucketUpperBoundsMillis.hashCode()
+        result = 31 * result + counts.hashCode()
+        return result
+    }
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "RouterLatencyHistogram(" +
+            "bucketUpperBoundsMillis=$bucketUpperBoundsMillis, " +
+            "counts=$counts" +
+            ")"
+    }
+}
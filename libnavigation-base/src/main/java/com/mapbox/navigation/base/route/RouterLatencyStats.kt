@@ -0,0 +1,12 @@
+package com.mapbox.navigation.base.route
+
+/**
+ * Latencies of the successful route requests of a [HybridRouter].
+ *
+ * @param onboard latencies of the on-board router
+ * @param offboard latencies of the off-board router
+ */
+data class RouterLatencyStats(
+    val onboard: RouterLatencyHistogram,
+    val offboard: RouterLatencyHistogram
+)
@@ -0,0 +1,19 @@
+package com.mapbox.navigation.base.route
+
+/**
+ * Durations of handing the primary route over to the navigator.
+ *
+ * A route is handed over with the original directions response when it's still available,
+ * otherwise the route has to be serialized first.
+ *
+ * @param count number of routes that were set
+ * @param reusedResponseCount number of routes that were set with the original response
+ * @param totalMillis time spent setting all the routes
+ * @param maxMillis longest time spent setting a route
+ */
+data class SetRouteStats(
+    val count: Long,
+    val reusedResponseCount: Long,
+    val totalMillis: Long,
+    val maxMillis: Long
+)
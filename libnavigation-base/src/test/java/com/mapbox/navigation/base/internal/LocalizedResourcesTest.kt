@@ -0,0 +1,59 @@
+package com.mapbox.navigation.base.internal
+
+import android.content.Context
+import androidx.test.core.app.ApplicationProvider
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.Locale
+
+@RunWith(RobolectricTestRunner::class)
+@Config(manifest = Config.NONE)
+class LocalizedResourcesTest {
+
+    private lateinit var context: Context
+
+    @Before
+    fun setup() {
+        context = ApplicationProvider.getApplicationContext()
+    }
+
+    @Test
+    fun getLocalizesResources() {
+        val resources = LocalizedResources.get(context, Locale("hu"))
+
+        assertEquals(Locale("hu"), resources.configuration.locale)
+    }
+
+    @Test
+    fun getReusesResourcesForSameLocale() {
+        val first = LocalizedResources.get(context, Locale("hu"))
+        val second = LocalizedResources.get(context, Locale("hu"))
+
+        assertSame(first, second)
+    }
+
+    @Test
+    fun getCreatesResourcesForDifferentLocale() {
+        val first = LocalizedResources.get(context, Locale("hu"))
+        val second = LocalizedResources.get(context, Locale("ja"))
+
+        assertNotSame(first, second)
+        assertSame(first, LocalizedResources.get(context, Locale("hu")))
+    }
+
+    @Test
+    fun getCreatesResourcesWhenConfigurationChanges() {
+        val first = LocalizedResources.get(context, Locale("hu"))
+        context.resources.configuration.fontScale = 2f
+
+        val second = LocalizedResources.get(context, Locale("hu"))
+
+        assertNotSame(first, second)
+    }
+}
@@ -0,0 +1,18 @@
+package com.mapbox.navigation.base.options
+
+import com.mapbox.navigation.testing.BuilderTest
+import org.junit.Test
+
+class HybridRouterOptionsTest : BuilderTest<HybridRouterOptions, HybridRouterOptions.Builder>() {
+
+    override fun getImplementationClass() = HybridRouterOptions::class
+
+    override fun getFilledUpBuilder() = HybridRouterOptions.Builder()
+        .isRaceEnabled(true)
+        .onboardRouterDelayMillis(500)
+
+    @Test
+    override fun trigger() {
+        // trigger, see KDoc
+    }
+}
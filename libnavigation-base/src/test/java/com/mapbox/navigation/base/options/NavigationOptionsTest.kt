@@ -69,6 +69,11 @@ class NavigationOptionsTest : BuilderTest<NavigationOptions, NavigationOptions.B
             .eHorizonOptions(mockk())
             .isRouteRefreshEnabled(false)
             .incidentsOptions(mockk())
+            .observerExecutor(mockk())
+            .isSpeculativeRerouteEnabled(true)
+            .hybridRouterOptions(mockk())
+            .routesCacheOptions(mockk())
+            .notificationUpdateIntervalMillis(2000)
     }
 
     @Test
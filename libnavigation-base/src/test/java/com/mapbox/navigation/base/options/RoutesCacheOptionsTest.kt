@@ -0,0 +1,20 @@
+package com.mapbox.navigation.base.options
+
+import com.mapbox.navigation.testing.BuilderTest
+import org.junit.Test
+
+class RoutesCacheOptionsTest : BuilderTest<RoutesCacheOptions, RoutesCacheOptions.Builder>() {
+
+    override fun getImplementationClass() = RoutesCacheOptions::class
+
+    override fun getFilledUpBuilder() = RoutesCacheOptions.Builder()
+        .isEnabled(true)
+        .maxSizeBytes(1024)
+        .timeToLiveMillis(1000)
+        .coordinatesDecimalPlaces(5)
+
+    @Test
+    override fun trigger() {
+        // trigger, see KDoc
+    }
+}
@@ -0,0 +1,45 @@
+package com.mapbox.navigation.base.route
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class RouterLatencyHistogramTest {
+
+    private val bounds = listOf(100L, 250L, 500L, 1000L, 2000L)
+
+    @Test
+    fun totalCount() {
+        val histogram = RouterLatencyHistogram(bounds, listOf(1, 2, 0, 0, 0, 3))
+
+        assertEquals(6L, histogram.totalCount)
+    }
+
+    @Test
+    fun percentileOfEmptyHistogram() {
+        val histogram = RouterLatencyHistogram(bounds, listOf(0, 0, 0, 0, 0, 0))
+
+        assertNull(histogram.getPercentileMillis(0.5))
+    }
+
+    @Test
+    fun percentile() {
+        val histogram = RouterLatencyHistogram(bounds, listOf(9, 0, 0, 0, 1, 0))
+
+        assertEquals(100L, histogram.getPercentileMillis(0.5))
+        assertEquals(100L, histogram.getPercentileMillis(0.9))
+        assertEquals(2000L, histogram.getPercentileMillis(0.99))
+    }
+
+    @Test
+    fun percentileAboveHighestBound() {
+        val histogram = RouterLatencyHistogram(bounds, listOf(0, 0, 0, 0, 0, 1))
+
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileMillis(0.5))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun countsMustMatchBuckets() {
+        RouterLatencyHistogram(bounds, listOf(0))
+    }
+}
@@ -18,7 +18,10 @@ import com.mapbox.navigation.base.formatter.DistanceFormatter
 import com.mapbox.navigation.base.internal.accounts.UrlSkuTokenProvider
 import com.mapbox.navigation.base.options.NavigationOptions
 import com.mapbox.navigation.base.options.RoutingTilesOptions
+import com.mapbox.navigation.base.route.HybridRouter
 import com.mapbox.navigation.base.route.Router
+import com.mapbox.navigation.base.route.RouterLatencyStats
+import com.mapbox.navigation.base.route.SetRouteStats
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.base.trip.model.alert.UpcomingRouteAlert
 import com.mapbox.navigation.base.trip.notification.NotificationAction
@@ -28,12 +31,15 @@ import com.mapbox.navigation.core.arrival.ArrivalObserver
 import com.mapbox.navigation.core.arrival.ArrivalProgressObserver
 import com.mapbox.navigation.core.arrival.AutoArrivalController
 import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RouteAnnotationsObserver
+import com.mapbox.navigation.core.directions.session.RoutesCacheObserver
 import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
 import com.mapbox.navigation.core.fasterroute.FasterRouteController
 import com.mapbox.navigation.core.fasterroute.FasterRouteDetector
 import com.mapbox.navigation.core.fasterroute.FasterRouteObserver
 import com.mapbox.navigation.core.fasterroute.RouteComparator
+import com.mapbox.navigation.core.history.MapboxHistoryRecorder
 import com.mapbox.navigation.core.internal.accounts.MapboxNavigationAccounts
 import com.mapbox.navigation.core.internal.formatter.MapboxDistanceFormatter
 import com.mapbox.navigation.core.reroute.MapboxRerouteController
@@ -42,6 +48,7 @@ import com.mapbox.navigation.core.reroute.RerouteState
 import com.mapbox.navigation.core.routeoptions.MapboxRouteOptionsUpdater
 import com.mapbox.navigation.core.routerefresh.RouteRefreshController
 import com.mapbox.navigation.core.routerefresh.RouteRefreshControllerProvider
+import com.mapbox.navigation.core.routerefresh.RouteRefreshPolicy
 import com.mapbox.navigation.core.telemetry.MapboxNavigationTelemetry
 import com.mapbox.navigation.core.telemetry.events.AppMetadata
 import com.mapbox.navigation.core.telemetry.events.FeedbackEvent
@@ -76,6 +83,7 @@ import com.mapbox.navigator.NavigatorConfig
 import com.mapbox.navigator.TileEndpointConfiguration
 import com.mapbox.navigator.TilesConfig
 import kotlinx.coroutines.channels.ReceiveChannel
+import java.io.File
 import java.lang.reflect.Field
 
 private const val MAPBOX_NAVIGATION_USER_AGENT_BASE = "mapbox-navigation-android"
@@ -142,7 +150,9 @@ class MapboxNavigation(
     private val tripSession: TripSession
     private val navigationSession: NavigationSession
     private val logger: Logger
+    private val router: Router
     private val internalRoutesObserver: RoutesObserver
+    private val internalRouteAnnotationsObserver: RouteAnnotationsObserver
     private val internalOffRouteObserver: OffRouteObserver
     private val fasterRouteController: FasterRouteController
     private val routeRefreshController: RouteRefreshController
@@ -176,7 +186,7 @@ class MapboxNavigation(
      * Reroute controller, by default uses [defaultRerouteController].
      */
     private var rerouteController: RerouteController?
-    private val defaultRerouteController: RerouteController
+    private val defaultRerouteController: MapboxRerouteController
     /**
      * [MapboxNavigation.roadObjectsStore] provides methods to get road objects metadata,
      * add and remove custom road
@@ -188,6 +198,11 @@ class MapboxNavigation(
      * metadata.
      */
     val graphAccessor: GraphAccessor
+    /**
+     * [MapboxNavigation.historyRecorder] records the navigator history to disk in compressed
+     * chunks, use it instead of [retrieveHistory] for long sessions.
+     */
+    val historyRecorder: MapboxHistoryRecorder
 
     init {
         ThreadController.init()
@@ -199,8 +214,15 @@ class MapboxNavigation(
             logger
         )
         navigationSession = NavigationComponentProvider.createNavigationSession()
+        router = MapboxModuleProvider.createModule(
+            MapboxModuleType.NavigationRouter,
+            ::paramsProvider
+        )
+        (router as? HybridRouter)?.setHybridRouterOptions(navigationOptions.hybridRouterOptions)
         directionsSession = NavigationComponentProvider.createDirectionsSession(
-            MapboxModuleProvider.createModule(MapboxModuleType.NavigationRouter, ::paramsProvider)
+            router,
+            navigationOptions.routesCacheOptions,
+            navigator.routeResponseJsonStore
         )
         directionsSession.registerRoutesObserver(navigationSession)
         val notification: TripNotification = MapboxModuleProvider
@@ -270,17 +292,26 @@ class MapboxNavigation(
             tripSession,
             routeOptionsProvider,
             ThreadController,
-            logger
+            logger,
+            navigationOptions.isSpeculativeRerouteEnabled
         )
         rerouteController = defaultRerouteController
+        defaultRerouteController.registerObservers()
 
         internalRoutesObserver = createInternalRoutesObserver()
         internalOffRouteObserver = createInternalOffRouteObserver()
         tripSession.registerOffRouteObserver(internalOffRouteObserver)
         directionsSession.registerRoutesObserver(internalRoutesObserver)
+        internalRouteAnnotationsObserver = createInternalRouteAnnotationsObserver()
+        directionsSession.registerRouteAnnotationsObserver(internalRouteAnnotationsObserver)
 
         roadObjectsStore = RoadObjectsStore(navigator)
         graphAccessor = GraphAccessor(navigator)
+        historyRecorder = MapboxHistoryRecorder(
+            navigator,
+            File(navigationOptions.applicationContext.filesDir, HISTORY_DIRECTORY),
+            logger
+        )
     }
 
     /**
@@ -364,6 +395,9 @@ class MapboxNavigation(
     fun setRoutes(routes: List<DirectionsRoute>) {
         rerouteController?.interrupt()
         directionsSession.routes = routes
+        if (routes.isEmpty()) {
+            navigator.routeResponseJsonStore.clear()
+        }
     }
 
     /**
@@ -376,13 +410,32 @@ class MapboxNavigation(
      */
     fun getRoutes(): List<DirectionsRoute> = directionsSession.routes
 
+    /**
+     * Get the latencies of the successful route requests made so far.
+     *
+     * Only available if the router module is a [HybridRouter], like the default one.
+     *
+     * @return [RouterLatencyStats] or *null* if the router doesn't collect them
+     */
+    fun getRouterLatencyStats(): RouterLatencyStats? =
+        (router as? HybridRouter)?.getLatencyStats()
+
+    /**
+     * Get how long handing the primary routes over to the navigator took so far.
+     *
+     * @return [SetRouteStats]
+     */
+    fun getSetRouteStats(): SetRouteStats = navigator.getSetRouteStats()
+
     /**
      * Call this method whenever this instance of the [MapboxNavigation] is not going to be used anymore and should release all of its resources.
      */
     fun onDestroy() {
         logger.d(MapboxNavigationTelemetry.TAG, Message("MapboxNavigation onDestroy"))
+        defaultRerouteController.unregisterObservers()
         directionsSession.shutdown()
         directionsSession.unregisterAllRoutesObservers()
+        directionsSession.unregisterAllRouteAnnotationsObservers()
         tripSession.stop()
         tripSession.unregisterAllLocationObservers()
         tripSession.unregisterAllRouteProgressObservers()
@@ -394,11 +447,13 @@ class MapboxNavigation(
         tripSession.unregisterAllEHorizonObservers()
         tripSession.unregisterAllMapMatcherResultObservers()
         directionsSession.routes = emptyList()
+        navigator.routeResponseJsonStore.clear()
         resetTripSession()
 
         navigationSession.unregisterAllNavigationSessionStateObservers()
         fasterRouteController.stop()
         routeRefreshController.stop()
+        historyRecorder.stopRecording()
         MapboxNavigationTelemetry.unregisterListeners(this@MapboxNavigation)
         ThreadController.cancelAllNonUICoroutines()
         ThreadController.cancelAllUICoroutines()
@@ -407,16 +462,37 @@ class MapboxNavigation(
     /**
      * API used to retrieve logged location and route progress samples for debug purposes.
      *
+     * The whole history is kept in memory, use [historyRecorder] to record long sessions.
+     * While [historyRecorder] is recording, the history belongs to the recorder
+     * and an empty history is returned.
+     *
      * @return history trace string
      */
     fun retrieveHistory(): String {
+        if (historyRecorder.isRecording) {
+            logger.w(
+                MapboxNavigationTelemetry.TAG,
+                Message("retrieveHistory is not available while the historyRecorder is recording")
+            )
+            return ""
+        }
         return MapboxNativeNavigatorImpl.getHistory()
     }
 
     /**
      * API used to enable/disable location and route progress samples logs for debug purposes.
+     *
+     * Ignored while [historyRecorder] is recording, the recorder enables the history itself
+     * and disables it once it stops recording.
      */
     fun toggleHistory(isEnabled: Boolean) {
+        if (historyRecorder.isRecording) {
+            logger.w(
+                MapboxNavigationTelemetry.TAG,
+                Message("toggleHistory is ignored while the historyRecorder is recording")
+            )
+            return
+        }
         MapboxNativeNavigatorImpl.toggleHistory(isEnabled)
     }
 
@@ -489,6 +565,7 @@ class MapboxNavigation(
     /**
      * Registers [RoutesObserver]. The updates are available when a new list of routes is set.
      * The route at index 0, if exist, will be treated as the primary route for 'Active Guidance'.
+     * Route refreshes are not delivered here, see [registerRouteAnnotationsObserver].
      */
     fun registerRoutesObserver(routesObserver: RoutesObserver) {
         directionsSession.registerRoutesObserver(routesObserver)
@@ -501,6 +578,37 @@ class MapboxNavigation(
         directionsSession.unregisterRoutesObserver(routesObserver)
     }
 
+    /**
+     * Registers [RouteAnnotationsObserver]. The updates are available whenever the route refresh
+     * changes the annotations of the primary route, for example the traffic congestion.
+     * [RoutesObserver]s are not notified about refreshed annotations.
+     */
+    fun registerRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        directionsSession.registerRouteAnnotationsObserver(routeAnnotationsObserver)
+    }
+
+    /**
+     * Unregisters [RouteAnnotationsObserver].
+     */
+    fun unregisterRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        directionsSession.unregisterRouteAnnotationsObserver(routeAnnotationsObserver)
+    }
+
+    /**
+     * Registers [RoutesCacheObserver]. The updates are available whenever a route request
+     * is looked up in the routes cache enabled with [NavigationOptions.routesCacheOptions].
+     */
+    fun registerRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver) {
+        directionsSession.registerRoutesCacheObserver(routesCacheObserver)
+    }
+
+    /**
+     * Unregisters [RoutesCacheObserver].
+     */
+    fun unregisterRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver) {
+        directionsSession.unregisterRoutesCacheObserver(routesCacheObserver)
+    }
+
     /**
      * Registers [BannerInstructionsObserver]. The updates are available whenever SDK is in an `Active Guidance` state.
      * The SDK will push this event only once per route step.
@@ -583,6 +691,11 @@ class MapboxNavigation(
     fun setRerouteController(rerouteController: RerouteController? = defaultRerouteController) {
         val legacyRerouteController = this.rerouteController
         this.rerouteController = rerouteController
+        if (rerouteController === defaultRerouteController) {
+            defaultRerouteController.registerObservers()
+        } else {
+            defaultRerouteController.unregisterObservers()
+        }
 
         if (legacyRerouteController?.state == RerouteState.FetchingRoute) {
             legacyRerouteController.interrupt()
@@ -597,6 +710,23 @@ class MapboxNavigation(
      */
     fun getRerouteController(): RerouteController? = rerouteController
 
+    /**
+     * Set [RouteRefreshPolicy] that decides how often the primary route is refreshed
+     * when [NavigationOptions.isRouteRefreshEnabled] is set.
+     *
+     * By default uses [com.mapbox.navigation.core.routerefresh.AdaptiveRouteRefreshPolicy].
+     */
+    fun setRouteRefreshPolicy(routeRefreshPolicy: RouteRefreshPolicy) {
+        routeRefreshController.routeRefreshPolicy = routeRefreshPolicy
+    }
+
+    /**
+     * Get currently set [RouteRefreshPolicy].
+     *
+     * @see setRouteRefreshPolicy
+     */
+    fun getRouteRefreshPolicy(): RouteRefreshPolicy = routeRefreshController.routeRefreshPolicy
+
     /**
      * Registers [ArrivalObserver]. Monitor arrival at stops and destinations. For more control
      * of arrival at stops, see [setArrivalController].
@@ -766,6 +896,12 @@ class MapboxNavigation(
         }
     }
 
+    private fun createInternalRouteAnnotationsObserver() = object : RouteAnnotationsObserver {
+        override fun onRouteAnnotationsChanged(route: DirectionsRoute, legIndices: List<Int>) {
+            tripSession.updateRouteAnnotations(route, legIndices)
+        }
+    }
+
     private fun createInternalOffRouteObserver() = object : OffRouteObserver {
         override fun onOffRouteStateChanged(offRoute: Boolean) {
             if (offRoute) {
@@ -827,7 +963,10 @@ class MapboxNavigation(
                     NetworkStatusService::class.java,
                     NetworkStatusService(navigationOptions.applicationContext)
                 ),
-                ModuleProviderArgument(Boolean::class.java, navigationOptions.isRouteRefreshEnabled)
+                ModuleProviderArgument(
+                    Boolean::class.java,
+                    navigationOptions.isRouteRefreshEnabled
+                )
             )
             MapboxModuleType.NavigationTripNotification -> arrayOf(
                 ModuleProviderArgument(NavigationOptions::class.java, navigationOptions),
@@ -886,5 +1025,6 @@ class MapboxNavigation(
     companion object {
         private const val USER_AGENT: String = "MapboxNavigationNative"
         private const val THREADS_COUNT = 2
+        private const val HISTORY_DIRECTORY = "mbx_nav/history"
     }
 }
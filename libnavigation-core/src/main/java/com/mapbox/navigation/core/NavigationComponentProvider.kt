@@ -4,6 +4,7 @@ import android.content.Context
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.navigation.base.options.DeviceProfile
 import com.mapbox.navigation.base.options.NavigationOptions
+import com.mapbox.navigation.base.options.RoutesCacheOptions
 import com.mapbox.navigation.base.route.Router
 import com.mapbox.navigation.base.trip.notification.TripNotification
 import com.mapbox.navigation.core.directions.session.DirectionsSession
@@ -15,14 +16,17 @@ import com.mapbox.navigation.core.trip.session.MapboxTripSession
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigatorImpl
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
 import com.mapbox.navigator.NavigatorConfig
 import com.mapbox.navigator.TilesConfig
 
 internal object NavigationComponentProvider {
     fun createDirectionsSession(
-        router: Router
+        router: Router,
+        routesCacheOptions: RoutesCacheOptions,
+        routeResponseJsonStore: RouteResponseJsonStore
     ): DirectionsSession =
-        MapboxDirectionsSession(router)
+        MapboxDirectionsSession(router, routesCacheOptions, routeResponseJsonStore)
 
     fun createNativeNavigator(
         deviceProfile: DeviceProfile,
@@ -15,6 +15,13 @@ internal interface DirectionsSession {
      */
     var routes: List<DirectionsRoute>
 
+    /**
+     * Replaces the primary route with a copy that only differs in the annotations
+     * of the legs at [legIndices]. Notifies registered [RouteAnnotationsObserver]
+     * instead of [RoutesObserver].
+     */
+    fun updatePrimaryRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>)
+
     /**
      * Provide route options for current [routes]
      */
@@ -44,6 +51,15 @@ internal interface DirectionsSession {
         routesRequestCallback: RoutesRequestCallback
     )
 
+    /**
+     * Sets routes returned by [requestFasterRoute] for [routeOptions],
+     * with the same fix-ups [requestRoutes] applies before setting its routes.
+     *
+     * @param routes routes returned for the request
+     * @param routeOptions options the routes were requested with
+     */
+    fun setRequestedRoutes(routes: List<DirectionsRoute>, routeOptions: RouteOptions)
+
     /**
      * Refresh the traffic annotations for a given [DirectionsRoute]
      *
@@ -73,6 +89,31 @@ internal interface DirectionsSession {
      */
     fun unregisterAllRoutesObservers()
 
+    /**
+     * Registers [RouteAnnotationsObserver]. Updated on each refresh of the primary route
+     */
+    fun registerRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver)
+
+    /**
+     * Unregisters [RouteAnnotationsObserver]
+     */
+    fun unregisterRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver)
+
+    /**
+     * Unregisters all [RouteAnnotationsObserver]
+     */
+    fun unregisterAllRouteAnnotationsObservers()
+
+    /**
+     * Registers [RoutesCacheObserver]. Updated on each lookup in the routes cache
+     */
+    fun registerRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver)
+
+    /**
+     * Unregisters [RoutesCacheObserver]
+     */
+    fun unregisterRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver)
+
     /**
      * Interrupts the route-fetching request
      */
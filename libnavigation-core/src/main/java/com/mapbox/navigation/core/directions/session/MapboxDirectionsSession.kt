@@ -3,8 +3,10 @@ package com.mapbox.navigation.core.directions.session
 import com.mapbox.api.directions.v5.DirectionsCriteria
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.navigation.base.options.RoutesCacheOptions
 import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.base.route.Router
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
 import com.mapbox.navigation.utils.internal.ifNonNull
 import java.util.concurrent.CopyOnWriteArraySet
 
@@ -12,14 +14,27 @@ import java.util.concurrent.CopyOnWriteArraySet
  * Default implementation of [DirectionsSession].
  *
  * @property router route fetcher. Usually Onboard, Offboard or Hybrid
+ * @property routesCacheOptions defines the cache of the routes returned by the [router]
+ * @property routeResponseJsonStore keeps the original responses of the routes
  * @property routes a list of [DirectionsRoute]. Fetched from [Router] or might be set manually
  */
 internal class MapboxDirectionsSession(
-    private val router: Router
+    private val router: Router,
+    routesCacheOptions: RoutesCacheOptions = RoutesCacheOptions.Builder().build(),
+    private val routeResponseJsonStore: RouteResponseJsonStore = RouteResponseJsonStore()
 ) : DirectionsSession {
 
     private val routesObservers = CopyOnWriteArraySet<RoutesObserver>()
+    private val routeAnnotationsObservers = CopyOnWriteArraySet<RouteAnnotationsObserver>()
+    private val routesCacheObservers = CopyOnWriteArraySet<RoutesCacheObserver>()
+    private val routesCache: RoutesCache? =
+        if (routesCacheOptions.isEnabled) {
+            RoutesCache(routesCacheOptions, routeResponseJsonStore)
+        } else {
+            null
+        }
     private var routeOptions: RouteOptions? = null
+    private var currentRoutes: List<DirectionsRoute> = emptyList()
 
     /**
      * Routes that were fetched from [Router] or set manually.
@@ -27,19 +42,33 @@ internal class MapboxDirectionsSession(
      *
      * @see [registerRoutesObserver]
      */
-    override var routes: List<DirectionsRoute> = emptyList()
+    override var routes: List<DirectionsRoute>
+        get() = currentRoutes
         set(value) {
             router.cancel()
-            if (routes.isEmpty() && value.isEmpty()) {
+            if (currentRoutes.isEmpty() && value.isEmpty()) {
                 return
             }
-            field = value
-            if (routes.isNotEmpty()) {
-                this.routeOptions = routes[0].routeOptions()
+            currentRoutes = value
+            if (currentRoutes.isNotEmpty()) {
+                this.routeOptions = currentRoutes[0].routeOptions()
             }
             routesObservers.forEach { it.onRoutesChanged(value) }
         }
 
+    /**
+     * Replaces the primary route with a copy that only differs in the annotations
+     * of the legs at [legIndices]. Notifies registered [RouteAnnotationsObserver]
+     * instead of [RoutesObserver] and doesn't interrupt route requests.
+     */
+    override fun updatePrimaryRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>) {
+        if (currentRoutes.isEmpty()) {
+            return
+        }
+        currentRoutes = currentRoutes.toMutableList().apply { this[0] = route }
+        routeAnnotationsObservers.forEach { it.onRouteAnnotationsChanged(route, legIndices) }
+    }
+
     /**
      * Provide route options for current [routes]
      */
@@ -70,6 +99,9 @@ internal class MapboxDirectionsSession(
     /**
      * Fetch route based on [RouteOptions]
      *
+     * If the routes cache is enabled and holds routes for the same options,
+     * they are set and delivered right away.
+     *
      * @param routeOptions RouteOptions
      * @param routesRequestCallback Callback that gets notified with the results of the request(optional),
      * see [registerRoutesObserver]
@@ -78,10 +110,18 @@ internal class MapboxDirectionsSession(
         routeOptions: RouteOptions,
         routesRequestCallback: RoutesRequestCallback?
     ) {
+        val cachedRoutes = getCachedRoutes(routeOptions)
+        if (cachedRoutes != null) {
+            val fixedRoutes = getFixedRoutes(cachedRoutes, routeOptions)
+            this.routes = fixedRoutes
+            routesRequestCallback?.onRoutesReady(fixedRoutes)
+            return
+        }
         router.getRoute(
             routeOptions,
             object : Router.Callback {
                 override fun onResponse(routes: List<DirectionsRoute>) {
+                    routesCache?.put(routeOptions, routes)
                     val fixedRoutes = getFixedRoutes(routes, routeOptions)
                     this@MapboxDirectionsSession.routes = fixedRoutes
                     routesRequestCallback?.onRoutesReady(fixedRoutes)
@@ -106,6 +146,9 @@ internal class MapboxDirectionsSession(
      * Unlike [DirectionsSession.requestRoutes] it ignores the result and it's up to the
      * consumer to take an action with the route.
      *
+     * The routes cache is not looked up, because the request is about current traffic,
+     * but the returned routes are cached for later [requestRoutes] calls.
+     *
      * @param adjustedRouteOptions: RouteOptions with adjusted parameters
      * @param routesRequestCallback Callback that gets notified when request state changes
      */
@@ -117,6 +160,7 @@ internal class MapboxDirectionsSession(
             adjustedRouteOptions,
             object : Router.Callback {
                 override fun onResponse(routes: List<DirectionsRoute>) {
+                    routesCache?.put(adjustedRouteOptions, routes)
                     routesRequestCallback.onRoutesReady(routes)
                 }
 
@@ -135,6 +179,17 @@ internal class MapboxDirectionsSession(
         )
     }
 
+    /**
+     * Sets routes returned by [requestFasterRoute] for [routeOptions],
+     * with the same fix-ups [requestRoutes] applies before setting its routes.
+     *
+     * @param routes routes returned for the request
+     * @param routeOptions options the routes were requested with
+     */
+    override fun setRequestedRoutes(routes: List<DirectionsRoute>, routeOptions: RouteOptions) {
+        this.routes = getFixedRoutes(routes, routeOptions)
+    }
+
     /**
      * Registers [RoutesObserver]. Updated on each change of [routes]
      */
@@ -159,11 +214,63 @@ internal class MapboxDirectionsSession(
         routesObservers.clear()
     }
 
+    /**
+     * Registers [RouteAnnotationsObserver]. Updated on each refresh of the primary route
+     */
+    override fun registerRouteAnnotationsObserver(
+        routeAnnotationsObserver: RouteAnnotationsObserver
+    ) {
+        routeAnnotationsObservers.add(routeAnnotationsObserver)
+    }
+
+    /**
+     * Unregisters [RouteAnnotationsObserver]
+     */
+    override fun unregisterRouteAnnotationsObserver(
+        routeAnnotationsObserver: RouteAnnotationsObserver
+    ) {
+        routeAnnotationsObservers.remove(routeAnnotationsObserver)
+    }
+
+    /**
+     * Unregisters all [RouteAnnotationsObserver]
+     */
+    override fun unregisterAllRouteAnnotationsObservers() {
+        routeAnnotationsObservers.clear()
+    }
+
+    /**
+     * Registers [RoutesCacheObserver]. Updated on each lookup in the routes cache
+     */
+    override fun registerRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver) {
+        routesCacheObservers.add(routesCacheObserver)
+    }
+
+    /**
+     * Unregisters [RoutesCacheObserver]
+     */
+    override fun unregisterRoutesCacheObserver(routesCacheObserver: RoutesCacheObserver) {
+        routesCacheObservers.remove(routesCacheObserver)
+    }
+
     /**
      * Interrupt route-fetcher request
      */
     override fun shutdown() {
         router.shutdown()
+        routesCache?.clear()
+        routesCacheObservers.clear()
+    }
+
+    private fun getCachedRoutes(routeOptions: RouteOptions): List<DirectionsRoute>? {
+        val cache = routesCache ?: return null
+        val cachedRoutes = cache.get(routeOptions)
+        if (cachedRoutes != null) {
+            routesCacheObservers.forEach { it.onRoutesCacheHit(routeOptions) }
+        } else {
+            routesCacheObservers.forEach { it.onRoutesCacheMiss(routeOptions) }
+        }
+        return cachedRoutes
     }
 
     /**
@@ -195,6 +302,7 @@ internal class MapboxDirectionsSession(
                 .build()
             fixedRoutes.add(fixedRoute)
         }
+        routeResponseJsonStore.transfer(routes, fixedRoutes)
         return fixedRoutes
     }
 }
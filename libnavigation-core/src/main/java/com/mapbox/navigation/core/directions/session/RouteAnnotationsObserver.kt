@@ -0,0 +1,26 @@
+package com.mapbox.navigation.core.directions.session
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+
+/**
+ * Interface definition for an observer that gets notified whenever the annotations
+ * of the primary route are refreshed.
+ *
+ * Unlike [RoutesObserver], it's not notified about new routes and the geometry of the route
+ * doesn't change, so it can be used to update traffic visualizations in place,
+ * for example with `MapboxRouteLineApi#updateTraffic`.
+ *
+ * Route refreshes used to replace the primary route and notify [RoutesObserver]s. They are only
+ * delivered to this observer now, so a traffic line drawn from [RoutesObserver] updates alone
+ * keeps the congestion of the initial response.
+ */
+interface RouteAnnotationsObserver {
+
+    /**
+     * Invoked whenever the annotations of some legs of the primary route are refreshed.
+     *
+     * @param route the primary route with the refreshed annotations
+     * @param legIndices indices of the legs whose annotations changed
+     */
+    fun onRouteAnnotationsChanged(route: DirectionsRoute, legIndices: List<Int>)
+}
@@ -0,0 +1,157 @@
+package com.mapbox.navigation.core.directions.session
+
+import android.os.SystemClock
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.options.RoutesCacheOptions
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
+import kotlin.math.pow
+import kotlin.math.roundToLong
+
+/**
+ * Least recently used cache of the routes returned for route requests.
+ *
+ * Requests are keyed by their [RouteOptions] without the access token and the request UUID,
+ * and with the coordinates rounded to [RoutesCacheOptions.coordinatesDecimalPlaces].
+ * The size of an entry is the length of the response JSON if it's available, otherwise it's
+ * estimated from the geometries and the legs of the routes, serializing them would cost
+ * more than the request saves.
+ */
+internal class RoutesCache(
+    private val options: RoutesCacheOptions,
+    private val routeResponseJsonStore: RouteResponseJsonStore,
+    private val elapsedRealtime: () -> Long = { SystemClock.elapsedRealtime() }
+) {
+
+    private val entries = LinkedHashMap<String, Entry>(INITIAL_CAPACITY, LOAD_FACTOR, true)
+    private val coordinatesScale = 10.0.pow(options.coordinatesDecimalPlaces)
+    private var sizeBytes = 0L
+
+    /**
+     * Number of requests found in the cache.
+     */
+    var hitCount = 0L
+        private set
+
+    /**
+     * Number of requests not found in the cache.
+     */
+    var missCount = 0L
+        private set
+
+    /**
+     * Returns the routes cached for the [routeOptions] or *null* if there are none
+     * or they have expired.
+     */
+    @Synchronized
+    fun get(routeOptions: RouteOptions): List<DirectionsRoute>? {
+        val key = cacheKey(routeOptions)
+        val entry = entries[key]?.takeUnless { it.isExpired() }
+        if (entry == null) {
+            entries.remove(key)?.let { sizeBytes -= it.sizeBytes }
+            missCount++
+            return null
+        }
+        entry.responseJson?.let { routeResponseJsonStore.put(entry.routes, it) }
+        hitCount++
+        return entry.routes
+    }
+
+    /**
+     * Caches the [routes] returned for the [routeOptions].
+     */
+    @Synchronized
+    fun put(routeOptions: RouteOptions, routes: List<DirectionsRoute>) {
+        if (routes.isEmpty()) {
+            return
+        }
+        val responseJson = routeResponseJsonStore.get(routes.first())
+            ?.takeIf { it.routeIndex == 0 }
+            ?.json
+        val jsonLength = responseJson?.length ?: routes.sumBy { it.estimatedJsonLength() }
+        val entrySizeBytes = jsonLength.toLong() * BYTES_PER_CHAR
+        if (entrySizeBytes > options.maxSizeBytes) {
+            return
+        }
+        val key = cacheKey(routeOptions)
+        entries.remove(key)?.let { sizeBytes -= it.sizeBytes }
+        entries[key] = Entry(routes, responseJson, entrySizeBytes, elapsedRealtime())
+        sizeBytes += entrySizeBytes
+        trimToSize()
+    }
+
+    /**
+     * Removes all the cached routes.
+     */
+    @Synchronized
+    fun clear() {
+        entries.clear()
+        sizeBytes = 0
+    }
+
+    private fun trimToSize() {
+        val iterator = entries.values.iterator()
+        while (iterator.hasNext()) {
+            val entry = iterator.next()
+            if (sizeBytes > options.maxSizeBytes || entry.isExpired()) {
+                sizeBytes -= entry.sizeBytes
+                iterator.remove()
+            }
+        }
+    }
+
+    private fun cacheKey(routeOptions: RouteOptions): String =
+        routeOptions.toBuilder()
+            .accessToken("")
+            .requestUuid("")
+            .coordinates(routeOptions.coordinates().map { it.rounded() })
+            .build()
+            .toJson()
+
+    private fun Point.rounded(): Point =
+        Point.fromLngLat(longitude().rounded(), latitude().rounded())
+
+    private fun Double.rounded(): Double =
+        (this * coordinatesScale).roundToLong() / coordinatesScale
+
+    private fun DirectionsRoute.estimatedJsonLength(): Int {
+        var length = ROUTE_OVERHEAD_CHARS + (geometry()?.length ?: 0)
+        legs()?.forEach { leg ->
+            length += LEG_OVERHEAD_CHARS
+            leg.steps()?.forEach { step ->
+                length += STEP_OVERHEAD_CHARS + (step.geometry()?.length ?: 0)
+            }
+            leg.annotation()?.let { annotation ->
+                val valuesCount = (annotation.distance()?.size ?: 0) +
+                    (annotation.duration()?.size ?: 0) +
+                    (annotation.speed()?.size ?: 0) +
+                    (annotation.maxspeed()?.size ?: 0) +
+                    (annotation.congestion()?.size ?: 0)
+                length += valuesCount * ANNOTATION_VALUE_CHARS
+            }
+        }
+        return length
+    }
+
+    private fun Entry.isExpired() = elapsedRealtime() - createdAt > options.timeToLiveMillis
+
+    private class Entry(
+        val routes: List<DirectionsRoute>,
+        val responseJson: String?,
+        val sizeBytes: Long,
+        val createdAt: Long
+    )
+
+    private companion object {
+        private const val INITIAL_CAPACITY = 16
+        private const val LOAD_FACTOR = 0.75f
+        private const val BYTES_PER_CHAR = 2
+        private const val ROUTE_OVERHEAD_CHARS = 1000
+        private const val LEG_OVERHEAD_CHARS = 500
+
+        // maneuver, banner and voice instructions and intersections
+        private const val STEP_OVERHEAD_CHARS = 1500
+        private const val ANNOTATION_VALUE_CHARS = 8
+    }
+}
@@ -0,0 +1,27 @@
+package com.mapbox.navigation.core.directions.session
+
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.navigation.base.options.RoutesCacheOptions
+
+/**
+ * Interface definition for an observer that gets notified whenever a route request
+ * is looked up in the routes cache.
+ *
+ * @see RoutesCacheOptions
+ */
+interface RoutesCacheObserver {
+
+    /**
+     * Invoked when a route request is answered from the cache.
+     *
+     * @param routeOptions options of the request
+     */
+    fun onRoutesCacheHit(routeOptions: RouteOptions)
+
+    /**
+     * Invoked when a route request isn't found in the cache and is sent to the router.
+     *
+     * @param routeOptions options of the request
+     */
+    fun onRoutesCacheMiss(routeOptions: RouteOptions)
+}
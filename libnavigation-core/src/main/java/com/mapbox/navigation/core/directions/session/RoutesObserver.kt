@@ -14,7 +14,9 @@ interface RoutesObserver {
      * The route at index 0, if exist, will be treated as the primary route for 'Active Guidance'.
      *
      * A list of routes can be modified internally and externally at any time with methods like
-     * [MapboxNavigation.requestRoutes], [MapboxNavigation.setRoutes], or during automatic reroutes, faster route and route refresh operations.
+     * [MapboxNavigation.requestRoutes], [MapboxNavigation.setRoutes], or during automatic reroutes and faster route operations.
+     * Route refresh doesn't invoke this method, it only updates the annotations of the primary
+     * route and notifies [RouteAnnotationsObserver]s instead.
      *
      * @param routes list of currently maintained routes
      */
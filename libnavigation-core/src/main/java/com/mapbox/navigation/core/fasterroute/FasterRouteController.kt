@@ -81,9 +81,20 @@ internal class FasterRouteController(
             val routeProgress = tripSession.getRouteProgress()
                 ?: return
             jobControl.scope.launch {
-                val isAlternativeFaster =
-                    fasterRouteDetector.isRouteFaster(routes[0], routeProgress)
-                fasterRouteObserver?.onFasterRoute(currentRoute, routes, isAlternativeFaster)
+                val alternativeRoute = routes[0]
+                val routeDivergence =
+                    fasterRouteDetector.getRouteDivergence(alternativeRoute, routeProgress)
+                val isAlternativeFaster = fasterRouteDetector.isRouteFaster(
+                    alternativeRoute,
+                    routeProgress,
+                    routeDivergence
+                )
+                fasterRouteObserver?.onFasterRoute(
+                    currentRoute,
+                    routes,
+                    isAlternativeFaster,
+                    routeDivergence
+                )
             }
         }
 
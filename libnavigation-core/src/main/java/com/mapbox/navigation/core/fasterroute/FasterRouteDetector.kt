@@ -9,17 +9,23 @@ internal class FasterRouteDetector(
     private val routeComparator: RouteComparator
 ) {
 
-    suspend fun isRouteFaster(
+    suspend fun getRouteDivergence(
         alternativeRoute: DirectionsRoute,
         routeProgress: RouteProgress
-    ): Boolean = withContext(ThreadController.IODispatcher) {
+    ): RouteDivergence = withContext(ThreadController.IODispatcher) {
+        routeComparator.compare(routeProgress, alternativeRoute)
+    }
+
+    fun isRouteFaster(
+        alternativeRoute: DirectionsRoute,
+        routeProgress: RouteProgress,
+        routeDivergence: RouteDivergence
+    ): Boolean {
         val alternativeDuration = alternativeRoute.duration()
         val weightedDuration = routeProgress.durationRemaining * PERCENTAGE_THRESHOLD
         val isRouteFaster = alternativeDuration < weightedDuration
-        return@withContext isRouteFaster && !routeComparator.isSameRoute(
-            routeProgress,
-            alternativeRoute
-        )
+        return isRouteFaster &&
+            routeDivergence.divergentDistanceMeters >= MIN_DIVERGENT_DISTANCE_METERS
     }
 
     companion object {
@@ -28,5 +34,11 @@ internal class FasterRouteDetector(
          * away and there is an alternative that is 1 minute faster, it will be ignored.
          */
         private const val PERCENTAGE_THRESHOLD = 0.90
+
+        /**
+         * Alternatives that leave the current route for less than this distance are
+         * considered to be the current route.
+         */
+        private const val MIN_DIVERGENT_DISTANCE_METERS = 100.0
     }
 }
@@ -26,6 +26,26 @@ interface FasterRouteObserver {
         isAlternativeFaster: Boolean
     )
 
+    /**
+     * Invoked whenever a faster route was inspected, together with the comparison
+     * of the geometries of the current route and alternatives[0].
+     *
+     * Delegates to the [onFasterRoute] overload without [routeDivergence] by default.
+     *
+     * @param currentRoute the current route.
+     * @param alternatives the routes where alternatives[0] may be faster
+     * @param isAlternativeFaster true if the alternatives[0] is faster, false otherwise
+     * @param routeDivergence how much and where alternatives[0] leaves the current route
+     */
+    fun onFasterRoute(
+        currentRoute: DirectionsRoute,
+        alternatives: List<DirectionsRoute>,
+        isAlternativeFaster: Boolean,
+        routeDivergence: RouteDivergence
+    ) {
+        onFasterRoute(currentRoute, alternatives, isAlternativeFaster)
+    }
+
     companion object {
         /**
          * The default and recommended interval for checking for faster routes.
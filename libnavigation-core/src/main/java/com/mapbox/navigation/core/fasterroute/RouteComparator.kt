@@ -1,48 +1,200 @@
 package com.mapbox.navigation.core.fasterroute
 
+import com.mapbox.api.directions.v5.DirectionsCriteria
 import com.mapbox.api.directions.v5.models.DirectionsRoute
-import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.core.constants.Constants
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
 import com.mapbox.navigation.base.trip.model.RouteProgress
+import kotlin.math.ceil
+import kotlin.math.cos
+import kotlin.math.floor
+import kotlin.math.hypot
+import kotlin.math.max
 
 /**
- * Compares if an alternative route is different from the current route progress.
+ * Compares the geometry of an alternative route with the geometry of the current route.
+ *
+ * The alternative is walked in short pieces and every piece farther than a few meters
+ * from the current route counts as divergent. The current route is indexed in a grid
+ * of cells once and reused until its geometry changes, so each comparison only costs
+ * a few segment distances per piece of the alternative.
  */
 internal class RouteComparator {
 
-    private val mapLegStepToName: (LegStep) -> String = { it.name() ?: "" }
+    private var indexedGeometry: String? = null
+    private var indexedRoute: IndexedRoute? = null
 
     /**
      * @param routeProgress current route progress
      * @param alternativeRoute suggested new route
      *
-     * @return true when the alternative is the same route,
-     * false if it is a different route.
+     * @return how much and where the alternative leaves the current route
      */
-    fun isSameRoute(
+    fun compare(
         routeProgress: RouteProgress,
         alternativeRoute: DirectionsRoute
-    ): Boolean {
-        val currentDescription = routeDescription(routeProgress)
-        val alternativeDescription = alternativeDescription(alternativeRoute)
-        alternativeDescription.ifEmpty {
-            return false
+    ): RouteDivergence {
+        val alternativePoints = alternativeRoute.decodeGeometry()
+        val currentRoute = getIndexedRoute(routeProgress.route)
+        if (alternativePoints.size < 2 || currentRoute == null) {
+            return RouteDivergence(
+                divergentFraction = 1.0,
+                divergentDistanceMeters = alternativeRoute.distance(),
+                divergencePoint = alternativePoints.firstOrNull(),
+                rejoinPoint = null
+            )
+        }
+
+        var totalDistance = 0.0
+        var divergentDistance = 0.0
+        var divergencePoint: Point? = null
+        var rejoinPoint: Point? = null
+        for (index in 1 until alternativePoints.size) {
+            val from = alternativePoints[index - 1]
+            val to = alternativePoints[index]
+            val fromX = currentRoute.projectX(from)
+            val fromY = currentRoute.projectY(from)
+            val dx = currentRoute.projectX(to) - fromX
+            val dy = currentRoute.projectY(to) - fromY
+            val segmentLength = hypot(dx, dy)
+            if (segmentLength == 0.0) {
+                continue
+            }
+            val pieces = max(1, ceil(segmentLength / SAMPLE_SPACING_METERS).toInt())
+            val pieceLength = segmentLength / pieces
+            for (piece in 0 until pieces) {
+                val middle = (piece + 0.5) / pieces
+                totalDistance += pieceLength
+                val isOnRoute = currentRoute.isNear(
+                    fromX + dx * middle,
+                    fromY + dy * middle,
+                    ON_ROUTE_TOLERANCE_METERS
+                )
+                if (!isOnRoute) {
+                    divergentDistance += pieceLength
+                    if (divergencePoint == null) {
+                        divergencePoint = interpolate(from, to, piece.toDouble() / pieces)
+                    }
+                } else if (divergencePoint != null && rejoinPoint == null) {
+                    rejoinPoint = interpolate(from, to, piece.toDouble() / pieces)
+                }
+            }
+        }
+
+        return RouteDivergence(
+            divergentFraction = if (totalDistance > 0) divergentDistance / totalDistance else 0.0,
+            divergentDistanceMeters = divergentDistance,
+            divergencePoint = divergencePoint,
+            rejoinPoint = rejoinPoint
+        )
+    }
+
+    @Synchronized
+    private fun getIndexedRoute(route: DirectionsRoute): IndexedRoute? {
+        val geometry = route.geometry() ?: return null
+        if (geometry != indexedGeometry) {
+            val points = route.decodeGeometry()
+            indexedRoute = if (points.size >= 2) IndexedRoute(points) else null
+            indexedGeometry = geometry
         }
+        return indexedRoute
+    }
 
-        return currentDescription == alternativeDescription
+    private fun DirectionsRoute.decodeGeometry(): List<Point> {
+        val geometry = geometry() ?: return emptyList()
+        val precision = if (routeOptions()?.geometries() == DirectionsCriteria.GEOMETRY_POLYLINE) {
+            Constants.PRECISION_5
+        } else {
+            Constants.PRECISION_6
+        }
+        return PolylineUtils.decode(geometry, precision)
     }
 
-    private fun routeDescription(routeProgress: RouteProgress): String {
-        val routeLeg = routeProgress.currentLegProgress?.routeLeg
-        val steps = routeLeg?.steps()
-        val stepIndex = routeProgress.currentLegProgress?.currentStepProgress?.stepIndex
-            ?: return ""
+    private fun interpolate(from: Point, to: Point, fraction: Double): Point =
+        Point.fromLngLat(
+            from.longitude() + (to.longitude() - from.longitude()) * fraction,
+            from.latitude() + (to.latitude() - from.latitude()) * fraction
+        )
+
+    /**
+     * Route geometry projected to meters and bucketed by the cells its segments cross.
+     */
+    private class IndexedRoute(points: List<Point>) {
+
+        private val longitudeScale =
+            cos(Math.toRadians(points.first().latitude())) * METERS_PER_DEGREE
+        private val xs = DoubleArray(points.size) { projectX(points[it]) }
+        private val ys = DoubleArray(points.size) { projectY(points[it]) }
+        private val cells = HashMap<Long, MutableList<Int>>()
+
+        init {
+            for (segment in 0 until xs.size - 1) {
+                val dx = xs[segment + 1] - xs[segment]
+                val dy = ys[segment + 1] - ys[segment]
+                val steps = max(1, ceil(hypot(dx, dy) / (CELL_SIZE_METERS / 2)).toInt())
+                for (step in 0..steps) {
+                    val fraction = step.toDouble() / steps
+                    val segments = cells.getOrPut(
+                        cellKey(
+                            cell(xs[segment] + dx * fraction),
+                            cell(ys[segment] + dy * fraction)
+                        )
+                    ) { mutableListOf() }
+                    if (segments.lastOrNull() != segment) {
+                        segments.add(segment)
+                    }
+                }
+            }
+        }
+
+        fun projectX(point: Point): Double = point.longitude() * longitudeScale
+
+        fun projectY(point: Point): Double = point.latitude() * METERS_PER_DEGREE
+
+        /**
+         * Checks if the projected point is within [toleranceMeters] of the route,
+         * the tolerance is expected to be at most half of a cell.
+         */
+        fun isNear(x: Double, y: Double, toleranceMeters: Double): Boolean {
+            val cellX = cell(x)
+            val cellY = cell(y)
+            for (neighbourX in cellX - 1..cellX + 1) {
+                for (neighbourY in cellY - 1..cellY + 1) {
+                    cells[cellKey(neighbourX, neighbourY)]?.forEach { segment ->
+                        if (distanceToSegment(x, y, segment) <= toleranceMeters) {
+                            return true
+                        }
+                    }
+                }
+            }
+            return false
+        }
+
+        private fun distanceToSegment(x: Double, y: Double, segment: Int): Double {
+            val startX = xs[segment]
+            val startY = ys[segment]
+            val dx = xs[segment + 1] - startX
+            val dy = ys[segment + 1] - startY
+            val lengthSquared = dx * dx + dy * dy
+            val fraction = if (lengthSquared > 0) {
+                (((x - startX) * dx + (y - startY) * dy) / lengthSquared).coerceIn(0.0, 1.0)
+            } else {
+                0.0
+            }
+            return hypot(x - startX - dx * fraction, y - startY - dy * fraction)
+        }
+
+        private fun cell(meters: Double): Int = floor(meters / CELL_SIZE_METERS).toInt()
 
-        return steps?.listIterator(stepIndex)?.asSequence()
-            ?.joinToString(transform = mapLegStepToName) ?: ""
+        private fun cellKey(cellX: Int, cellY: Int): Long =
+            (cellX.toLong() shl Int.SIZE_BITS) or (cellY.toLong() and 0xFFFFFFFFL)
     }
 
-    private fun alternativeDescription(directionsRoute: DirectionsRoute): String {
-        val steps = directionsRoute.legs()?.firstOrNull()?.steps()
-        return steps?.joinToString(transform = mapLegStepToName) ?: ""
+    private companion object {
+        private const val METERS_PER_DEGREE = 111_195.0
+        private const val CELL_SIZE_METERS = 50.0
+        private const val SAMPLE_SPACING_METERS = 25.0
+        private const val ON_ROUTE_TOLERANCE_METERS = 20.0
     }
 }
@@ -0,0 +1,62 @@
+package com.mapbox.navigation.core.fasterroute
+
+import com.mapbox.geojson.Point
+
+/**
+ * Describes how much and where an alternative route leaves the current route.
+ *
+ * @param divergentFraction share of the alternative's length, between 0 and 1,
+ * that is not on the current route
+ * @param divergentDistanceMeters length of the alternative that is not on the current route
+ * @param divergencePoint point where the alternative leaves the current route for the first time,
+ * *null* if it never does
+ * @param rejoinPoint point where the alternative joins the current route again after
+ * [divergencePoint], *null* if it doesn't
+ */
+class RouteDivergence internal constructor(
+    val divergentFraction: Double,
+    val divergentDistanceMeters: Double,
+    val divergencePoint: Point?,
+    val rejoinPoint: Point?
+) {
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as RouteDivergence
+
+        if (divergentFraction != other.divergentFraction) return false
+        if (divergentDistanceMeters != other.divergentDistanceMeters) return false
+        if (divergencePoint != other.divergencePoint) return false
+        if (rejoinPoint != other.rejoinPoint) return false
+
+        return true
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun hashCode(): Int {
+        var result = divergentFraction.hashCode()
+        result = 31 * result + divergentDistanceMeters.hashCode()
+        result = 31 * result + (divergencePoint?.hashCode() ?: 0)
+        result = 31 * result + (rejoinPoint?.hashCode() ?: 0)
+        return result
+    }
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "RouteDivergence(" +
+            "divergentFraction=$divergentFraction, " +
+            "divergentDistanceMeters=$divergentDistanceMeters, " +
+            "divergencePoint=$divergencePoint, " +
+            "rejoinPoint=$rejoinPoint" +
+            ")"
+    }
+}
@@ -0,0 +1,123 @@
+package com.mapbox.navigation.core.history
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Defines how [MapboxHistoryRecorder] splits and keeps the recorded history.
+ *
+ * @param chunkDurationMillis how long a chunk is recorded before it's written to disk
+ * @param maxTotalSizeBytes the oldest chunks are deleted once all the chunks together
+ * take more than this
+ * @param fileDirectory absolute path of the directory chunks are written to,
+ * *null* to use the default directory in the app's files directory
+ */
+class HistoryRecorderOptions private constructor(
+    val chunkDurationMillis: Long,
+    val maxTotalSizeBytes: Long,
+    val fileDirectory: String?
+) {
+
+    /**
+     * @return the builder that created the [HistoryRecorderOptions]
+     */
+    fun toBuilder(): Builder = Builder().apply {
+        chunkDurationMillis(chunkDurationMillis)
+        maxTotalSizeBytes(maxTotalSizeBytes)
+        fileDirectory(fileDirectory)
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as HistoryRecorderOptions
+
+        if (chunkDurationMillis != other.chunkDurationMillis) return false
+        if (maxTotalSizeBytes != other.maxTotalSizeBytes) return false
+        if (fileDirectory != other.fileDirectory) return false
+
+        return true
+    }
+
+    /**
+     * Regenerate whenever a change is made
+     */
+    override fun hashCode(): Int {
+        var result = chunkDurationMillis.hashCode()
+        result = 31 * result + maxTotalSizeBytes.hashCode()
+        result = 31 * result + (fileDirectory?.hashCode() ?: 0)
+        return result
+    }
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "HistoryRecorderOptions(" +
+            "chunkDurationMillis=$chunkDurationMillis, " +
+            "maxTotalSizeBytes=$maxTotalSizeBytes, " +
+            "fileDirectory=$fileDirectory" +
+            ")"
+    }
+
+    /**
+     * Used to build [HistoryRecorderOptions].
+     */
+    class Builder {
+        private var chunkDurationMillis = TimeUnit.MINUTES.toMillis(1)
+        private var maxTotalSizeBytes = 100L * 1024 * 1024
+        private var fileDirectory: String? = null
+
+        /**
+         * Build your [HistoryRecorderOptions].
+         *
+         * @return [HistoryRecorderOptions]
+         */
+        fun build(): HistoryRecorderOptions {
+            return HistoryRecorderOptions(
+                chunkDurationMillis = chunkDurationMillis,
+                maxTotalSizeBytes = maxTotalSizeBytes,
+                fileDirectory = fileDirectory
+            )
+        }
+
+        /**
+         * How long a chunk is recorded before it's written to disk. Defaults to 1 minute.
+         * Only the history of the current chunk is kept in memory.
+         *
+         * @param chunkDurationMillis
+         * @return [Builder]
+         */
+        fun chunkDurationMillis(chunkDurationMillis: Long): Builder {
+            this.chunkDurationMillis = chunkDurationMillis
+            return this
+        }
+
+        /**
+         * The oldest chunks are deleted once all the chunks together take more than this.
+         * Defaults to 100 MB.
+         *
+         * @param maxTotalSizeBytes
+         * @return [Builder]
+         */
+        fun maxTotalSizeBytes(maxTotalSizeBytes: Long): Builder {
+            this.maxTotalSizeBytes = maxTotalSizeBytes
+            return this
+        }
+
+        /**
+         * Absolute path of the directory chunks are written to.
+         * Defaults to a directory in the app's files directory.
+         *
+         * @param fileDirectory
+         * @return [Builder]
+         */
+        fun fileDirectory(fileDirectory: String?): Builder {
+            this.fileDirectory = fileDirectory
+            return this
+        }
+    }
+}
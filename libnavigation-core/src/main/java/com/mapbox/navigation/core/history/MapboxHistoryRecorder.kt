@@ -0,0 +1,249 @@
+package com.mapbox.navigation.core.history
+
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.base.common.logger.model.Message
+import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.util.Locale
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Records the navigator history to disk in gzip compressed chunks.
+ *
+ * While recording, the history is written out every
+ * [HistoryRecorderOptions.chunkDurationMillis] as a new chunk, so only the history of the
+ * current chunk is ever kept in memory. Every chunk is a valid history json, but it only holds
+ * the events recorded since the previous chunk: the route set before the chunk started,
+ * for example, is only found in an earlier chunk. Replay the chunks of a recording in order
+ * to reproduce a session. Chunks are named in recording order and the oldest ones are deleted
+ * once all of them take more than [HistoryRecorderOptions.maxTotalSizeBytes].
+ *
+ * The recorder and [com.mapbox.navigation.core.MapboxNavigation.toggleHistory] use the same
+ * navigator history. While recording, `toggleHistory` is ignored and
+ * [com.mapbox.navigation.core.MapboxNavigation.retrieveHistory] returns an empty history.
+ * History enabled with `toggleHistory` before [startRecording] ends up in the first chunk.
+ *
+ * Use [com.mapbox.navigation.core.MapboxNavigation.getHistoryRecorder] to get the instance.
+ */
+class MapboxHistoryRecorder internal constructor(
+    private val navigator: MapboxNativeNavigator,
+    private val defaultDirectory: File,
+    private val logger: Logger,
+    ioDispatcher: CoroutineDispatcher = ThreadController.IODispatcher
+) {
+
+    private val jobControl = ThreadController.getIOScopeAndRootJob()
+
+    // not a child of the ThreadController jobs, so that the last chunk is written out
+    // even if the recording is stopped right before they are canceled
+    private val stopScope = CoroutineScope(SupervisorJob() + ioDispatcher)
+    private val lock = Any()
+    private var options = HistoryRecorderOptions.Builder().build()
+    private var nextChunkIndex = 0
+    private var recordingId = 0
+
+    /**
+     * *true* while history is being recorded, otherwise *false*.
+     */
+    @Volatile
+    var isRecording: Boolean = false
+        private set
+
+    /**
+     * Starts recording history into chunks, finalizing the current chunk first
+     * if history was already being recorded.
+     *
+     * @param options defines how the history is split and kept
+     */
+    @JvmOverloads
+    fun startRecording(options: HistoryRecorderOptions = HistoryRecorderOptions.Builder().build()) {
+        synchronized(lock) {
+            if (isRecording) {
+                jobControl.job.cancelChildren()
+                drainHistoryToChunk(getDirectory())
+            }
+            recordingId++
+            this.options = options
+            val directory = getDirectory()
+            directory.mkdirs()
+            directory.listFiles { file -> file.name.endsWith(TEMP_FILE_SUFFIX) }
+                ?.forEach { it.delete() }
+            nextChunkIndex = getChunks().lastOrNull()?.let { getChunkIndex(it) + 1 } ?: 0
+            navigator.toggleHistory(true)
+            isRecording = true
+        }
+        jobControl.scope.launch {
+            while (isActive) {
+                delay(options.chunkDurationMillis)
+                finalizeChunk()
+            }
+        }
+    }
+
+    /**
+     * Stops recording history. The current chunk is written out on a worker thread.
+     *
+     * @param callback invoked on the main thread with the last chunk, *null* if nothing
+     * was recorded since the previous chunk or if history wasn't being recorded
+     */
+    @JvmOverloads
+    fun stopRecording(callback: StopRecordingCallback? = null) {
+        val stoppedRecordingId = synchronized(lock) {
+            if (!isRecording) {
+                null
+            } else {
+                jobControl.job.cancelChildren()
+                isRecording = false
+                recordingId
+            }
+        }
+        stopScope.launch {
+            val chunk = synchronized(lock) {
+                // if recording was restarted in the meantime, the remaining history
+                // goes into the first chunk of the new recording
+                if (stoppedRecordingId != null && stoppedRecordingId == recordingId) {
+                    drainHistoryToChunk(getDirectory()).also {
+                        navigator.toggleHistory(false)
+                    }
+                } else {
+                    null
+                }
+            }
+            if (callback != null) {
+                withContext(Dispatchers.Main) {
+                    callback.onRecordingStopped(chunk)
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes out the history recorded since the previous chunk as a new chunk
+     * and keeps recording. The chunk is written on the calling thread.
+     *
+     * @return the new chunk, *null* if nothing was recorded since the previous chunk
+     * or if history isn't being recorded
+     */
+    fun finalizeChunk(): File? = synchronized(lock) {
+        if (!isRecording) {
+            return null
+        }
+        drainHistoryToChunk(getDirectory())
+    }
+
+    /**
+     * Returns the finalized chunks, from the oldest to the most recent one.
+     */
+    fun getChunks(): List<File> = synchronized(lock) {
+        getChunks(getDirectory())
+    }
+
+    /**
+     * Deletes a chunk returned by [getChunks].
+     *
+     * @return *true* if the chunk was deleted, otherwise *false*
+     */
+    fun deleteChunk(chunk: File): Boolean = synchronized(lock) {
+        chunk.parentFile == getDirectory() && isChunk(chunk) && chunk.delete()
+    }
+
+    /**
+     * Deletes all the finalized chunks.
+     */
+    fun deleteAllChunks() {
+        synchronized(lock) {
+            getChunks().forEach { it.delete() }
+        }
+    }
+
+    private fun drainHistoryToChunk(directory: File): File? {
+        val history = navigator.drainHistory()
+        if (history.isEmpty()) {
+            return null
+        }
+        return writeChunk(history, directory)
+    }
+
+    private fun writeChunk(history: ByteArray, directory: File): File? {
+        val name = String.format(
+            Locale.US,
+            CHUNK_FILE_NAME_FORMAT,
+            nextChunkIndex,
+            System.currentTimeMillis()
+        )
+        val tempFile = File(directory, name + TEMP_FILE_SUFFIX)
+        val chunk = File(directory, name)
+        return try {
+            directory.mkdirs()
+            GZIPOutputStream(FileOutputStream(tempFile)).use { it.write(history) }
+            if (!tempFile.renameTo(chunk)) {
+                throw IOException("Unable to rename $tempFile to $chunk")
+            }
+            nextChunkIndex++
+            deleteOldestChunks(directory)
+            chunk
+        } catch (e: IOException) {
+            tempFile.delete()
+            logger.e(TAG, Message("Unable to write history chunk"), e)
+            null
+        }
+    }
+
+    private fun deleteOldestChunks(directory: File) {
+        val chunks = getChunks(directory).toMutableList()
+        var totalSizeBytes = chunks.sumOf { it.length() }
+        while (totalSizeBytes > options.maxTotalSizeBytes && chunks.size > 1) {
+            val oldestChunk = chunks.removeAt(0)
+            totalSizeBytes -= oldestChunk.length()
+            oldestChunk.delete()
+        }
+    }
+
+    private fun getChunks(directory: File): List<File> =
+        directory.listFiles { file -> isChunk(file) }?.sortedBy { it.name } ?: emptyList()
+
+    private fun getDirectory(): File =
+        options.fileDirectory?.let { File(it) } ?: defaultDirectory
+
+    private fun isChunk(file: File): Boolean =
+        file.name.startsWith(CHUNK_FILE_PREFIX) && file.name.endsWith(CHUNK_FILE_SUFFIX)
+
+    private fun getChunkIndex(chunk: File): Int =
+        chunk.name.removePrefix(CHUNK_FILE_PREFIX).substringBefore('_').toIntOrNull() ?: -1
+
+    /**
+     * Callback for [stopRecording].
+     */
+    interface StopRecordingCallback {
+
+        /**
+         * Invoked once the last chunk of the recording is written out.
+         *
+         * @param lastChunk the last chunk, *null* if nothing was recorded since the previous
+         * chunk or if history wasn't being recorded
+         */
+        fun onRecordingStopped(lastChunk: File?)
+    }
+
+    private companion object {
+        private val TAG = Tag("MbxHistoryRecorder")
+        private const val CHUNK_FILE_PREFIX = "history_"
+        private const val CHUNK_FILE_SUFFIX = ".json.gz"
+        private const val CHUNK_FILE_NAME_FORMAT =
+            "$CHUNK_FILE_PREFIX%08d_%d$CHUNK_FILE_SUFFIX"
+        private const val TEMP_FILE_SUFFIX = ".tmp"
+    }
+}
@@ -1,7 +1,5 @@
 package com.mapbox.navigation.core.internal.formatter
 
-import android.content.Context
-import android.content.res.Configuration
 import android.content.res.Resources
 import android.graphics.Typeface
 import android.text.SpannableString
@@ -10,12 +8,14 @@ import android.text.style.RelativeSizeSpan
 import android.text.style.StyleSpan
 import com.mapbox.navigation.base.formatter.DistanceFormatter
 import com.mapbox.navigation.base.formatter.DistanceFormatterOptions
+import com.mapbox.navigation.base.internal.LocalizedResources
 import com.mapbox.navigation.base.internal.VoiceUnit
 import com.mapbox.navigation.core.R
 import com.mapbox.turf.TurfConstants
 import com.mapbox.turf.TurfConversion
 import java.text.NumberFormat
-import java.util.Locale
+import kotlin.math.pow
+import kotlin.math.rint
 import kotlin.math.roundToInt
 
 /**
@@ -40,9 +40,29 @@ class MapboxDistanceFormatter(
         else -> TurfConstants.UNIT_KILOMETERS
     }
 
+    private val lock = Any()
+    private val numberFormats = arrayOfNulls<NumberFormat>(MAX_FRACTION_DIGITS + 1)
+    private var cachedResources: Resources? = null
+    // the number and unit texts are cached, the spans are set on a new string every time
+    // as the caller owns the returned string, TextView attaches its watchers to it for example
+    private val formattedDistances = object : LinkedHashMap<Long, Pair<String, String>>(
+        MAX_CACHED_DISTANCES,
+        0.75f,
+        true
+    ) {
+        override fun removeEldestEntry(
+            eldest: MutableMap.MutableEntry<Long, Pair<String, String>>?
+        ) = size > MAX_CACHED_DISTANCES
+    }
+
     companion object {
         private const val smallDistanceUpperThresholdInMeters = 400.0
         private const val mediumDistanceUpperThresholdInMeters = 10000.0
+        private const val MAX_FRACTION_DIGITS = 1
+        private const val MAX_CACHED_DISTANCES = 64
+        private const val SMALL_UNIT_BUCKET = 0
+        private const val LARGE_UNIT_BUCKET = 1
+        private const val BUCKET_TYPES = LARGE_UNIT_BUCKET + MAX_FRACTION_DIGITS + 1
     }
 
     /**
@@ -52,59 +72,72 @@ class MapboxDistanceFormatter(
      * @return SpannableString representation which has a bolded number and units which have a
      * relative size of .65 times the size of the number
      */
-    override fun formatDistance(distance: Double): SpannableString {
-        val distanceAndSuffix = when (distance) {
+    override fun formatDistance(distance: Double): SpannableString = synchronized(lock) {
+        val resources = LocalizedResources.get(options.applicationContext, options.locale)
+        if (resources !== cachedResources) {
+            cachedResources = resources
+            formattedDistances.clear()
+        }
+        when (distance) {
             !in 0.0..Double.MAX_VALUE -> {
-                formatDistanceAndSuffixForSmallUnit(0.0)
+                formatDistanceForSmallUnit(resources, 0.0)
             }
             in 0.0..smallDistanceUpperThresholdInMeters -> {
-                formatDistanceAndSuffixForSmallUnit(distance)
+                formatDistanceForSmallUnit(resources, distance)
             }
             in smallDistanceUpperThresholdInMeters..mediumDistanceUpperThresholdInMeters -> {
-                formatDistanceAndSuffixForLargeUnit(distance, 1)
+                formatDistanceForLargeUnit(resources, distance, 1)
             }
             else -> {
-                formatDistanceAndSuffixForLargeUnit(distance, 0)
+                formatDistanceForLargeUnit(resources, distance, 0)
             }
         }
-        return getSpannableDistanceString(distanceAndSuffix)
     }
 
-    private fun formatDistanceAndSuffixForSmallUnit(distance: Double): Pair<String, String> {
-        val resources = options.applicationContext.resourcesWithLocale(options.locale)
-        val unitStringSuffix = getUnitString(resources, smallUnit)
-
-        if (distance <= 0) {
-            return Pair("0", unitStringSuffix)
-        }
-
-        val distanceUnit = TurfConversion.convertLength(
-            distance,
-            TurfConstants.UNIT_METERS,
-            smallUnit
-        )
-
-        val roundedValue = if (options.roundingIncrement > 0) {
-            distanceUnit.roundToInt() / options.roundingIncrement * options.roundingIncrement
+    private fun formatDistanceForSmallUnit(
+        resources: Resources,
+        distance: Double
+    ): SpannableString {
+        val roundedValue = if (distance <= 0) {
+            0
         } else {
-            distanceUnit.roundToInt()
-        }.toString()
-
-        return Pair(roundedValue, unitStringSuffix)
+            val distanceUnit = TurfConversion.convertLength(
+                distance,
+                TurfConstants.UNIT_METERS,
+                smallUnit
+            )
+            if (options.roundingIncrement > 0) {
+                distanceUnit.roundToInt() / options.roundingIncrement * options.roundingIncrement
+            } else {
+                distanceUnit.roundToInt()
+            }
+        }
+        val bucket = roundedValue.toLong() * BUCKET_TYPES + SMALL_UNIT_BUCKET
+        val distanceAndSuffix = formattedDistances.getOrPut(bucket) {
+            Pair(roundedValue.toString(), getUnitString(resources, smallUnit))
+        }
+        return getSpannableDistanceString(distanceAndSuffix)
     }
 
-    private fun formatDistanceAndSuffixForLargeUnit(
+    private fun formatDistanceForLargeUnit(
+        resources: Resources,
         distance: Double,
         maxFractionDigits: Int
-    ): Pair<String, String> {
-        val resources = options.applicationContext.resourcesWithLocale(options.locale)
-        val unitStringSuffix = getUnitString(resources, largeUnit)
+    ): SpannableString {
         val distanceUnit =
             TurfConversion.convertLength(distance, TurfConstants.UNIT_METERS, largeUnit)
-        val roundedValue = NumberFormat.getNumberInstance(options.locale).also {
-            it.maximumFractionDigits = maxFractionDigits
-        }.format(distanceUnit)
-        return Pair(roundedValue, unitStringSuffix)
+        val scale = 10.0.pow(maxFractionDigits)
+        val roundedValue = rint(distanceUnit * scale).toLong()
+        val bucket = roundedValue * BUCKET_TYPES + LARGE_UNIT_BUCKET + maxFractionDigits
+        val distanceAndSuffix = formattedDistances.getOrPut(bucket) {
+            val numberFormat = numberFormats[maxFractionDigits]
+                ?: NumberFormat.getNumberInstance(options.locale).also {
+                    it.maximumFractionDigits = maxFractionDigits
+                    numberFormats[maxFractionDigits] = it
+                }
+            Pair(numberFormat.format(roundedValue / scale), getUnitString(resources, largeUnit))
+        }
+        return getSpannableDistanceString(distanceAndSuffix)
     }
 
     /**
@@ -145,11 +178,4 @@ class MapboxDistanceFormatter(
             TurfConstants.UNIT_FEET -> resources.getString(R.string.mapbox_unit_feet)
             else -> ""
         }
-
-    private fun Context.resourcesWithLocale(locale: Locale?): Resources {
-        val config = Configuration(this.resources.configuration).also {
-            it.setLocale(locale)
-        }
-        return this.createConfigurationContext(config).resources
-    }
 }
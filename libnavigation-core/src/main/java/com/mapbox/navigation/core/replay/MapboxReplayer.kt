@@ -1,37 +1,109 @@
 package com.mapbox.navigation.core.replay
 
 import android.content.Context
+import android.os.SystemClock
 import com.mapbox.android.core.location.LocationEngine
 import com.mapbox.android.core.location.LocationEngineCallback
 import com.mapbox.android.core.location.LocationEngineProvider
 import com.mapbox.android.core.location.LocationEngineResult
+import com.mapbox.annotation.module.MapboxModuleType
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.base.common.logger.model.Message
+import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.common.module.provider.MapboxModuleProvider
 import com.mapbox.navigation.core.replay.history.ReplayEventBase
 import com.mapbox.navigation.core.replay.history.ReplayEventSimulator
+import com.mapbox.navigation.core.replay.history.ReplayEventStreamReader
 import com.mapbox.navigation.core.replay.history.ReplayEventUpdateLocation
 import com.mapbox.navigation.core.replay.history.ReplayEvents
+import com.mapbox.navigation.core.replay.history.ReplayEventsIndex
 import com.mapbox.navigation.core.replay.history.ReplayEventsObserver
+import com.mapbox.navigation.core.replay.history.ReplayHistoryMapper
+import com.mapbox.navigation.core.replay.history.ReplaySetRoute
 import com.mapbox.navigation.core.replay.route.ReplayRouteMapper
+import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Job
 import java.util.Collections.singletonList
+import java.util.concurrent.CopyOnWriteArraySet
 
 /**
  * This class is similar to a music player. It will include controls like play, pause, seek.
  */
-class MapboxReplayer {
+class MapboxReplayer internal constructor(
+    private val eventStreamDispatcher: CoroutineDispatcher,
+    private val logger: Logger
+) {
+
+    /**
+     * Creates a replayer without events.
+     */
+    constructor() : this(
+        ThreadController.IODispatcher,
+        MapboxModuleProvider.createModule(MapboxModuleType.CommonLogger) { arrayOf() }
+    )
 
     private val replayEvents = ReplayEvents(mutableListOf())
+    private val replayEventsIndex = ReplayEventsIndex(replayEvents)
     private val replayEventSimulator = ReplayEventSimulator(replayEvents)
 
-    private val replayEventsObservers: MutableSet<ReplayEventsObserver> = mutableSetOf()
+    private val replayEventsObservers: MutableSet<ReplayEventsObserver> = CopyOnWriteArraySet()
+
+    private var eventStreamReader: ReplayEventStreamReader? = null
+    @Volatile
+    private var virtualClock: ReplayVirtualClock? = null
+    private var lastReplayedSetRoute: ReplaySetRoute? = null
 
     /**
      * Appends events to be replayed. Notice the basis of your [ReplayEventBase.eventTimestamp].
      * When they are drastically different, you may need to [seekTo] events.
      *
+     * Events can be pushed in chunks while playing, [seekTo] stays fast as long as
+     * every chunk is in chronological order.
+     *
      * @param events the events to be replayed.
      * @return [MapboxReplayer]
      */
     fun pushEvents(events: List<ReplayEventBase>): MapboxReplayer {
-        this.replayEvents.events.addAll(events)
+        replayEventsIndex.append(events)
+        return this
+    }
+
+    /**
+     * Appends events from [eventStream] while they are replayed, so only a window of upcoming
+     * events is read ahead of the playback. Useful for long histories read with
+     * [ReplayHistoryMapper.mapToReplayEventStream].
+     *
+     * The events are read on a worker thread, at most [windowSize] of them ahead of the
+     * playback. They are appended from the thread the events are replayed on, once playing,
+     * whenever less than [windowSize] events are left to play. Events that weren't appended
+     * yet aren't taken into account by [durationSeconds] and [seekTo].
+     *
+     * Only the last `10 * windowSize` played events are kept, so the memory doesn't grow with
+     * the length of the stream. [seekTo] and [scrubTo] can't go back further than those events,
+     * [scrubTo] still replays the route that was set before them.
+     *
+     * If the stream fails, the error is logged and the replay ends with the events read so far.
+     *
+     * @param eventStream the events to be replayed, the caller stays responsible for closing it
+     * after [clearEvents]
+     * @param windowSize number of events to read ahead of the playback
+     * @return [MapboxReplayer]
+     */
+    @JvmOverloads
+    fun pushEvents(
+        eventStream: Iterator<ReplayEventBase>,
+        windowSize: Int = DEFAULT_EVENT_STREAM_WINDOW_SIZE
+    ): MapboxReplayer {
+        check(windowSize > 0) { "Window size must be positive: $windowSize" }
+        eventStreamReader?.cancel()
+        eventStreamReader = ReplayEventStreamReader(
+            eventStream,
+            windowSize,
+            eventStreamDispatcher
+        ) { exception ->
+            logger.e(TAG, Message("Unable to read the replay event stream"), exception)
+        }
         return this
     }
 
@@ -42,7 +114,10 @@ class MapboxReplayer {
     fun clearEvents() {
         stop()
         seekTo(0.0)
-        replayEvents.events.clear()
+        replayEventsIndex.clear()
+        eventStreamReader?.cancel()
+        eventStreamReader = null
+        lastReplayedSetRoute = null
     }
 
     /**
@@ -78,9 +153,66 @@ class MapboxReplayer {
      * registered via [registerObserver]
      */
     fun play() {
-        replayEventSimulator.launchSimulator { replayEvents ->
-            replayEventsObservers.forEach { it.replayEvents(replayEvents) }
+        replayEventSimulator.launchSimulator(
+            { replayEvents -> notifyObservers(replayEvents) },
+            ::pushStreamedEvents
+        )
+    }
+
+    /**
+     * Replays all the remaining events as fast as they can be consumed, instead of waiting for
+     * the time between them. Useful to evaluate navigation over recorded trips without
+     * a device or a UI, for example in regression tests.
+     *
+     * Events with the same timestamp are delivered together to the observers registered via
+     * [registerObserver], from the [dispatcher] thread and always in the same order.
+     * [ReplayLocationEngine] still delivers the locations on the looper they were requested with.
+     *
+     * While fast-forwarding, the replay runs on a virtual clock that moves with the replayed
+     * events: [ReplayLocationEngine] timestamps the locations with it and the trip session of
+     * [com.mapbox.navigation.core.MapboxNavigation] asks the navigator for the status at that
+     * time, so the output doesn't depend on how fast the events are replayed. When the
+     * trip session is started with a [ReplayLocationEngine], the next events are only replayed
+     * once the navigator processed the last replayed location, then [onEventsReplayed] is
+     * invoked and can suspend to apply more backpressure.
+     *
+     * Don't [seekTo] or [pushEvents] from another thread while fast-forwarding,
+     * use [stop] to cancel it.
+     *
+     * @param dispatcher dispatcher the events are replayed on
+     * @param onEventsReplayed invoked after the observers were notified of each group of events
+     * and processed them
+     * @return the [Job] that completes once all the events were replayed
+     */
+    @JvmOverloads
+    fun fastForward(
+        dispatcher: CoroutineDispatcher = ThreadController.IODispatcher,
+        onEventsReplayed: suspend (List<ReplayEventBase>) -> Unit = { }
+    ): Job {
+        stop()
+        val virtualClock = ReplayVirtualClock(
+            SystemClock.elapsedRealtimeNanos(),
+            System.currentTimeMillis()
+        )
+        this.virtualClock = virtualClock
+        val job = replayEventSimulator.launchFastForward(
+            dispatcher,
+            { replayEvents ->
+                virtualClock.advanceTo(replayEvents.first().eventTimestamp)
+                notifyObservers(replayEvents)
+                replayEventsObservers.forEach {
+                    (it as? ReplayLocationEngine)?.awaitLocationsProcessed()
+                }
+                onEventsReplayed(replayEvents)
+            },
+            ::pushStreamedEvents
+        )
+        job.invokeOnCompletion {
+            if (this.virtualClock === virtualClock) {
+                this.virtualClock = null
+            }
         }
+        return job
     }
 
     /**
@@ -152,19 +284,19 @@ class MapboxReplayer {
      * @return the duration in seconds
      */
     fun durationSeconds(): Double {
-        val firstEvent = replayEvents.events.firstOrNull()
+        val firstEventTimestamp = replayEventsIndex.firstEventTimestamp
             ?: return 0.0
         val lastEvent = replayEvents.events.last()
-        return lastEvent.eventTimestamp - firstEvent.eventTimestamp
+        return lastEvent.eventTimestamp - firstEventTimestamp
     }
 
     /**
      * The time of an event, relative to the duration of the replay.
      */
     fun eventSeconds(eventTimestamp: Double): Double {
-        val firstEvent = replayEvents.events.firstOrNull()
+        val firstEventTimestamp = replayEventsIndex.firstEventTimestamp
             ?: return 0.0
-        return eventTimestamp - firstEvent.eventTimestamp
+        return eventTimestamp - firstEventTimestamp
     }
 
     /**
@@ -173,17 +305,7 @@ class MapboxReplayer {
      * @param replayTime time in seconds between 0.0 to [durationSeconds]
      */
     fun seekTo(replayTime: Double) {
-        val firstEventTime = replayEvents.events.firstOrNull()?.eventTimestamp
-            ?: return
-        val offsetTime = replayTime + firstEventTime
-        val indexOfEvent = replayEvents.events
-            .indexOfFirst { offsetTime <= it.eventTimestamp }
-        check(indexOfEvent >= 0) {
-            "Make sure your replayTime is less than replayDurationSeconds " +
-                "$replayTime > ${durationSeconds()}: "
-        }
-
-        replayEventSimulator.seekTo(indexOfEvent)
+        seekToTime(replayTime)
     }
 
     /**
@@ -193,12 +315,30 @@ class MapboxReplayer {
      * @throws IllegalStateException if [replayEvent] was not pushed
      */
     fun seekTo(replayEvent: ReplayEventBase) {
-        val indexOfEvent = replayEvents.events.indexOf(replayEvent)
+        val indexOfEvent = replayEventsIndex.indexOf(replayEvent)
         check(indexOfEvent >= 0) { "You must first pushEvents and then seekTo an event" }
 
         replayEventSimulator.seekTo(indexOfEvent)
     }
 
+    /**
+     * Jump to a time to play from, back or forth, for example while dragging a seek bar
+     * over a long history.
+     *
+     * Unlike [seekTo], the observers are notified of the last [ReplaySetRoute] before
+     * [replayTime] when it isn't the last one they were notified of, so they follow
+     * the route that was set at that time. Nothing is replayed when there is none.
+     *
+     * @param replayTime time in seconds between 0.0 to [durationSeconds]
+     */
+    fun scrubTo(replayTime: Double) {
+        val indexOfEvent = seekToTime(replayTime) ?: return
+        val setRoute = replayEventsIndex.lastSetRouteBefore(indexOfEvent)
+        if (setRoute != null && setRoute !== lastReplayedSetRoute) {
+            notifyObservers(singletonList(setRoute))
+        }
+    }
+
     /**
      * Convenience function to stop, remove listeners, and clean up the player.
      */
@@ -207,4 +347,60 @@ class MapboxReplayer {
         unregisterObservers()
         clearEvents()
     }
+
+    /**
+     * Returns the clock of the current [fastForward], *null* if the replay isn't fast-forwarded.
+     */
+    internal fun getVirtualClock(): ReplayVirtualClock? = virtualClock
+
+    private fun seekToTime(replayTime: Double): Int? {
+        val firstEventTime = replayEventsIndex.firstEventTimestamp
+            ?: return null
+        val indexOfEvent = replayEventsIndex.indexOfTime(replayTime + firstEventTime)
+        check(indexOfEvent >= 0) {
+            "Make sure your replayTime is less than replayDurationSeconds " +
+                "$replayTime > ${durationSeconds()}: "
+        }
+
+        replayEventSimulator.seekTo(indexOfEvent)
+        return indexOfEvent
+    }
+
+    private fun notifyObservers(replayEvents: List<ReplayEventBase>) {
+        replayEvents.lastOrNull { it is ReplaySetRoute }?.let {
+            lastReplayedSetRoute = it as ReplaySetRoute
+        }
+        replayEventsObservers.forEach { it.replayEvents(replayEvents) }
+    }
+
+    private suspend fun pushStreamedEvents(remainingEvents: Int) {
+        val eventStreamReader = eventStreamReader ?: return
+        val events = eventStreamReader.takeEvents(remainingEvents)
+        if (this.eventStreamReader === eventStreamReader) {
+            replayEventsIndex.append(events)
+            trimPlayedEvents(eventStreamReader.windowSize * PLAYED_WINDOWS_KEPT)
+            if (eventStreamReader.isDone) {
+                this.eventStreamReader = null
+            }
+        }
+    }
+
+    /**
+     * Trims the played events once twice as many as [playedEventsKept] were played,
+     * so that they are only copied once in a while.
+     */
+    private fun trimPlayedEvents(playedEventsKept: Int) {
+        val playedEvents = replayEventSimulator.playedEvents()
+        if (playedEvents >= 2 * playedEventsKept) {
+            val trimmedEvents = playedEvents - playedEventsKept
+            replayEventsIndex.trim(trimmedEvents)
+            replayEventSimulator.onEventsTrimmed(trimmedEvents)
+        }
+    }
+
+    private companion object {
+        private val TAG = Tag("MbxReplayer")
+        private const val DEFAULT_EVENT_STREAM_WINDOW_SIZE = 100
+        private const val PLAYED_WINDOWS_KEPT = 10
+    }
 }
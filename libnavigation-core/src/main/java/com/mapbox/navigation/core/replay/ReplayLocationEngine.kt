@@ -2,6 +2,7 @@ package com.mapbox.navigation.core.replay
 
 import android.app.PendingIntent
 import android.location.Location
+import android.os.Handler
 import android.os.Looper
 import android.os.SystemClock
 import com.mapbox.android.core.location.LocationEngine
@@ -11,21 +12,32 @@ import com.mapbox.android.core.location.LocationEngineResult
 import com.mapbox.navigation.core.replay.history.ReplayEventBase
 import com.mapbox.navigation.core.replay.history.ReplayEventUpdateLocation
 import com.mapbox.navigation.core.replay.history.ReplayEventsObserver
+import kotlinx.coroutines.CompletableDeferred
 import java.util.Date
+import java.util.concurrent.CopyOnWriteArrayList
 
 private typealias EngineCallback = LocationEngineCallback<LocationEngineResult>
 
 /**
  * Location Engine for replaying route history.
+ *
+ * Location updates are delivered on the [Looper] they were requested with, the main looper
+ * if none was given, whatever thread the [MapboxReplayer] replays the events on.
  */
 class ReplayLocationEngine(
-    mapboxReplayer: MapboxReplayer
+    private val mapboxReplayer: MapboxReplayer
 ) : LocationEngine, ReplayEventsObserver {
 
-    private val registeredCallbacks: MutableList<EngineCallback> = mutableListOf()
-    private val lastLocationCallbacks: MutableList<EngineCallback> = mutableListOf()
+    private val registeredCallbacks = CopyOnWriteArrayList<RegisteredCallback>()
+    private val lastLocationCallbacks = CopyOnWriteArrayList<EngineCallback>()
+    @Volatile
     private var lastLocationEngineResult: LocationEngineResult? = null
 
+    private val processingLock = Any()
+    private var isLocationProcessingAcknowledged = false
+    private val pendingLocations = mutableSetOf<Location>()
+    private var locationsProcessed: CompletableDeferred<Unit>? = null
+
     init {
         mapboxReplayer.registerObserver(this)
     }
@@ -38,7 +50,9 @@ class ReplayLocationEngine(
         callback: EngineCallback,
         looper: Looper?
     ) {
-        registeredCallbacks.add(callback)
+        registeredCallbacks.add(
+            RegisteredCallback(callback, Handler(looper ?: Looper.getMainLooper()))
+        )
     }
 
     /**
@@ -48,7 +62,7 @@ class ReplayLocationEngine(
      * stopped state, doing so helps battery performance.
      */
     override fun removeLocationUpdates(callback: EngineCallback) {
-        registeredCallbacks.remove(callback)
+        registeredCallbacks.removeAll { it.callback === callback }
     }
 
     /**
@@ -97,8 +111,10 @@ class ReplayLocationEngine(
         val location = Location(eventLocation.provider)
         location.longitude = eventLocation.lon
         location.latitude = eventLocation.lat
-        location.time = Date().time
-        location.elapsedRealtimeNanos = SystemClock.elapsedRealtimeNanos()
+        val virtualClock = mapboxReplayer.getVirtualClock()
+        location.time = virtualClock?.timeMillis(event.eventTimestamp) ?: Date().time
+        location.elapsedRealtimeNanos = virtualClock?.elapsedRealtimeNanos(event.eventTimestamp)
+            ?: SystemClock.elapsedRealtimeNanos()
         eventLocation.accuracyHorizontal?.toFloat()?.let { location.accuracy = it }
         eventLocation.bearing?.toFloat()?.let { location.bearing = it }
         eventLocation.altitude?.let { location.altitude = it }
@@ -106,8 +122,94 @@ class ReplayLocationEngine(
         val locationEngineResult = LocationEngineResult.create(location)
         lastLocationEngineResult = locationEngineResult
 
-        registeredCallbacks.forEach { it.onSuccess(locationEngineResult) }
-        lastLocationCallbacks.forEach { it.onSuccess(locationEngineResult) }
-        lastLocationCallbacks.clear()
+        if (virtualClock != null) {
+            synchronized(processingLock) {
+                if (isLocationProcessingAcknowledged) {
+                    pendingLocations.add(location)
+                }
+            }
+        }
+        registeredCallbacks.forEach { registeredCallback ->
+            deliver(registeredCallback.handler) {
+                // the callback might have been removed while the location was posted
+                if (registeredCallbacks.contains(registeredCallback)) {
+                    registeredCallback.callback.onSuccess(locationEngineResult)
+                }
+            }
+        }
+        val lastLocationCallbacks = lastLocationCallbacks.toList()
+        this.lastLocationCallbacks.removeAll(lastLocationCallbacks)
+        deliver(mainHandler) {
+            lastLocationCallbacks.forEach { it.onSuccess(locationEngineResult) }
+        }
+    }
+
+    private fun deliver(handler: Handler, action: () -> Unit) {
+        if (Looper.myLooper() == handler.looper) {
+            action()
+        } else {
+            handler.post(action)
+        }
+    }
+
+    /**
+     * Returns the time of the replay while it's fast-forwarded, *null* otherwise.
+     */
+    internal fun getVirtualElapsedRealtimeNanos(): Long? =
+        mapboxReplayer.getVirtualClock()?.elapsedRealtimeNanos()
+
+    /**
+     * Makes [awaitLocationsProcessed] wait for [onLocationProcessed] of every location
+     * replayed while fast-forwarding. Enabled by the trip session while it's started.
+     */
+    internal fun setLocationProcessingAcknowledged(acknowledged: Boolean) {
+        synchronized(processingLock) {
+            isLocationProcessingAcknowledged = acknowledged
+            if (!acknowledged) {
+                pendingLocations.clear()
+                completeLocationsProcessed()
+            }
+        }
+    }
+
+    /**
+     * Invoked once a replayed [location] was processed by the navigator.
+     */
+    internal fun onLocationProcessed(location: Location) {
+        synchronized(processingLock) {
+            if (pendingLocations.remove(location) && pendingLocations.isEmpty()) {
+                completeLocationsProcessed()
+            }
+        }
+    }
+
+    /**
+     * Suspends until the locations replayed while fast-forwarding were processed.
+     */
+    internal suspend fun awaitLocationsProcessed() {
+        val locationsProcessed = synchronized(processingLock) {
+            if (pendingLocations.isEmpty()) {
+                null
+            } else {
+                locationsProcessed ?: CompletableDeferred<Unit>().also {
+                    locationsProcessed = it
+                }
+            }
+        }
+        locationsProcessed?.await()
+    }
+
+    private fun completeLocationsProcessed() {
+        locationsProcessed?.complete(Unit)
+        locationsProcessed = null
+    }
+
+    private class RegisteredCallback(
+        val callback: EngineCallback,
+        val handler: Handler
+    )
+
+    private companion object {
+        private val mainHandler = Handler(Looper.getMainLooper())
     }
 }
@@ -0,0 +1,51 @@
+package com.mapbox.navigation.core.replay
+
+import com.mapbox.navigation.core.replay.history.ReplayEventBase
+
+/**
+ * Clock of a fast-forwarded replay, it moves with the [ReplayEventBase.eventTimestamp] of the
+ * replayed events instead of the device clock.
+ *
+ * The first replayed event happens at [startElapsedRealtimeNanos] and [startTimeMillis],
+ * the following ones as much later as their timestamps are. The current time of the clock
+ * is the time of the last replayed event.
+ */
+internal class ReplayVirtualClock(
+    private val startElapsedRealtimeNanos: Long,
+    private val startTimeMillis: Long
+) {
+
+    @Volatile
+    private var startEventTimestamp: Double? = null
+    @Volatile
+    private var currentEventTimestamp: Double? = null
+
+    /**
+     * Moves the clock to the time of the events being replayed.
+     */
+    fun advanceTo(eventTimestamp: Double) {
+        if (startEventTimestamp == null) {
+            startEventTimestamp = eventTimestamp
+        }
+        currentEventTimestamp = eventTimestamp
+    }
+
+    /**
+     * Returns the current time of the clock, *null* before any event was replayed.
+     */
+    fun elapsedRealtimeNanos(): Long? = currentEventTimestamp?.let { elapsedRealtimeNanos(it) }
+
+    fun elapsedRealtimeNanos(eventTimestamp: Double): Long =
+        startElapsedRealtimeNanos + (secondsSinceStart(eventTimestamp) * NANOS_PER_SECOND).toLong()
+
+    fun timeMillis(eventTimestamp: Double): Long =
+        startTimeMillis + (secondsSinceStart(eventTimestamp) * MILLIS_PER_SECOND).toLong()
+
+    private fun secondsSinceStart(eventTimestamp: Double): Double =
+        eventTimestamp - (startEventTimestamp ?: eventTimestamp)
+
+    private companion object {
+        private const val NANOS_PER_SECOND = 1e9
+        private const val MILLIS_PER_SECOND = 1e3
+    }
+}
@@ -3,6 +3,7 @@ package com.mapbox.navigation.core.replay.history
 import android.os.SystemClock
 import com.mapbox.navigation.core.replay.MapboxReplayer
 import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.delay
@@ -30,10 +31,14 @@ internal class ReplayEventSimulator(
 
     private var pivotIndex = 0
 
-    fun launchSimulator(replayEventsCallback: (List<ReplayEventBase>) -> Unit): Job {
+    fun launchSimulator(
+        replayEventsCallback: (List<ReplayEventBase>) -> Unit,
+        prepareEventsCallback: suspend (remainingEvents: Int) -> Unit = { }
+    ): Job {
         resetSimulatorClock()
         return jobControl.scope.launch {
             while (isActive) {
+                prepareEventsCallback(replayEvents.events.size - pivotIndex)
                 if (isDonePlayingEvents()) {
                     delay(IS_DONE_PLAYING_EVENTS_DELAY_MILLIS)
                 } else {
@@ -57,6 +62,38 @@ internal class ReplayEventSimulator(
         delay(delayMillis)
     }
 
+    /**
+     * Replays the events one timestamp at a time, without waiting for the time between them.
+     * The next events are replayed as soon as [replayEventsCallback] returns.
+     */
+    fun launchFastForward(
+        dispatcher: CoroutineDispatcher,
+        replayEventsCallback: suspend (List<ReplayEventBase>) -> Unit,
+        prepareEventsCallback: suspend (remainingEvents: Int) -> Unit = { }
+    ): Job {
+        return jobControl.scope.launch(dispatcher) {
+            while (isActive) {
+                prepareEventsCallback(replayEvents.events.size - pivotIndex)
+                if (isDonePlayingEvents()) {
+                    break
+                }
+                replayEventsCallback(moveToNextTimestamp())
+            }
+        }
+    }
+
+    /**
+     * Number of events that were played before the next event to play.
+     */
+    fun playedEvents(): Int = pivotIndex
+
+    /**
+     * Keeps the next event to play when the [count] first events are removed.
+     */
+    fun onEventsTrimmed(count: Int) {
+        pivotIndex -= count
+    }
+
     fun stopSimulator() {
         jobControl.job.cancelChildren()
     }
@@ -100,6 +137,19 @@ internal class ReplayEventSimulator(
         return eventHappened
     }
 
+    private fun moveToNextTimestamp(): List<ReplayEventBase> {
+        val eventTimestamp = replayEvents.events[pivotIndex].eventTimestamp
+        val eventsHappened = mutableListOf<ReplayEventBase>()
+        while (!isDonePlayingEvents() &&
+            replayEvents.events[pivotIndex].eventTimestamp == eventTimestamp
+        ) {
+            eventsHappened.add(replayEvents.events[pivotIndex])
+            pivotIndex++
+        }
+        historyTimeOffset = eventTimestamp
+        return eventsHappened
+    }
+
     private fun isDonePlayingEvents(): Boolean {
         return pivotIndex >= replayEvents.events.size
     }
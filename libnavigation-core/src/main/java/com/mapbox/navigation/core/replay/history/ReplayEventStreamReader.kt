@@ -0,0 +1,87 @@
+package com.mapbox.navigation.core.replay.history
+
+import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.ClosedReceiveChannelException
+import kotlinx.coroutines.launch
+
+/**
+ * Reads an event stream ahead of the playback on [dispatcher], so reading and decoding
+ * the events doesn't happen on the thread the events are replayed on.
+ *
+ * At most [windowSize] events are read ahead and kept in memory. When reading the stream
+ * fails, the error is reported to [onError] and the stream ends with the events read so far.
+ *
+ * @param eventStream the events to read
+ * @param windowSize number of events to read ahead
+ * @param dispatcher dispatcher the events are read on
+ * @param onError invoked on [dispatcher] when reading the stream fails
+ */
+internal class ReplayEventStreamReader(
+    eventStream: Iterator<ReplayEventBase>,
+    val windowSize: Int,
+    dispatcher: CoroutineDispatcher,
+    onError: (Exception) -> Unit
+) {
+
+    private val jobControl = ThreadController.getIOScopeAndRootJob()
+    private val bufferedEvents = Channel<ReplayEventBase>(windowSize)
+
+    /**
+     * *true* once all the events were taken from the stream.
+     */
+    var isDone = false
+        private set
+
+    init {
+        jobControl.scope.launch(dispatcher) {
+            try {
+                eventStream.forEach { bufferedEvents.send(it) }
+                bufferedEvents.close()
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                onError(e)
+                bufferedEvents.close()
+            }
+        }
+    }
+
+    /**
+     * Takes the events that were read ahead once less than [windowSize] events are left to
+     * play, waiting for the next event when none are left.
+     *
+     * @param remainingEvents number of events that are left to play
+     * @return events to append to the replay, at most [windowSize]
+     */
+    suspend fun takeEvents(remainingEvents: Int): List<ReplayEventBase> {
+        if (isDone || remainingEvents >= windowSize) {
+            return emptyList()
+        }
+        val events = mutableListOf<ReplayEventBase>()
+        if (remainingEvents == 0) {
+            try {
+                events.add(bufferedEvents.receive())
+            } catch (e: ClosedReceiveChannelException) {
+                isDone = true
+                return events
+            }
+        }
+        while (events.size < windowSize) {
+            events.add(bufferedEvents.poll() ?: break)
+        }
+        return events
+    }
+
+    /**
+     * Stops reading the stream.
+     */
+    fun cancel() {
+        jobControl.job.cancelChildren()
+        bufferedEvents.cancel()
+        isDone = true
+    }
+}
@@ -0,0 +1,149 @@
+package com.mapbox.navigation.core.replay.history
+
+import com.mapbox.navigation.core.replay.MapboxReplayer
+
+/**
+ * Keeps [ReplayEvents] searchable by time while events are appended to them.
+ *
+ * Events are replayed in the order they were appended, which is usually chronological.
+ * The events are split in runs of non-decreasing timestamps, so a time or an event is found
+ * with a binary search in every run. A history has a single run, events mapped from routes
+ * start a new run every time a new route is appended.
+ *
+ * Played events can be trimmed to bound the memory of long replays, the last [ReplaySetRoute]
+ * and the time of the first event are kept so that the remaining events replay the same way.
+ *
+ * @param replayEvents events replayed by [MapboxReplayer], only to be changed through the index
+ */
+internal class ReplayEventsIndex(
+    private val replayEvents: ReplayEvents
+) {
+
+    private val runStartIndices = mutableListOf<Int>()
+    private val setRouteIndices = mutableListOf<Int>()
+    private var trimmedSetRoute: ReplaySetRoute? = null
+
+    /**
+     * Time of the first event appended since the last [clear], even if it was trimmed.
+     */
+    var firstEventTimestamp: Double? = null
+        private set
+
+    fun append(events: Collection<ReplayEventBase>) {
+        events.forEach { append(it) }
+    }
+
+    fun append(event: ReplayEventBase) {
+        if (firstEventTimestamp == null) {
+            firstEventTimestamp = event.eventTimestamp
+        }
+        index(event)
+        replayEvents.events.add(event)
+    }
+
+    private fun index(event: ReplayEventBase) {
+        val lastEvent = replayEvents.events.lastOrNull()
+        if (lastEvent == null || lastEvent.eventTimestamp > event.eventTimestamp) {
+            runStartIndices.add(replayEvents.events.size)
+        }
+        if (event is ReplaySetRoute) {
+            setRouteIndices.add(replayEvents.events.size)
+        }
+    }
+
+    /**
+     * Removes the [count] first events, so the index of every other event moves down by [count].
+     */
+    fun trim(count: Int) {
+        if (count <= 0) {
+            return
+        }
+        trimmedSetRoute = lastSetRouteBefore(count)
+        val remainingEvents = replayEvents.events.subList(count, replayEvents.events.size).toList()
+        replayEvents.events.clear()
+        runStartIndices.clear()
+        setRouteIndices.clear()
+        remainingEvents.forEach {
+            index(it)
+            replayEvents.events.add(it)
+        }
+    }
+
+    fun clear() {
+        replayEvents.events.clear()
+        runStartIndices.clear()
+        setRouteIndices.clear()
+        trimmedSetRoute = null
+        firstEventTimestamp = null
+    }
+
+    /**
+     * @return index of the first event that happens at or after [eventTimestamp],
+     * -1 if there is none
+     */
+    fun indexOfTime(eventTimestamp: Double): Int {
+        runStartIndices.forEachIndexed { run, runStart ->
+            val runEnd = getRunEnd(run)
+            val index = lowerBound(runStart, runEnd, eventTimestamp)
+            if (index < runEnd) {
+                return index
+            }
+        }
+        return -1
+    }
+
+    /**
+     * @return index of the first event equal to [event], -1 if there is none
+     */
+    fun indexOf(event: ReplayEventBase): Int {
+        runStartIndices.forEachIndexed { run, runStart ->
+            val runEnd = getRunEnd(run)
+            var index = lowerBound(runStart, runEnd, event.eventTimestamp)
+            while (index < runEnd &&
+                replayEvents.events[index].eventTimestamp == event.eventTimestamp
+            ) {
+                if (replayEvents.events[index] == event) {
+                    return index
+                }
+                index++
+            }
+        }
+        return -1
+    }
+
+    /**
+     * @return the last [ReplaySetRoute] replayed before the event at [index], including the
+     * trimmed events, if any
+     */
+    fun lastSetRouteBefore(index: Int): ReplaySetRoute? {
+        var low = 0
+        var high = setRouteIndices.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (setRouteIndices[middle] < index) {
+                low = middle + 1
+            } else {
+                high = middle
+            }
+        }
+        return setRouteIndices.getOrNull(low - 1)?.let { replayEvents.events[it] as ReplaySetRoute }
+            ?: trimmedSetRoute
+    }
+
+    private fun getRunEnd(run: Int): Int =
+        runStartIndices.getOrNull(run + 1) ?: replayEvents.events.size
+
+    private fun lowerBound(fromIndex: Int, toIndex: Int, eventTimestamp: Double): Int {
+        var low = fromIndex
+        var high = toIndex
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (replayEvents.events[middle].eventTimestamp < eventTimestamp) {
+                low = middle + 1
+            } else {
+                high = middle
+            }
+        }
+        return low
+    }
+}
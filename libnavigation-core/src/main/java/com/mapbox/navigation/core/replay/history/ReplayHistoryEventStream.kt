@@ -0,0 +1,114 @@
+package com.mapbox.navigation.core.replay.history
+
+import com.google.gson.Gson
+import com.google.gson.JsonObject
+import com.google.gson.stream.JsonReader
+import com.mapbox.navigation.core.replay.MapboxReplayer
+import java.io.Closeable
+import java.io.InputStream
+import java.io.InputStreamReader
+
+/**
+ * Reads [ReplayEventBase]s from a history json stream one at a time.
+ *
+ * Only the event being mapped is kept in memory, so long histories can be replayed
+ * by giving the stream to [MapboxReplayer.pushEvents]. Events that can't be mapped
+ * are skipped, like with [ReplayHistoryMapper.mapToReplayEvents].
+ *
+ * Use [ReplayHistoryMapper.mapToReplayEventStream] to create a stream.
+ */
+class ReplayHistoryEventStream internal constructor(
+    inputStream: InputStream,
+    private val replayHistoryMapper: ReplayHistoryMapper
+) : Iterator<ReplayEventBase>, Closeable {
+
+    private val gson = Gson()
+    private val jsonReader = JsonReader(InputStreamReader(inputStream, Charsets.UTF_8))
+    private var isReadingEvents = false
+    private var isDone = false
+    private var eventIndex = 0
+    private var nextEvent: ReplayEventBase? = null
+
+    /**
+     * Returns *true* if there are more events to read.
+     */
+    override fun hasNext(): Boolean {
+        if (nextEvent == null) {
+            nextEvent = readNextEvent()
+        }
+        return nextEvent != null
+    }
+
+    /**
+     * Returns the next event.
+     *
+     * @throws NoSuchElementException if there are no more events
+     */
+    override fun next(): ReplayEventBase {
+        if (!hasNext()) {
+            throw NoSuchElementException("No more history events")
+        }
+        val event = nextEvent!!
+        nextEvent = null
+        return event
+    }
+
+    /**
+     * Reads up to [count] next events.
+     *
+     * @return the events, empty if there are no more events
+     */
+    fun next(count: Int): List<ReplayEventBase> {
+        val events = mutableListOf<ReplayEventBase>()
+        while (events.size < count && hasNext()) {
+            events.add(next())
+        }
+        return events
+    }
+
+    /**
+     * Closes the underlying stream.
+     */
+    override fun close() {
+        isDone = true
+        nextEvent = null
+        jsonReader.close()
+    }
+
+    private fun readNextEvent(): ReplayEventBase? {
+        if (isDone) {
+            return null
+        }
+        if (!isReadingEvents && !moveToEvents()) {
+            isDone = true
+            return null
+        }
+        while (jsonReader.hasNext()) {
+            val event = gson.fromJson<JsonObject>(jsonReader, JsonObject::class.java)
+            val replayEvent = replayHistoryMapper.mapToReplayEvent(event, eventIndex++)
+            if (replayEvent != null) {
+                return replayEvent
+            }
+        }
+        jsonReader.endArray()
+        isDone = true
+        return null
+    }
+
+    private fun moveToEvents(): Boolean {
+        jsonReader.beginObject()
+        while (jsonReader.hasNext()) {
+            if (jsonReader.nextName() == EVENTS) {
+                jsonReader.beginArray()
+                isReadingEvents = true
+                return true
+            }
+            jsonReader.skipValue()
+        }
+        return false
+    }
+
+    private companion object {
+        private const val EVENTS = "events"
+    }
+}
@@ -1,11 +1,13 @@
 package com.mapbox.navigation.core.replay.history
 
 import com.google.gson.Gson
+import com.google.gson.JsonObject
 import com.google.gson.internal.LinkedTreeMap
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
 import com.mapbox.navigation.core.replay.MapboxReplayer
+import java.io.InputStream
 
 /**
  * Additional mapper that can be used with [ReplayHistoryMapper].
@@ -40,6 +42,17 @@ class ReplayHistoryMapper @JvmOverloads constructor(
         return mapToReplayEvents(exampleHistoryData)
     }
 
+    /**
+     * Given a history json stream return a [ReplayHistoryEventStream] that reads and maps
+     * the events one at a time, so the history is never fully loaded in memory.
+     * The stream can be given to [MapboxReplayer.pushEvents] to be replayed while it's read.
+     *
+     * The caller is responsible for closing the returned stream.
+     */
+    fun mapToReplayEventStream(inputStream: InputStream): ReplayHistoryEventStream {
+        return ReplayHistoryEventStream(inputStream, this)
+    }
+
     /**
      * Given [ReplayHistoryDTO] return [ReplayEvents] that can be given to a [MapboxReplayer]
      */
@@ -61,10 +74,33 @@ class ReplayHistoryMapper @JvmOverloads constructor(
             .filterNotNull()
     }
 
+    internal fun mapToReplayEvent(event: JsonObject, index: Int): ReplayEventBase? {
+        return try {
+            when (val eventType = event.get("type").asString) {
+                "updateLocation" -> gson.fromJson(event, ReplayEventUpdateLocation::class.java)
+                "getStatus" -> ReplayEventGetStatus(
+                    eventTimestamp = (event.get("event_timestamp") ?: event.get("timestamp"))
+                        .asDouble
+                )
+                "setRoute" -> mapToSetRoute(
+                    event.get("event_timestamp").asDouble,
+                    event.get("route")?.takeIf { it.isJsonPrimitive }?.asString
+                )
+                else -> mapToCustomEvent(eventType, gson.fromJson(event, Map::class.java))
+            }
+        } catch (throwable: Throwable) {
+            logger?.e(
+                msg = Message("Failed to read index $index: $event"),
+                tr = throwable
+            )
+            throw throwable
+        }
+    }
+
     private fun mapToEvent(eventType: String, event: LinkedTreeMap<*, *>): ReplayEventBase? {
         return when (eventType) {
             "updateLocation" -> gson.fromJson(
-                event.toString(),
+                gson.toJsonTree(event),
                 ReplayEventUpdateLocation::class.java
             )
             "getStatus" -> {
@@ -77,32 +113,39 @@ class ReplayHistoryMapper @JvmOverloads constructor(
                     eventTimestamp = eventTimestamp
                 )
             }
-            "setRoute" -> {
-                val directionsRoute = try {
-                    if (event["route"] == "{}") {
-                        null
-                    } else {
-                        DirectionsRoute.fromJson(event["route"] as String)
-                    }
-                } catch (throwable: Throwable) {
-                    logger?.w(
-                        msg = Message("Unable to setRoute from history file"),
-                        tr = throwable
-                    )
-                    return null
-                }
-                ReplaySetRoute(
-                    eventTimestamp = event["event_timestamp"] as Double,
-                    route = directionsRoute
-                )
-            }
-            else -> {
-                val replayEvent = customEventMapper?.map(eventType, event.toMap())
-                if (replayEvent == null) {
-                    logger?.e(msg = Message("Replay unsupported event $eventType"))
-                }
-                replayEvent
+            "setRoute" -> mapToSetRoute(
+                event["event_timestamp"] as Double,
+                event["route"]
+            )
+            else -> mapToCustomEvent(eventType, event.toMap())
+        }
+    }
+
+    private fun mapToSetRoute(eventTimestamp: Double, route: Any?): ReplaySetRoute? {
+        val directionsRoute = try {
+            if (route == "{}") {
+                null
+            } else {
+                DirectionsRoute.fromJson(route as String)
             }
+        } catch (throwable: Throwable) {
+            logger?.w(
+                msg = Message("Unable to setRoute from history file"),
+                tr = throwable
+            )
+            return null
+        }
+        return ReplaySetRoute(
+            eventTimestamp = eventTimestamp,
+            route = directionsRoute
+        )
+    }
+
+    private fun mapToCustomEvent(eventType: String, properties: Map<*, *>): ReplayEventBase? {
+        val replayEvent = customEventMapper?.map(eventType, properties)
+        if (replayEvent == null) {
+            logger?.e(msg = Message("Replay unsupported event $eventType"))
         }
+        return replayEvent
     }
 }
@@ -6,9 +6,12 @@ import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
 import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
 import com.mapbox.navigation.core.routeoptions.RouteOptionsUpdater
+import com.mapbox.navigation.core.trip.session.RouteProgressObserver
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.utils.internal.JobControl
 import com.mapbox.navigation.utils.internal.ThreadController
@@ -17,19 +20,52 @@ import java.util.concurrent.CopyOnWriteArraySet
 
 /**
  * Default implementation of [RerouteController]
+ *
+ * If [speculativeRerouteEnabled] is *true*, routes from the exits of the upcoming maneuver
+ * intersection are requested ahead of time by [SpeculativeReroute] and a matching one is used
+ * when the driver goes off-route. Candidates are only requested while the controller's observers
+ * are registered, see [registerObservers].
  */
 internal class MapboxRerouteController(
     private val directionsSession: DirectionsSession,
     private val tripSession: TripSession,
     private val routeOptionsUpdater: RouteOptionsUpdater,
     threadController: ThreadController = ThreadController,
-    private val logger: Logger
+    private val logger: Logger,
+    speculativeRerouteEnabled: Boolean = false
 ) : RerouteController {
 
     private val observers = CopyOnWriteArraySet<RerouteController.RerouteStateObserver>()
 
     private val mainJobController: JobControl = threadController.getMainScopeAndRootJob()
 
+    private val speculativeReroute: SpeculativeReroute? = if (speculativeRerouteEnabled) {
+        SpeculativeReroute(directionsSession, routeOptionsUpdater, logger)
+    } else {
+        null
+    }
+
+    private val routeProgressObserver = object : RouteProgressObserver {
+        override fun onRouteProgressChanged(routeProgress: RouteProgress) {
+            if (state == RerouteState.Idle) {
+                speculativeReroute?.onRouteProgressChanged(
+                    routeProgress,
+                    tripSession.getEnhancedLocation()
+                )
+            }
+        }
+    }
+
+    private val routesObserver = object : RoutesObserver {
+        override fun onRoutesChanged(routes: List<DirectionsRoute>) {
+            // the candidate was requested for the previous routes
+            activeCandidate?.cancel()
+        }
+    }
+
+    private var activeCandidate: SpeculativeReroute.Candidate? = null
+    private var observersRegistered = false
+
     override var state: RerouteState = RerouteState.Idle
         private set(value) {
             if (field == value) {
@@ -47,6 +83,23 @@ internal class MapboxRerouteController(
             Tag(TAG),
             Message("Fetching route")
         )
+        speculativeReroute?.let { speculativeReroute ->
+            val candidate = speculativeReroute.findCandidate(tripSession.getEnhancedLocation())
+            val hasPendingRequests = speculativeReroute.clear(keep = candidate)
+            if (candidate != null) {
+                useCandidate(candidate)
+                return
+            }
+            if (hasPendingRequests) {
+                // the router queues requests, canceling drops the speculative request in flight
+                // and the ones queued behind it so that the new request is started right away
+                directionsSession.cancel()
+            }
+        }
+        requestNewRoute()
+    }
+
+    private fun requestNewRoute() {
         routeOptionsUpdater.update(
             directionsSession.getRouteOptions(),
             tripSession.getRouteProgress(),
@@ -70,11 +123,41 @@ internal class MapboxRerouteController(
             }
     }
 
+    private fun useCandidate(candidate: SpeculativeReroute.Candidate) {
+        logger.d(
+            Tag(TAG),
+            Message("Using speculative route")
+        )
+        activeCandidate = candidate
+        candidate.onResult { result ->
+            if (activeCandidate === candidate) {
+                activeCandidate = null
+            }
+            when (result) {
+                is SpeculativeReroute.Result.Ready -> {
+                    directionsSession.setRequestedRoutes(result.routes, candidate.routeOptions)
+                    mainJobController.scope.launch {
+                        state = RerouteState.RouteFetched
+                        state = RerouteState.Idle
+                    }
+                }
+                is SpeculativeReroute.Result.Failed -> requestNewRoute()
+                is SpeculativeReroute.Result.Canceled -> {
+                    mainJobController.scope.launch {
+                        state = RerouteState.Interrupted
+                        state = RerouteState.Idle
+                    }
+                }
+            }
+        }
+    }
+
     @MainThread
     override fun interrupt() {
         if (state == RerouteState.FetchingRoute) {
             // do not change state here because it's changed into onRoutesRequestCanceled callback
             directionsSession.cancel()
+            activeCandidate?.cancel()
             logger.d(
                 Tag(TAG),
                 Message("Route request interrupted")
@@ -82,6 +165,34 @@ internal class MapboxRerouteController(
         }
     }
 
+    /**
+     * Starts observing routes and route progress to request speculative candidates.
+     * Has to be called only while this is the reroute controller in use.
+     */
+    @MainThread
+    fun registerObservers() {
+        if (speculativeReroute == null || observersRegistered) {
+            return
+        }
+        observersRegistered = true
+        directionsSession.registerRoutesObserver(routesObserver)
+        tripSession.registerRouteProgressObserver(routeProgressObserver)
+    }
+
+    /**
+     * Stops observing routes and route progress and drops the speculative candidates.
+     */
+    @MainThread
+    fun unregisterObservers() {
+        if (speculativeReroute == null || !observersRegistered) {
+            return
+        }
+        observersRegistered = false
+        tripSession.unregisterRouteProgressObserver(routeProgressObserver)
+        directionsSession.unregisterRoutesObserver(routesObserver)
+        speculativeReroute.clear(keep = activeCandidate)
+    }
+
     override fun registerRerouteStateObserver(
         rerouteStateObserver: RerouteController.RerouteStateObserver
     ): Boolean {
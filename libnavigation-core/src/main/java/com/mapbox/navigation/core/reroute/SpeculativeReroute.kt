@@ -0,0 +1,223 @@
+package com.mapbox.navigation.core.reroute
+
+import android.location.Location
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.api.directions.v5.models.StepIntersection
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.base.common.logger.model.Message
+import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
+import com.mapbox.navigation.core.routeoptions.RouteOptionsUpdater
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfMeasurement
+import kotlin.math.abs
+
+/**
+ * Requests reroute candidates ahead of an off-route event.
+ *
+ * When the driver approaches the maneuver of the upcoming step, a route is requested
+ * for each exit of the maneuver intersection that is not part of the current route,
+ * as if the driver had already left the route through it.
+ * If the driver goes off-route close to the intersection and heading like one of the exits,
+ * the matching candidate can be used instead of starting a new route request.
+ */
+internal class SpeculativeReroute(
+    private val directionsSession: DirectionsSession,
+    private val routeOptionsUpdater: RouteOptionsUpdater,
+    private val logger: Logger
+) {
+
+    private var route: DirectionsRoute? = null
+    private var deviationPoint: Point? = null
+    private val candidates = mutableListOf<Candidate>()
+
+    /**
+     * Requests the candidates of the upcoming maneuver intersection once the driver
+     * is close enough to it.
+     */
+    fun onRouteProgressChanged(routeProgress: RouteProgress, location: Location?) {
+        if (routeProgress.route != route) {
+            clear()
+            route = routeProgress.route
+        }
+        val legProgress = routeProgress.currentLegProgress ?: return
+        val stepProgress = legProgress.currentStepProgress ?: return
+        if (location == null || stepProgress.distanceRemaining > PREPARE_DISTANCE_METERS) {
+            return
+        }
+        val intersection = legProgress.upcomingStep?.intersections()?.firstOrNull() ?: return
+        val point = intersection.location()
+        if (point == deviationPoint) {
+            return
+        }
+        clear()
+        deviationPoint = point
+        getExitBearings(intersection).forEach { bearing ->
+            val candidateLocation = Location(location).apply {
+                latitude = point.latitude()
+                longitude = point.longitude()
+                this.bearing = bearing.toFloat()
+            }
+            val routeOptionsResult = routeOptionsUpdater.update(
+                directionsSession.getRouteOptions(),
+                routeProgress,
+                candidateLocation
+            )
+            if (routeOptionsResult is RouteOptionsUpdater.RouteOptionsResult.Success) {
+                val candidate = Candidate(point, bearing, routeOptionsResult.routeOptions)
+                candidates.add(candidate)
+                directionsSession.requestFasterRoute(candidate.routeOptions, candidate)
+            }
+        }
+        logger.d(
+            Tag(TAG),
+            Message("Requested ${candidates.size} reroute candidates")
+        )
+    }
+
+    /**
+     * Returns the candidate that starts close to the [location] and in the direction
+     * the driver is heading, or *null* if there is none.
+     */
+    fun findCandidate(location: Location?): Candidate? {
+        if (location == null || !location.hasBearing()) {
+            return null
+        }
+        val point = Point.fromLngLat(location.longitude, location.latitude)
+        return candidates.firstOrNull { candidate ->
+            val distance = TurfMeasurement.distance(
+                candidate.origin,
+                point,
+                TurfConstants.UNIT_METERS
+            )
+            val bearingDifference =
+                bearingDifference(candidate.bearing, location.bearing.toDouble())
+            distance <= MATCH_RADIUS_METERS && bearingDifference <= MATCH_BEARING_TOLERANCE
+        }
+    }
+
+    /**
+     * Drops all the candidates and cancels the ones still being fetched,
+     * except for [keep] if provided.
+     *
+     * @param keep candidate that is going to be used and mustn't be canceled
+     * @return *true* if some of the dropped candidates were still being fetched
+     */
+    fun clear(keep: Candidate? = null): Boolean {
+        var hasPendingRequests = false
+        candidates.forEach { candidate ->
+            if (candidate !== keep && candidate.result == null) {
+                hasPendingRequests = true
+                candidate.cancel()
+            }
+        }
+        candidates.clear()
+        deviationPoint = null
+        return hasPendingRequests
+    }
+
+    private fun getExitBearings(intersection: StepIntersection): List<Double> {
+        val bearings = intersection.bearings() ?: return emptyList()
+        val entries = intersection.entry() ?: return emptyList()
+        return bearings.indices
+            .filter { index ->
+                entries.getOrNull(index) == true &&
+                    index != intersection.out() &&
+                    index != intersection.`in`()
+            }
+            .map { bearings[it].toDouble() }
+            .take(MAX_CANDIDATES)
+    }
+
+    private fun bearingDifference(first: Double, second: Double): Double {
+        val difference = abs(first - second) % FULL_ANGLE
+        return if (difference > FULL_ANGLE / 2) FULL_ANGLE - difference else difference
+    }
+
+    /**
+     * Route requested from a possible deviation point.
+     *
+     * The router can't cancel a single request, so a canceled candidate
+     * ignores the response of its request instead.
+     *
+     * @param origin location of the deviation point
+     * @param bearing bearing of the exit the route starts with
+     * @param routeOptions options the route is requested with
+     */
+    internal class Candidate(
+        val origin: Point,
+        val bearing: Double,
+        val routeOptions: RouteOptions
+    ) : RoutesRequestCallback {
+
+        /**
+         * Result of the request, *null* while it's in progress.
+         */
+        var result: Result? = null
+            private set
+        private var resultListener: ((Result) -> Unit)? = null
+
+        /**
+         * Invokes the [listener] with the result of the request as soon as it's available.
+         */
+        fun onResult(listener: (Result) -> Unit) {
+            val currentResult = result
+            if (currentResult != null) {
+                listener(currentResult)
+            } else {
+                resultListener = listener
+            }
+        }
+
+        /**
+         * Finishes the request as [Result.Canceled] if it's still in progress,
+         * its response is ignored.
+         */
+        fun cancel() {
+            finish(Result.Canceled)
+        }
+
+        override fun onRoutesReady(routes: List<DirectionsRoute>) {
+            finish(if (routes.isEmpty()) Result.Failed else Result.Ready(routes))
+        }
+
+        override fun onRoutesRequestFailure(throwable: Throwable, routeOptions: RouteOptions) {
+            finish(Result.Failed)
+        }
+
+        override fun onRoutesRequestCanceled(routeOptions: RouteOptions) {
+            finish(Result.Canceled)
+        }
+
+        private fun finish(result: Result) {
+            if (this.result != null) {
+                return
+            }
+            this.result = result
+            resultListener?.invoke(result)
+            resultListener = null
+        }
+    }
+
+    /**
+     * Result of a [Candidate] request.
+     */
+    internal sealed class Result {
+        class Ready(val routes: List<DirectionsRoute>) : Result()
+        object Failed : Result()
+        object Canceled : Result()
+    }
+
+    private companion object {
+        private const val TAG = "SpeculativeReroute"
+        private const val PREPARE_DISTANCE_METERS = 150f
+        private const val MATCH_RADIUS_METERS = 100.0
+        private const val MATCH_BEARING_TOLERANCE = 45.0
+        private const val MAX_CANDIDATES = 3
+        private const val FULL_ANGLE = 360.0
+    }
+}
@@ -0,0 +1,74 @@
+package com.mapbox.navigation.core.routerefresh
+
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import java.util.concurrent.TimeUnit
+
+/**
+ * Default [RouteRefreshPolicy].
+ *
+ * Refreshes every 5 minutes, every 2 minutes when less than 20 minutes are remaining.
+ * The interval is halved when the previous refresh changed the congestion of more than 10%
+ * of the remaining route and doubled when traffic is free-flowing and barely changed.
+ * The route isn't refreshed in the last 300 meters or while the app is in the background.
+ */
+class AdaptiveRouteRefreshPolicy : RouteRefreshPolicy {
+
+    /**
+     * Returns the time that should pass since the previous refresh before the route is
+     * refreshed again, or *null* if the route shouldn't be refreshed for now.
+     *
+     * @param conditions current state of the trip and of the previous refreshes
+     */
+    override fun getRefreshIntervalMillis(conditions: RouteRefreshConditions): Long? {
+        if (!conditions.isAppInForeground) {
+            return null
+        }
+        val routeProgress = conditions.routeProgress ?: return DEFAULT_INTERVAL_MILLIS
+        if (routeProgress.distanceRemaining < STOP_DISTANCE_METERS) {
+            return null
+        }
+        val intervalMillis = if (routeProgress.durationRemaining < SHORT_TRIP_SECONDS) {
+            SHORT_TRIP_INTERVAL_MILLIS
+        } else {
+            DEFAULT_INTERVAL_MILLIS
+        }
+        val congestionChangeRatio = conditions.congestionChangeRatio
+        val adjustedIntervalMillis = when {
+            congestionChangeRatio != null && congestionChangeRatio >= VOLATILE_CHANGE_RATIO ->
+                intervalMillis / 2
+            (congestionChangeRatio == null || congestionChangeRatio <= STABLE_CHANGE_RATIO) &&
+                isFreeFlowing(routeProgress) ->
+                intervalMillis * 2
+            else -> intervalMillis
+        }
+        return adjustedIntervalMillis.coerceIn(MIN_INTERVAL_MILLIS, MAX_INTERVAL_MILLIS)
+    }
+
+    private fun isFreeFlowing(routeProgress: RouteProgress): Boolean {
+        val legIndex = routeProgress.currentLegProgress?.legIndex ?: 0
+        var total = 0
+        var congested = 0
+        routeProgress.route.legs()?.drop(legIndex)?.forEach { leg ->
+            leg.annotation()?.congestion()?.forEach { congestion ->
+                total++
+                if (congestion in CONGESTED) {
+                    congested++
+                }
+            }
+        }
+        return total > 0 && congested <= total * FREE_FLOWING_CONGESTED_RATIO
+    }
+
+    private companion object {
+        private val DEFAULT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5)
+        private val SHORT_TRIP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(2)
+        private val MIN_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1)
+        private val MAX_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10)
+        private val SHORT_TRIP_SECONDS = TimeUnit.MINUTES.toSeconds(20).toDouble()
+        private const val STOP_DISTANCE_METERS = 300f
+        private const val VOLATILE_CHANGE_RATIO = 0.1
+        private const val STABLE_CHANGE_RATIO = 0.02
+        private const val FREE_FLOWING_CONGESTED_RATIO = 0.05
+        private val CONGESTED = setOf("moderate", "heavy", "severe")
+    }
+}
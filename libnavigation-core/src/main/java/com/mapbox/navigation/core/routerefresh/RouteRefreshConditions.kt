@@ -0,0 +1,29 @@
+package com.mapbox.navigation.core.routerefresh
+
+import com.mapbox.navigation.base.trip.model.RouteProgress
+
+/**
+ * State a [RouteRefreshPolicy] decides on.
+ *
+ * @param routeProgress current progress along the primary route, if available
+ * @param congestionChangeRatio fraction of the congestion values of the remaining legs
+ * that changed with the previous refresh, *null* until a refresh succeeded
+ * @param isAppInForeground *true* if the app is in the foreground, otherwise *false*
+ */
+class RouteRefreshConditions internal constructor(
+    val routeProgress: RouteProgress?,
+    val congestionChangeRatio: Double?,
+    val isAppInForeground: Boolean
+) {
+
+    /**
+     * Returns a string representation of the object.
+     */
+    override fun toString(): String {
+        return "RouteRefreshConditions(" +
+            "routeProgress=$routeProgress, " +
+            "congestionChangeRatio=$congestionChangeRatio, " +
+            "isAppInForeground=$isAppInForeground" +
+            ")"
+    }
+}
@@ -1,6 +1,8 @@
 package com.mapbox.navigation.core.routerefresh
 
+import android.app.ActivityManager
 import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteLeg
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
 import com.mapbox.base.common.logger.model.Tag
@@ -8,75 +10,145 @@ import com.mapbox.navigation.base.extensions.supportsRouteRefresh
 import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.base.route.RouteRefreshError
 import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RouteAnnotationsObserver
+import com.mapbox.navigation.core.directions.session.RoutesObserver
+import com.mapbox.navigation.core.internal.utils.isSameRoute
+import com.mapbox.navigation.core.internal.utils.isSameUuid
 import com.mapbox.navigation.core.trip.session.TripSession
-import com.mapbox.navigation.utils.internal.MapboxTimer
+import com.mapbox.navigation.utils.internal.ThreadController
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
 import java.util.concurrent.TimeUnit
 
 /**
  * This class is responsible for refreshing the current direction route's traffic.
  * This does not support alternative routes.
  *
- * If the route is successfully refreshed, this class will update the [TripSession.route]
+ * If the route is successfully refreshed, only the annotations of the legs that changed,
+ * starting at the current leg, are patched into the primary route and delivered to
+ * [RouteAnnotationsObserver]s. Routes observers are not notified.
+ *
+ * How often the route is refreshed is decided by the [routeRefreshPolicy],
+ * which is checked every 30 seconds.
  *
  * [start] and [stop] are attached to the application lifecycle. Observing routes that
  * can be refreshed are handled by this class. Calling [start] will restart the refresh timer.
+ * The congestion change ratio reported to the policy only describes the last refresh of the
+ * current routes, it's reset when the routes change and on [start] and [stop].
+ * The time since the last refresh is reset when the routes change as well, including reroutes,
+ * since new routes come with up-to-date traffic.
  */
 internal class RouteRefreshController(
     private val directionsSession: DirectionsSession,
     private val tripSession: TripSession,
-    private val logger: Logger
+    private val logger: Logger,
+    private val isAppInForeground: () -> Boolean = ::isAppProcessInForeground
 ) {
 
     companion object {
         internal val TAG = Tag("RouteRefreshController")
+        internal val CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30)
     }
 
-    private val routerRefreshTimer = MapboxTimer()
+    private val jobControl = ThreadController.getMainScopeAndRootJob()
+    private var congestionChangeRatio: Double? = null
+    private var millisSinceRefresh = 0L
 
-    init {
-        routerRefreshTimer.restartAfterMillis = TimeUnit.MINUTES.toMillis(5)
+    private val routesObserver = object : RoutesObserver {
+        override fun onRoutesChanged(routes: List<DirectionsRoute>) {
+            congestionChangeRatio = null
+            millisSinceRefresh = 0L
+        }
     }
 
+    /**
+     * Decides how often the route is refreshed.
+     */
+    var routeRefreshPolicy: RouteRefreshPolicy = AdaptiveRouteRefreshPolicy()
+
     fun start(): Job {
         stop()
-        return routerRefreshTimer.startTimer {
-            val route = tripSession.route?.takeIf { it.routeOptions().supportsRouteRefresh() }
-            if (route != null) {
-                val legIndex = tripSession.getRouteProgress()?.currentLegProgress?.legIndex ?: 0
-                directionsSession.requestRouteRefresh(
-                    route,
-                    legIndex,
-                    routeRefreshCallback
-                )
-            } else {
-                logger.w(
-                    TAG,
-                    Message(
-                        """
-                           The route is not qualified for route refresh feature.
-                           See com.mapbox.navigation.base.extensions.supportsRouteRefresh
-                           extension for details.
-                        """.trimIndent()
-                    )
+        millisSinceRefresh = 0L
+        directionsSession.registerRoutesObserver(routesObserver)
+        return jobControl.scope.launch {
+            while (isActive) {
+                delay(CHECK_INTERVAL_MILLIS)
+                millisSinceRefresh += CHECK_INTERVAL_MILLIS
+                val conditions = RouteRefreshConditions(
+                    tripSession.getRouteProgress(),
+                    congestionChangeRatio,
+                    isAppInForeground()
                 )
+                val intervalMillis = routeRefreshPolicy.getRefreshIntervalMillis(conditions)
+                if (intervalMillis != null && millisSinceRefresh >= intervalMillis) {
+                    millisSinceRefresh = 0L
+                    refreshRoute()
+                }
             }
         }
     }
 
     fun stop() {
-        routerRefreshTimer.stopJobs()
+        jobControl.job.cancelChildren()
+        directionsSession.unregisterRoutesObserver(routesObserver)
+        congestionChangeRatio = null
+    }
+
+    private fun refreshRoute() {
+        val route = tripSession.route?.takeIf { it.routeOptions().supportsRouteRefresh() }
+        if (route != null) {
+            val legIndex = tripSession.getRouteProgress()?.currentLegProgress?.legIndex ?: 0
+            directionsSession.requestRouteRefresh(
+                route,
+                legIndex,
+                routeRefreshCallback
+            )
+        } else {
+            logger.w(
+                TAG,
+                Message(
+                    """
+                       The route is not qualified for route refresh feature.
+                       See com.mapbox.navigation.base.extensions.supportsRouteRefresh
+                       extension for details.
+                    """.trimIndent()
+                )
+            )
+        }
     }
 
     private val routeRefreshCallback = object : RouteRefreshCallback {
 
         override fun onRefresh(directionsRoute: DirectionsRoute) {
             logger.i(TAG, msg = Message("Successful route refresh"))
-            val directionsSessionRoutes = directionsSession.routes.toMutableList()
-            if (directionsSessionRoutes.isNotEmpty()) {
-                directionsSessionRoutes[0] = directionsRoute
-                directionsSession.routes = directionsSessionRoutes
+            val primaryRoute = directionsSession.routes.firstOrNull() ?: return
+            if (!directionsRoute.isSameUuid(primaryRoute) ||
+                !directionsRoute.isSameRoute(primaryRoute)
+            ) {
+                logger.i(TAG, msg = Message("Refreshed route is not the primary route anymore"))
+                return
+            }
+            val primaryLegs = primaryRoute.legs() ?: return
+            val refreshedLegs = directionsRoute.legs()
+            if (refreshedLegs == null || refreshedLegs.size != primaryLegs.size) {
+                return
             }
+            val legIndex = tripSession.getRouteProgress()?.currentLegProgress?.legIndex ?: 0
+            congestionChangeRatio = getCongestionChangeRatio(primaryLegs, refreshedLegs, legIndex)
+            val changedLegIndices = (legIndex until primaryLegs.size).filter { index ->
+                primaryLegs[index].annotation() != refreshedLegs[index].annotation()
+            }
+            if (changedLegIndices.isEmpty()) {
+                logger.i(TAG, msg = Message("Route annotations didn't change"))
+                return
+            }
+            directionsSession.updatePrimaryRouteAnnotations(
+                primaryRoute.patchAnnotations(refreshedLegs, changedLegIndices),
+                changedLegIndices
+            )
         }
 
         override fun onError(error: RouteRefreshError) {
@@ -87,4 +159,43 @@ internal class RouteRefreshController(
             )
         }
     }
+
+    private fun getCongestionChangeRatio(
+        primaryLegs: List<RouteLeg>,
+        refreshedLegs: List<RouteLeg>,
+        legIndex: Int
+    ): Double? {
+        var total = 0
+        var changed = 0
+        for (index in legIndex until refreshedLegs.size) {
+            val primaryCongestion = primaryLegs[index].annotation()?.congestion() ?: continue
+            val refreshedCongestion = refreshedLegs[index].annotation()?.congestion() ?: continue
+            total += refreshedCongestion.size
+            refreshedCongestion.forEachIndexed { congestionIndex, congestion ->
+                if (primaryCongestion.getOrNull(congestionIndex) != congestion) {
+                    changed++
+                }
+            }
+        }
+        return if (total > 0) changed.toDouble() / total else null
+    }
+
+    private fun DirectionsRoute.patchAnnotations(
+        refreshedLegs: List<RouteLeg>,
+        legIndices: List<Int>
+    ): DirectionsRoute {
+        val legs = legs()?.toMutableList() ?: return this
+        legIndices.forEach { index ->
+            legs[index] = legs[index].toBuilder()
+                .annotation(refreshedLegs[index].annotation())
+                .build()
+        }
+        return toBuilder().legs(legs).build()
+    }
+}
+
+private fun isAppProcessInForeground(): Boolean {
+    val processInfo = ActivityManager.RunningAppProcessInfo()
+    ActivityManager.getMyMemoryState(processInfo)
+    return processInfo.importance <= ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND
 }
@@ -0,0 +1,20 @@
+package com.mapbox.navigation.core.routerefresh
+
+/**
+ * Decides how often the traffic annotations of the primary route are refreshed.
+ *
+ * The policy is asked for the next delay every time the refresh conditions are checked,
+ * so it can react to the progress along the route or to the app going to the background.
+ *
+ * @see AdaptiveRouteRefreshPolicy
+ */
+interface RouteRefreshPolicy {
+
+    /**
+     * Returns the time that should pass since the previous refresh before the route is
+     * refreshed again, or *null* if the route shouldn't be refreshed for now.
+     *
+     * @param conditions current state of the trip and of the previous refreshes
+     */
+    fun getRefreshIntervalMillis(conditions: RouteRefreshConditions): Long?
+}
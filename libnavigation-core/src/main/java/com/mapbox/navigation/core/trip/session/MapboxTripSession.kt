@@ -18,6 +18,7 @@ import com.mapbox.navigation.base.trip.model.alert.RouteAlert
 import com.mapbox.navigation.core.internal.utils.isSameRoute
 import com.mapbox.navigation.core.internal.utils.isSameUuid
 import com.mapbox.navigation.core.navigator.getMapMatcherResult
+import com.mapbox.navigation.core.replay.ReplayLocationEngine
 import com.mapbox.navigation.core.sensors.SensorMapper
 import com.mapbox.navigation.core.trip.service.TripService
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
@@ -32,8 +33,10 @@ import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
-import java.util.concurrent.CopyOnWriteArrayList
+import kotlinx.coroutines.withContext
 import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 
 /**
  * Default implementation of [TripSession]
@@ -67,19 +70,29 @@ internal class MapboxTripSession(
         private const val TAG = "MapboxTripSession"
     }
 
-    private var updateNavigatorStatusDataJobs: MutableList<Job> = CopyOnWriteArrayList()
+    /**
+     * The only status update that is allowed to be in flight.
+     * All the status update state is confined to the main thread.
+     */
+    private var updateNavigatorStatusDataJob: Job? = null
+
+    /**
+     * Set when a status update is requested while another one is in flight.
+     * Any number of such requests is conflated into a single follow-up update.
+     */
+    private var isNavigatorStatusUpdatePending = false
 
-    override var route: DirectionsRoute? = null
+    override var route: DirectionsRoute?
+        get() = currentRoute
         set(value) {
-            val isSameUuid = value?.isSameUuid(field) ?: false
-            val isSameRoute = value?.isSameRoute(field) ?: false
-            field = value
+            val isSameUuid = value?.isSameUuid(currentRoute) ?: false
+            val isSameRoute = value?.isSameRoute(currentRoute) ?: false
+            currentRoute = value
             if (value == null) {
                 routeAlerts = emptyList()
                 routeProgress = null
             }
-            cancelOngoingUpdateNavigatorStatusDataJobs()
-            val updateRouteJob = threadController.getMainScopeAndRootJob().scope.launch {
+            updateNavigatorRoute {
                 when {
                     isSameUuid && isSameRoute && value != null -> {
                         navigator.updateAnnotations(value)
@@ -91,23 +104,48 @@ internal class MapboxTripSession(
                     }
                 }
             }
-            mainJobController.scope.launch {
-                updateRouteJob.join()
-                updateDataFromNavigatorStatus()
-            }
             isOffRoute = false
         }
+    private var currentRoute: DirectionsRoute? = null
 
-    private fun cancelOngoingUpdateNavigatorStatusDataJobs() {
-        updateNavigatorStatusDataJobs.forEach {
-            it.cancel()
+    /**
+     * Replaces the [route] with a copy that only differs in the annotations of the legs
+     * at [legIndices] and sends only those annotations to the navigator.
+     */
+    override fun updateRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>) {
+        currentRoute = route
+        updateNavigatorRoute {
+            navigator.updateAnnotations(route, legIndices)
+        }
+    }
+
+    private fun updateNavigatorRoute(update: suspend () -> Unit) {
+        cancelOngoingUpdateNavigatorStatusDataJobs()
+        val updateRouteJob = threadController.getMainScopeAndRootJob().scope.launch {
+            update()
+        }
+        mainJobController.scope.launch {
+            updateRouteJob.join()
+            updateDataFromNavigatorStatus()
         }
     }
 
+    private fun cancelOngoingUpdateNavigatorStatusDataJobs() {
+        isNavigatorStatusUpdatePending = false
+        updateNavigatorStatusDataJob?.cancel()
+        updateNavigatorStatusDataJob = null
+    }
+
     private val ioJobController: JobControl = threadController.getIOScopeAndRootJob()
     private val mainJobController: JobControl = threadController.getMainScopeAndRootJob()
+    private val observerExecutor: Executor? =
+        navigationOptions.observerExecutor?.let { SerialExecutor(it) }
     private var unconditionalStatusPollingJob: Job? = null
 
+    // a fast-forwarded replay runs ahead of the device clock, the status is requested at its time
+    // and the replay waits for every location to be processed
+    private val replayLocationEngine = navigationOptions.locationEngine as? ReplayLocationEngine
+
     private val locationObservers = CopyOnWriteArraySet<LocationObserver>()
     private val routeProgressObservers = CopyOnWriteArraySet<RouteProgressObserver>()
     private val offRouteObservers = CopyOnWriteArraySet<OffRouteObserver>()
@@ -179,6 +217,7 @@ internal class MapboxTripSession(
             return
         }
         tripService.startService()
+        replayLocationEngine?.setLocationProcessingAcknowledged(true)
         startLocationUpdates()
         state = TripSessionState.STARTED
     }
@@ -201,6 +240,7 @@ internal class MapboxTripSession(
         }
         tripService.stopService()
         stopLocationUpdates()
+        replayLocationEngine?.setLocationProcessingAcknowledged(false)
         ioJobController.job.cancelChildren()
         mainJobController.job.cancelChildren()
         reset()
@@ -217,7 +257,8 @@ internal class MapboxTripSession(
         enhancedLocation = null
         routeProgress = null
         isOffRoute = false
-        updateNavigatorStatusDataJobs.clear()
+        isNavigatorStatusUpdatePending = false
+        updateNavigatorStatusDataJob = null
         eHorizonSubscriptionManager.reset()
     }
 
@@ -473,10 +514,28 @@ internal class MapboxTripSession(
         if (state != TripSessionState.STARTED) return
 
         this.rawLocation = rawLocation
-        locationObservers.forEach { it.onRawLocationChanged(rawLocation) }
+        locationObservers.forEach {
+            if (!it.isNotifiedInBackground()) {
+                it.onRawLocationChanged(rawLocation)
+            }
+        }
+        observerExecutor?.execute {
+            locationObservers.forEach {
+                if (it is ThreadSafeObserver) {
+                    it.onRawLocationChanged(rawLocation)
+                }
+            }
+        }
         mainJobController.scope.launch {
-            navigator.updateLocation(rawLocation)
-            updateDataFromNavigatorStatus()
+            try {
+                navigator.updateLocation(rawLocation)
+                updateDataFromNavigatorStatus()
+                if (replayLocationEngine != null) {
+                    updateNavigatorStatusDataJob?.join()
+                }
+            } finally {
+                replayLocationEngine?.onLocationProcessed(rawLocation)
+            }
         }
 
         unconditionalStatusPollingJob = ioJobController.scope.launch {
@@ -490,55 +549,120 @@ internal class MapboxTripSession(
         }
     }
 
+    /**
+     * Requests a status update. At most one status is fetched from the navigator at a time,
+     * requests that arrive in the meantime are conflated and served by a single follow-up
+     * update, so that observers are only notified with the latest [TripStatus].
+     */
     private fun updateDataFromNavigatorStatus() {
-        val updateNavigatorStatusDataJob = mainJobController.scope.launch {
-            if (state != TripSessionState.STARTED) {
-                return@launch
-            }
+        if (updateNavigatorStatusDataJob?.isActive == true) {
+            isNavigatorStatusUpdatePending = true
+            return
+        }
+        updateNavigatorStatusDataJob = mainJobController.scope.launch {
+            do {
+                isNavigatorStatusUpdatePending = false
+                if (state != TripSessionState.STARTED) {
+                    return@launch
+                }
 
-            val status = getNavigatorStatus()
-            if (!isActive) {
-                return@launch
-            }
-            updateEnhancedLocation(status.enhancedLocation, status.keyPoints)
-            if (!isActive) {
-                return@launch
+                val status = getNavigatorStatusAndNotifyThreadSafeObservers()
+                if (!isActive) {
+                    return@launch
+                }
+                updateEnhancedLocation(status.enhancedLocation, status.keyPoints)
+                if (!isActive) {
+                    return@launch
+                }
+                updateMapMatcherResult(status.getMapMatcherResult())
+                if (!isActive) {
+                    return@launch
+                }
+                updateRouteProgress(status.routeProgress)
+                if (!isActive) {
+                    return@launch
+                }
+                isOffRoute = status.offRoute
+            } while (isNavigatorStatusUpdatePending)
+        }
+    }
+
+    private suspend fun getNavigatorStatus(): TripStatus {
+        val predictionMillis = navigationOptions.navigatorPredictionMillis
+        val replayElapsedRealtimeNanos = replayLocationEngine?.getVirtualElapsedRealtimeNanos()
+            ?: return navigator.getStatus(predictionMillis)
+        return navigator.getStatusAt(
+            replayElapsedRealtimeNanos + TimeUnit.MILLISECONDS.toNanos(predictionMillis)
+        )
+    }
+
+    /**
+     * If an [observerExecutor] is available, the status is fetched off the main thread and
+     * [ThreadSafeObserver]s are queued on the executor as soon as it's available,
+     * without waiting for the main thread. They're notified one at a time, in order.
+     */
+    private suspend fun getNavigatorStatusAndNotifyThreadSafeObservers(): TripStatus {
+        val executor = observerExecutor ?: return getNavigatorStatus()
+        return withContext(threadController.IODispatcher) {
+            getNavigatorStatus().also { status ->
+                executor.execute { notifyThreadSafeObservers(status) }
             }
-            updateMapMatcherResult(status.getMapMatcherResult())
-            if (!isActive) {
-                return@launch
+        }
+    }
+
+    private fun notifyThreadSafeObservers(status: TripStatus) {
+        locationObservers.forEach {
+            if (it is ThreadSafeObserver) {
+                it.onEnhancedLocationChanged(status.enhancedLocation, status.keyPoints)
             }
-            updateRouteProgress(status.routeProgress)
-            if (!isActive) {
-                return@launch
+        }
+        if (mapMatcherResultObservers.any { it is ThreadSafeObserver }) {
+            val mapMatcherResult = status.getMapMatcherResult()
+            mapMatcherResultObservers.forEach {
+                if (it is ThreadSafeObserver) {
+                    it.onNewMapMatcherResult(mapMatcherResult)
+                }
             }
-            isOffRoute = status.offRoute
         }
-        updateNavigatorStatusDataJob.invokeOnCompletion {
-            updateNavigatorStatusDataJobs.remove(updateNavigatorStatusDataJob)
+        status.routeProgress?.let { progress ->
+            routeProgressObservers.forEach {
+                if (it is ThreadSafeObserver) {
+                    it.onRouteProgressChanged(progress)
+                }
+            }
         }
-        updateNavigatorStatusDataJobs.add(updateNavigatorStatusDataJob)
     }
 
-    private suspend fun getNavigatorStatus(): TripStatus {
-        return navigator.getStatus(navigationOptions.navigatorPredictionMillis)
-    }
+    private fun Any.isNotifiedInBackground() =
+        observerExecutor != null && this is ThreadSafeObserver
 
     private fun updateEnhancedLocation(location: Location, keyPoints: List<Location>) {
         enhancedLocation = location
-        locationObservers.forEach { it.onEnhancedLocationChanged(location, keyPoints) }
+        locationObservers.forEach {
+            if (!it.isNotifiedInBackground()) {
+                it.onEnhancedLocationChanged(location, keyPoints)
+            }
+        }
     }
 
     private fun updateMapMatcherResult(mapMatcherResult: MapMatcherResult) {
         this.mapMatcherResult = mapMatcherResult
-        mapMatcherResultObservers.forEach { it.onNewMapMatcherResult(mapMatcherResult) }
+        mapMatcherResultObservers.forEach {
+            if (!it.isNotifiedInBackground()) {
+                it.onNewMapMatcherResult(mapMatcherResult)
+            }
+        }
     }
 
     private fun updateRouteProgress(progress: RouteProgress?) {
         routeProgress = progress
         tripService.updateNotification(progress)
         progress?.let {
-            routeProgressObservers.forEach { it.onRouteProgressChanged(progress) }
+            routeProgressObservers.forEach {
+                if (!it.isNotifiedInBackground()) {
+                    it.onRouteProgressChanged(progress)
+                }
+            }
             checkBannerInstructionEvent(progress) { bannerInstruction ->
                 bannerInstructionsObservers.forEach {
                     it.onNewBannerInstructions(bannerInstruction)
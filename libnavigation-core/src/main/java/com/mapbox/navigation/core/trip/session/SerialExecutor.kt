@@ -0,0 +1,38 @@
+package com.mapbox.navigation.core.trip.session
+
+import java.util.ArrayDeque
+import java.util.concurrent.Executor
+
+/**
+ * Runs the tasks on [executor] one at a time, in the order they were submitted,
+ * even if [executor] runs tasks concurrently.
+ *
+ * @param executor executor the tasks are run on
+ */
+internal class SerialExecutor(private val executor: Executor) : Executor {
+
+    private val tasks = ArrayDeque<Runnable>()
+    private var activeTask: Runnable? = null
+
+    @Synchronized
+    override fun execute(task: Runnable) {
+        tasks.offer(
+            Runnable {
+                try {
+                    task.run()
+                } finally {
+                    scheduleNext()
+                }
+            }
+        )
+        if (activeTask == null) {
+            scheduleNext()
+        }
+    }
+
+    @Synchronized
+    private fun scheduleNext() {
+        activeTask = tasks.poll()
+        activeTask?.let { executor.execute(it) }
+    }
+}
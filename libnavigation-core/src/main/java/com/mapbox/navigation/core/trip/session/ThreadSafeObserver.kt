@@ -0,0 +1,13 @@
+package com.mapbox.navigation.core.trip.session
+
+import com.mapbox.navigation.base.options.NavigationOptions
+
+/**
+ * Marker interface for [RouteProgressObserver], [LocationObserver] and [MapMatcherResultObserver]
+ * implementations that don't need to be invoked on the main thread.
+ *
+ * When [NavigationOptions.observerExecutor] is provided, observers implementing this interface
+ * are notified on that executor and the main thread doesn't wait for them to finish.
+ * Otherwise, they are notified on the main thread like any other observer.
+ */
+interface ThreadSafeObserver
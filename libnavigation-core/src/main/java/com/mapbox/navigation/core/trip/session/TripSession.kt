@@ -11,6 +11,8 @@ internal interface TripSession {
     val tripService: TripService
     var route: DirectionsRoute?
 
+    fun updateRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>)
+
     fun getRawLocation(): Location?
     fun getEnhancedLocation(): Location?
     fun getRouteProgress(): RouteProgress?
@@ -37,6 +37,7 @@ import com.mapbox.navigation.core.trip.session.OffRouteObserver
 import com.mapbox.navigation.core.trip.session.RouteAlertsObserver
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
 import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.utils.internal.ThreadController
 import com.mapbox.navigator.NavigatorConfig
@@ -73,7 +74,10 @@ class MapboxNavigationTest {
 
     private val accessToken = "pk.1234"
     private val directionsSession: DirectionsSession = mockk(relaxUnitFun = true)
-    private val navigator: MapboxNativeNavigator = mockk(relaxUnitFun = true)
+    private val routeResponseJsonStore: RouteResponseJsonStore = mockk(relaxUnitFun = true)
+    private val navigator: MapboxNativeNavigator = mockk(relaxUnitFun = true) {
+        every { routeResponseJsonStore } returns this@MapboxNavigationTest.routeResponseJsonStore
+    }
     private val tripService: TripService = mockk(relaxUnitFun = true)
     private val tripSession: TripSession = mockk(relaxUnitFun = true)
     private val location: Location = mockk(relaxUnitFun = true)
@@ -368,6 +372,24 @@ class MapboxNavigationTest {
         verify(exactly = 1) { navigator.resetRideSession() }
     }
 
+    @Test
+    fun onDestroyClearsRouteResponseJsonStore() {
+        mapboxNavigation.onDestroy()
+
+        verify(exactly = 1) { routeResponseJsonStore.clear() }
+    }
+
+    @Test
+    fun setEmptyRoutesClearsRouteResponseJsonStore() {
+        mapboxNavigation.setRoutes(listOf(mockk()))
+        verify(exactly = 0) { routeResponseJsonStore.clear() }
+
+        mapboxNavigation.setRoutes(emptyList())
+
+        verify(exactly = 1) { routeResponseJsonStore.clear() }
+        mapboxNavigation.onDestroy()
+    }
+
     @Test
     fun unregisterAllBannerInstructionsObservers() {
         mapboxNavigation.onDestroy()
@@ -531,7 +553,7 @@ class MapboxNavigationTest {
 
     @Test
     fun interrupt_reroute_on_set_routes() {
-        mapboxNavigation.setRoutes(mockk())
+        mapboxNavigation.setRoutes(listOf(mockk()))
 
         verify(exactly = 1) { rerouteController.interrupt() }
 
@@ -727,7 +749,9 @@ class MapboxNavigationTest {
     }
 
     private fun mockDirectionSession() {
-        every { NavigationComponentProvider.createDirectionsSession(any()) } answers {
+        every {
+            NavigationComponentProvider.createDirectionsSession(any(), any(), any())
+        } answers {
             directionsSession
         }
         every { directionsSession.getRouteOptions() } returns routeOptions
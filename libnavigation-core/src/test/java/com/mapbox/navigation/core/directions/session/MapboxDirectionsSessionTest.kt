@@ -2,6 +2,10 @@ package com.mapbox.navigation.core.directions.session
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.internal.extensions.applyDefaultParams
+import com.mapbox.navigation.base.internal.extensions.coordinates
+import com.mapbox.navigation.base.options.RoutesCacheOptions
 import com.mapbox.navigation.base.route.Router
 import com.mapbox.navigation.core.NavigationComponentProvider
 import io.mockk.clearMocks
@@ -225,4 +229,121 @@ class MapboxDirectionsSessionTest {
         verify { router.getRoute(routeOptions, callback) }
         verify(exactly = 0) { observer.onRoutesChanged(any()) }
     }
+
+    @Test
+    fun cachedRoutesAreDeliveredWithoutRouter() {
+        val cachedOptions = cacheableRouteOptions()
+        val cacheObserver: RoutesCacheObserver = mockk(relaxUnitFun = true)
+        every { route.toJson() } returns "{}"
+        every { router.getRoute(cachedOptions, capture(slot())) } answers {
+            secondArg<Router.Callback>().onResponse(routes)
+        }
+        session = MapboxDirectionsSession(
+            router,
+            RoutesCacheOptions.Builder().isEnabled(true).build()
+        )
+        session.registerRoutesCacheObserver(cacheObserver)
+
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+
+        verify(exactly = 1) { router.getRoute(cachedOptions, any()) }
+        verify(exactly = 2) { routesRequestCallback.onRoutesReady(routes) }
+        verify(exactly = 1) { cacheObserver.onRoutesCacheMiss(cachedOptions) }
+        verify(exactly = 1) { cacheObserver.onRoutesCacheHit(cachedOptions) }
+    }
+
+    @Test
+    fun fasterRouteBypassesRoutesCache() {
+        val cachedOptions = cacheableRouteOptions()
+        val cacheObserver: RoutesCacheObserver = mockk(relaxUnitFun = true)
+        every { route.toJson() } returns "{}"
+        every { router.getRoute(cachedOptions, capture(slot())) } answers {
+            secondArg<Router.Callback>().onResponse(routes)
+        }
+        session = MapboxDirectionsSession(
+            router,
+            RoutesCacheOptions.Builder().isEnabled(true).build()
+        )
+        session.registerRoutesCacheObserver(cacheObserver)
+
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+        session.requestFasterRoute(cachedOptions, routesRequestCallback)
+        session.requestFasterRoute(cachedOptions, routesRequestCallback)
+
+        verify(exactly = 3) { router.getRoute(cachedOptions, any()) }
+        verify(exactly = 3) { routesRequestCallback.onRoutesReady(routes) }
+        verify(exactly = 0) { cacheObserver.onRoutesCacheHit(any()) }
+    }
+
+    @Test
+    fun fasterRouteResponseIsCached() {
+        val cachedOptions = cacheableRouteOptions()
+        every { route.toJson() } returns "{}"
+        every { router.getRoute(cachedOptions, capture(slot())) } answers {
+            secondArg<Router.Callback>().onResponse(routes)
+        }
+        session = MapboxDirectionsSession(
+            router,
+            RoutesCacheOptions.Builder().isEnabled(true).build()
+        )
+
+        session.requestFasterRoute(cachedOptions, routesRequestCallback)
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+
+        verify(exactly = 1) { router.getRoute(cachedOptions, any()) }
+    }
+
+    @Test
+    fun routesAreNotCachedByDefault() {
+        val cachedOptions = cacheableRouteOptions()
+        every { router.getRoute(cachedOptions, capture(slot())) } answers {
+            secondArg<Router.Callback>().onResponse(routes)
+        }
+
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+        session.requestRoutes(cachedOptions, routesRequestCallback)
+
+        verify(exactly = 2) { router.getRoute(cachedOptions, any()) }
+    }
+
+    @Test
+    fun updatePrimaryRouteAnnotations() {
+        val annotationsObserver: RouteAnnotationsObserver = mockk(relaxUnitFun = true)
+        val refreshedRoute: DirectionsRoute = mockk()
+        val alternativeRoute: DirectionsRoute = mockk()
+        session.routes = listOf(route, alternativeRoute)
+        session.registerRoutesObserver(observer)
+        session.registerRouteAnnotationsObserver(annotationsObserver)
+        clearMocks(router)
+
+        session.updatePrimaryRouteAnnotations(refreshedRoute, listOf(1))
+
+        assertEquals(listOf(refreshedRoute, alternativeRoute), session.routes)
+        verify(exactly = 1) {
+            annotationsObserver.onRouteAnnotationsChanged(refreshedRoute, listOf(1))
+        }
+        verify(exactly = 1) { observer.onRoutesChanged(any()) }
+        verify(exactly = 0) { router.cancel() }
+    }
+
+    @Test
+    fun updatePrimaryRouteAnnotationsWithoutRoutes() {
+        val annotationsObserver: RouteAnnotationsObserver = mockk(relaxUnitFun = true)
+        session.registerRouteAnnotationsObserver(annotationsObserver)
+
+        session.updatePrimaryRouteAnnotations(route, listOf(0))
+
+        assertEquals(emptyList<DirectionsRoute>(), session.routes)
+        verify(exactly = 0) { annotationsObserver.onRouteAnnotationsChanged(any(), any()) }
+    }
+
+    private fun cacheableRouteOptions(): RouteOptions = RouteOptions.builder()
+        .applyDefaultParams()
+        .accessToken("token")
+        .coordinates(
+            origin = Point.fromLngLat(-122.4194, 37.7749),
+            destination = Point.fromLngLat(-122.2711, 37.8044)
+        )
+        .build()
 }
@@ -0,0 +1,185 @@
+package com.mapbox.navigation.core.directions.session
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.internal.extensions.applyDefaultParams
+import com.mapbox.navigation.base.internal.extensions.coordinates
+import com.mapbox.navigation.base.options.RoutesCacheOptions
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class RoutesCacheTest {
+
+    private var time = 0L
+    private val routes = listOf(route(100))
+    private val routeResponseJsonStore = RouteResponseJsonStore()
+
+    @Test
+    fun cachedRoutesAreReturned() {
+        val cache = routesCache()
+
+        cache.put(routeOptions(), routes)
+
+        assertSame(routes, cache.get(routeOptions()))
+        assertEquals(1L, cache.hitCount)
+        assertEquals(0L, cache.missCount)
+    }
+
+    @Test
+    fun coordinatesAreRounded() {
+        val cache = routesCache()
+
+        cache.put(routeOptions(originLatitude = 37.77491), routes)
+
+        assertSame(routes, cache.get(routeOptions(originLatitude = 37.77494)))
+        assertNull(cache.get(routeOptions(originLatitude = 37.7758)))
+        assertEquals(1L, cache.hitCount)
+        assertEquals(1L, cache.missCount)
+    }
+
+    @Test
+    fun accessTokenIsIgnored() {
+        val cache = routesCache()
+
+        cache.put(routeOptions(accessToken = "first"), routes)
+
+        assertSame(routes, cache.get(routeOptions(accessToken = "second")))
+    }
+
+    @Test
+    fun otherOptionsAreCompared() {
+        val cache = routesCache()
+
+        cache.put(routeOptions(), routes)
+
+        assertNull(cache.get(routeOptions().toBuilder().alternatives(true).build()))
+    }
+
+    @Test
+    fun expiredRoutesAreNotReturned() {
+        val cache = routesCache(RoutesCacheOptions.Builder().timeToLiveMillis(1000).build())
+
+        cache.put(routeOptions(), routes)
+        time += 1001
+
+        assertNull(cache.get(routeOptions()))
+        assertEquals(1L, cache.missCount)
+    }
+
+    @Test
+    fun leastRecentlyUsedRoutesAreEvicted() {
+        // each entry is estimated at (1000 + 1000) * 2 bytes
+        val cache = routesCache(RoutesCacheOptions.Builder().maxSizeBytes(10000).build())
+        val firstRoutes = listOf(route(1000))
+        val secondRoutes = listOf(route(1000))
+        val thirdRoutes = listOf(route(1000))
+
+        cache.put(routeOptions(originLatitude = 1.0), firstRoutes)
+        cache.put(routeOptions(originLatitude = 2.0), secondRoutes)
+        cache.get(routeOptions(originLatitude = 1.0))
+        cache.put(routeOptions(originLatitude = 3.0), thirdRoutes)
+
+        assertSame(firstRoutes, cache.get(routeOptions(originLatitude = 1.0)))
+        assertNull(cache.get(routeOptions(originLatitude = 2.0)))
+        assertSame(thirdRoutes, cache.get(routeOptions(originLatitude = 3.0)))
+    }
+
+    @Test
+    fun routesLargerThanCacheAreNotCached() {
+        val cache = routesCache(RoutesCacheOptions.Builder().maxSizeBytes(100).build())
+
+        cache.put(routeOptions(), routes)
+
+        assertNull(cache.get(routeOptions()))
+    }
+
+    @Test
+    fun sizeIsEstimatedFromGeometryAndLegs() {
+        // (1000 + 500 + 2 * (1500 + 250) + 10 * 8) * 2 bytes
+        val routeSizeBytes = 10160L
+        val route: DirectionsRoute = mockk {
+            every { geometry() } returns null
+            every { routeOptions() } returns null
+            every { legs() } returns listOf(
+                mockk {
+                    every { steps() } returns listOf(step(250), step(250))
+                    every { annotation() } returns mockk {
+                        every { distance() } returns List(5) { 1.0 }
+                        every { duration() } returns List(5) { 1.0 }
+                        every { speed() } returns null
+                        every { maxspeed() } returns null
+                        every { congestion() } returns null
+                    }
+                }
+            )
+        }
+        val tooSmallCache = routesCache(
+            RoutesCacheOptions.Builder().maxSizeBytes(routeSizeBytes - 1).build()
+        )
+        val cache = routesCache(RoutesCacheOptions.Builder().maxSizeBytes(routeSizeBytes).build())
+
+        tooSmallCache.put(routeOptions(), listOf(route))
+        cache.put(routeOptions(), listOf(route))
+
+        assertNull(tooSmallCache.get(routeOptions()))
+        assertEquals(listOf(route), cache.get(routeOptions()))
+        verify(exactly = 0) { route.toJson() }
+    }
+
+    @Test
+    fun responseJsonIsUsedForSizeAndRestored() {
+        val cache = routesCache(RoutesCacheOptions.Builder().maxSizeBytes(100).build())
+        val json = "{}"
+        routeResponseJsonStore.put(routes, json)
+
+        cache.put(routeOptions(), routes)
+        routeResponseJsonStore.clear()
+
+        assertSame(routes, cache.get(routeOptions()))
+        assertEquals(json, routeResponseJsonStore.get(routes.first())?.json)
+    }
+
+    @Test
+    fun clear() {
+        val cache = routesCache()
+        cache.put(routeOptions(), routes)
+
+        cache.clear()
+
+        assertNull(cache.get(routeOptions()))
+    }
+
+    private fun routesCache(
+        options: RoutesCacheOptions = RoutesCacheOptions.Builder().build()
+    ) = RoutesCache(options, routeResponseJsonStore) { time }
+
+    private fun route(geometryLength: Int): DirectionsRoute = mockk {
+        every { geometry() } returns "x".repeat(geometryLength)
+        every { legs() } returns null
+        every { routeOptions() } returns null
+    }
+
+    private fun step(geometryLength: Int): LegStep = mockk {
+        every { geometry() } returns "x".repeat(geometryLength)
+    }
+
+    private fun routeOptions(
+        originLatitude: Double = 37.7749,
+        accessToken: String = "token"
+    ): RouteOptions = RouteOptions.builder()
+        .applyDefaultParams()
+        .accessToken(accessToken)
+        .coordinates(
+            origin = Point.fromLngLat(-122.4194, originLatitude),
+            destination = Point.fromLngLat(-122.2711, 37.8044)
+        )
+        .build()
+}
@@ -31,7 +31,7 @@ class FasterRouteControllerTest {
     }
     private val fasterRouteObserver: FasterRouteObserver = mockk {
         every { restartAfterMillis() } returns FasterRouteObserver.DEFAULT_INTERVAL_MILLIS
-        every { onFasterRoute(any(), any(), any()) } returns Unit
+        every { onFasterRoute(any(), any(), any(), any()) } returns Unit
     }
     private val routesRequestCallbacks = slot<RoutesRequestCallback>()
     private val logger: Logger = mockk()
@@ -39,7 +39,10 @@ class FasterRouteControllerTest {
 
     private val routeOptionsResultSuccess: RouteOptionsUpdater.RouteOptionsResult.Success = mockk()
     private val routeOptionsResultSuccessRouteOptions: RouteOptions = mockk()
-    private val fasterRouteDetector: FasterRouteDetector = mockk()
+    private val routeDivergence: RouteDivergence = mockk()
+    private val fasterRouteDetector: FasterRouteDetector = mockk {
+        coEvery { getRouteDivergence(any(), any()) } returns routeDivergence
+    }
 
     private val fasterRouteController = FasterRouteController(
         directionsSession,
@@ -125,7 +128,7 @@ class FasterRouteControllerTest {
 
     @Test
     fun `should notify observer of a faster route`() = coroutineRule.runBlockingTest {
-        coEvery { fasterRouteDetector.isRouteFaster(any(), any()) } returns true
+        every { fasterRouteDetector.isRouteFaster(any(), any(), any()) } returns true
         mockRouteOptionsProvider(routeOptionsResultSuccess)
         val currentRoute: DirectionsRoute = mockk {
             every { routeIndex() } returns "0"
@@ -151,7 +154,9 @@ class FasterRouteControllerTest {
         )
         routesRequestCallbacks.captured.onRoutesReady(routes)
 
-        verify(exactly = 1) { fasterRouteObserver.onFasterRoute(currentRoute, routes, true) }
+        verify(exactly = 1) {
+            fasterRouteObserver.onFasterRoute(currentRoute, routes, true, routeDivergence)
+        }
 
         fasterRouteController.stop()
         coroutineRule.testDispatcher.cleanupTestCoroutines()
@@ -159,7 +164,7 @@ class FasterRouteControllerTest {
 
     @Test
     fun `should notify observer if current route is fastest`() = coroutineRule.runBlockingTest {
-        coEvery { fasterRouteDetector.isRouteFaster(any(), any()) } returns false
+        every { fasterRouteDetector.isRouteFaster(any(), any(), any()) } returns false
         mockRouteOptionsProvider(routeOptionsResultSuccess)
         val currentRoute: DirectionsRoute = mockk {
             every { routeIndex() } returns "0"
@@ -185,7 +190,9 @@ class FasterRouteControllerTest {
         )
         routesRequestCallbacks.captured.onRoutesReady(routes)
 
-        verify(exactly = 1) { fasterRouteObserver.onFasterRoute(currentRoute, routes, false) }
+        verify(exactly = 1) {
+            fasterRouteObserver.onFasterRoute(currentRoute, routes, false, routeDivergence)
+        }
 
         fasterRouteController.stop()
         coroutineRule.testDispatcher.cleanupTestCoroutines()
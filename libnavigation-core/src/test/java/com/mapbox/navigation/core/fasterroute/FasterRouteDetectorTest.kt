@@ -5,65 +5,81 @@ import com.mapbox.navigation.base.trip.model.RouteProgress
 import io.mockk.every
 import io.mockk.mockk
 import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
 import org.junit.Assert.assertTrue
 import org.junit.Test
 
 class FasterRouteDetectorTest {
 
-    private val routeComparator: RouteComparator = mockk {
-        every { isSameRoute(any(), any()) } returns false
-    }
+    private val routeComparator: RouteComparator = mockk()
 
     private val fasterRouteDetector = FasterRouteDetector(routeComparator)
 
     @Test
-    fun shouldDetectWhenRouteIsFaster() = runBlocking {
-        every { routeComparator.isSameRoute(any(), any()) } returns false
+    fun shouldDetectWhenRouteIsFaster() {
         val newRoute: DirectionsRoute = mockk()
         every { newRoute.duration() } returns 402.6
         val routeProgress: RouteProgress = mockk()
         every { routeProgress.durationRemaining } returns 797.447
 
-        val isFasterRoute = fasterRouteDetector.isRouteFaster(newRoute, routeProgress)
+        val isFasterRoute =
+            fasterRouteDetector.isRouteFaster(newRoute, routeProgress, routeDivergence(1500.0))
 
         assertTrue(isFasterRoute)
     }
 
     @Test
-    fun shouldDetectWhenRouteIsFasterOnlyIfDifferent() = runBlocking {
-        every { routeComparator.isSameRoute(any(), any()) } returns true
+    fun shouldDetectWhenRouteIsFasterOnlyIfDifferent() {
         val newRoute: DirectionsRoute = mockk()
         every { newRoute.duration() } returns 402.6
         val routeProgress: RouteProgress = mockk()
         every { routeProgress.durationRemaining } returns 797.447
 
-        val isFasterRoute = fasterRouteDetector.isRouteFaster(newRoute, routeProgress)
+        val isFasterRoute =
+            fasterRouteDetector.isRouteFaster(newRoute, routeProgress, routeDivergence(40.0))
 
         assertFalse(isFasterRoute)
     }
 
     @Test
-    fun shouldDetectWhenRouteIsSlower() = runBlocking {
+    fun shouldDetectWhenRouteIsSlower() {
         val newRoute: DirectionsRoute = mockk()
         every { newRoute.duration() } returns 512.2
         val routeProgress: RouteProgress = mockk()
         every { routeProgress.durationRemaining } returns 450.501
 
-        val isFasterRoute = fasterRouteDetector.isRouteFaster(newRoute, routeProgress)
+        val isFasterRoute =
+            fasterRouteDetector.isRouteFaster(newRoute, routeProgress, routeDivergence(1500.0))
 
         assertFalse(isFasterRoute)
     }
 
     @Test
-    fun shouldNotAllowSlightlyFasterRoutes() = runBlocking {
+    fun shouldNotAllowSlightlyFasterRoutes() {
         val newRoute: DirectionsRoute = mockk()
         every { newRoute.duration() } returns 634.7
         val routeProgress: RouteProgress = mockk()
         every { routeProgress.durationRemaining } returns 695.811
 
-        val isFasterRoute = fasterRouteDetector.isRouteFaster(newRoute, routeProgress)
+        val isFasterRoute =
+            fasterRouteDetector.isRouteFaster(newRoute, routeProgress, routeDivergence(1500.0))
 
         assertFalse(isFasterRoute)
     }
+
+    @Test
+    fun shouldCompareRoutesWithComparator() = runBlocking {
+        val newRoute: DirectionsRoute = mockk()
+        val routeProgress: RouteProgress = mockk()
+        val routeDivergence = routeDivergence(1500.0)
+        every { routeComparator.compare(routeProgress, newRoute) } returns routeDivergence
+
+        val result = fasterRouteDetector.getRouteDivergence(newRoute, routeProgress)
+
+        assertEquals(routeDivergence, result)
+    }
+
+    private fun routeDivergence(divergentDistanceMeters: Double) =
+        RouteDivergence(0.5, divergentDistanceMeters, null, null)
 }
@@ -1,10 +1,14 @@
 package com.mapbox.navigation.core.fasterroute
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.core.constants.Constants
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import io.mockk.every
 import io.mockk.mockk
-import junit.framework.TestCase.assertFalse
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
 import org.junit.Assert.assertTrue
 import org.junit.Test
 
@@ -12,109 +16,89 @@ class RouteComparatorTest {
 
     private val routeComparator = RouteComparator()
 
+    private val currentRoute = route(
+        Point.fromLngLat(-122.45, 37.75),
+        Point.fromLngLat(-122.44, 37.75)
+    )
+    private val routeProgress: RouteProgress = mockk {
+        every { route } returns currentRoute
+    }
+
+    @Test
+    fun `same route does not diverge`() {
+        val routeDivergence = routeComparator.compare(routeProgress, currentRoute)
+
+        assertEquals(0.0, routeDivergence.divergentFraction, 0.0)
+        assertEquals(0.0, routeDivergence.divergentDistanceMeters, 0.0)
+        assertNull(routeDivergence.divergencePoint)
+        assertNull(routeDivergence.rejoinPoint)
+    }
+
+    @Test
+    fun `remaining part of the route does not diverge`() {
+        val alternativeRoute = route(
+            Point.fromLngLat(-122.445, 37.75),
+            Point.fromLngLat(-122.44, 37.75)
+        )
+
+        val routeDivergence = routeComparator.compare(routeProgress, alternativeRoute)
+
+        assertEquals(0.0, routeDivergence.divergentFraction, 0.0)
+        assertNull(routeDivergence.divergencePoint)
+    }
+
     @Test
-    fun `route with different steps is new`() {
-        val routeProgress: RouteProgress = mockk {
-            every { currentLegProgress } returns mockk {
-                every { legIndex } returns 0
-                every { currentStepProgress } returns mockk {
-                    every { stepIndex } returns 0
-                }
-                every { routeLeg } returns mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Pennsylvania Avenue" },
-                        mockk { every { name() } returns "19th Street" },
-                        mockk { every { name() } returns "Arkansas Street" }
-                    )
-                }
-            }
-        }
-        val directionsRoute: DirectionsRoute = mockk {
-            every { legs() } returns listOf(
-                mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Pennsylvania Avenue" },
-                        mockk { every { name() } returns "20th Street" },
-                        mockk { every { name() } returns "Arkansas Street" }
-                    )
-                }
-            )
-        }
-
-        val isSameRoute = routeComparator.isSameRoute(routeProgress, directionsRoute)
-
-        assertFalse(isSameRoute)
+    fun `parallel geometry within tolerance does not diverge`() {
+        val alternativeRoute = route(
+            Point.fromLngLat(-122.45, 37.7501),
+            Point.fromLngLat(-122.44, 37.7501)
+        )
+
+        val routeDivergence = routeComparator.compare(routeProgress, alternativeRoute)
+
+        assertEquals(0.0, routeDivergence.divergentFraction, 0.0)
     }
 
     @Test
-    fun `route with same steps is not new`() {
-        val routeProgress: RouteProgress = mockk {
-            every { currentLegProgress } returns mockk {
-                every { legIndex } returns 0
-                every { currentStepProgress } returns mockk {
-                    every { stepIndex } returns 0
-                }
-                every { routeLeg } returns mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Pennsylvania Avenue" },
-                        mockk { every { name() } returns "20th Street" },
-                        mockk { every { name() } returns "De Haro Street" }
-                    )
-                }
-            }
-        }
-        val directionsRoute: DirectionsRoute = mockk {
-            every { legs() } returns listOf(
-                mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Pennsylvania Avenue" },
-                        mockk { every { name() } returns "20th Street" },
-                        mockk { every { name() } returns "De Haro Street" }
-                    )
-                }
-            )
-        }
-
-        val isSameRoute = routeComparator.isSameRoute(routeProgress, directionsRoute)
-
-        assertTrue(isSameRoute)
+    fun `detour diverges between divergence and rejoin points`() {
+        val alternativeRoute = route(
+            Point.fromLngLat(-122.45, 37.75),
+            Point.fromLngLat(-122.447, 37.75),
+            Point.fromLngLat(-122.447, 37.752),
+            Point.fromLngLat(-122.443, 37.752),
+            Point.fromLngLat(-122.443, 37.75),
+            Point.fromLngLat(-122.44, 37.75)
+        )
+
+        val routeDivergence = routeComparator.compare(routeProgress, alternativeRoute)
+
+        assertEquals(0.56, routeDivergence.divergentFraction, 0.02)
+        assertEquals(750.0, routeDivergence.divergentDistanceMeters, 20.0)
+        val divergencePoint = routeDivergence.divergencePoint!!
+        assertEquals(-122.447, divergencePoint.longitude(), 0.000001)
+        assertTrue(divergencePoint.latitude() in 37.75..37.7503)
+        val rejoinPoint = routeDivergence.rejoinPoint!!
+        assertEquals(-122.443, rejoinPoint.longitude(), 0.000001)
+        assertTrue(rejoinPoint.latitude() in 37.75..37.7503)
     }
 
     @Test
-    fun `stepIndex should clip route progress`() {
-        val routeProgress: RouteProgress = mockk {
-            every { currentLegProgress } returns mockk {
-                every { legIndex } returns 0
-                every { currentStepProgress } returns mockk {
-                    every { stepIndex } returns 4
-                }
-                every { routeLeg } returns mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Pennsylvania Avenue" },
-                        mockk { every { name() } returns "Cesar Chavez Street" },
-                        mockk { every { name() } returns "Bryant Street" },
-                        mockk { every { name() } returns "Precita Avenue" },
-                        mockk { every { name() } returns "Alabama Street" },
-                        mockk { every { name() } returns "Bradford Street" },
-                        mockk { every { name() } returns "Nevada Street" }
-                    )
-                }
-            }
-        }
-        val directionsRoute: DirectionsRoute = mockk {
-            every { legs() } returns listOf(
-                mockk {
-                    every { steps() } returns listOf(
-                        mockk { every { name() } returns "Alabama Street" },
-                        mockk { every { name() } returns "Bradford Street" },
-                        mockk { every { name() } returns "Nevada Street" }
-                    )
-                }
-            )
-        }
-
-        val isSameRoute = routeComparator.isSameRoute(routeProgress, directionsRoute)
-
-        assertTrue(isSameRoute)
+    fun `alternative without geometry diverges completely`() {
+        val alternativeRoute = DirectionsRoute.builder()
+            .distance(1000.0)
+            .duration(100.0)
+            .build()
+
+        val routeDivergence = routeComparator.compare(routeProgress, alternativeRoute)
+
+        assertEquals(1.0, routeDivergence.divergentFraction, 0.0)
+        assertEquals(1000.0, routeDivergence.divergentDistanceMeters, 0.0)
     }
+
+    private fun route(vararg points: Point): DirectionsRoute =
+        DirectionsRoute.builder()
+            .distance(1000.0)
+            .duration(100.0)
+            .geometry(PolylineUtils.encode(points.toList(), Constants.PRECISION_6))
+            .build()
 }
@@ -0,0 +1,24 @@
+package com.mapbox.navigation.core.history
+
+import com.mapbox.navigation.testing.BuilderTest
+import org.junit.Test
+import kotlin.reflect.KClass
+
+class HistoryRecorderOptionsTest :
+    BuilderTest<HistoryRecorderOptions, HistoryRecorderOptions.Builder>() {
+
+    override fun getImplementationClass(): KClass<HistoryRecorderOptions> =
+        HistoryRecorderOptions::class
+
+    override fun getFilledUpBuilder(): HistoryRecorderOptions.Builder {
+        return HistoryRecorderOptions.Builder()
+            .chunkDurationMillis(123)
+            .maxTotalSizeBytes(456)
+            .fileDirectory("some/path")
+    }
+
+    @Test
+    override fun trigger() {
+        // only used to trigger JUnit4 to run this class if all test cases come from the parent
+    }
+}
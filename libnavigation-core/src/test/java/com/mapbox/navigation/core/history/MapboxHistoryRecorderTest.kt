@@ -0,0 +1,200 @@
+package com.mapbox.navigation.core.history
+
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.testing.MainCoroutineRule
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.util.zip.GZIPInputStream
+
+@ExperimentalCoroutinesApi
+class MapboxHistoryRecorderTest {
+
+    @get:Rule
+    var temporaryFolder = TemporaryFolder()
+
+    @get:Rule
+    val coroutineRule = MainCoroutineRule()
+
+    private val navigator: MapboxNativeNavigator = mockk(relaxed = true)
+    private val logger: Logger = mockk(relaxed = true)
+    private lateinit var historyRecorder: MapboxHistoryRecorder
+
+    @Before
+    fun setUp() {
+        every { navigator.drainHistory() } returns HISTORY.toByteArray()
+        historyRecorder = MapboxHistoryRecorder(
+            navigator,
+            temporaryFolder.root,
+            logger,
+            coroutineRule.testDispatcher
+        )
+    }
+
+    @After
+    fun tearDown() {
+        historyRecorder.stopRecording()
+    }
+
+    @Test
+    fun `start recording enables history`() {
+        historyRecorder.startRecording()
+
+        assertTrue(historyRecorder.isRecording)
+        verify { navigator.toggleHistory(true) }
+    }
+
+    @Test
+    fun `finalize chunk writes compressed history`() {
+        historyRecorder.startRecording()
+
+        val chunk = historyRecorder.finalizeChunk()!!
+
+        assertEquals(HISTORY, GZIPInputStream(chunk.inputStream()).reader().readText())
+        assertEquals(listOf(chunk), historyRecorder.getChunks())
+    }
+
+    @Test
+    fun `finalize chunk without recording`() {
+        assertNull(historyRecorder.finalizeChunk())
+        verify(exactly = 0) { navigator.drainHistory() }
+    }
+
+    @Test
+    fun `finalize chunk without new history`() {
+        every { navigator.drainHistory() } returns byteArrayOf()
+        historyRecorder.startRecording()
+
+        assertNull(historyRecorder.finalizeChunk())
+        assertTrue(historyRecorder.getChunks().isEmpty())
+    }
+
+    @Test
+    fun `stop recording writes last chunk and disables history`() {
+        val callback: MapboxHistoryRecorder.StopRecordingCallback = mockk(relaxed = true)
+        historyRecorder.startRecording()
+
+        historyRecorder.stopRecording(callback)
+
+        assertFalse(historyRecorder.isRecording)
+        val chunk = historyRecorder.getChunks().single()
+        verify { callback.onRecordingStopped(chunk) }
+        verifyOrder {
+            navigator.drainHistory()
+            navigator.toggleHistory(false)
+        }
+    }
+
+    @Test
+    fun `stop recording without recording`() {
+        val callback: MapboxHistoryRecorder.StopRecordingCallback = mockk(relaxed = true)
+
+        historyRecorder.stopRecording(callback)
+
+        verify { callback.onRecordingStopped(null) }
+        verify(exactly = 0) { navigator.drainHistory() }
+        verify(exactly = 0) { navigator.toggleHistory(any()) }
+    }
+
+    @Test
+    fun `stop recording writes last chunk off the calling thread`() {
+        historyRecorder.startRecording()
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        historyRecorder.stopRecording()
+
+        assertFalse(historyRecorder.isRecording)
+        assertTrue(historyRecorder.getChunks().isEmpty())
+
+        coroutineRule.testDispatcher.resumeDispatcher()
+
+        assertEquals(1, historyRecorder.getChunks().size)
+    }
+
+    @Test
+    fun `pending stop does not disable history of a new recording`() {
+        historyRecorder.startRecording()
+        coroutineRule.testDispatcher.pauseDispatcher()
+        historyRecorder.stopRecording()
+        historyRecorder.startRecording()
+
+        coroutineRule.testDispatcher.resumeDispatcher()
+
+        assertTrue(historyRecorder.isRecording)
+        assertTrue(historyRecorder.getChunks().isEmpty())
+        verify(exactly = 0) { navigator.toggleHistory(false) }
+    }
+
+    @Test
+    fun `chunks are listed in recording order across recordings`() {
+        historyRecorder.startRecording()
+        val first = historyRecorder.finalizeChunk()
+        historyRecorder.stopRecording()
+        val second = historyRecorder.getChunks().last()
+        historyRecorder.startRecording()
+        val third = historyRecorder.finalizeChunk()
+
+        assertEquals(listOf(first, second, third), historyRecorder.getChunks())
+    }
+
+    @Test
+    fun `oldest chunks are deleted above max size`() {
+        historyRecorder.startRecording(
+            HistoryRecorderOptions.Builder()
+                .maxTotalSizeBytes(1)
+                .build()
+        )
+
+        historyRecorder.finalizeChunk()
+        val last = historyRecorder.finalizeChunk()
+
+        assertEquals(listOf(last), historyRecorder.getChunks())
+    }
+
+    @Test
+    fun `chunks are written to custom directory`() {
+        val directory = temporaryFolder.newFolder("custom")
+        historyRecorder.startRecording(
+            HistoryRecorderOptions.Builder()
+                .fileDirectory(directory.absolutePath)
+                .build()
+        )
+
+        val chunk = historyRecorder.finalizeChunk()!!
+
+        assertEquals(directory, chunk.parentFile)
+    }
+
+    @Test
+    fun `delete chunks`() {
+        historyRecorder.startRecording()
+        val first = historyRecorder.finalizeChunk()!!
+        historyRecorder.finalizeChunk()
+        historyRecorder.finalizeChunk()
+
+        assertTrue(historyRecorder.deleteChunk(first))
+        assertFalse(historyRecorder.deleteChunk(File(temporaryFolder.root, "other.json.gz")))
+        assertEquals(2, historyRecorder.getChunks().size)
+
+        historyRecorder.deleteAllChunks()
+
+        assertTrue(historyRecorder.getChunks().isEmpty())
+    }
+
+    private companion object {
+        private const val HISTORY = """{"events":[],"version":"1.0"}"""
+    }
+}
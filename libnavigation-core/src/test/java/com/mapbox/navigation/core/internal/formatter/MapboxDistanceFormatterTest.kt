@@ -2,6 +2,7 @@ package com.mapbox.navigation.core.internal.formatter
 
 import android.content.Context
 import android.graphics.Typeface
+import android.text.Spanned
 import android.text.style.RelativeSizeSpan
 import android.text.style.StyleSpan
 import androidx.test.core.app.ApplicationProvider
@@ -15,6 +16,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -308,4 +310,43 @@ class MapboxDistanceFormatterTest {
 
         assertEquals("181 ft", result.toString())
     }
+
+    @Config(qualifiers = "en")
+    @Test
+    fun formatDistanceReturnsNewResultForSameDisplayedDistance() {
+        val formatter = MapboxDistanceFormatter(
+            DistanceFormatterOptions.Builder(ctx)
+                .unitType(METRIC)
+                .roundingIncrement(INCREMENT_FIFTY)
+                .build()
+        )
+
+        val first = formatter.formatDistance(1210.0)
+        // like the watchers a TextView attaches to its text
+        first.setSpan(Any(), 0, first.length, Spanned.SPAN_INCLUSIVE_INCLUSIVE)
+        val second = formatter.formatDistance(1190.0)
+        val third = formatter.formatDistance(1260.0)
+
+        assertEquals("1.2 km", first.toString())
+        assertNotSame(first, second)
+        assertEquals(first.toString(), second.toString())
+        assertEquals(2, second.getSpans(0, second.length, Any::class.java).size)
+        assertEquals("1.3 km", third.toString())
+    }
+
+    @Config(qualifiers = "en")
+    @Test
+    fun formatDistanceDoesNotMixUpUnits() {
+        val formatter = MapboxDistanceFormatter(
+            DistanceFormatterOptions.Builder(ctx)
+                .unitType(METRIC)
+                .roundingIncrement(0)
+                .build()
+        )
+
+        assertEquals("12 m", formatter.formatDistance(12.0).toString())
+        assertEquals("12 km", formatter.formatDistance(12000.0).toString())
+        assertEquals("1.2 km", formatter.formatDistance(1200.0).toString())
+        assertEquals("12 m", formatter.formatDistance(12.0).toString())
+    }
 }
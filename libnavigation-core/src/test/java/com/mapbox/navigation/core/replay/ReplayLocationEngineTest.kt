@@ -1,6 +1,7 @@
 package com.mapbox.navigation.core.replay
 
 import android.app.PendingIntent
+import android.os.HandlerThread
 import android.os.Looper
 import android.os.SystemClock
 import com.mapbox.android.core.location.LocationEngineCallback
@@ -14,19 +15,27 @@ import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.slot
 import io.mockk.unmockkObject
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 
 @RunWith(RobolectricTestRunner::class)
 class ReplayLocationEngineTest {
 
     private val mapboxReplayer: MapboxReplayer = mockk {
         every { registerObserver(any()) } returns Unit
+        every { getVirtualClock() } returns null
     }
 
     private val replayLocationEngine = ReplayLocationEngine(mapboxReplayer)
@@ -80,7 +89,7 @@ class ReplayLocationEngineTest {
             every { onFailure(capture(failureData)) } returns Unit
         }
         val request: LocationEngineRequest = mockk()
-        val looper: Looper? = mockk()
+        val looper: Looper? = Looper.getMainLooper()
 
         replayLocationEngine.requestLocationUpdates(request, callback, looper)
         replayLocationEngine.replayEvents(listOf(testLocation()))
@@ -99,7 +108,7 @@ class ReplayLocationEngineTest {
             every { onFailure(capture(failureData)) } returns Unit
         }
         val request: LocationEngineRequest = mockk()
-        val looper: Looper? = mockk()
+        val looper: Looper? = Looper.getMainLooper()
 
         replayLocationEngine.requestLocationUpdates(request, callback, looper)
         replayLocationEngine.replayEvents(listOf(ReplayEventGetStatus(123.0)))
@@ -117,7 +126,7 @@ class ReplayLocationEngineTest {
             every { onFailure(capture(failureData)) } returns Unit
         }
 
-        replayLocationEngine.requestLocationUpdates(mockk(), callback, mockk())
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
         replayLocationEngine.replayEvents(listOf(testLocation()))
         replayLocationEngine.replayEvents(listOf(testLocation()))
 
@@ -134,7 +143,7 @@ class ReplayLocationEngineTest {
             every { onFailure(capture(failureData)) } returns Unit
         }
 
-        replayLocationEngine.requestLocationUpdates(mockk(), callback, mockk())
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
         replayLocationEngine.replayEvents(listOf(testLocation()))
         replayLocationEngine.removeLocationUpdates(callback)
         replayLocationEngine.replayEvents(listOf(testLocation()))
@@ -150,7 +159,7 @@ class ReplayLocationEngineTest {
             every { onSuccess(capture(successData)) } returns Unit
         }
 
-        replayLocationEngine.requestLocationUpdates(mockk(), callback, mockk())
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
         replayLocationEngine.replayEvents(
             listOf(
                 ReplayEventUpdateLocation(
@@ -187,13 +196,90 @@ class ReplayLocationEngineTest {
         }
         every { SystemClock.elapsedRealtimeNanos() } returns 135549299280L
 
-        replayLocationEngine.requestLocationUpdates(mockk(), callback, mockk())
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
         replayLocationEngine.replayEvents(listOf(testLocation()))
 
         val lastLocation = successData.captured.lastLocation!!
         assertEquals(135549299280L, lastLocation.elapsedRealtimeNanos)
     }
 
+    @Test
+    fun `should map virtual time while fast-forwarding`() {
+        val successData = mutableListOf<LocationEngineResult>()
+        val callback: LocationEngineCallback<LocationEngineResult> = mockk {
+            every { onSuccess(capture(successData)) } returns Unit
+        }
+        val virtualClock = ReplayVirtualClock(135549299280L, 1580777612000L)
+        virtualClock.advanceTo(1580777612.0)
+        every { mapboxReplayer.getVirtualClock() } returns virtualClock
+
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
+        replayLocationEngine.replayEvents(listOf(testLocation(1580777612.0)))
+        replayLocationEngine.replayEvents(listOf(testLocation(1580777614.5)))
+
+        assertEquals(135549299280L, successData[0].lastLocation!!.elapsedRealtimeNanos)
+        assertEquals(1580777612000L, successData[0].lastLocation!!.time)
+        assertEquals(138049299280L, successData[1].lastLocation!!.elapsedRealtimeNanos)
+        assertEquals(1580777614500L, successData[1].lastLocation!!.time)
+    }
+
+    @Test
+    fun `requestLocationUpdates should replay locations on the requested looper`() {
+        val handlerThread = HandlerThread("ReplayLocationEngineTest").apply { start() }
+        val latch = CountDownLatch(1)
+        var callbackThread: Thread? = null
+        val callback: LocationEngineCallback<LocationEngineResult> = mockk {
+            every { onSuccess(any()) } answers {
+                callbackThread = Thread.currentThread()
+                latch.countDown()
+            }
+        }
+
+        replayLocationEngine.requestLocationUpdates(mockk(), callback, handlerThread.looper)
+        replayLocationEngine.replayEvents(listOf(testLocation()))
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS))
+        assertEquals(handlerThread, callbackThread)
+        handlerThread.quit()
+    }
+
+    @Test
+    fun `awaitLocationsProcessed should wait for the locations replayed while fast-forwarding`() =
+        runBlocking {
+            val successData = mutableListOf<LocationEngineResult>()
+            val callback: LocationEngineCallback<LocationEngineResult> = mockk {
+                every { onSuccess(capture(successData)) } returns Unit
+            }
+            val virtualClock = ReplayVirtualClock(135549299280L, 1580777612000L)
+            virtualClock.advanceTo(1580777612.0)
+            every { mapboxReplayer.getVirtualClock() } returns virtualClock
+
+            replayLocationEngine.setLocationProcessingAcknowledged(true)
+            replayLocationEngine.requestLocationUpdates(mockk(), callback, Looper.getMainLooper())
+            replayLocationEngine.replayEvents(listOf(testLocation(1580777612.0)))
+            val awaitJob = launch(start = CoroutineStart.UNDISPATCHED) {
+                replayLocationEngine.awaitLocationsProcessed()
+            }
+
+            assertTrue(awaitJob.isActive)
+            replayLocationEngine.onLocationProcessed(successData[0].lastLocation!!)
+            awaitJob.join()
+            assertTrue(awaitJob.isCompleted)
+        }
+
+    @Test
+    fun `awaitLocationsProcessed should not wait when processing is not acknowledged`() =
+        runBlocking {
+            val virtualClock = ReplayVirtualClock(135549299280L, 1580777612000L)
+            virtualClock.advanceTo(1580777612.0)
+            every { mapboxReplayer.getVirtualClock() } returns virtualClock
+
+            replayLocationEngine.requestLocationUpdates(mockk(), mockk(relaxed = true), null)
+            replayLocationEngine.replayEvents(listOf(testLocation(1580777612.0)))
+
+            withTimeout(1000) { replayLocationEngine.awaitLocationsProcessed() }
+        }
+
     @Test(expected = UnsupportedOperationException::class)
     fun `pendingIntents are unsupported for requestLocationUpdates`() {
         val request: LocationEngineRequest = mockk()
@@ -209,8 +295,7 @@ class ReplayLocationEngineTest {
         replayLocationEngine.removeLocationUpdates(pendingIntent)
     }
 
-    private fun testLocation(): ReplayEventUpdateLocation {
-        val time = 0.0
+    private fun testLocation(time: Double = 0.0): ReplayEventUpdateLocation {
         return ReplayEventUpdateLocation(
             time,
             ReplayEventLocation(
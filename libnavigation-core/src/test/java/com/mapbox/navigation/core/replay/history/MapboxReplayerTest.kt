@@ -1,6 +1,7 @@
 package com.mapbox.navigation.core.replay.history
 
 import android.os.SystemClock
+import com.mapbox.base.common.logger.Logger
 import com.mapbox.navigation.core.replay.MapboxReplayer
 import com.mapbox.navigation.testing.MainCoroutineRule
 import io.mockk.coVerify
@@ -10,8 +11,11 @@ import io.mockk.mockkStatic
 import io.mockk.unmockkObject
 import io.mockk.verify
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
 import org.junit.After
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
 import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Rule
@@ -27,7 +31,8 @@ class MapboxReplayerTest {
     private val replayEventsObserver: ReplayEventsObserver = mockk(relaxed = true)
     private var deviceElapsedTimeNanos = TimeUnit.HOURS.toNanos(11)
 
-    private val mapboxReplayer = MapboxReplayer()
+    private val logger: Logger = mockk(relaxed = true)
+    private val mapboxReplayer = MapboxReplayer(coroutineRule.testDispatcher, logger)
 
     @Test
     fun `should play start transit and location in order`() = coroutineRule.runBlockingTest {
@@ -361,6 +366,76 @@ class MapboxReplayerTest {
         assertEquals(1580777614.085, events[1].eventTimestamp, 0.001)
     }
 
+    @Test
+    fun `should seekTo a time in appended chunks`() = coroutineRule.runBlockingTest {
+        mapboxReplayer.pushEvents(List(3) { ReplayEventGetStatus(it.toDouble()) })
+        mapboxReplayer.pushEvents(List(3) { ReplayEventGetStatus(3.0 + it) })
+        mapboxReplayer.registerObserver(replayEventsObserver)
+        mapboxReplayer.seekTo(3.5)
+
+        mapboxReplayer.play()
+        advanceTimeMillis(5000)
+        mapboxReplayer.finish()
+
+        val replayUpdates = mutableListOf<List<ReplayEventBase>>()
+        coVerify { replayEventsObserver.replayEvents(capture(replayUpdates)) }
+        val events = replayUpdates.flatten()
+        assertEquals(2, events.size)
+        assertEquals(4.0, events[0].eventTimestamp, 0.001)
+        assertEquals(5.0, events[1].eventTimestamp, 0.001)
+    }
+
+    @Test
+    fun `scrubTo should replay the route set before the time`() = coroutineRule.runBlockingTest {
+        val firstSetRoute = ReplaySetRoute(0.0, null)
+        val secondSetRoute = ReplaySetRoute(2.0, null)
+        mapboxReplayer.pushEvents(
+            listOf(
+                firstSetRoute,
+                ReplayEventGetStatus(1.0),
+                secondSetRoute,
+                ReplayEventGetStatus(3.0)
+            )
+        )
+        val replayed = mutableListOf<ReplayEventBase>()
+        mapboxReplayer.registerObserver(
+            object : ReplayEventsObserver {
+                override fun replayEvents(events: List<ReplayEventBase>) {
+                    replayed.addAll(events)
+                }
+            }
+        )
+        mapboxReplayer.play()
+        advanceTimeMillis(5000)
+        mapboxReplayer.stop()
+        replayed.clear()
+
+        mapboxReplayer.scrubTo(1.0)
+        mapboxReplayer.scrubTo(1.5)
+
+        assertEquals(1, replayed.size)
+        assertTrue(replayed[0] === firstSetRoute)
+    }
+
+    @Test
+    fun `scrubTo should not replay the current route`() = coroutineRule.runBlockingTest {
+        mapboxReplayer.pushEvents(
+            listOf(
+                ReplaySetRoute(0.0, null),
+                ReplayEventGetStatus(1.0),
+                ReplayEventGetStatus(2.0)
+            )
+        )
+        mapboxReplayer.play()
+        advanceTimeMillis(5000)
+        mapboxReplayer.stop()
+        mapboxReplayer.registerObserver(replayEventsObserver)
+
+        mapboxReplayer.scrubTo(1.5)
+
+        verify(exactly = 0) { replayEventsObserver.replayEvents(any()) }
+    }
+
     @Test
     fun `playbackSpeed should play one event per second at 1_0 playbackSpeed`() =
         coroutineRule.runBlockingTest {
@@ -569,6 +644,200 @@ class MapboxReplayerTest {
             assertEquals(105.0, timeCapture[25].first.eventTimestamp, 0.0)
         }
 
+    @Test
+    fun `should play streamed events in windows`() = coroutineRule.runBlockingTest {
+        val events = List(30) { ReplayEventGetStatus(it.toDouble()) }
+        val timeCapture = mutableListOf<ReplayEventBase>()
+        mapboxReplayer.registerObserver(
+            object : ReplayEventsObserver {
+                override fun replayEvents(events: List<ReplayEventBase>) {
+                    timeCapture.addAll(events)
+                }
+            }
+        )
+
+        mapboxReplayer.pushEvents(events.iterator(), windowSize = 5)
+        assertEquals(0.0, mapboxReplayer.durationSeconds(), 0.0)
+        mapboxReplayer.play()
+        assertEquals(4.0, mapboxReplayer.durationSeconds(), 0.0)
+        for (i in 0 until 300) {
+            advanceTimeMillis(100)
+        }
+        mapboxReplayer.finish()
+
+        assertEquals(events, timeCapture)
+    }
+
+    @Test
+    fun `should read streamed events ahead on the stream dispatcher`() =
+        coroutineRule.runBlockingTest {
+            val events = List(30) { ReplayEventGetStatus(it.toDouble()) }
+            var readEvents = 0
+            val eventStream = object : Iterator<ReplayEventBase> {
+                override fun hasNext() = readEvents < events.size
+                override fun next() = events[readEvents++]
+            }
+            coroutineRule.testDispatcher.pauseDispatcher()
+
+            mapboxReplayer.pushEvents(eventStream, windowSize = 5)
+
+            assertEquals(0, readEvents)
+            coroutineRule.testDispatcher.resumeDispatcher()
+            // the buffer is full, one more event waits to be taken
+            assertEquals(6, readEvents)
+            mapboxReplayer.finish()
+        }
+
+    @Test
+    fun `should trim played streamed events`() = coroutineRule.runBlockingTest {
+        val events = List(300) { ReplayEventGetStatus(it.toDouble()) }
+        val replayed = mutableListOf<ReplayEventBase>()
+        mapboxReplayer.registerObserver(
+            object : ReplayEventsObserver {
+                override fun replayEvents(events: List<ReplayEventBase>) {
+                    replayed.addAll(events)
+                }
+            }
+        )
+
+        mapboxReplayer.pushEvents(events.iterator(), windowSize = 5)
+        mapboxReplayer.fastForward(coroutineRule.testDispatcher)
+
+        assertEquals(events, replayed)
+        assertEquals(299.0, mapboxReplayer.durationSeconds(), 0.0)
+        mapboxReplayer.seekTo(events[299])
+        val trimmedEventException = try {
+            mapboxReplayer.seekTo(events[0])
+            null
+        } catch (e: IllegalStateException) {
+            e
+        }
+        assertNotNull(trimmedEventException)
+    }
+
+    @Test
+    fun `scrubTo should replay the route set before the trimmed events`() =
+        coroutineRule.runBlockingTest {
+            val setRoute = ReplaySetRoute(0.0, null)
+            val events = listOf(setRoute) + List(300) { ReplayEventGetStatus(1.0 + it) }
+            mapboxReplayer.pushEvents(events.iterator(), windowSize = 5)
+            mapboxReplayer.fastForward(coroutineRule.testDispatcher)
+            mapboxReplayer.pushEvents(listOf(ReplaySetRoute(400.0, null)))
+            mapboxReplayer.fastForward(coroutineRule.testDispatcher)
+            mapboxReplayer.registerObserver(replayEventsObserver)
+
+            mapboxReplayer.scrubTo(299.0)
+
+            verify { replayEventsObserver.replayEvents(listOf(setRoute)) }
+        }
+
+    @Test
+    fun `should end the replay when the event stream fails`() = coroutineRule.runBlockingTest {
+        val exception = IllegalStateException("Broken history")
+        var readEvents = 0
+        val eventStream = object : Iterator<ReplayEventBase> {
+            override fun hasNext() = true
+            override fun next(): ReplayEventBase {
+                if (readEvents == 3) {
+                    throw exception
+                }
+                return ReplayEventGetStatus((readEvents++).toDouble())
+            }
+        }
+        val replayed = mutableListOf<ReplayEventBase>()
+        mapboxReplayer.registerObserver(
+            object : ReplayEventsObserver {
+                override fun replayEvents(events: List<ReplayEventBase>) {
+                    replayed.addAll(events)
+                }
+            }
+        )
+
+        mapboxReplayer.pushEvents(eventStream, windowSize = 5)
+        val job = mapboxReplayer.fastForward(coroutineRule.testDispatcher)
+
+        assertTrue(job.isCompleted)
+        assertEquals(3, replayed.size)
+        verify { logger.e(any(), any(), exception) }
+    }
+
+    @Test
+    fun `fastForward should replay all events without waiting`() =
+        coroutineRule.runBlockingTest {
+            val events = List(3600) { ReplayEventGetStatus(it.toDouble()) }
+            val replayed = mutableListOf<ReplayEventBase>()
+            mapboxReplayer.registerObserver(
+                object : ReplayEventsObserver {
+                    override fun replayEvents(events: List<ReplayEventBase>) {
+                        replayed.addAll(events)
+                    }
+                }
+            )
+
+            mapboxReplayer.pushEvents(events)
+            val job = mapboxReplayer.fastForward(coroutineRule.testDispatcher)
+
+            assertTrue(job.isCompleted)
+            assertEquals(events, replayed)
+        }
+
+    @Test
+    fun `fastForward should group events with the same timestamp`() =
+        coroutineRule.runBlockingTest {
+            val replayedGroups = mutableListOf<List<ReplayEventBase>>()
+            mapboxReplayer.pushEvents(
+                listOf(
+                    ReplayEventGetStatus(1.0),
+                    ReplayEventGetStatus(1.0),
+                    ReplayEventGetStatus(2.0)
+                )
+            )
+
+            mapboxReplayer.fastForward(coroutineRule.testDispatcher) {
+                replayedGroups.add(it)
+            }
+
+            assertEquals(listOf(2, 1), replayedGroups.map { it.size })
+        }
+
+    @Test
+    fun `fastForward should wait for events to be consumed`() =
+        coroutineRule.runBlockingTest {
+            val replayed = mutableListOf<ReplayEventBase>()
+            mapboxReplayer.pushEvents(List(3) { ReplayEventGetStatus(it.toDouble()) })
+
+            val job = mapboxReplayer.fastForward(coroutineRule.testDispatcher) {
+                replayed.addAll(it)
+                delay(1000)
+            }
+
+            assertEquals(1, replayed.size)
+            coroutineRule.testDispatcher.advanceTimeBy(1000)
+            assertEquals(2, replayed.size)
+            coroutineRule.testDispatcher.advanceTimeBy(2000)
+            assertTrue(job.isCompleted)
+        }
+
+    @Test
+    fun `fastForward should provide virtual clock while replaying`() =
+        coroutineRule.runBlockingTest {
+            val elapsedNanos = mutableListOf<Long>()
+            mapboxReplayer.pushEvents(
+                listOf(ReplayEventGetStatus(10.0), ReplayEventGetStatus(12.0))
+            )
+
+            mapboxReplayer.fastForward(coroutineRule.testDispatcher) {
+                val virtualClock = mapboxReplayer.getVirtualClock()!!
+                elapsedNanos.add(virtualClock.elapsedRealtimeNanos(it.first().eventTimestamp))
+            }
+
+            assertEquals(
+                listOf(deviceElapsedTimeNanos, deviceElapsedTimeNanos + 2_000_000_000L),
+                elapsedNanos
+            )
+            assertNull(mapboxReplayer.getVirtualClock())
+        }
+
     /**
      * Helpers for moving the simulation clock
      */
@@ -0,0 +1,120 @@
+package com.mapbox.navigation.core.replay.history
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class ReplayEventsIndexTest {
+
+    private val replayEvents = ReplayEvents(mutableListOf())
+    private val replayEventsIndex = ReplayEventsIndex(replayEvents)
+
+    @Test
+    fun `should append events in order`() {
+        val events = List(5) { ReplayEventGetStatus(it.toDouble()) }
+
+        replayEventsIndex.append(events.subList(0, 2))
+        replayEventsIndex.append(events.subList(2, 5))
+
+        assertEquals(events, replayEvents.events)
+    }
+
+    @Test
+    fun `indexOfTime should find first event at or after time`() {
+        replayEventsIndex.append(
+            listOf(
+                ReplayEventGetStatus(1.0),
+                ReplayEventGetStatus(2.0),
+                ReplayEventGetStatus(2.0),
+                ReplayEventGetStatus(4.0)
+            )
+        )
+
+        assertEquals(0, replayEventsIndex.indexOfTime(0.5))
+        assertEquals(1, replayEventsIndex.indexOfTime(2.0))
+        assertEquals(3, replayEventsIndex.indexOfTime(3.0))
+        assertEquals(-1, replayEventsIndex.indexOfTime(4.5))
+    }
+
+    @Test
+    fun `indexOfTime should search runs in replay order`() {
+        replayEventsIndex.append(List(3) { ReplayEventGetStatus(10.0 + it) })
+        replayEventsIndex.append(List(3) { ReplayEventGetStatus(it.toDouble()) })
+
+        assertEquals(1, replayEventsIndex.indexOfTime(11.0))
+        assertEquals(0, replayEventsIndex.indexOfTime(1.0))
+        assertEquals(-1, replayEventsIndex.indexOfTime(13.0))
+    }
+
+    @Test
+    fun `indexOf should find equal event`() {
+        val location = ReplayEventUpdateLocation(
+            2.0,
+            ReplayEventLocation(1.0, 2.0, null, null, null, null, null, null)
+        )
+        replayEventsIndex.append(List(3) { ReplayEventGetStatus(it.toDouble()) })
+        replayEventsIndex.append(location)
+        replayEventsIndex.append(List(3) { ReplayEventGetStatus(it.toDouble()) })
+
+        assertEquals(3, replayEventsIndex.indexOf(location.copy()))
+        assertEquals(1, replayEventsIndex.indexOf(ReplayEventGetStatus(1.0)))
+        assertEquals(-1, replayEventsIndex.indexOf(ReplayEventGetStatus(1.5)))
+    }
+
+    @Test
+    fun `lastSetRouteBefore should find the closest previous set route`() {
+        val firstSetRoute = ReplaySetRoute(1.0, null)
+        val secondSetRoute = ReplaySetRoute(3.0, null)
+        replayEventsIndex.append(
+            listOf(
+                ReplayEventGetStatus(0.0),
+                firstSetRoute,
+                ReplayEventGetStatus(2.0),
+                secondSetRoute,
+                ReplayEventGetStatus(4.0)
+            )
+        )
+
+        assertNull(replayEventsIndex.lastSetRouteBefore(1))
+        assertSame(firstSetRoute, replayEventsIndex.lastSetRouteBefore(2))
+        assertSame(firstSetRoute, replayEventsIndex.lastSetRouteBefore(3))
+        assertSame(secondSetRoute, replayEventsIndex.lastSetRouteBefore(5))
+    }
+
+    @Test
+    fun `clear should remove events`() {
+        replayEventsIndex.append(ReplaySetRoute(1.0, null))
+
+        replayEventsIndex.clear()
+
+        assertEquals(0, replayEvents.events.size)
+        assertEquals(-1, replayEventsIndex.indexOfTime(0.0))
+        assertNull(replayEventsIndex.lastSetRouteBefore(1))
+    }
+
+    @Test
+    fun `trim should remove the first events and keep them searchable`() {
+        val events = List(5) { ReplayEventGetStatus(it.toDouble()) }
+        replayEventsIndex.append(events)
+
+        replayEventsIndex.trim(2)
+
+        assertEquals(events.subList(2, 5), replayEvents.events)
+        assertEquals(0, replayEventsIndex.indexOfTime(3.0 - 1.0))
+        assertEquals(1, replayEventsIndex.indexOf(events[3]))
+        assertEquals(0.0, replayEventsIndex.firstEventTimestamp!!, 0.0)
+    }
+
+    @Test
+    fun `trim should keep the last trimmed route`() {
+        val setRoute = ReplaySetRoute(1.0, null)
+        replayEventsIndex.append(
+            listOf(ReplayEventGetStatus(0.0), setRoute, ReplayEventGetStatus(2.0))
+        )
+
+        replayEventsIndex.trim(2)
+
+        assertSame(setRoute, replayEventsIndex.lastSetRouteBefore(0))
+    }
+}
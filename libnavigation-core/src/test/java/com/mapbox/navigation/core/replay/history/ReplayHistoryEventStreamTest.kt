@@ -0,0 +1,108 @@
+package com.mapbox.navigation.core.replay.history
+
+import com.mapbox.base.common.logger.Logger
+import io.mockk.mockk
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ReplayHistoryEventStreamTest {
+
+    private val logger: Logger = mockk(relaxUnitFun = true)
+
+    private val replayHistoryMapper = ReplayHistoryMapper(logger = logger)
+
+    @Test
+    fun `should read events one by one`() {
+        val eventStream = eventStream(
+            "{\"version\":\"6.2.1\",\"events\":[{\"type\":\"getStatus\",\"timestamp\":" +
+                "1580744200.379,\"event_timestamp\":1580744198.879556,\"delta_ms\":0}," +
+                "{\"location\":{\"lat\":50.1232182,\"lon\":8.6343946,\"time\":1580744199.406," +
+                "\"speed\":0.02246818132698536,\"bearing\":33.55318069458008,\"altitude\":" +
+                "162.8000030517578,\"accuracyHorizontal\":14.710000038146973,\"provider\":" +
+                "\"fused\"},\"type\":\"updateLocation\",\"event_timestamp\":1580744199.407049," +
+                "\"delta_ms\":0}],\"history_version\":\"1.0.0\"}"
+        )
+
+        val first = eventStream.next()
+        val second = eventStream.next() as ReplayEventUpdateLocation
+
+        assertTrue(first is ReplayEventGetStatus)
+        assertEquals(1580744198.879556, first.eventTimestamp, 0.000001)
+        assertEquals(1580744199.407049, second.eventTimestamp, 0.000001)
+        assertEquals(50.1232182, second.location.lat, 0.000001)
+        assertEquals("fused", second.location.provider)
+        assertFalse(eventStream.hasNext())
+    }
+
+    @Test
+    fun `should skip unsupported events`() {
+        val eventStream = eventStream(
+            "{\"events\":[{\"type\":\"end_transit\",\"event_timestamp\":1580744212.22}," +
+                "{\"type\":\"getStatus\",\"event_timestamp\":1580744212.006626}]}"
+        )
+
+        val events = eventStream.next(10)
+
+        assertEquals(1, events.size)
+        assertTrue(events[0] is ReplayEventGetStatus)
+    }
+
+    @Test
+    fun `should read up to count events`() {
+        val eventStream = eventStream(
+            "{\"events\":[{\"type\":\"getStatus\",\"timestamp\":1.0}," +
+                "{\"type\":\"getStatus\",\"timestamp\":2.0}," +
+                "{\"type\":\"getStatus\",\"timestamp\":3.0}]}"
+        )
+
+        assertEquals(2, eventStream.next(2).size)
+        assertEquals(1, eventStream.next(2).size)
+        assertTrue(eventStream.next(2).isEmpty())
+    }
+
+    @Test
+    fun `should map setRoute`() {
+        val eventStream = replayHistoryMapper.mapToReplayEventStream(
+            resourceAsStream("set_route_event_valid.txt")
+        )
+
+        val setRoute = eventStream.next() as ReplaySetRoute
+
+        assertEquals(821.8, setRoute.route!!.distance(), 0.00001)
+        assertFalse(eventStream.hasNext())
+    }
+
+    @Test
+    fun `should map cleared setRoute`() {
+        val eventStream = replayHistoryMapper.mapToReplayEventStream(
+            resourceAsStream("set_route_event_cleared.txt")
+        )
+
+        assertNull((eventStream.next() as ReplaySetRoute).route)
+    }
+
+    @Test
+    fun `should be empty without events`() {
+        val eventStream = eventStream("{\"version\":\"6.2.1\"}")
+
+        assertFalse(eventStream.hasNext())
+    }
+
+    @Test(expected = NoSuchElementException::class)
+    fun `should throw when reading past the end`() {
+        val eventStream = eventStream("{\"events\":[]}")
+
+        eventStream.next()
+    }
+
+    private fun eventStream(history: String): ReplayHistoryEventStream =
+        replayHistoryMapper.mapToReplayEventStream(history.byteInputStream())
+
+    private fun resourceAsStream(
+        name: String,
+        packageName: String = "com.mapbox.navigation.core.replay.history"
+    ) = javaClass.classLoader!!.getResourceAsStream("$packageName/$name")
+}
@@ -1,10 +1,15 @@
 package com.mapbox.navigation.core.reroute
 
+import android.location.Location
+import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.api.directions.v5.models.StepIntersection
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
 import com.mapbox.navigation.core.routeoptions.RouteOptionsUpdater
+import com.mapbox.navigation.core.trip.session.RouteProgressObserver
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.utils.internal.ThreadController
@@ -319,6 +324,83 @@ class MapboxRerouteControllerTest {
         verify(exactly = 0) { directionsSession.requestRoutes(any(), any()) }
     }
 
+    @Test
+    fun reroute_uses_speculative_candidate() {
+        val candidateCallbacks = setUpSpeculativeReroute()
+        val routes: List<DirectionsRoute> = listOf(mockk())
+
+        rerouteController.reroute(routeCallback)
+        candidateCallbacks.single().onRoutesReady(routes)
+
+        verify(exactly = 1) {
+            directionsSession.setRequestedRoutes(routes, routeOptionsFromSuccessResult)
+        }
+        verify(exactly = 0) { directionsSession.routes = any() }
+        verify(exactly = 0) { directionsSession.requestRoutes(any(), any()) }
+        verifyOrder {
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Idle)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.FetchingRoute)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.RouteFetched)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Idle)
+        }
+    }
+
+    @Test
+    fun speculative_candidate_ignored_after_interrupt() {
+        val candidateCallbacks = setUpSpeculativeReroute()
+
+        rerouteController.reroute(routeCallback)
+        rerouteController.interrupt()
+        candidateCallbacks.single().onRoutesReady(listOf(mockk()))
+
+        verify(exactly = 0) { directionsSession.setRequestedRoutes(any(), any()) }
+        verifyOrder {
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.FetchingRoute)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Interrupted)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Idle)
+        }
+    }
+
+    @Test
+    fun speculative_candidate_ignored_after_routes_change() {
+        val routesObserver = slot<RoutesObserver>()
+        every {
+            directionsSession.registerRoutesObserver(capture(routesObserver))
+        } returns Unit
+        val candidateCallbacks = setUpSpeculativeReroute()
+
+        rerouteController.reroute(routeCallback)
+        routesObserver.captured.onRoutesChanged(listOf(mockk()))
+        candidateCallbacks.single().onRoutesReady(listOf(mockk()))
+
+        verify(exactly = 0) { directionsSession.setRequestedRoutes(any(), any()) }
+        verifyOrder {
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.FetchingRoute)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Interrupted)
+            primaryRerouteObserver.onRerouteStateChanged(RerouteState.Idle)
+        }
+    }
+
+    @Test
+    fun speculative_candidates_dropped_when_observers_unregistered() {
+        setUpSpeculativeReroute()
+        val routeRequestCallback = slot<RoutesRequestCallback>()
+        every {
+            directionsSession.requestRoutes(any(), capture(routeRequestCallback))
+        } returns Unit
+
+        rerouteController.unregisterObservers()
+        rerouteController.reroute(routeCallback)
+        routeRequestCallback.captured.onRoutesReady(listOf(mockk()))
+
+        verify(exactly = 1) {
+            tripSession.unregisterRouteProgressObserver(any())
+            directionsSession.unregisterRoutesObserver(any())
+        }
+        verify(exactly = 1) { directionsSession.requestRoutes(any(), any()) }
+        verify(exactly = 0) { directionsSession.setRequestedRoutes(any(), any()) }
+    }
+
     @Test
     fun add_the_same_observer_twice_and_remove_twice() {
         assertTrue(addRerouteStateObserver())
@@ -334,6 +416,57 @@ class MapboxRerouteControllerTest {
         return rerouteController.registerRerouteStateObserver(rerouteStateObserver)
     }
 
+    private fun setUpSpeculativeReroute(): List<RoutesRequestCallback> {
+        val routeProgressObserver = slot<RouteProgressObserver>()
+        every {
+            tripSession.registerRouteProgressObserver(capture(routeProgressObserver))
+        } returns Unit
+        rerouteController = MapboxRerouteController(
+            directionsSession,
+            tripSession,
+            routeOptionsUpdater,
+            ThreadController,
+            logger,
+            speculativeRerouteEnabled = true
+        )
+        rerouteController.registerObservers()
+        addRerouteStateObserver()
+        mockRouteOptionsResult(successFromResult)
+        val candidateCallbacks = mutableListOf<RoutesRequestCallback>()
+        every {
+            directionsSession.requestFasterRoute(any(), capture(candidateCallbacks))
+        } returns Unit
+        val location: Location = mockk {
+            every { latitude } returns 37.7577
+            every { longitude } returns -122.4376
+            every { hasBearing() } returns true
+            every { bearing } returns 0f
+        }
+        every { tripSession.getEnhancedLocation() } returns location
+
+        routeProgressObserver.captured.onRouteProgressChanged(
+            mockk {
+                every { route } returns mockk()
+                every { currentLegProgress } returns mockk {
+                    every { currentStepProgress } returns mockk {
+                        every { distanceRemaining } returns 100f
+                    }
+                    every { upcomingStep } returns mockk {
+                        every { intersections() } returns listOf(
+                            StepIntersection.builder()
+                                .rawLocation(doubleArrayOf(-122.4376, 37.7577))
+                                .bearings(listOf(0, 90))
+                                .entry(listOf(true, true))
+                                .out(1)
+                                .build()
+                        )
+                    }
+                }
+            }
+        )
+        return candidateCallbacks
+    }
+
     private fun mockRouteOptionsResult(
         _routeOptionsResult: RouteOptionsUpdater.RouteOptionsResult
     ) {
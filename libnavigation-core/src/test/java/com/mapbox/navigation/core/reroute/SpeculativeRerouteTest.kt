@@ -0,0 +1,189 @@
+package com.mapbox.navigation.core.reroute
+
+import android.location.Location
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.api.directions.v5.models.StepIntersection
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
+import com.mapbox.navigation.core.routeoptions.RouteOptionsUpdater
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class SpeculativeRerouteTest {
+
+    private val directionsSession: DirectionsSession = mockk(relaxed = true)
+    private val routeOptionsUpdater: RouteOptionsUpdater = mockk()
+    private val logger: Logger = mockk(relaxed = true)
+    private val routeOptions: RouteOptions = mockk()
+    private val route: DirectionsRoute = mockk()
+    private val requestCallbacks = mutableListOf<RoutesRequestCallback>()
+    private lateinit var speculativeReroute: SpeculativeReroute
+
+    @Before
+    fun setUp() {
+        every {
+            routeOptionsUpdater.update(any(), any(), any())
+        } returns RouteOptionsUpdater.RouteOptionsResult.Success(routeOptions)
+        every {
+            directionsSession.requestFasterRoute(routeOptions, capture(requestCallbacks))
+        } returns Unit
+        speculativeReroute = SpeculativeReroute(directionsSession, routeOptionsUpdater, logger)
+    }
+
+    @Test
+    fun candidatesAreRequestedForExitsOfUpcomingManeuver() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+
+        verify(exactly = 2) { directionsSession.requestFasterRoute(routeOptions, any()) }
+    }
+
+    @Test
+    fun candidatesAreRequestedOncePerIntersection() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+        speculativeReroute.onRouteProgressChanged(routeProgress(50f), location())
+
+        verify(exactly = 2) { directionsSession.requestFasterRoute(routeOptions, any()) }
+    }
+
+    @Test
+    fun candidatesAreNotRequestedFarFromManeuver() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(500f), location())
+
+        verify(exactly = 0) { directionsSession.requestFasterRoute(any(), any()) }
+    }
+
+    @Test
+    fun findCandidateMatchingLocationAndBearing() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+
+        val candidate = speculativeReroute.findCandidate(location(bearing = 265f))
+
+        assertEquals(270.0, candidate!!.bearing, 0.0)
+    }
+
+    @Test
+    fun findCandidateWithBearingOfRoute() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+
+        assertNull(speculativeReroute.findCandidate(location(bearing = 90f)))
+    }
+
+    @Test
+    fun findCandidateFarFromIntersection() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+
+        assertNull(
+            speculativeReroute.findCandidate(location(latitude = LATITUDE + 0.01, bearing = 0f))
+        )
+    }
+
+    @Test
+    fun clearReportsPendingRequests() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+        requestCallbacks.forEach { it.onRoutesReady(listOf(mockk())) }
+
+        assertFalse(speculativeReroute.clear())
+
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+
+        assertTrue(speculativeReroute.clear())
+        assertNull(speculativeReroute.findCandidate(location(bearing = 0f)))
+    }
+
+    @Test
+    fun candidateResult() {
+        val candidate = SpeculativeReroute.Candidate(mockk(), 0.0, routeOptions)
+        val routes = listOf<DirectionsRoute>(mockk())
+        var result: SpeculativeReroute.Result? = null
+        candidate.onResult { result = it }
+
+        candidate.onRoutesReady(routes)
+
+        assertEquals(routes, (result as SpeculativeReroute.Result.Ready).routes)
+    }
+
+    @Test
+    fun candidateFailure() {
+        val candidate = SpeculativeReroute.Candidate(mockk(), 0.0, routeOptions)
+        candidate.onRoutesRequestFailure(Throwable(), routeOptions)
+        var result: SpeculativeReroute.Result? = null
+
+        candidate.onResult { result = it }
+
+        assertEquals(SpeculativeReroute.Result.Failed, result)
+    }
+
+    @Test
+    fun canceledCandidateIgnoresResponse() {
+        val candidate = SpeculativeReroute.Candidate(mockk(), 0.0, routeOptions)
+        var result: SpeculativeReroute.Result? = null
+        candidate.onResult { result = it }
+
+        candidate.cancel()
+        candidate.onRoutesReady(listOf(mockk()))
+
+        assertEquals(SpeculativeReroute.Result.Canceled, result)
+    }
+
+    @Test
+    fun clearCancelsPendingCandidatesExceptKept() {
+        speculativeReroute.onRouteProgressChanged(routeProgress(100f), location())
+        val kept = speculativeReroute.findCandidate(location(bearing = 265f))!!
+
+        speculativeReroute.clear(keep = kept)
+
+        assertNull(kept.result)
+        requestCallbacks.filter { it !== kept }.forEach {
+            assertEquals(
+                SpeculativeReroute.Result.Canceled,
+                (it as SpeculativeReroute.Candidate).result
+            )
+        }
+    }
+
+    private fun routeProgress(stepDistanceRemaining: Float): RouteProgress {
+        val intersection = StepIntersection.builder()
+            .rawLocation(doubleArrayOf(LONGITUDE, LATITUDE))
+            .bearings(listOf(0, 90, 180, 270))
+            .entry(listOf(true, true, true, true))
+            .`in`(2)
+            .out(1)
+            .build()
+        return mockk {
+            every { route } returns this@SpeculativeRerouteTest.route
+            every { currentLegProgress } returns mockk {
+                every { currentStepProgress } returns mockk {
+                    every { distanceRemaining } returns stepDistanceRemaining
+                }
+                every { upcomingStep } returns mockk {
+                    every { intersections() } returns listOf(intersection)
+                }
+            }
+        }
+    }
+
+    private fun location(
+        latitude: Double = LATITUDE,
+        bearing: Float = 90f
+    ): Location = mockk {
+        every { this@mockk.latitude } returns latitude
+        every { longitude } returns LONGITUDE
+        every { hasBearing() } returns true
+        every { this@mockk.bearing } returns bearing
+    }
+
+    private companion object {
+        private const val LATITUDE = 37.7577
+        private const val LONGITUDE = -122.4376
+    }
+}
@@ -0,0 +1,110 @@
+package com.mapbox.navigation.core.routerefresh
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegAnnotation
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+class AdaptiveRouteRefreshPolicyTest {
+
+    private val policy = AdaptiveRouteRefreshPolicy()
+
+    @Test
+    fun noRefreshInBackground() {
+        val conditions = RouteRefreshConditions(routeProgress(), null, false)
+
+        assertNull(policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun noRefreshInLastMeters() {
+        val conditions = RouteRefreshConditions(routeProgress(distance = 200f), null, true)
+
+        assertNull(policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun defaultIntervalWithoutRouteProgress() {
+        val conditions = RouteRefreshConditions(null, null, true)
+
+        assertEquals(minutes(5), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun defaultIntervalInTraffic() {
+        val conditions = RouteRefreshConditions(routeProgress(), 0.05, true)
+
+        assertEquals(minutes(5), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun shorterIntervalCloseToDestination() {
+        val conditions = RouteRefreshConditions(routeProgress(duration = 600.0), 0.05, true)
+
+        assertEquals(minutes(2), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun halvedIntervalWhenTrafficIsVolatile() {
+        val conditions = RouteRefreshConditions(routeProgress(), 0.3, true)
+
+        assertEquals(TimeUnit.SECONDS.toMillis(150), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun halvedIntervalIsClamped() {
+        val conditions = RouteRefreshConditions(routeProgress(duration = 600.0), 0.3, true)
+
+        assertEquals(minutes(1), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun doubledIntervalWhenTrafficIsFreeFlowing() {
+        val conditions = RouteRefreshConditions(routeProgress(congestion = "low"), 0.0, true)
+
+        assertEquals(minutes(10), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    @Test
+    fun doubledIntervalBeforeFirstRefresh() {
+        val conditions = RouteRefreshConditions(routeProgress(congestion = "low"), null, true)
+
+        assertEquals(minutes(10), policy.getRefreshIntervalMillis(conditions))
+    }
+
+    private fun routeProgress(
+        distance: Float = 50000f,
+        duration: Double = 3600.0,
+        congestion: String = "heavy"
+    ): RouteProgress {
+        val route = DirectionsRoute.builder()
+            .distance(distance.toDouble())
+            .duration(duration)
+            .legs(
+                listOf(
+                    RouteLeg.builder()
+                        .annotation(
+                            LegAnnotation.builder().congestion(listOf(congestion)).build()
+                        )
+                        .build()
+                )
+            )
+            .build()
+        return mockk {
+            every { this@mockk.route } returns route
+            every { distanceRemaining } returns distance
+            every { durationRemaining } returns duration
+            every { currentLegProgress } returns mockk {
+                every { legIndex } returns 0
+            }
+        }
+    }
+
+    private fun minutes(minutes: Long) = TimeUnit.MINUTES.toMillis(minutes)
+}
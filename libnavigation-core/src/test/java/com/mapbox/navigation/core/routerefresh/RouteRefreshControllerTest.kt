@@ -2,19 +2,27 @@ package com.mapbox.navigation.core.routerefresh
 
 import com.mapbox.api.directions.v5.DirectionsCriteria
 import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegAnnotation
+import com.mapbox.api.directions.v5.models.RouteLeg
 import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
 import com.mapbox.navigation.base.extensions.supportsRouteRefresh
+import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.testing.MainCoroutineRule
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.mockkStatic
+import io.mockk.slot
 import io.mockk.unmockkStatic
 import io.mockk.verify
 import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
 import org.junit.Before
 import org.junit.Rule
 import org.junit.Test
@@ -37,11 +45,18 @@ class RouteRefreshControllerTest {
         every { routeOptions() } returns routeOptions
     }
 
+    private val fiveMinutesPolicy = object : RouteRefreshPolicy {
+        override fun getRefreshIntervalMillis(conditions: RouteRefreshConditions): Long? =
+            TimeUnit.MINUTES.toMillis(5)
+    }
+
     private val routeRefreshController = RouteRefreshController(
         directionsSession,
         tripSession,
         logger
-    )
+    ) { true }.apply {
+        routeRefreshPolicy = fiveMinutesPolicy
+    }
 
     @Before
     fun setup() {
@@ -53,6 +68,8 @@ class RouteRefreshControllerTest {
         }
         every { tripSession.route } returns validRoute
         every { directionsSession.requestRouteRefresh(any(), any(), any()) } returns Unit
+        every { directionsSession.registerRoutesObserver(any()) } returns Unit
+        every { directionsSession.unregisterRoutesObserver(any()) } returns Unit
     }
 
     @Test
@@ -112,6 +129,189 @@ class RouteRefreshControllerTest {
         }
     }
 
+    @Test
+    fun `should not refresh route when policy returns null`() = coroutineRule.runBlockingTest {
+        every { routeOptions.supportsRouteRefresh() } returns true
+        routeRefreshController.routeRefreshPolicy = object : RouteRefreshPolicy {
+            override fun getRefreshIntervalMillis(conditions: RouteRefreshConditions): Long? =
+                null
+        }
+
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(15))
+        routeRefreshController.stop()
+
+        verify(exactly = 0) { directionsSession.requestRouteRefresh(any(), any(), any()) }
+    }
+
+    @Test
+    fun `should pass app state to policy`() = coroutineRule.runBlockingTest {
+        val receivedConditions = mutableListOf<RouteRefreshConditions>()
+        val routeRefreshController = RouteRefreshController(
+            directionsSession,
+            tripSession,
+            logger
+        ) { false }.apply {
+            routeRefreshPolicy = object : RouteRefreshPolicy {
+                override fun getRefreshIntervalMillis(
+                    conditions: RouteRefreshConditions
+                ): Long? {
+                    receivedConditions.add(conditions)
+                    return null
+                }
+            }
+        }
+
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(RouteRefreshController.CHECK_INTERVAL_MILLIS)
+        routeRefreshController.stop()
+
+        assertEquals(1, receivedConditions.size)
+        assertFalse(receivedConditions.first().isAppInForeground)
+        assertNull(receivedConditions.first().congestionChangeRatio)
+    }
+
+    @Test
+    fun `should patch annotations of changed legs from the current leg`() {
+        val refreshCallback = slot<RouteRefreshCallback>()
+        every { routeOptions.supportsRouteRefresh() } returns true
+        every {
+            directionsSession.requestRouteRefresh(any(), any(), capture(refreshCallback))
+        } returns Unit
+        every { tripSession.getRouteProgress() } returns mockk {
+            every { currentLegProgress } returns mockk {
+                every { legIndex } returns 1
+            }
+        }
+        val primaryRoute = route("low", "low", "low")
+        every { directionsSession.routes } returns listOf(primaryRoute)
+        val patchedRoute = slot<DirectionsRoute>()
+        every {
+            directionsSession.updatePrimaryRouteAnnotations(capture(patchedRoute), any())
+        } returns Unit
+        val routeRefreshController = RouteRefreshController(
+            directionsSession,
+            tripSession,
+            mockk(relaxed = true)
+        ) { true }.apply {
+            routeRefreshPolicy = fiveMinutesPolicy
+        }
+
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(6))
+        routeRefreshController.stop()
+        refreshCallback.captured.onRefresh(route("heavy", "low", "heavy"))
+
+        verify(exactly = 1) { directionsSession.updatePrimaryRouteAnnotations(any(), listOf(2)) }
+        verify(exactly = 0) { directionsSession.routes = any() }
+        assertEquals(
+            listOf("low", "low", "heavy"),
+            patchedRoute.captured.legs()!!.map { it.annotation()!!.congestion()!!.first() }
+        )
+    }
+
+    @Test
+    fun `should ignore refresh without changed annotations`() {
+        val refreshCallback = slot<RouteRefreshCallback>()
+        every { routeOptions.supportsRouteRefresh() } returns true
+        every {
+            directionsSession.requestRouteRefresh(any(), any(), capture(refreshCallback))
+        } returns Unit
+        every { directionsSession.routes } returns listOf(route("low", "low"))
+        val routeRefreshController = RouteRefreshController(
+            directionsSession,
+            tripSession,
+            mockk(relaxed = true)
+        ) { true }.apply {
+            routeRefreshPolicy = fiveMinutesPolicy
+        }
+
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(6))
+        routeRefreshController.stop()
+        refreshCallback.captured.onRefresh(route("low", "low"))
+
+        verify(exactly = 0) { directionsSession.updatePrimaryRouteAnnotations(any(), any()) }
+    }
+
+    @Test
+    fun `should reset congestion change ratio when routes change or on restart`() =
+        coroutineRule.runBlockingTest {
+            val refreshCallback = slot<RouteRefreshCallback>()
+            val routesObserver = slot<RoutesObserver>()
+            every { routeOptions.supportsRouteRefresh() } returns true
+            every {
+                directionsSession.requestRouteRefresh(any(), any(), capture(refreshCallback))
+            } returns Unit
+            every { directionsSession.registerRoutesObserver(capture(routesObserver)) } returns Unit
+            every { directionsSession.routes } returns listOf(route("low", "low"))
+            every { directionsSession.updatePrimaryRouteAnnotations(any(), any()) } returns Unit
+            val ratios = mutableListOf<Double?>()
+            val routeRefreshController = RouteRefreshController(
+                directionsSession,
+                tripSession,
+                mockk(relaxed = true)
+            ) { true }.apply {
+                routeRefreshPolicy = object : RouteRefreshPolicy {
+                    override fun getRefreshIntervalMillis(
+                        conditions: RouteRefreshConditions
+                    ): Long? {
+                        ratios.add(conditions.congestionChangeRatio)
+                        return RouteRefreshController.CHECK_INTERVAL_MILLIS
+                    }
+                }
+            }
+
+            routeRefreshController.start()
+            coroutineRule.testDispatcher.advanceTimeBy(RouteRefreshController.CHECK_INTERVAL_MILLIS)
+            refreshCallback.captured.onRefresh(route("heavy", "low"))
+            coroutineRule.testDispatcher.advanceTimeBy(RouteRefreshController.CHECK_INTERVAL_MILLIS)
+            routesObserver.captured.onRoutesChanged(listOf(route("low", "low")))
+            coroutineRule.testDispatcher.advanceTimeBy(RouteRefreshController.CHECK_INTERVAL_MILLIS)
+            refreshCallback.captured.onRefresh(route("heavy", "low"))
+            routeRefreshController.start()
+            coroutineRule.testDispatcher.advanceTimeBy(RouteRefreshController.CHECK_INTERVAL_MILLIS)
+            routeRefreshController.stop()
+
+            assertEquals(listOf(null, 0.5, null, null), ratios)
+            verify(exactly = 3) {
+                directionsSession.unregisterRoutesObserver(routesObserver.captured)
+            }
+        }
+
+    @Test
+    fun `should restart refresh interval when routes change`() = coroutineRule.runBlockingTest {
+        val routesObserver = slot<RoutesObserver>()
+        every { routeOptions.supportsRouteRefresh() } returns true
+        every { directionsSession.registerRoutesObserver(capture(routesObserver)) } returns Unit
+
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(4))
+        routesObserver.captured.onRoutesChanged(listOf(validRoute))
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(4))
+
+        verify(exactly = 0) { directionsSession.requestRouteRefresh(any(), any(), any()) }
+
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(1))
+        routeRefreshController.stop()
+
+        verify(exactly = 1) { directionsSession.requestRouteRefresh(any(), any(), any()) }
+    }
+
+    private fun route(vararg legCongestion: String): DirectionsRoute =
+        DirectionsRoute.builder()
+            .distance(.0)
+            .duration(.0)
+            .geometry("geometry")
+            .legs(
+                legCongestion.map {
+                    RouteLeg.builder()
+                        .annotation(LegAnnotation.builder().congestion(listOf(it)).build())
+                        .build()
+                }
+            )
+            .build()
+
     @After
     fun tearDown() {
         unmockkStatic("com.mapbox.navigation.base.extensions.RouteOptionsEx")
@@ -20,6 +20,7 @@ import com.mapbox.navigation.base.trip.model.alert.RouteAlert
 import com.mapbox.navigation.core.internal.utils.isSameRoute
 import com.mapbox.navigation.core.internal.utils.isSameUuid
 import com.mapbox.navigation.core.navigator.getMapMatcherResult
+import com.mapbox.navigation.core.replay.ReplayLocationEngine
 import com.mapbox.navigation.core.trip.service.TripService
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
 import com.mapbox.navigation.navigator.internal.RouteInitInfo
@@ -47,6 +48,7 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.InternalCoroutinesApi
 import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.delay
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNull
@@ -57,6 +59,8 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.annotation.Config
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 
 @InternalCoroutinesApi
 @ExperimentalCoroutinesApi
@@ -293,6 +297,34 @@ class MapboxTripSessionTest {
         assertTrue("${slot.captured}", slot.captured == DEFAULT_NAVIGATOR_PREDICTION_MILLIS)
     }
 
+    @Test
+    fun getStatusAtReplayTimeWhileFastForwarding() = coroutineRule.runBlockingTest {
+        val replayLocationEngine: ReplayLocationEngine = mockk(relaxUnitFun = true)
+        every {
+            replayLocationEngine.requestLocationUpdates(any(), capture(locationCallbackSlot), any())
+        } answers {}
+        every { replayLocationEngine.getVirtualElapsedRealtimeNanos() } returns 1_000_000_000L
+        coEvery { navigator.getStatusAt(any()) } returns tripStatus
+        navigationOptions = NavigationOptions.Builder(context)
+            .locationEngine(replayLocationEngine)
+            .build()
+        tripSession = buildTripSession()
+
+        tripSession.start()
+        updateLocationAndJoin()
+
+        coVerify {
+            navigator.getStatusAt(
+                1_000_000_000L + TimeUnit.MILLISECONDS.toNanos(DEFAULT_NAVIGATOR_PREDICTION_MILLIS)
+            )
+        }
+        coVerify(exactly = 0) { navigator.getStatus(any()) }
+        verifyOrder {
+            replayLocationEngine.setLocationProcessingAcknowledged(true)
+            replayLocationEngine.onLocationProcessed(location)
+        }
+    }
+
     @Test
     fun noLocationUpdateLongerThanAPatienceUnconditionallyGetStatus() =
         coroutineRule.runBlockingTest {
@@ -333,6 +365,28 @@ class MapboxTripSessionTest {
         tripSession.stop()
     }
 
+    @Test
+    fun statusRequestsWhileStatusIsInFlightAreConflated() = coroutineRule.runBlockingTest {
+        coEvery { navigator.getStatus(any()) } coAnswers {
+            delay(STATUS_DELAY)
+            tripStatus
+        }
+        val observer: RouteProgressObserver = mockk(relaxUnitFun = true)
+        tripSession.registerRouteProgressObserver(observer)
+        tripSession.start()
+
+        locationCallbackSlot.captured.onSuccess(locationEngineResult)
+        locationCallbackSlot.captured.onSuccess(locationEngineResult)
+        locationCallbackSlot.captured.onSuccess(locationEngineResult)
+        advanceTimeBy(STATUS_DELAY * 2)
+        parentJob.cancelAndJoin()
+
+        coVerify(exactly = 3) { navigator.updateLocation(location) }
+        coVerify(exactly = 2) { navigator.getStatus(any()) }
+        verify(exactly = 2) { observer.onRouteProgressChanged(routeProgress) }
+        tripSession.stop()
+    }
+
     @Test
     fun routeProgressObserverSuccess() = coroutineRule.runBlockingTest {
         tripSession = buildTripSession()
@@ -346,6 +400,28 @@ class MapboxTripSessionTest {
         tripSession.stop()
     }
 
+    @Test
+    fun threadSafeObserversNotifiedOnceWithObserverExecutor() = coroutineRule.runBlockingTest {
+        every { ThreadController.IODispatcher } returns coroutineRule.testDispatcher
+        val executor: Executor = spyk(Executor { it.run() })
+        navigationOptions = navigationOptions.toBuilder().observerExecutor(executor).build()
+        tripSession = buildTripSession()
+        tripSession.start()
+        val threadSafeObserver: RouteProgressObserver = mockk(
+            relaxUnitFun = true,
+            moreInterfaces = *arrayOf(ThreadSafeObserver::class)
+        )
+        val mainObserver: RouteProgressObserver = mockk(relaxUnitFun = true)
+        tripSession.registerRouteProgressObserver(threadSafeObserver)
+        tripSession.registerRouteProgressObserver(mainObserver)
+        updateLocationAndJoin()
+
+        verify(exactly = 1) { threadSafeObserver.onRouteProgressChanged(routeProgress) }
+        verify(exactly = 1) { mainObserver.onRouteProgressChanged(routeProgress) }
+        verify(atLeast = 1) { executor.execute(any()) }
+        tripSession.stop()
+    }
+
     @Test
     fun routeProgressObserverNotCalledWhenInFreeDrive() = coroutineRule.runBlockingTest {
         every { tripStatus.routeProgress } returns null
@@ -589,6 +665,23 @@ class MapboxTripSessionTest {
         }
     }
 
+    @Test
+    fun checkNavigatorUpdateAnnotationsOfRefreshedLegs() {
+        coEvery { navigator.updateAnnotations(any(), any()) } returns Unit
+        tripSession.start()
+        val refreshedRoute: DirectionsRoute = mockk()
+
+        tripSession.updateRouteAnnotations(refreshedRoute, listOf(1))
+
+        assertEquals(refreshedRoute, tripSession.route)
+        coVerify(exactly = 1) { navigator.updateAnnotations(refreshedRoute, listOf(1)) }
+        coVerify(exactly = 0) { navigator.setRoute(any()) }
+        coVerifyOrder {
+            navigator.updateAnnotations(refreshedRoute, listOf(1))
+            navigator.getStatus(any())
+        }
+    }
+
     @Test
     fun checkNavigatorUpdateAnnotationsWhenRouteUuidSameButRouteIsAlternative() {
         tripSession.start()
@@ -1046,6 +1139,10 @@ class MapboxTripSessionTest {
         parentJob.cancelAndJoin()
     }
 
+    private companion object {
+        private const val STATUS_DELAY = 100L
+    }
+
     private fun getBannerComponent() =
         BannerComponents.builder()
             .text("some text")
@@ -0,0 +1,51 @@
+package com.mapbox.navigation.core.trip.session
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.Executor
+
+class SerialExecutorTest {
+
+    private val pendingTasks = mutableListOf<Runnable>()
+    private val executor = Executor { pendingTasks.add(it) }
+    private val serialExecutor = SerialExecutor(executor)
+
+    @Test
+    fun `runs one task at a time`() {
+        serialExecutor.execute { }
+        serialExecutor.execute { }
+
+        assertEquals(1, pendingTasks.size)
+    }
+
+    @Test
+    fun `runs the tasks in order`() {
+        val results = mutableListOf<Int>()
+
+        serialExecutor.execute { results.add(1) }
+        serialExecutor.execute { results.add(2) }
+        serialExecutor.execute { results.add(3) }
+        while (pendingTasks.isNotEmpty()) {
+            pendingTasks.removeAt(0).run()
+        }
+
+        assertEquals(listOf(1, 2, 3), results)
+    }
+
+    @Test
+    fun `runs the next task when a task fails`() {
+        var isNextTaskRun = false
+
+        serialExecutor.execute { throw IllegalStateException() }
+        serialExecutor.execute { isNextTaskRun = true }
+        try {
+            pendingTasks.removeAt(0).run()
+        } catch (e: IllegalStateException) {
+            // expected
+        }
+        pendingTasks.removeAt(0).run()
+
+        assertTrue(isNextTaskRun)
+    }
+}
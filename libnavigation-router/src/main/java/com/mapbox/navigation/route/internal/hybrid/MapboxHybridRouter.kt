@@ -7,8 +7,11 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.navigation.base.internal.accounts.UrlSkuTokenProvider
+import com.mapbox.navigation.base.options.HybridRouterOptions
+import com.mapbox.navigation.base.route.HybridRouter
 import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.base.route.Router
+import com.mapbox.navigation.base.route.RouterLatencyStats
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
 import com.mapbox.navigation.route.internal.offboard.MapboxOffboardRouter
 import com.mapbox.navigation.route.internal.onboard.MapboxOnboardRouter
@@ -17,22 +20,32 @@ import com.mapbox.navigation.utils.internal.NetworkStatusService
 import com.mapbox.navigation.utils.internal.ThreadController
 import com.mapbox.navigation.utils.internal.monitorChannelWithException
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
 import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicReference
 
 /**
  * MapboxHybridRouter combines onboard and offboard Routers.
  * Fetch route based on internet-connection state.
  *
+ * If [HybridRouterOptions.isRaceEnabled] is set and the network is available, the onboard
+ * router is also started when the offboard one hasn't answered within
+ * [HybridRouterOptions.onboardRouterDelayMillis]. The first successful response wins
+ * and the other request is canceled. The options are updated with [setHybridRouterOptions].
+ *
  * @param onboardRouter Router
  * @param offboardRouter Router
+ * @param hybridRouterOptions HybridRouterOptions
  */
 @MapboxModule(MapboxModuleType.NavigationRouter)
 class MapboxHybridRouter(
     private val onboardRouter: Router,
     private val offboardRouter: Router,
-    networkStatusService: NetworkStatusService
-) : Router {
+    networkStatusService: NetworkStatusService,
+    hybridRouterOptions: HybridRouterOptions = HybridRouterOptions.Builder().build()
+) : HybridRouter {
 
     constructor(
         accessToken: String,
@@ -51,12 +64,21 @@ class MapboxHybridRouter(
             accessToken,
             context,
             urlSkuTokenProvider,
-            refreshEnabled
+            refreshEnabled,
+            navigatorNative.routeResponseJsonStore
         ),
         networkStatusService = networkStatusService
     )
 
+    @Volatile
+    private var hybridRouterOptions: HybridRouterOptions = hybridRouterOptions
+    private val onboardLatency = RouterLatencyRecorder()
+    private val offboardLatency = RouterLatencyRecorder()
+    @Volatile
+    private var isNetworkAvailable = true
+
     private val jobControl = ThreadController.getIOScopeAndRootJob()
+    private val mainJobControl = ThreadController.getMainScopeAndRootJob()
     private val offboardRouterHandler: RouterHandler by lazy {
         RouterHandler(
             mainRouter = offboardRouter,
@@ -69,6 +91,7 @@ class MapboxHybridRouter(
             reserveRouter = offboardRouter
         )
     }
+    private val raceRouterHandler = RaceRouterHandler()
     internal val networkStatusJob: Job
 
     /**
@@ -76,7 +99,7 @@ class MapboxHybridRouter(
      * Internet availability determines which one.
      */
     private val routeDispatchHandler: AtomicReference<RouterDispatchInterface> =
-        AtomicReference(offboardRouterHandler)
+        AtomicReference(onlineRouterHandler())
 
     /**
      * At init time, the network monitor is setup. isNetworkAvailable represents the current network state. Based
@@ -91,12 +114,51 @@ class MapboxHybridRouter(
     }
 
     internal suspend fun onNetworkStatusChanged(networkStatus: NetworkStatus) {
-        when (networkStatus.isNetworkAvailable) {
-            true -> routeDispatchHandler.set(offboardRouterHandler)
+        isNetworkAvailable = networkStatus.isNetworkAvailable
+        updateRouteDispatchHandler()
+    }
+
+    /**
+     * Sets the options that define how the on-board and the off-board routers are combined.
+     * Applied to the route requests made after the call.
+     *
+     * @param hybridRouterOptions HybridRouterOptions
+     */
+    override fun setHybridRouterOptions(hybridRouterOptions: HybridRouterOptions) {
+        this.hybridRouterOptions = hybridRouterOptions
+        updateRouteDispatchHandler()
+    }
+
+    /**
+     * Returns the latencies of the successful route requests made so far.
+     *
+     * @return RouterLatencyStats
+     */
+    override fun getLatencyStats(): RouterLatencyStats =
+        RouterLatencyStats(
+            onboard = onboardLatency.toHistogram(),
+            offboard = offboardLatency.toHistogram()
+        )
+
+    private fun updateRouteDispatchHandler() {
+        when (isNetworkAvailable) {
+            true -> routeDispatchHandler.set(onlineRouterHandler())
             false -> routeDispatchHandler.set(onboardRouterHandler)
         }
     }
 
+    private fun onlineRouterHandler(): RouterDispatchInterface =
+        when (hybridRouterOptions.isRaceEnabled) {
+            true -> raceRouterHandler
+            false -> offboardRouterHandler
+        }
+
+    private fun latencyRecorderOf(router: Router): RouterLatencyRecorder =
+        when (router) {
+            onboardRouter -> onboardLatency
+            else -> offboardLatency
+        }
+
     /**
      * Private interface used with handler classes here to call the correct router
      */
@@ -105,16 +167,13 @@ class MapboxHybridRouter(
         fun getRouteRefresh(route: DirectionsRoute, legIndex: Int, callback: RouteRefreshCallback)
     }
 
-    private class RouterHandler(
+    private inner class RouterHandler(
         private val mainRouter: Router,
         private val reserveRouter: Router
     ) : RouterDispatchInterface, Router.Callback {
 
-        companion object {
-            private const val FIRST_POSITION = 0
-        }
-
         private var reserveRouterCalled = false
+        private var requestStartNanos = 0L
         private lateinit var options: RouteOptions
         private lateinit var callback: Router.Callback
         private var fetchingInProgress = false
@@ -122,6 +181,8 @@ class MapboxHybridRouter(
             CopyOnWriteArrayList()
 
         override fun onResponse(routes: List<DirectionsRoute>) {
+            val router = if (reserveRouterCalled) reserveRouter else mainRouter
+            latencyRecorderOf(router).record(elapsedMillisSince(requestStartNanos))
             fetchingInProgress = false
             callback.onResponse(routes)
             checkPendingRequests()
@@ -144,6 +205,7 @@ class MapboxHybridRouter(
                 }
                 false -> {
                     reserveRouterCalled = true
+                    requestStartNanos = System.nanoTime()
                     reserveRouter.getRoute(options, this)
                 }
             }
@@ -181,10 +243,17 @@ class MapboxHybridRouter(
                 reserveRouterCalled = false
                 options = routeOptions
                 callback = clientCallback
+                requestStartNanos = System.nanoTime()
                 mainRouter.getRoute(routeOptions, this)
             }
         }
 
+        fun cancelPendingRequests() {
+            val canceledRequests = pendingRequests.toList()
+            pendingRequests.clear()
+            canceledRequests.forEach { it.second.onCanceled() }
+        }
+
         private fun checkPendingRequests() {
             if (pendingRequests.isNotEmpty()) {
                 val request = pendingRequests[FIRST_POSITION]
@@ -194,6 +263,160 @@ class MapboxHybridRouter(
         }
     }
 
+    /**
+     * Races the offboard and the onboard router. The offboard router is started right away,
+     * the onboard one after [HybridRouterOptions.onboardRouterDelayMillis] or as soon as
+     * the offboard one fails.
+     * The first response is delivered and the other router is canceled, a failure is only
+     * delivered once both routers have failed.
+     */
+    private inner class RaceRouterHandler : RouterDispatchInterface {
+
+        private var currentRequest: RaceRequest? = null
+        private var pendingRequests: MutableList<Pair<RouteOptions, Router.Callback>> =
+            CopyOnWriteArrayList()
+
+        override fun getRoute(routeOptions: RouteOptions, clientCallback: Router.Callback) {
+            if (currentRequest != null) {
+                pendingRequests.add(Pair(routeOptions, clientCallback))
+            } else {
+                currentRequest = RaceRequest(routeOptions, clientCallback).also { it.start() }
+            }
+        }
+
+        override fun getRouteRefresh(
+            route: DirectionsRoute,
+            legIndex: Int,
+            callback: RouteRefreshCallback
+        ) {
+            offboardRouter.getRouteRefresh(route, legIndex, callback)
+        }
+
+        fun cancelDelayedStart() {
+            currentRequest?.cancelDelayedStart()
+        }
+
+        fun cancelPendingRequests() {
+            val canceledRequests = pendingRequests.toList()
+            pendingRequests.clear()
+            canceledRequests.forEach { it.second.onCanceled() }
+        }
+
+        private fun onRequestFinished() {
+            currentRequest = null
+            if (pendingRequests.isNotEmpty()) {
+                val request = pendingRequests[FIRST_POSITION]
+                pendingRequests.removeAt(FIRST_POSITION)
+                getRoute(routeOptions = request.first, clientCallback = request.second)
+            }
+        }
+
+        private inner class RaceRequest(
+            private val routeOptions: RouteOptions,
+            private val clientCallback: Router.Callback
+        ) {
+
+            private val offboardAttempt = Attempt(offboardRouter)
+            private val onboardAttempt = Attempt(onboardRouter)
+            private var onboardStartJob: Job? = null
+            private var finished = false
+
+            fun start() {
+                val onboardRouterDelayMillis = hybridRouterOptions.onboardRouterDelayMillis
+                offboardAttempt.start()
+                onboardStartJob = mainJobControl.scope.launch {
+                    delay(onboardRouterDelayMillis)
+                    onboardAttempt.start()
+                }
+            }
+
+            fun cancelDelayedStart() {
+                onboardStartJob?.cancel()
+            }
+
+            private fun otherAttempt(attempt: Attempt) =
+                if (attempt === offboardAttempt) onboardAttempt else offboardAttempt
+
+            private fun onAttemptResponse(attempt: Attempt, routes: List<DirectionsRoute>) {
+                if (finished) {
+                    return
+                }
+                finish()
+                val otherAttempt = otherAttempt(attempt)
+                if (otherAttempt.isRunning) {
+                    otherAttempt.router.cancel()
+                }
+                clientCallback.onResponse(routes)
+                onRequestFinished()
+            }
+
+            private fun onAttemptFailure(attempt: Attempt, throwable: Throwable) {
+                if (finished) {
+                    return
+                }
+                val otherAttempt = otherAttempt(attempt)
+                when {
+                    otherAttempt.isRunning -> Unit
+                    !otherAttempt.isStarted -> {
+                        cancelDelayedStart()
+                        otherAttempt.start()
+                    }
+                    else -> {
+                        finish()
+                        clientCallback.onFailure(throwable)
+                        onRequestFinished()
+                    }
+                }
+            }
+
+            private fun onAttemptCanceled(attempt: Attempt) {
+                if (finished || otherAttempt(attempt).isRunning) {
+                    return
+                }
+                finish()
+                clientCallback.onCanceled()
+                onRequestFinished()
+            }
+
+            private fun finish() {
+                finished = true
+                cancelDelayedStart()
+            }
+
+            private inner class Attempt(val router: Router) : Router.Callback {
+
+                private var startNanos = 0L
+                var isStarted = false
+                    private set
+                var isRunning = false
+                    private set
+
+                fun start() {
+                    isStarted = true
+                    isRunning = true
+                    startNanos = System.nanoTime()
+                    router.getRoute(routeOptions, this)
+                }
+
+                override fun onResponse(routes: List<DirectionsRoute>) {
+                    isRunning = false
+                    latencyRecorderOf(router).record(elapsedMillisSince(startNanos))
+                    onAttemptResponse(this, routes)
+                }
+
+                override fun onFailure(throwable: Throwable) {
+                    isRunning = false
+                    onAttemptFailure(this, throwable)
+                }
+
+                override fun onCanceled() {
+                    isRunning = false
+                    onAttemptCanceled(this)
+                }
+            }
+        }
+    }
+
     /**
      * Fetch route based on [RouteOptions]
      *
@@ -223,9 +446,14 @@ class MapboxHybridRouter(
     }
 
     /**
-     * Interrupts a route-fetching request if one is in progress.
+     * Interrupts a route-fetching request if one is in progress and cancels the requests
+     * queued behind it, so that a request made after the call doesn't wait for them.
      */
     override fun cancel() {
+        offboardRouterHandler.cancelPendingRequests()
+        onboardRouterHandler.cancelPendingRequests()
+        raceRouterHandler.cancelPendingRequests()
+        raceRouterHandler.cancelDelayedStart()
         onboardRouter.cancel()
         offboardRouter.cancel()
     }
@@ -237,4 +465,11 @@ class MapboxHybridRouter(
         cancel()
         networkStatusJob.cancel()
     }
+
+    private companion object {
+        private const val FIRST_POSITION = 0
+
+        private fun elapsedMillisSince(startNanos: Long): Long =
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+    }
 }
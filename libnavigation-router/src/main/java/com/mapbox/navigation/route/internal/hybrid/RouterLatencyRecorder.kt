@@ -0,0 +1,47 @@
+package com.mapbox.navigation.route.internal.hybrid
+
+import com.mapbox.navigation.base.route.RouterLatencyHistogram
+
+/**
+ * Records the latencies of successful route requests made by a router.
+ *
+ * Latencies are counted in buckets, see [RouterLatencyHistogram].
+ */
+internal class RouterLatencyRecorder {
+
+    private val counts = LongArray(BUCKET_UPPER_BOUNDS_MILLIS.size + 1)
+    private var totalCount = 0L
+
+    /**
+     * Records the latency of a request.
+     */
+    @Synchronized
+    fun record(latencyMillis: Long) {
+        var bucket = 0
+        while (bucket < BUCKET_UPPER_BOUNDS_MILLIS.size &&
+            latencyMillis > BUCKET_UPPER_BOUNDS_MILLIS[bucket]
+        ) {
+            bucket++
+        }
+        counts[bucket]++
+        totalCount++
+    }
+
+    /**
+     * Returns the number of recorded requests.
+     */
+    @Synchronized
+    fun getTotalCount(): Long = totalCount
+
+    /**
+     * Returns a snapshot of the recorded latencies.
+     */
+    @Synchronized
+    fun toHistogram(): RouterLatencyHistogram =
+        RouterLatencyHistogram(BUCKET_UPPER_BOUNDS_MILLIS.toList(), counts.toList())
+
+    private companion object {
+        private val BUCKET_UPPER_BOUNDS_MILLIS =
+            longArrayOf(100, 250, 500, 750, 1000, 1500, 2000, 3000, 5000, 10000)
+    }
+}
@@ -10,6 +10,7 @@ import com.mapbox.navigation.base.internal.accounts.UrlSkuTokenProvider
 import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.base.route.RouteRefreshError
 import com.mapbox.navigation.base.route.Router
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
 import com.mapbox.navigation.route.offboard.RouteBuilderProvider
 import com.mapbox.navigation.route.offboard.router.routeOptions
 import com.mapbox.navigation.route.offboard.routerefresh.RouteRefreshCallbackMapper
@@ -17,6 +18,7 @@ import com.mapbox.navigation.utils.NavigationException
 import retrofit2.Call
 import retrofit2.Callback
 import retrofit2.Response
+import java.util.concurrent.atomic.AtomicReference
 
 /**
  * MapboxOffboardRouter provides online route-fetching
@@ -24,12 +26,14 @@ import retrofit2.Response
  * @param accessToken mapboxAccessToken token
  * @param context application [Context]
  * @param urlSkuTokenProvider [UrlSkuTokenProvider]
+ * @param routeResponseJsonStore keeps the responses of the fetched routes, if set
  */
 class MapboxOffboardRouter(
     private val accessToken: String,
     private val context: Context,
     private val urlSkuTokenProvider: UrlSkuTokenProvider,
-    private val refreshEnabled: Boolean
+    private val refreshEnabled: Boolean,
+    private val routeResponseJsonStore: RouteResponseJsonStore? = null
 ) : Router {
 
     private companion object {
@@ -49,8 +53,9 @@ class MapboxOffboardRouter(
         routeOptions: RouteOptions,
         callback: Router.Callback
     ) {
+        val responseJson = AtomicReference<String?>()
         mapboxDirections = RouteBuilderProvider
-            .getBuilder(accessToken, context, urlSkuTokenProvider)
+            .getBuilder(accessToken, context, urlSkuTokenProvider) { responseJson.set(it) }
             .routeOptions(routeOptions, refreshEnabled)
             .build()
         mapboxDirections?.enqueueCall(
@@ -64,6 +69,7 @@ class MapboxOffboardRouter(
                     when {
                         call.isCanceled -> callback.onCanceled()
                         response.isSuccessful && !routes.isNullOrEmpty() -> {
+                            responseJson.get()?.let { routeResponseJsonStore?.put(routes, it) }
                             callback.onResponse(routes)
                         }
                         else -> callback.onFailure(NavigationException(ERROR_FETCHING_ROUTE))
@@ -125,7 +125,9 @@ class MapboxOnboardRouter(
             try {
                 val routerResult = getRoute(url)
                 if (routerResult.isValue) {
-                    val routes: List<DirectionsRoute> = parseDirectionsRoutes(routerResult.value!!)
+                    val json = routerResult.value!!
+                    val routes: List<DirectionsRoute> = parseDirectionsRoutes(json)
+                    navigatorNative.routeResponseJsonStore.put(routes, json)
                     callback.onResponse(routes)
                 } else {
                     callback
@@ -7,13 +7,20 @@ import com.mapbox.api.directionsrefresh.v1.MapboxDirectionsRefresh
 import com.mapbox.navigation.base.internal.accounts.UrlSkuTokenProvider
 import com.mapbox.navigation.base.internal.extensions.LocaleEx.getUnitTypeForLocale
 import com.mapbox.navigation.base.internal.extensions.inferDeviceLocale
+import okhttp3.Response
+import okhttp3.ResponseBody
 
 internal object RouteBuilderProvider {
 
+    /**
+     * @param responseJsonListener invoked with the raw body of a successful response
+     * before it's parsed, if provided
+     */
     fun getBuilder(
         accessToken: String,
         context: Context,
-        urlSkuTokenProvider: UrlSkuTokenProvider
+        urlSkuTokenProvider: UrlSkuTokenProvider,
+        responseJsonListener: ((String) -> Unit)? = null
     ): MapboxDirections.Builder =
         MapboxDirections.builder()
             .profile(DirectionsCriteria.PROFILE_DRIVING_TRAFFIC)
@@ -36,9 +43,28 @@ internal object RouteBuilderProvider {
             .interceptor {
                 val httpUrl = it.request().url()
                 val skuUrl = urlSkuTokenProvider.obtainUrlWithSkuToken(httpUrl.url())
-                it.proceed(it.request().newBuilder().url(skuUrl).build())
+                val response = it.proceed(it.request().newBuilder().url(skuUrl).build())
+                if (responseJsonListener != null) {
+                    response.captureBody(responseJsonListener)
+                } else {
+                    response
+                }
             }
 
     fun getRefreshBuilder(): MapboxDirectionsRefresh.Builder =
         MapboxDirectionsRefresh.builder()
+
+    /**
+     * Reads the body once, hands it over to the [listener] and returns a response
+     * backed by the already read body, so it's not downloaded twice.
+     */
+    private fun Response.captureBody(listener: (String) -> Unit): Response {
+        val body = body()
+        if (!isSuccessful || body == null) {
+            return this
+        }
+        val json = body.string()
+        listener(json)
+        return newBuilder().body(ResponseBody.create(body.contentType(), json)).build()
+    }
 }
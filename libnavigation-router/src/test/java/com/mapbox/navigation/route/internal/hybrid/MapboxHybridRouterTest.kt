@@ -8,7 +8,9 @@ import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.geojson.Point
 import com.mapbox.navigation.base.internal.extensions.applyDefaultParams
 import com.mapbox.navigation.base.internal.extensions.coordinates
+import com.mapbox.navigation.base.options.HybridRouterOptions
 import com.mapbox.navigation.base.route.Router
+import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.utils.internal.NetworkStatus
 import com.mapbox.navigation.utils.internal.NetworkStatusService
 import io.mockk.every
@@ -19,13 +21,18 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.InternalCoroutinesApi
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
 
 @InternalCoroutinesApi
 @ExperimentalCoroutinesApi
 class MapboxHybridRouterTest {
 
+    @get:Rule
+    var coroutineRule = MainCoroutineRule()
+
     private lateinit var hybridRouter: MapboxHybridRouter
     private val onboardRouter: Router = mockk(relaxUnitFun = true)
     private val offboardRouter: Router = mockk(relaxUnitFun = true)
@@ -221,6 +228,149 @@ class MapboxHybridRouterTest {
         verify(exactly = 1) { additionalCallbackThird.onResponse(additionalResultThird) }
     }
 
+    @Test
+    fun cancelDropsQueuedRequests() = runBlocking {
+        enableNetworkConnection()
+        val inFlightCallback: Router.Callback = mockk(relaxUnitFun = true)
+        val queuedCallbackFirst: Router.Callback = mockk(relaxUnitFun = true)
+        val queuedCallbackSecond: Router.Callback = mockk(relaxUnitFun = true)
+        val newCallback: Router.Callback = mockk(relaxUnitFun = true)
+        val newResult = listOf<DirectionsRoute>(
+            DirectionsRoute.builder().distance(.0).duration(.0).build()
+        )
+
+        hybridRouter.getRoute(routerOptions, inFlightCallback)
+        hybridRouter.getRoute(routerOptions, queuedCallbackFirst)
+        hybridRouter.getRoute(routerOptions, queuedCallbackSecond)
+        hybridRouter.cancel()
+        hybridRouter.getRoute(routerOptions, newCallback)
+        internalCallback.captured.onCanceled()
+        internalCallback.captured.onResponse(newResult)
+
+        verify(exactly = 1) { queuedCallbackFirst.onCanceled() }
+        verify(exactly = 1) { queuedCallbackSecond.onCanceled() }
+        verify(exactly = 1) { inFlightCallback.onCanceled() }
+        verify(exactly = 1) { newCallback.onResponse(newResult) }
+        verify(exactly = 2) { offboardRouter.getRoute(routerOptions, any()) }
+        verify(exactly = 0) { queuedCallbackFirst.onResponse(any()) }
+        verify(exactly = 0) { queuedCallbackSecond.onResponse(any()) }
+    }
+
+    @Test
+    fun raceCancelDropsQueuedRequests() = runBlocking {
+        val callbacks = setUpRace()
+        val queuedCallback: Router.Callback = mockk(relaxUnitFun = true)
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        hybridRouter.getRoute(routerOptions, queuedCallback)
+        hybridRouter.cancel()
+        callbacks.offboard.captured.onCanceled()
+
+        verify(exactly = 1) { queuedCallback.onCanceled() }
+        verify(exactly = 1) { offboardRouter.getRoute(routerOptions, any()) }
+    }
+
+    @Test
+    fun raceOnboardRouterNotStartedWhenOffboardAnswersInTime() = runBlocking {
+        val callbacks = setUpRace()
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY - 1)
+        callbacks.offboard.captured.onResponse(emptyList())
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+
+        verify(exactly = 0) { onboardRouter.getRoute(any(), any()) }
+        verify(exactly = 1) { routerCallback.onResponse(any()) }
+        assertEquals(1L, hybridRouter.getLatencyStats().offboard.totalCount)
+    }
+
+    @Test
+    fun raceOnboardRouterStartedAfterDelayAndWins() = runBlocking {
+        val callbacks = setUpRace()
+        val routes = listOf<DirectionsRoute>(mockk())
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+        callbacks.onboard.captured.onResponse(routes)
+        callbacks.offboard.captured.onCanceled()
+
+        verify(exactly = 1) { onboardRouter.getRoute(routerOptions, any()) }
+        verify(exactly = 1) { offboardRouter.cancel() }
+        verify(exactly = 1) { routerCallback.onResponse(routes) }
+        verify(exactly = 0) { routerCallback.onCanceled() }
+        assertEquals(1L, hybridRouter.getLatencyStats().onboard.totalCount)
+        assertEquals(0L, hybridRouter.getLatencyStats().offboard.totalCount)
+    }
+
+    @Test
+    fun raceOnboardRouterStartedWhenOffboardFails() = runBlocking {
+        val callbacks = setUpRace()
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        callbacks.offboard.captured.onFailure(Throwable())
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+
+        verify(exactly = 1) { onboardRouter.getRoute(routerOptions, any()) }
+        verify(exactly = 0) { routerCallback.onFailure(any()) }
+    }
+
+    @Test
+    fun raceFailsWhenBothRoutersFail() = runBlocking {
+        val callbacks = setUpRace()
+        val throwable = Throwable()
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+        callbacks.onboard.captured.onFailure(Throwable())
+        callbacks.offboard.captured.onFailure(throwable)
+
+        verify(exactly = 1) { routerCallback.onFailure(throwable) }
+    }
+
+    @Test
+    fun raceCanceledBeforeOnboardRouterStarted() = runBlocking {
+        val callbacks = setUpRace()
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        hybridRouter.cancel()
+        callbacks.offboard.captured.onCanceled()
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+
+        verify(exactly = 0) { onboardRouter.getRoute(any(), any()) }
+        verify(exactly = 1) { routerCallback.onCanceled() }
+    }
+
+    @Test
+    fun raceNotUsedWithoutNetwork() = runBlocking {
+        setUpRace()
+        disableNetworkConnection()
+
+        hybridRouter.getRoute(routerOptions, routerCallback)
+        coroutineRule.testDispatcher.advanceTimeBy(RACE_DELAY)
+
+        verify(exactly = 1) { onboardRouter.getRoute(routerOptions, any()) }
+        verify(exactly = 0) { offboardRouter.getRoute(any(), any()) }
+    }
+
+    private class RaceCallbacks {
+        val onboard = slot<Router.Callback>()
+        val offboard = slot<Router.Callback>()
+    }
+
+    private suspend fun setUpRace(): RaceCallbacks {
+        val callbacks = RaceCallbacks()
+        every { onboardRouter.getRoute(routerOptions, capture(callbacks.onboard)) } answers {}
+        every { offboardRouter.getRoute(routerOptions, capture(callbacks.offboard)) } answers {}
+        hybridRouter.setHybridRouterOptions(
+            HybridRouterOptions.Builder()
+                .isRaceEnabled(true)
+                .onboardRouterDelayMillis(RACE_DELAY)
+                .build()
+        )
+        enableNetworkConnection()
+        return callbacks
+    }
+
     private suspend fun enableNetworkConnection() = networkConnected(true)
 
     private suspend fun disableNetworkConnection() = networkConnected(false)
@@ -237,4 +387,8 @@ class MapboxHybridRouterTest {
                 coordinates(Point.fromLngLat(.0, .0), null, Point.fromLngLat(.0, .0))
             }.build()
     }
+
+    private companion object {
+        private const val RACE_DELAY = 1000L
+    }
 }
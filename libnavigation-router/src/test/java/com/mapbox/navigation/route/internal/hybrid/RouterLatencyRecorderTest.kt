@@ -0,0 +1,37 @@
+package com.mapbox.navigation.route.internal.hybrid
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class RouterLatencyRecorderTest {
+
+    private val recorder = RouterLatencyRecorder()
+
+    @Test
+    fun latenciesAreCountedInBuckets() {
+        recorder.record(0)
+        recorder.record(100)
+        recorder.record(101)
+        recorder.record(60000)
+
+        val histogram = recorder.toHistogram()
+        val counts = histogram.counts
+
+        assertEquals(histogram.bucketUpperBoundsMillis.size + 1, counts.size)
+        assertEquals(2L, counts[0])
+        assertEquals(1L, counts[1])
+        assertEquals(1L, counts.last())
+        assertEquals(4L, recorder.getTotalCount())
+        assertEquals(4L, histogram.totalCount)
+    }
+
+    @Test
+    fun histogramIsSnapshot() {
+        recorder.record(80)
+        val histogram = recorder.toHistogram()
+
+        recorder.record(80)
+
+        assertEquals(1L, histogram.totalCount)
+    }
+}
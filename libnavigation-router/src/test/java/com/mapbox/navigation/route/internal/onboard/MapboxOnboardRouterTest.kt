@@ -11,6 +11,7 @@ import com.mapbox.navigation.base.internal.extensions.coordinates
 import com.mapbox.navigation.base.internal.route.RouteUrl
 import com.mapbox.navigation.base.route.Router
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
 import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.utils.NavigationException
 import com.mapbox.navigation.utils.internal.ThreadController
@@ -57,7 +58,10 @@ class MapboxOnboardRouterTest {
 
     private lateinit var onboardRouter: MapboxOnboardRouter
 
-    private val navigator: MapboxNativeNavigator = mockk(relaxUnitFun = true)
+    private val routeResponseJsonStore = RouteResponseJsonStore()
+    private val navigator: MapboxNativeNavigator = mockk(relaxUnitFun = true) {
+        every { routeResponseJsonStore } returns this@MapboxOnboardRouterTest.routeResponseJsonStore
+    }
     private val routerCallback: Router.Callback = mockk(relaxUnitFun = true)
     private val routerResultSuccess: Expected<String, RouterError> = mockk {
         every { isValue } returns true
@@ -114,6 +118,20 @@ class MapboxOnboardRouterTest {
         verify { routerCallback.onResponse(DirectionsResponse.fromJson(SUCCESS_RESPONSE).routes()) }
     }
 
+    @Test
+    fun storesResponseJsonOfRoutes() = coroutineRule.runBlockingTest {
+        coEvery { navigator.getRoute(any()) } returns routerResultSuccess
+        val routes = slot<List<DirectionsRoute>>()
+        every { routerCallback.onResponse(capture(routes)) } returns Unit
+
+        onboardRouter.getRoute(routerOptions, routerCallback)
+
+        assertEquals(
+            SUCCESS_RESPONSE,
+            routeResponseJsonStore.get(routes.captured.first())?.json
+        )
+    }
+
     @Test
     fun checkCallbackCalledOnCancel() {
         coEvery { navigator.getRoute(any()) } coAnswers {
@@ -56,6 +56,11 @@ object ThreadController {
     val IODispatcher: CoroutineDispatcher =
         Executors.newFixedThreadPool(maxCoresUsed).asCoroutineDispatcher()
 
+    /**
+     * Dispatcher for CPU-bound work, backed by [Dispatchers.Default].
+     */
+    val DefaultDispatcher: CoroutineDispatcher = Dispatchers.Default
+
     internal var ioRootJob = SupervisorJob()
     internal var mainRootJob = SupervisorJob()
 
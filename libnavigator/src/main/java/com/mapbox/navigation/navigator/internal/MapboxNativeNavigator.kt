@@ -10,6 +10,7 @@ import com.mapbox.navigation.base.options.DeviceProfile
 import com.mapbox.navigation.base.options.NavigationOptions
 import com.mapbox.navigation.base.options.PredictiveCacheLocationOptions
 import com.mapbox.navigation.base.options.RoutingTilesOptions
+import com.mapbox.navigation.base.route.SetRouteStats
 import com.mapbox.navigator.BannerInstruction
 import com.mapbox.navigator.ElectronicHorizonObserver
 import com.mapbox.navigator.GraphAccessor
@@ -90,8 +91,25 @@ interface MapboxNativeNavigator {
      */
     suspend fun getStatus(navigatorPredictionMillis: Long): TripStatus
 
+    /**
+     * Same as [getStatus], at a given time instead of the current time of the device,
+     * for example the time of a replay running ahead of the device clock.
+     *
+     * @param elapsedRealtimeNanos the time of the status, on the same clock
+     * as [Location.getElapsedRealtimeNanos]
+     *
+     * @return the [TripStatus] at [elapsedRealtimeNanos]
+     */
+    suspend fun getStatusAt(elapsedRealtimeNanos: Long): TripStatus
+
     // Routing
 
+    /**
+     * Original directions responses of the routes the navigator is given, so that [setRoute]
+     * doesn't have to serialize them. A new store is created by [create].
+     */
+    val routeResponseJsonStore: RouteResponseJsonStore
+
     /**
      * Sets the route path for the navigator to process.
      * Returns initialized route state if no errors occurred.
@@ -108,6 +126,11 @@ interface MapboxNativeNavigator {
         legIndex: Int = INDEX_FIRST_LEG
     ): RouteInitInfo?
 
+    /**
+     * @return durations of the [setRoute] calls since [create]
+     */
+    fun getSetRouteStats(): SetRouteStats
+
     /**
      * Updates annotations so that subsequent calls to getStatus will
      * reflect the most current annotations for the route.
@@ -120,6 +143,15 @@ interface MapboxNativeNavigator {
      */
     suspend fun updateAnnotations(route: DirectionsRoute)
 
+    /**
+     * Updates the annotations of the legs at [legIndices] only, the other legs
+     * of the [route] must not have changed.
+     *
+     * @param route the primary route with updated annotations
+     * @param legIndices indices of the legs whose annotations changed
+     */
+    suspend fun updateAnnotations(route: DirectionsRoute, legIndices: List<Int>)
+
     /**
      * Gets the banner at a specific step index in the route. If there is no
      * banner at the specified index method return *null*.
@@ -215,6 +247,16 @@ interface MapboxNativeNavigator {
      */
     fun toggleHistory(isEnabled: Boolean)
 
+    /**
+     * Gets the history recorded since history was toggled on or since the previous call
+     * and starts recording a new history, so that a long recording can be written out
+     * in parts without keeping it all in memory.
+     *
+     * @return a json representing the series of events of the drained part, empty if
+     * history is not available
+     */
+    fun drainHistory(): ByteArray
+
     /**
      * Adds a custom event to the navigator's history. This can be useful to log things that
      * happen during navigation that are specific to your application.
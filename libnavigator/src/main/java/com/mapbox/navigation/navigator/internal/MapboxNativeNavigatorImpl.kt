@@ -15,6 +15,7 @@ import com.mapbox.navigation.base.options.DeviceProfile
 import com.mapbox.navigation.base.options.NavigationOptions
 import com.mapbox.navigation.base.options.PredictiveCacheLocationOptions
 import com.mapbox.navigation.base.options.RoutingTilesOptions
+import com.mapbox.navigation.base.route.SetRouteStats
 import com.mapbox.navigation.navigator.ActiveGuidanceOptionsMapper
 import com.mapbox.navigation.navigator.toFixLocation
 import com.mapbox.navigation.navigator.toLocation
@@ -66,12 +67,20 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
     private var navigator: Navigator? = null
     private var nativeRouter: Router? = null
     private var historyRecorderHandle: HistoryRecorderHandle? = null
+
+    // held by the navigator calls that are recorded in the history, so that draining it
+    // can't lose the events recorded between reading and resetting the history
+    private val historyLock = Any()
     private var route: DirectionsRoute? = null
+    private var routeGeometryIndex: RouteGeometryIndex = RouteGeometryIndex.EMPTY
     private var routeBufferGeoJson: Geometry? = null
     override val navigatorMapper = NavigatorMapper()
     override var graphAccessor: GraphAccessor? = null
     override var openLRDecoder: OpenLRDecoder? = null
     override var roadObjectsStore: RoadObjectsStore? = null
+    override var routeResponseJsonStore = RouteResponseJsonStore()
+        private set
+    private var setRouteStatsRecorder = SetRouteStatsRecorder()
     private var logger: Logger? = null
 
     // Route following
@@ -98,13 +107,18 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
         openLRDecoder = nativeComponents.openLRDecoder
         roadObjectsStore = nativeComponents.navigator.roadObjectStore()
         route = null
+        routeGeometryIndex = RouteGeometryIndex.EMPTY
         routeBufferGeoJson = null
+        routeResponseJsonStore = RouteResponseJsonStore()
+        setRouteStatsRecorder = SetRouteStatsRecorder()
         this.logger = logger
         return this
     }
 
     override fun resetRideSession() {
-        navigator!!.resetRideSession()
+        synchronized(historyLock) {
+            navigator!!.resetRideSession()
+        }
     }
 
     /**
@@ -116,7 +130,10 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      */
     override suspend fun updateLocation(rawLocation: Location): Boolean =
         withContext(NavigatorDispatcher) {
-            navigator!!.updateLocation(rawLocation.toFixLocation())
+            val fixLocation = rawLocation.toFixLocation()
+            synchronized(historyLock) {
+                navigator!!.updateLocation(fixLocation)
+            }
         }
 
     /**
@@ -127,7 +144,9 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * @return true if the sensor data was usable, false if not.
      */
     override fun updateSensorData(sensorData: SensorData): Boolean {
-        return navigator!!.updateSensorData(sensorData)
+        return synchronized(historyLock) {
+            navigator!!.updateSensorData(sensorData)
+        }
     }
 
     /**
@@ -145,11 +164,23 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * is earlier than a previous call, the last status will be returned. The function does not support re-winding time.
      */
     override suspend fun getStatus(navigatorPredictionMillis: Long): TripStatus =
+        getStatusAt(
+            SystemClock.elapsedRealtimeNanos() +
+                TimeUnit.MILLISECONDS.toNanos(navigatorPredictionMillis)
+        )
+
+    /**
+     * @param elapsedRealtimeNanos the time of the status, on the same clock
+     * as [Location.getElapsedRealtimeNanos]
+     *
+     * @return the [TripStatus] at [elapsedRealtimeNanos]. If the timestamp is earlier than
+     * a previous call, the last status will be returned.
+     */
+    override suspend fun getStatusAt(elapsedRealtimeNanos: Long): TripStatus =
         withContext(NavigatorDispatcher) {
-            val nanos = SystemClock.elapsedRealtimeNanos() + TimeUnit.MILLISECONDS.toNanos(
-                navigatorPredictionMillis
-            )
-            val status = navigator!!.getStatus(nanos)
+            val status = synchronized(historyLock) {
+                navigator!!.getStatus(elapsedRealtimeNanos)
+            }
             val remainingWaypoints = ifNonNull(route?.routeOptions()?.coordinates()?.size) {
                 it - status.nextWaypointIndex
             } ?: 0
@@ -160,7 +191,8 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
                     route,
                     routeBufferGeoJson,
                     status,
-                    remainingWaypoints
+                    remainingWaypoints,
+                    routeGeometryIndex
                 ),
                 status.routeState == RouteState.OFF_ROUTE,
                 status
@@ -185,22 +217,44 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
         legIndex: Int
     ): RouteInitInfo? =
         withContext(NavigatorDispatcher) {
+            val startTime = SystemClock.elapsedRealtime()
             MapboxNativeNavigatorImpl.route = route
-            val result = navigator!!.setRoute(
-                route?.toJson() ?: "{}",
-                PRIMARY_ROUTE_INDEX,
-                legIndex,
-                ActiveGuidanceOptionsMapper.mapFrom(route)
-            ).let { navigatorMapper.getRouteInitInfo(it.value) }
+            routeGeometryIndex = RouteGeometryIndex.create(route)
+            val responseJson = route?.let { routeResponseJsonStore.get(it) }
+            val routeJson = responseJson?.json ?: route?.toJson() ?: "{}"
+            val activeGuidanceOptions = ActiveGuidanceOptionsMapper.mapFrom(route)
+            val result = synchronized(historyLock) {
+                navigator!!.setRoute(
+                    routeJson,
+                    responseJson?.routeIndex ?: PRIMARY_ROUTE_INDEX,
+                    legIndex,
+                    activeGuidanceOptions
+                )
+            }.let { navigatorMapper.getRouteInitInfo(it.value) }
 
             val geometryWithBuffer = getRouteGeometryWithBuffer(GRID_SIZE, BUFFER_DILATION)
             routeBufferGeoJson = ifNonNull(geometryWithBuffer) {
                 GeometryGeoJson.fromJson(it)
             }
 
+            val durationMillis = SystemClock.elapsedRealtime() - startTime
+            setRouteStatsRecorder.record(durationMillis, responseJson != null)
+            logger?.d(
+                tag = Tag(TAG),
+                msg = Message(
+                    "setRoute took $durationMillis ms, " +
+                        "original response reused=${responseJson != null}"
+                )
+            )
+
             result
         }
 
+    /**
+     * @return durations of the [setRoute] calls since [create]
+     */
+    override fun getSetRouteStats(): SetRouteStats = setRouteStatsRecorder.toStats()
+
     /**
      * Updates annotations so that subsequent calls to getStatus will
      * reflect the most current annotations for the route.
@@ -211,21 +265,34 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      *
      * @return True if the annotations could be updated false if not (wrong number of annotations)
      */
-    override suspend fun updateAnnotations(route: DirectionsRoute): Unit =
+    override suspend fun updateAnnotations(route: DirectionsRoute) {
+        updateAnnotations(route, route.legs()?.indices?.toList() ?: emptyList())
+    }
+
+    /**
+     * Updates the annotations of the legs at [legIndices] only, the other legs
+     * of the [route] must not have changed.
+     *
+     * @param route the primary route with updated annotations
+     * @param legIndices indices of the legs whose annotations changed
+     */
+    override suspend fun updateAnnotations(route: DirectionsRoute, legIndices: List<Int>): Unit =
         withContext(NavigatorDispatcher) {
             MapboxNativeNavigatorImpl.route = route
-            route.legs()?.forEachIndexed { index, routeLeg ->
-                routeLeg.annotation()?.toJson()?.let { annotations ->
-                    navigator!!.updateAnnotations(annotations, PRIMARY_ROUTE_INDEX, index)
-                        .let { success ->
-                            logger?.d(
-                                tag = Tag(TAG),
-                                msg = Message(
-                                    "Annotation updated successfully=$success, for leg " +
-                                        "index $index, annotations: [$annotations]"
-                                )
+            val legs = route.legs() ?: return@withContext
+            legIndices.forEach { index ->
+                legs.getOrNull(index)?.annotation()?.toJson()?.let { annotations ->
+                    synchronized(historyLock) {
+                        navigator!!.updateAnnotations(annotations, PRIMARY_ROUTE_INDEX, index)
+                    }.let { success ->
+                        logger?.d(
+                            tag = Tag(TAG),
+                            msg = Message(
+                                "Annotation updated successfully=$success, for leg " +
+                                    "index $index, annotations length: ${annotations.length}"
                             )
-                        }
+                        )
+                    }
                 }
             }
         }
@@ -271,8 +338,9 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      *
      * @return an initialized [NavigationStatus] if no errors, invalid otherwise
      */
-    override fun updateLegIndex(legIndex: Int): Boolean =
+    override fun updateLegIndex(legIndex: Int): Boolean = synchronized(historyLock) {
         navigator!!.changeRouteLeg(PRIMARY_ROUTE_INDEX, legIndex)
+    }
 
     // Offline
 
@@ -332,7 +400,9 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * @return a json representing the series of events that happened since the last time
      * the history was toggled on.
      */
-    override fun getHistory(): String = String(historyRecorderHandle?.history ?: byteArrayOf())
+    override fun getHistory(): String = synchronized(historyLock) {
+        String(historyRecorderHandle?.history ?: byteArrayOf())
+    }
 
     /**
      * Toggles the recording of history on or off.
@@ -341,7 +411,46 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * @param isEnabled set this to true to turn on history recording and false to turn it off
      */
     override fun toggleHistory(isEnabled: Boolean) {
-        historyRecorderHandle?.enable(isEnabled)
+        synchronized(historyLock) {
+            historyRecorderHandle?.enable(isEnabled)
+        }
+    }
+
+    /**
+     * Gets the history recorded since history was toggled on or since the previous call
+     * and starts recording a new history, so that a long recording can be written out
+     * in parts without keeping it all in memory.
+     *
+     * The recorder can't be swapped for a fresh one, because the navigator, router and tiles
+     * cache built in [NavigatorLoader] all record into the same [HistoryRecorderHandle].
+     * Reading and resetting therefore happen under [historyLock], and the recorded calls
+     * wait for as long as the native recorder takes to serialize the drained part.
+     * That wait grows with the amount of history drained, so it's kept short by draining
+     * often and it's logged on every drain.
+     *
+     * Disabling the native recorder drops the history it buffered, the same way
+     * [toggleHistory] starts a new history, so enabling it again starts from an empty buffer.
+     *
+     * @return a json representing the series of events of the drained part, empty if
+     * history is not available
+     */
+    override fun drainHistory(): ByteArray {
+        val historyRecorder = historyRecorderHandle ?: return byteArrayOf()
+        val startTime = SystemClock.elapsedRealtime()
+        val history = synchronized(historyLock) {
+            historyRecorder.history.also {
+                historyRecorder.enable(false)
+                historyRecorder.enable(true)
+            }
+        }
+        logger?.d(
+            tag = Tag(TAG),
+            msg = Message(
+                "drainHistory blocked the navigator for " +
+                    "${SystemClock.elapsedRealtime() - startTime} ms, ${history.size} bytes"
+            )
+        )
+        return history
     }
 
     /**
@@ -352,7 +461,9 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * @param eventJsonProperties the json to attach to the "properties" key of the event
      */
     override fun addHistoryEvent(eventType: String, eventJsonProperties: String) {
-        historyRecorderHandle?.pushHistory(eventType, eventJsonProperties)
+        synchronized(historyLock) {
+            historyRecorderHandle?.pushHistory(eventType, eventJsonProperties)
+        }
     }
 
     // Other
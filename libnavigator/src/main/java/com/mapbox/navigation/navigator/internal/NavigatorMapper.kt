@@ -9,6 +9,7 @@ import com.mapbox.api.directions.v5.models.LegStep
 import com.mapbox.api.directions.v5.models.RouteLeg
 import com.mapbox.api.directions.v5.models.VoiceInstructions
 import com.mapbox.geojson.Geometry
+import com.mapbox.geojson.Point
 import com.mapbox.geojson.utils.PolylineUtils
 import com.mapbox.navigation.base.trip.model.RouteLegProgress
 import com.mapbox.navigation.base.trip.model.RouteProgress
@@ -63,14 +64,23 @@ class NavigatorMapper internal constructor() {
 
     /**
      * Builds [RouteProgress] object based on [NavigationStatus] returned by [Navigator]
+     *
+     * @param routeGeometryIndex pre-decoded step geometries of the [directionsRoute].
+     * If *null*, step geometries are decoded on every call.
      */
     fun getRouteProgress(
         directionsRoute: DirectionsRoute?,
         routeBufferGeoJson: Geometry?,
         status: NavigationStatus,
-        remainingWaypoints: Int
+        remainingWaypoints: Int,
+        routeGeometryIndex: RouteGeometryIndex? = null
     ): RouteProgress? {
-        return status.getRouteProgress(directionsRoute, routeBufferGeoJson, remainingWaypoints)
+        return status.getRouteProgress(
+            directionsRoute,
+            routeBufferGeoJson,
+            remainingWaypoints,
+            routeGeometryIndex
+        )
     }
 
     fun getIncidentInfo(info: com.mapbox.navigator.IncidentInfo?) = info?.toIncidentInfo()
@@ -93,7 +103,8 @@ class NavigatorMapper internal constructor() {
     private fun NavigationStatus.getRouteProgress(
         route: DirectionsRoute?,
         routeBufferGeoJson: Geometry?,
-        remainingWaypoints: Int
+        remainingWaypoints: Int,
+        routeGeometryIndex: RouteGeometryIndex?
     ): RouteProgress? {
         route?.let {
             val upcomingStepIndex = stepIndex + ONE_INDEX
@@ -146,14 +157,8 @@ class NavigatorMapper internal constructor() {
                         stepProgressBuilder.step(currentStep)
                         stepProgressBuilder.intersectionIndex(intersectionIndex)
 
-                        val stepGeometry = currentStep.geometry()
-                        stepGeometry?.let {
-                            stepProgressBuilder.stepPoints(
-                                PolylineUtils.decode(
-                                    stepGeometry, /* todo add core dependency PRECISION_6*/
-                                    6
-                                )
-                            )
+                        currentStep.stepPoints(legIndex, stepIndex, routeGeometryIndex)?.let {
+                            stepProgressBuilder.stepPoints(it)
                         }
 
                         val distanceTraveled = activeGuidanceInfo.stepProgress.distanceTraveled
@@ -182,15 +187,10 @@ class NavigatorMapper internal constructor() {
                         val upcomingStep = steps[upcomingStepIndex]
                         legProgressBuilder.upcomingStep(upcomingStep)
 
-                        val stepGeometry = upcomingStep.geometry()
-                        stepGeometry?.let {
-                            routeProgressBuilder.upcomingStepPoints(
-                                PolylineUtils.decode(
-                                    stepGeometry, /* todo add core dependency PRECISION_6*/
-                                    6
-                                )
-                            )
-                        }
+                        upcomingStep.stepPoints(legIndex, upcomingStepIndex, routeGeometryIndex)
+                            ?.let {
+                                routeProgressBuilder.upcomingStepPoints(it)
+                            }
                     }
 
                     val stepDistanceRemaining = activeGuidanceInfo.stepProgress.remainingDistance
@@ -219,6 +219,19 @@ class NavigatorMapper internal constructor() {
         return null
     }
 
+    private fun LegStep.stepPoints(
+        legIndex: Int,
+        stepIndex: Int,
+        routeGeometryIndex: RouteGeometryIndex?
+    ): List<Point>? {
+        if (routeGeometryIndex != null) {
+            return routeGeometryIndex.stepPoints(legIndex, stepIndex)
+        }
+        return geometry()?.let {
+            PolylineUtils.decode(it, /* todo add core dependency PRECISION_6*/ 6)
+        }
+    }
+
     private fun BannerInstruction.mapToDirectionsApi(currentStep: LegStep): BannerInstructions {
         return BannerInstructions.builder()
             .distanceAlongGeometry(this.remainingStepDistance.toDouble())
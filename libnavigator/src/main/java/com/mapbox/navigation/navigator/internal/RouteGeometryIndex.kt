@@ -0,0 +1,158 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.Point
+
+/**
+ * Holds the decoded geometry of every [com.mapbox.api.directions.v5.models.LegStep]
+ * of a [DirectionsRoute] as compact, interleaved `[lng, lat, lng, lat, ...]` arrays.
+ *
+ * The index is built once per route and lets [NavigatorMapper] serve step points
+ * without decoding polylines for every navigation status.
+ *
+ * The class is not thread-safe, it's expected to be accessed from the navigator thread only.
+ */
+class RouteGeometryIndex private constructor(
+    private val legs: Array<Array<DoubleArray?>>
+) {
+
+    private var lastFlatIndex = INVALID_INDEX
+    private var lastPoints: List<Point>? = null
+    private var previousFlatIndex = INVALID_INDEX
+    private var previousPoints: List<Point>? = null
+
+    /**
+     * Number of legs covered by the index.
+     */
+    val legsCount: Int get() = legs.size
+
+    /**
+     * Returns decoded points of a step or *null* if the step doesn't exist or has no geometry.
+     *
+     * The two most recently requested steps are memoized, so consecutive statuses that refer
+     * to the same current and upcoming steps don't allocate new lists.
+     *
+     * @param legIndex index of the leg
+     * @param stepIndex index of the step in the leg
+     */
+    fun stepPoints(legIndex: Int, stepIndex: Int): List<Point>? {
+        val coordinates = legs.getOrNull(legIndex)?.getOrNull(stepIndex) ?: return null
+        val flatIndex = flatIndex(legIndex, stepIndex)
+        if (flatIndex == lastFlatIndex) {
+            return lastPoints
+        }
+        if (flatIndex == previousFlatIndex) {
+            val points = previousPoints
+            remember(flatIndex, points)
+            return points
+        }
+        val points = coordinates.toPoints()
+        remember(flatIndex, points)
+        return points
+    }
+
+    /**
+     * Returns the number of points of a step, 0 if the step doesn't exist or has no geometry.
+     *
+     * @param legIndex index of the leg
+     * @param stepIndex index of the step in the leg
+     */
+    fun stepPointsCount(legIndex: Int, stepIndex: Int): Int =
+        (legs.getOrNull(legIndex)?.getOrNull(stepIndex)?.size ?: 0) / COORDINATE_SIZE
+
+    private fun remember(flatIndex: Int, points: List<Point>?) {
+        if (flatIndex != lastFlatIndex) {
+            previousFlatIndex = lastFlatIndex
+            previousPoints = lastPoints
+            lastFlatIndex = flatIndex
+            lastPoints = points
+        }
+    }
+
+    private fun flatIndex(legIndex: Int, stepIndex: Int): Int {
+        var index = 0
+        for (i in 0 until legIndex) {
+            index += legs[i].size
+        }
+        return index + stepIndex
+    }
+
+    private fun DoubleArray.toPoints(): List<Point> {
+        val points = ArrayList<Point>(size / COORDINATE_SIZE)
+        var i = 0
+        while (i < size) {
+            points.add(Point.fromLngLat(this[i], this[i + 1]))
+            i += COORDINATE_SIZE
+        }
+        return points
+    }
+
+    companion object {
+
+        private const val INVALID_INDEX = -1
+        private const val COORDINATE_SIZE = 2
+        private const val PRECISION_6 = 1e6
+
+        /**
+         * Index of a route without legs.
+         */
+        @JvmField
+        val EMPTY = RouteGeometryIndex(emptyArray())
+
+        /**
+         * Decodes every step geometry of the [route] and builds the index.
+         *
+         * Returns [EMPTY] if the route is *null*.
+         */
+        @JvmStatic
+        fun create(route: DirectionsRoute?): RouteGeometryIndex {
+            val legs = route?.legs() ?: return EMPTY
+            return RouteGeometryIndex(
+                Array(legs.size) { legIndex ->
+                    val steps = legs[legIndex].steps() ?: emptyList()
+                    Array(steps.size) { stepIndex ->
+                        steps[stepIndex].geometry()?.let { decode(it) }
+                    }
+                }
+            )
+        }
+
+        /**
+         * Decodes an encoded polyline with precision 6 directly into an interleaved array,
+         * skipping the intermediate [Point] objects.
+         */
+        private fun decode(encodedPath: String): DoubleArray {
+            val length = encodedPath.length
+            // each coordinate is encoded with at least one character
+            val buffer = DoubleArray(length)
+            var size = 0
+            var index = 0
+            var lat = 0
+            var lng = 0
+            while (index < length) {
+                var result = 1
+                var shift = 0
+                var temp: Int
+                do {
+                    temp = encodedPath[index++].toInt() - 63 - 1
+                    result += temp shl shift
+                    shift += 5
+                } while (temp >= 0x1f)
+                lat += if (result and 1 != 0) (result shr 1).inv() else result shr 1
+
+                result = 1
+                shift = 0
+                do {
+                    temp = encodedPath[index++].toInt() - 63 - 1
+                    result += temp shl shift
+                    shift += 5
+                } while (temp >= 0x1f)
+                lng += if (result and 1 != 0) (result shr 1).inv() else result shr 1
+
+                buffer[size++] = lng / PRECISION_6
+                buffer[size++] = lat / PRECISION_6
+            }
+            return buffer.copyOf(size)
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import java.lang.ref.WeakReference
+
+/**
+ * Keeps the original directions response JSON of the most recently fetched routes, so that
+ * the route can be handed over to the native navigator without re-serializing it.
+ *
+ * Routes are matched by reference, so any copy of a route (for example a refreshed route
+ * or a route built by hand) is not found and has to be serialized by the caller.
+ * The response doesn't contain the client-side [RouteOptions], so a route is also not found
+ * once its [DirectionsRoute.routeOptions] differ from the ones it was stored with.
+ * A response is dropped as soon as none of its routes is referenced anymore.
+ *
+ * A store is owned by a [MapboxNativeNavigator], see [MapboxNativeNavigator.routeResponseJsonStore],
+ * and is cleared when the routes are cleared or the navigation is destroyed.
+ */
+class RouteResponseJsonStore {
+
+    private companion object {
+        private const val MAX_RESPONSES = 3
+    }
+
+    private val responses = ArrayDeque<StoredResponse>(MAX_RESPONSES)
+
+    /**
+     * Stores the response JSON the [routes] were parsed from.
+     *
+     * @param routes routes in the same order they appear in the response
+     * @param responseJson the raw directions response
+     */
+    @Synchronized
+    fun put(routes: List<DirectionsRoute>, responseJson: String) {
+        put(routes, routes.map { it.routeOptions() }, responseJson)
+    }
+
+    private fun put(
+        routes: List<DirectionsRoute>,
+        routeOptions: List<RouteOptions?>,
+        responseJson: String
+    ) {
+        removeUnreferenced()
+        if (routes.isEmpty()) {
+            return
+        }
+        if (responses.size == MAX_RESPONSES) {
+            responses.removeFirst()
+        }
+        responses.addLast(
+            StoredResponse(routes.map { WeakReference(it) }, routeOptions, responseJson)
+        )
+    }
+
+    /**
+     * Returns the response JSON and the index of the [route] in that response,
+     * or *null* if the route wasn't stored or its [RouteOptions] changed since.
+     */
+    @Synchronized
+    fun get(route: DirectionsRoute): RouteResponseJson? {
+        removeUnreferenced()
+        val response = findResponse(route) ?: return null
+        val index = response.routes.indexOfFirst { it.get() === route }
+        if (route.routeOptions() != response.routeOptions[index]) {
+            return null
+        }
+        return RouteResponseJson(response.json, index)
+    }
+
+    /**
+     * Associates copies of routes with the response the original routes were parsed from.
+     * Should only be used when the copies don't change anything the native navigator reads
+     * from the response. Copies with different [DirectionsRoute.routeOptions] than the
+     * originals are stored, but not found by [get].
+     *
+     * @param originalRoutes routes in the same order they appear in the response
+     * @param updatedRoutes copies of the [originalRoutes] in the same order
+     */
+    @Synchronized
+    fun transfer(originalRoutes: List<DirectionsRoute>, updatedRoutes: List<DirectionsRoute>) {
+        if (originalRoutes.size != updatedRoutes.size || originalRoutes.isEmpty()) {
+            return
+        }
+        val original = originalRoutes.first()
+        val response = findResponse(original) ?: return
+        if (response.routes.first().get() === original) {
+            put(updatedRoutes, response.routeOptions, response.json)
+        }
+    }
+
+    /**
+     * Removes all stored responses.
+     */
+    @Synchronized
+    fun clear() {
+        responses.clear()
+    }
+
+    private fun findResponse(route: DirectionsRoute): StoredResponse? {
+        for (i in responses.size - 1 downTo 0) {
+            val response = responses[i]
+            if (response.routes.any { it.get() === route }) {
+                return response
+            }
+        }
+        return null
+    }
+
+    private fun removeUnreferenced() {
+        responses.removeAll { response -> response.routes.all { it.get() == null } }
+    }
+
+    private class StoredResponse(
+        val routes: List<WeakReference<DirectionsRoute>>,
+        val routeOptions: List<RouteOptions?>,
+        val json: String
+    )
+}
+
+/**
+ * Original directions response of a route.
+ *
+ * @param json the raw directions response
+ * @param routeIndex index of the route in the response
+ */
+data class RouteResponseJson(
+    val json: String,
+    val routeIndex: Int
+)
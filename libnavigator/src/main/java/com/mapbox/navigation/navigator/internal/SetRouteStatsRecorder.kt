@@ -0,0 +1,36 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.navigation.base.route.SetRouteStats
+
+/**
+ * Records the durations of handing routes over to the native navigator.
+ */
+internal class SetRouteStatsRecorder {
+
+    private var count = 0L
+    private var reusedResponseCount = 0L
+    private var totalMillis = 0L
+    private var maxMillis = 0L
+
+    /**
+     * Records setting a route.
+     *
+     * @param durationMillis time spent setting the route
+     * @param isResponseReused whether the route was set with the original response
+     */
+    @Synchronized
+    fun record(durationMillis: Long, isResponseReused: Boolean) {
+        count++
+        if (isResponseReused) {
+            reusedResponseCount++
+        }
+        totalMillis += durationMillis
+        maxMillis = maxOf(maxMillis, durationMillis)
+    }
+
+    /**
+     * Returns a snapshot of the recorded durations.
+     */
+    @Synchronized
+    fun toStats(): SetRouteStats = SetRouteStats(count, reusedResponseCount, totalMillis, maxMillis)
+}
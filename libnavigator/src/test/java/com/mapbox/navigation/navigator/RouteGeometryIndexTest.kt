@@ -0,0 +1,60 @@
+package com.mapbox.navigation.navigator
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.utils.PolylineUtils
+import com.mapbox.navigation.navigator.internal.RouteGeometryIndex
+import com.mapbox.navigation.testing.FileUtils
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class RouteGeometryIndexTest {
+
+    private val directionsRoute = DirectionsRoute.fromJson(
+        FileUtils.loadJsonFixture("multileg_route.json")
+    )
+
+    @Test
+    fun `index is empty when route is null`() {
+        val index = RouteGeometryIndex.create(null)
+
+        assertEquals(0, index.legsCount)
+        assertNull(index.stepPoints(0, 0))
+    }
+
+    @Test
+    fun `step points match decoded step geometries`() {
+        val index = RouteGeometryIndex.create(directionsRoute)
+
+        assertEquals(directionsRoute.legs()!!.size, index.legsCount)
+        directionsRoute.legs()!!.forEachIndexed { legIndex, leg ->
+            leg.steps()!!.forEachIndexed { stepIndex, step ->
+                val expected = PolylineUtils.decode(step.geometry()!!, 6)
+
+                assertEquals(expected, index.stepPoints(legIndex, stepIndex))
+                assertEquals(expected.size, index.stepPointsCount(legIndex, stepIndex))
+            }
+        }
+    }
+
+    @Test
+    fun `step points are null for out of bounds indices`() {
+        val index = RouteGeometryIndex.create(directionsRoute)
+
+        assertNull(index.stepPoints(directionsRoute.legs()!!.size, 0))
+        assertNull(index.stepPoints(0, directionsRoute.legs()!![0].steps()!!.size))
+        assertEquals(0, index.stepPointsCount(-1, 0))
+    }
+
+    @Test
+    fun `current and upcoming step points are reused`() {
+        val index = RouteGeometryIndex.create(directionsRoute)
+
+        val current = index.stepPoints(0, 1)
+        val upcoming = index.stepPoints(0, 2)
+
+        assertSame(current, index.stepPoints(0, 1))
+        assertSame(upcoming, index.stepPoints(0, 2))
+    }
+}
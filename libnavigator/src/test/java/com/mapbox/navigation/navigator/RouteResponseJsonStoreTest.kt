@@ -0,0 +1,98 @@
+package com.mapbox.navigation.navigator
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.navigation.navigator.internal.RouteResponseJson
+import com.mapbox.navigation.navigator.internal.RouteResponseJsonStore
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class RouteResponseJsonStoreTest {
+
+    private val store = RouteResponseJsonStore()
+
+    @Test
+    fun `stored route returns response and its index`() {
+        val primary: DirectionsRoute = route()
+        val alternative: DirectionsRoute = route()
+
+        store.put(listOf(primary, alternative), RESPONSE)
+
+        assertEquals(RouteResponseJson(RESPONSE, 0), store.get(primary))
+        assertEquals(RouteResponseJson(RESPONSE, 1), store.get(alternative))
+    }
+
+    @Test
+    fun `unknown route returns null`() {
+        store.put(listOf(route()), RESPONSE)
+
+        assertNull(store.get(route()))
+    }
+
+    @Test
+    fun `oldest response is evicted`() {
+        val oldest: DirectionsRoute = route()
+        store.put(listOf(oldest), RESPONSE)
+        val newerRoutes = List(3) { route() }
+        newerRoutes.forEach { store.put(listOf(it), RESPONSE) }
+
+        assertNull(store.get(oldest))
+    }
+
+    @Test
+    fun `transfer associates copies with the original response`() {
+        val original: DirectionsRoute = route()
+        val copy: DirectionsRoute = route()
+        store.put(listOf(original), RESPONSE)
+
+        store.transfer(listOf(original), listOf(copy))
+
+        assertEquals(RouteResponseJson(RESPONSE, 0), store.get(copy))
+    }
+
+    @Test
+    fun `route with changed options returns null`() {
+        val original = route(mockk())
+        val copy = route(mockk())
+        store.put(listOf(original), RESPONSE)
+
+        store.transfer(listOf(original), listOf(copy))
+
+        assertEquals(RouteResponseJson(RESPONSE, 0), store.get(original))
+        assertNull(store.get(copy))
+    }
+
+    @Test
+    fun `route with options changed after put returns null`() {
+        var routeOptions: RouteOptions? = null
+        val route: DirectionsRoute = mockk {
+            every { routeOptions() } answers { routeOptions }
+        }
+        store.put(listOf(route), RESPONSE)
+
+        routeOptions = mockk()
+
+        assertNull(store.get(route))
+    }
+
+    @Test
+    fun `cleared store doesn't return responses`() {
+        val route = route()
+        store.put(listOf(route), RESPONSE)
+
+        store.clear()
+
+        assertNull(store.get(route))
+    }
+
+    private fun route(routeOptions: RouteOptions? = null): DirectionsRoute = mockk {
+        every { routeOptions() } returns routeOptions
+    }
+
+    private companion object {
+        private const val RESPONSE = "{\"routes\":[]}"
+    }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigator.HistoryRecorderHandle
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import io.mockk.verify
+import io.mockk.verifyOrder
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Before
+import org.junit.Test
+import kotlin.concurrent.thread
+
+class MapboxNativeNavigatorImplTest {
+
+    private val historyRecorderHandle: HistoryRecorderHandle = mockk(relaxed = true)
+
+    @Before
+    fun setUp() {
+        mockkObject(NavigatorLoader)
+        every { NavigatorLoader.createNavigator(any(), any(), any()) } returns
+            NavigatorLoader.NativeComponents(
+                mockk(relaxed = true),
+                mockk(relaxed = true),
+                historyRecorderHandle,
+                mockk(relaxed = true),
+                mockk(relaxed = true)
+            )
+        MapboxNativeNavigatorImpl.create(
+            mockk(relaxed = true),
+            mockk(relaxed = true),
+            mockk(relaxed = true),
+            mockk<Logger>(relaxed = true)
+        )
+    }
+
+    @After
+    fun tearDown() {
+        unmockkObject(NavigatorLoader)
+    }
+
+    @Test
+    fun `drainHistory reads the history before resetting the recorder`() {
+        val history = "history".toByteArray()
+        every { historyRecorderHandle.history } returns history
+
+        val drained = MapboxNativeNavigatorImpl.drainHistory()
+
+        assertArrayEquals(history, drained)
+        verifyOrder {
+            historyRecorderHandle.history
+            historyRecorderHandle.enable(false)
+            historyRecorderHandle.enable(true)
+        }
+    }
+
+    @Test
+    fun `history event added while draining is recorded after the reset`() {
+        lateinit var eventThread: Thread
+        every { historyRecorderHandle.history } answers {
+            eventThread = thread {
+                MapboxNativeNavigatorImpl.addHistoryEvent("type", "{}")
+            }
+            eventThread.join(EVENT_WAIT_MILLIS)
+            verify(exactly = 0) { historyRecorderHandle.pushHistory(any(), any()) }
+            byteArrayOf()
+        }
+
+        MapboxNativeNavigatorImpl.drainHistory()
+        eventThread.join()
+
+        verifyOrder {
+            historyRecorderHandle.history
+            historyRecorderHandle.enable(false)
+            historyRecorderHandle.enable(true)
+            historyRecorderHandle.pushHistory("type", "{}")
+        }
+    }
+
+    private companion object {
+        private const val EVENT_WAIT_MILLIS = 100L
+    }
+}
@@ -0,0 +1,24 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.navigation.base.route.SetRouteStats
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class SetRouteStatsRecorderTest {
+
+    private val recorder = SetRouteStatsRecorder()
+
+    @Test
+    fun `nothing recorded`() {
+        assertEquals(SetRouteStats(0, 0, 0, 0), recorder.toStats())
+    }
+
+    @Test
+    fun `records count, reused responses, total and max duration`() {
+        recorder.record(10, isResponseReused = true)
+        recorder.record(30, isResponseReused = false)
+        recorder.record(20, isResponseReused = true)
+
+        assertEquals(SetRouteStats(3, 2, 60, 30), recorder.toStats())
+    }
+}
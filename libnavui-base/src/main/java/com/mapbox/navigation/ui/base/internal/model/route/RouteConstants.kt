@@ -46,6 +46,7 @@ object RouteConstants {
     const val ROUTE_LINE_UPDATE_MAX_DISTANCE_THRESHOLD_IN_METERS = 1.0
     const val DEFAULT_ROUTE_DESCRIPTOR_PLACEHOLDER = "mapboxDescriptorPlaceHolderUnused"
     const val MAX_ELAPSED_SINCE_INDEX_UPDATE_NANO = 1500000000.0 // 1.5s
+    const val MAX_TRAFFIC_LINE_GRADIENT_STOPS = 1000
     const val DEFAULT_ROUTE_SOURCES_TOLERANCE = 0.375
     const val ROUNDED_LINE_CAP = true
     val TRAFFIC_BACKFILL_ROAD_CLASSES = emptyList<String>()
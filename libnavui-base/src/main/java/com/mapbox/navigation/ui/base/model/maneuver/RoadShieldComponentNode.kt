@@ -9,6 +9,8 @@ import com.mapbox.api.directions.v5.models.BannerText
  * of type [BannerComponents.ICON]
  * @property shieldIcon ByteArray contains the svg representation of the freeway number given an
  * appropriate url else null.
+ * @property shieldUrl String holds [BannerComponents.imageBaseUrl] the [shieldIcon] was
+ * downloaded from, null if unknown. Rendered shields are cached by this url.
  *
  * E.g.
  * For the given [BannerText]
@@ -51,7 +53,8 @@ import com.mapbox.api.directions.v5.models.BannerText
 
 class RoadShieldComponentNode private constructor(
     val text: String,
-    val shieldIcon: ByteArray? = null
+    val shieldIcon: ByteArray? = null,
+    val shieldUrl: String? = null
 ) : ComponentNode {
 
     /**
@@ -68,6 +71,7 @@ class RoadShieldComponentNode private constructor(
             if (other.shieldIcon == null) return false
             if (!shieldIcon.contentEquals(other.shieldIcon)) return false
         } else if (other.shieldIcon != null) return false
+        if (shieldUrl != other.shieldUrl) return false
 
         return true
     }
@@ -78,6 +82,7 @@ class RoadShieldComponentNode private constructor(
     override fun hashCode(): Int {
         var result = text.hashCode()
         result = 31 * result + (shieldIcon?.contentHashCode() ?: 0)
+        result = 31 * result + (shieldUrl?.hashCode() ?: 0)
         return result
     }
 
@@ -87,7 +92,8 @@ class RoadShieldComponentNode private constructor(
     override fun toString(): String {
         return "RoadShieldComponentNode(" +
             "text='$text', " +
-            "shieldIcon=${shieldIcon?.contentToString()}" +
+            "shieldIcon=${shieldIcon?.contentToString()}, " +
+            "shieldUrl=$shieldUrl" +
             ")"
     }
 
@@ -98,16 +104,19 @@ class RoadShieldComponentNode private constructor(
         return Builder()
             .text(text)
             .shieldIcon(shieldIcon)
+            .shieldUrl(shieldUrl)
     }
 
     /**
      * Build a new [RoadShieldComponentNode]
      * @property text String
      * @property shieldIcon ByteArray?
+     * @property shieldUrl String?
      */
     class Builder {
         private var text: String = ""
         private var shieldIcon: ByteArray? = null
+        private var shieldUrl: String? = null
 
         /**
          * apply text to the Builder.
@@ -125,6 +134,14 @@ class RoadShieldComponentNode private constructor(
         fun shieldIcon(shieldIcon: ByteArray?): Builder =
             apply { this.shieldIcon = shieldIcon }
 
+        /**
+         * apply shieldUrl to the Builder.
+         * @param shieldUrl String?
+         * @return Builder
+         */
+        fun shieldUrl(shieldUrl: String?): Builder =
+            apply { this.shieldUrl = shieldUrl }
+
         /**
          * Build the [RoadShieldComponentNode]
          * @return RoadShieldComponentNode
@@ -132,7 +149,8 @@ class RoadShieldComponentNode private constructor(
         fun build(): RoadShieldComponentNode {
             return RoadShieldComponentNode(
                 text,
-                shieldIcon
+                shieldIcon,
+                shieldUrl
             )
         }
     }
@@ -10,6 +10,8 @@ import com.mapbox.navigation.base.TimeFormat
 import com.mapbox.navigation.base.internal.time.TimeFormatter.formatTime
 import com.mapbox.navigation.ui.base.formatter.ValueFormatter
 import java.util.Calendar
+import java.util.Locale
+import java.util.TimeZone
 
 /**
  * Formats trip related data for displaying in the UI
@@ -25,6 +27,14 @@ class EstimatedTimeToArrivalFormatter(
 
     private val appContext: Context = context.applicationContext
 
+    // the time is displayed in minutes, it's only formatted again when the minute
+    // or the settings it's formatted with change
+    private var lastEtaMinute: Long? = null
+    private var lastIs24HourFormat = false
+    private var lastTimeZone: TimeZone? = null
+    private var lastLocale: Locale? = null
+    private var lastFormattedTime = ""
+
     /**
      * Formats an update to a [SpannableString] representing the estimated time to arrival
      *
@@ -32,12 +42,7 @@ class EstimatedTimeToArrivalFormatter(
      * @return a formatted string
      */
     override fun format(eta: Long): SpannableString {
-        val is24HourFormat = DateFormat.is24HourFormat(appContext)
-        val etaAsCalendar = Calendar.getInstance().also {
-            it.timeInMillis = eta
-        }
-
-        return SpannableString(formatTime(etaAsCalendar, timeFormatType, is24HourFormat))
+        return SpannableString(formatTime(eta))
             .also { spannableString ->
                 val spaceIndex = spannableString.indexOfFirst { it == ' ' }
                 if (spaceIndex > 0) {
@@ -49,4 +54,31 @@ class EstimatedTimeToArrivalFormatter(
                 }
             }
     }
+
+    @Synchronized
+    private fun formatTime(eta: Long): String {
+        val etaMinute = eta / MILLIS_PER_MINUTE
+        val is24HourFormat = DateFormat.is24HourFormat(appContext)
+        val timeZone = TimeZone.getDefault()
+        val locale = Locale.getDefault()
+        if (etaMinute != lastEtaMinute ||
+            is24HourFormat != lastIs24HourFormat ||
+            timeZone != lastTimeZone ||
+            locale != lastLocale
+        ) {
+            val etaAsCalendar = Calendar.getInstance(timeZone, locale).also {
+                it.timeInMillis = eta
+            }
+            lastFormattedTime = formatTime(etaAsCalendar, timeFormatType, is24HourFormat)
+            lastEtaMinute = etaMinute
+            lastIs24HourFormat = is24HourFormat
+            lastTimeZone = timeZone
+            lastLocale = locale
+        }
+        return lastFormattedTime
+    }
+
+    private companion object {
+        private const val MILLIS_PER_MINUTE = 60_000L
+    }
 }
@@ -14,6 +14,7 @@ class RoadShieldComponentNodeTest : BuilderTest<RoadShieldComponentNode,
         return RoadShieldComponentNode.Builder()
             .text("exit-number")
             .shieldIcon(byteArrayOf())
+            .shieldUrl("https://shield.mapbox.com/url")
     }
 
     @Test
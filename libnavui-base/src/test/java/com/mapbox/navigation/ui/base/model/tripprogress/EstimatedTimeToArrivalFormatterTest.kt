@@ -7,9 +7,12 @@ import androidx.test.core.app.ApplicationProvider
 import com.mapbox.navigation.base.TimeFormat.NONE_SPECIFIED
 import com.mapbox.navigation.base.TimeFormat.TWELVE_HOURS
 import com.mapbox.navigation.base.TimeFormat.TWENTY_FOUR_HOURS
+import com.mapbox.navigation.base.internal.time.TimeFormatter
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.mockkObject
 import io.mockk.mockkStatic
+import io.mockk.unmockkObject
 import io.mockk.unmockkStatic
 import io.mockk.verify
 import org.junit.Assert.assertEquals
@@ -133,4 +136,25 @@ class EstimatedTimeToArrivalFormatterTest {
 
         verify { inputContext.applicationContext }
     }
+
+    @Test
+    fun format_sameMinuteIsFormattedOnce_untilTheTimeFormatChanges() {
+        mockkStatic(DateFormat::class)
+        every { DateFormat.is24HourFormat(ctx) } returns true
+        mockkObject(TimeFormatter)
+        val formatter = EstimatedTimeToArrivalFormatter(ctx, NONE_SPECIFIED)
+        val minute = SimpleDateFormat("yyyy-MM-dd HH:mm").parse("2021-02-03 13:07")!!.time
+
+        formatter.format(minute)
+        formatter.format(minute + 59_000L)
+        verify(exactly = 1) { TimeFormatter.formatTime(any(), NONE_SPECIFIED, true) }
+
+        every { DateFormat.is24HourFormat(ctx) } returns false
+        val result = formatter.format(minute + 59_000L)
+        verify(exactly = 1) { TimeFormatter.formatTime(any(), NONE_SPECIFIED, false) }
+        val expected = SimpleDateFormat("h:mm a").format(Date(minute)).toLowerCase()
+        assertEquals(expected, result.toString())
+        unmockkObject(TimeFormatter)
+        unmockkStatic(DateFormat::class)
+    }
 }
@@ -23,6 +23,11 @@ import com.mapbox.navigation.ui.base.model.maneuver.TextComponentNode
 import com.mapbox.navigation.ui.base.model.maneuver.TotalManeuverDistance
 import com.mapbox.navigation.ui.maneuver.RoadShieldDownloader.downloadImage
 import com.mapbox.navigation.ui.utils.internal.ifNonNull
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 
 internal object ManeuverProcessor {
 
@@ -31,6 +36,9 @@ internal object ManeuverProcessor {
     private const val USER_AGENT_VALUE = "MapboxJava/"
     private const val SDK_IDENTIFIER = "mapbox-navigation-ui-android"
 
+    // bounds the banners of a leg processed at the same time, and so their shield downloads
+    private const val MAX_CONCURRENT_UPCOMING_MANEUVERS = 4
+
     suspend fun process(action: ManeuverAction): ManeuverResult {
         return when (action) {
             is ManeuverAction.FindStepDistanceRemaining -> {
@@ -136,6 +144,7 @@ internal object ManeuverProcessor {
     private suspend fun createComponentList(
         bannerComponentList: List<BannerComponents>
     ): List<Component> {
+        val roadShields = getRoadShields(bannerComponentList)
         val componentList = mutableListOf<Component>()
         bannerComponentList.forEach { component ->
             when {
@@ -173,12 +182,8 @@ internal object ManeuverProcessor {
                     val roadShield = RoadShieldComponentNode
                         .Builder()
                         .text(component.text())
-                        .shieldIcon(
-                            component.imageBaseUrl()?.let {
-                                val roadShieldRequest = getHttpRequest(it)
-                                return@let downloadImage(roadShieldRequest).data
-                            }
-                        )
+                        .shieldIcon(component.imageBaseUrl()?.let { roadShields[it] })
+                        .shieldUrl(component.imageBaseUrl())
                         .build()
                     componentList.add(Component(BannerComponents.ICON, roadShield))
                 }
@@ -187,6 +192,23 @@ internal object ManeuverProcessor {
         return componentList
     }
 
+    private suspend fun getRoadShields(
+        bannerComponentList: List<BannerComponents>
+    ): Map<String, ByteArray?> = coroutineScope {
+        bannerComponentList
+            .filter { it.type() == BannerComponents.ICON }
+            .mapNotNull { it.imageBaseUrl() }
+            .distinct()
+            .map { imageBaseUrl ->
+                imageBaseUrl to async {
+                    RoadShieldCache.getShield(imageBaseUrl) {
+                        downloadImage(getHttpRequest(it)).data
+                    }
+                }
+            }
+            .associate { (imageBaseUrl, roadShield) -> imageBaseUrl to roadShield.await() }
+    }
+
     private fun getLaneGuidance(bannerInstruction: BannerInstructions): Lane? {
         val subBannerText = bannerInstruction.sub()
         val primaryBannerText = bannerInstruction.primary()
@@ -239,18 +261,21 @@ internal object ManeuverProcessor {
     private fun processStepDistanceRemaining(stepProgress: RouteStepProgress) =
         ManeuverResult.StepDistanceRemaining(stepProgress.distanceRemaining.toDouble())
 
-    private suspend fun processUpcomingManeuvers(routeLeg: RouteLeg): ManeuverResult {
-        val maneuverList = mutableListOf<Maneuver>()
-        routeLeg.steps()?.let { allSteps ->
-            allSteps.forEach { step ->
-                step.bannerInstructions()?.let { bannerInstructionList ->
-                    bannerInstructionList.forEach { bannerInstructions ->
+    private suspend fun processUpcomingManeuvers(
+        routeLeg: RouteLeg
+    ): ManeuverResult = coroutineScope {
+        val semaphore = Semaphore(MAX_CONCURRENT_UPCOMING_MANEUVERS)
+        val maneuvers = routeLeg.steps()
+            ?.flatMap { step -> step.bannerInstructions() ?: emptyList() }
+            ?.map { bannerInstructions ->
+                async {
+                    semaphore.withPermit {
                         val result = processCurrentManeuver(bannerInstructions)
-                        maneuverList.add((result as ManeuverResult.CurrentManeuver).currentManeuver)
+                        (result as ManeuverResult.CurrentManeuver).currentManeuver
                     }
                 }
             }
-        }
-        return ManeuverResult.UpcomingManeuvers(maneuverList)
+            ?.awaitAll()
+        ManeuverResult.UpcomingManeuvers(maneuvers ?: emptyList())
     }
 }
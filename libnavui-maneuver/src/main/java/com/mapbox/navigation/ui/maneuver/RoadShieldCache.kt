@@ -0,0 +1,104 @@
+package com.mapbox.navigation.ui.maneuver
+
+import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import java.io.File
+
+/**
+ * Two-tier cache of road shield SVGs keyed by the image base url of a banner component.
+ *
+ * Shields are kept in a memory LRU cache bounded by the size of the SVG data and, if a disk
+ * cache directory was set, in a bounded disk cache that survives app restarts.
+ * Concurrent requests for a shield that is not cached yet share a single download.
+ */
+internal object RoadShieldCache {
+
+    private const val MEMORY_CACHE_SIZE_BYTES = 1024 * 1024
+    private const val DISK_CACHE_SIZE_BYTES = 10L * 1024 * 1024
+    private const val INITIAL_CAPACITY = 16
+    private const val LOAD_FACTOR = 0.75f
+
+    private val memoryCache = LinkedHashMap<String, ByteArray>(INITIAL_CAPACITY, LOAD_FACTOR, true)
+    private var memoryCacheSizeBytes = 0
+    private val inFlightRequests = HashMap<String, Deferred<ByteArray?>>()
+
+    @Volatile
+    private var diskCache: RoadShieldDiskCache? = null
+
+    /**
+     * Sets the directory of the disk cache. Passing *null* disables the disk cache.
+     */
+    fun setDiskCacheDirectory(directory: File?) {
+        diskCache = directory?.let { RoadShieldDiskCache(it, DISK_CACHE_SIZE_BYTES) }
+    }
+
+    /**
+     * Returns the shield from the cache or loads it with the [loader] if it isn't cached yet.
+     * Shields that failed to load are not cached.
+     *
+     * @param imageBaseUrl the image base url of the shield
+     * @param loader downloads the shield, returns *null* if the download failed
+     */
+    suspend fun getShield(
+        imageBaseUrl: String,
+        loader: suspend (String) -> ByteArray?
+    ): ByteArray? {
+        val request = synchronized(this) {
+            memoryCache[imageBaseUrl]?.let { return it }
+            inFlightRequests.getOrPut(imageBaseUrl) {
+                ThreadController.getIOScopeAndRootJob().scope.async(
+                    start = CoroutineStart.LAZY
+                ) {
+                    load(imageBaseUrl, loader)
+                }
+            }
+        }
+        return request.await()
+    }
+
+    /**
+     * Removes all shields from the memory cache.
+     */
+    @Synchronized
+    fun clear() {
+        memoryCache.clear()
+        memoryCacheSizeBytes = 0
+    }
+
+    private suspend fun load(
+        imageBaseUrl: String,
+        loader: suspend (String) -> ByteArray?
+    ): ByteArray? {
+        try {
+            val cachedOnDisk = diskCache?.get(imageBaseUrl)
+            val shield = cachedOnDisk ?: loader(imageBaseUrl)
+            if (shield != null) {
+                if (cachedOnDisk == null) {
+                    diskCache?.put(imageBaseUrl, shield)
+                }
+                putInMemory(imageBaseUrl, shield)
+            }
+            return shield
+        } finally {
+            synchronized(this) {
+                inFlightRequests.remove(imageBaseUrl)
+            }
+        }
+    }
+
+    @Synchronized
+    private fun putInMemory(imageBaseUrl: String, shield: ByteArray) {
+        if (shield.size > MEMORY_CACHE_SIZE_BYTES) {
+            return
+        }
+        memoryCache.put(imageBaseUrl, shield)?.let { memoryCacheSizeBytes -= it.size }
+        memoryCacheSizeBytes += shield.size
+        val iterator = memoryCache.values.iterator()
+        while (memoryCacheSizeBytes > MEMORY_CACHE_SIZE_BYTES && iterator.hasNext()) {
+            memoryCacheSizeBytes -= iterator.next().size
+            iterator.remove()
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.mapbox.navigation.ui.maneuver
+
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import java.security.MessageDigest
+
+/**
+ * Bounded disk cache of raw road shield SVGs.
+ *
+ * Every shield is stored in a separate file named after the hash of its url. When the size
+ * of the cache exceeds [maxSizeBytes] the least recently used files are deleted.
+ *
+ * @param directory the directory the shields are stored in
+ * @param maxSizeBytes the maximum size of all the stored shields
+ */
+internal class RoadShieldDiskCache(
+    private val directory: File,
+    private val maxSizeBytes: Long
+) {
+
+    /**
+     * Returns the stored shield or *null* if there is none.
+     */
+    @Synchronized
+    fun get(url: String): ByteArray? {
+        val file = File(directory, fileName(url))
+        return try {
+            if (file.exists()) {
+                file.setLastModified(System.currentTimeMillis())
+                file.readBytes()
+            } else {
+                null
+            }
+        } catch (e: IOException) {
+            Timber.e(e, "Failed to read road shield $url")
+            null
+        }
+    }
+
+    /**
+     * Stores the shield and evicts the least recently used shields if the cache is full.
+     */
+    @Synchronized
+    fun put(url: String, data: ByteArray) {
+        if (data.size > maxSizeBytes) {
+            return
+        }
+        val fileName = fileName(url)
+        val tempFile = File(directory, fileName + TEMP_FILE_SUFFIX)
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                return
+            }
+            tempFile.writeBytes(data)
+            if (!tempFile.renameTo(File(directory, fileName))) {
+                tempFile.delete()
+                return
+            }
+            trimToSize()
+        } catch (e: IOException) {
+            Timber.e(e, "Failed to store road shield $url")
+            tempFile.delete()
+        }
+    }
+
+    private fun trimToSize() {
+        val files = directory.listFiles() ?: return
+        var size = files.fold(0L) { sum, file -> sum + file.length() }
+        if (size <= maxSizeBytes) {
+            return
+        }
+        files.sortBy { it.lastModified() }
+        for (file in files) {
+            if (size <= maxSizeBytes) {
+                break
+            }
+            val length = file.length()
+            if (file.delete()) {
+                size -= length
+            }
+        }
+    }
+
+    private fun fileName(url: String): String {
+        val digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(url.toByteArray())
+        return digest.joinToString(separator = "") { String.format("%02x", it) }
+    }
+
+    private companion object {
+        private const val HASH_ALGORITHM = "SHA-1"
+        private const val TEMP_FILE_SUFFIX = ".tmp"
+    }
+}
@@ -1,5 +1,6 @@
 package com.mapbox.navigation.ui.maneuver.api
 
+import android.content.Context
 import com.mapbox.api.directions.v5.models.BannerComponents
 import com.mapbox.api.directions.v5.models.BannerInstructions
 import com.mapbox.api.directions.v5.models.LegStep
@@ -17,10 +18,12 @@ import com.mapbox.navigation.ui.base.model.maneuver.ManeuverState.DistanceRemain
 import com.mapbox.navigation.ui.maneuver.ManeuverAction
 import com.mapbox.navigation.ui.maneuver.ManeuverProcessor
 import com.mapbox.navigation.ui.maneuver.ManeuverResult
+import com.mapbox.navigation.ui.maneuver.RoadShieldCache
 import com.mapbox.navigation.utils.internal.JobControl
 import com.mapbox.navigation.utils.internal.ThreadController
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.launch
+import java.io.File
 
 /**
  * Implementation of [ManeuverApi] allowing access to generate representation of
@@ -40,6 +43,20 @@ class MapboxManeuverApi internal constructor(
      */
     constructor(formatter: DistanceFormatter) : this(formatter, ManeuverProcessor)
 
+    /**
+     * Road shields are cached in memory and additionally in the cache directory of the app,
+     * so that they don't have to be downloaded again after the app restarts.
+     *
+     * @param formatter contains various instances for use in formatting distance related data
+     * for display in the UI
+     * @param context used to access the cache directory of the app
+     *
+     * @return a [MapboxManeuverApi]
+     */
+    constructor(formatter: DistanceFormatter, context: Context) : this(formatter) {
+        RoadShieldCache.setDiskCacheDirectory(File(context.cacheDir, ROAD_SHIELD_CACHE_DIRECTORY))
+    }
+
     private val mainJobController: JobControl by lazy { ThreadController.getMainScopeAndRootJob() }
     private var currentManeuverJob: Job? = null
     private var upcomingManeuverJob: Job? = null
@@ -128,4 +145,8 @@ class MapboxManeuverApi internal constructor(
     override fun cancelStepDistanceRemaining() {
         stepDistanceRemainingJob?.cancel()
     }
+
+    private companion object {
+        private const val ROAD_SHIELD_CACHE_DIRECTORY = "mapbox_road_shields"
+    }
 }
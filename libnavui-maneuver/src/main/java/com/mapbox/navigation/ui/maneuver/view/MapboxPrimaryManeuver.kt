@@ -140,7 +140,11 @@ class MapboxPrimaryManeuver @JvmOverloads constructor(
         val icon = roadShield.shieldIcon
         val roadShieldBuilder = SpannableStringBuilder(roadShield.text)
         if (icon != null && icon.isNotEmpty()) {
-            val svgBitmap = RoadShieldRenderer.renderRoadShieldAsBitmap(icon, desiredHeight)
+            val svgBitmap = RoadShieldRenderer.renderRoadShieldAsBitmap(
+                roadShield.shieldUrl,
+                icon,
+                desiredHeight
+            )
             svgBitmap?.let { b ->
                 val drawable: Drawable = BitmapDrawable(context.resources, b)
                 val right = (desiredHeight * b.width.toDouble() / b.height.toDouble()).toInt()
@@ -0,0 +1,42 @@
+package com.mapbox.navigation.ui.maneuver.view
+
+/**
+ * Memory cache of the road shield bitmaps rendered by the maneuver views.
+ *
+ * Shields are cached by the url they were downloaded from and the height they were rendered at.
+ * The statistics are counted since the cache was created or last cleared.
+ */
+object MapboxRoadShieldBitmapCache {
+
+    /**
+     * @return number of shields that were served from the cache
+     */
+    fun hitCount(): Int = RoadShieldRenderer.cache.hitCount()
+
+    /**
+     * @return number of shields that had to be rendered because they weren't in the cache
+     */
+    fun missCount(): Int = RoadShieldRenderer.cache.missCount()
+
+    /**
+     * @return number of shields that were evicted to keep the cache within [maxSizeBytes]
+     */
+    fun evictionCount(): Int = RoadShieldRenderer.cache.evictionCount()
+
+    /**
+     * @return byte count of the cached bitmaps
+     */
+    fun sizeBytes(): Int = RoadShieldRenderer.cache.size()
+
+    /**
+     * @return maximum byte count of the cached bitmaps
+     */
+    fun maxSizeBytes(): Int = RoadShieldRenderer.cache.maxSize()
+
+    /**
+     * Removes all shields from the cache and resets the statistics.
+     */
+    fun clear() {
+        RoadShieldRenderer.clear()
+    }
+}
@@ -2,12 +2,55 @@ package com.mapbox.navigation.ui.maneuver.view
 
 import android.graphics.Bitmap
 import android.graphics.Canvas
+import android.util.LruCache
 import com.caverock.androidsvg.SVG
 import java.io.ByteArrayInputStream
 
+/**
+ * Renders road shield SVGs as bitmaps.
+ *
+ * Rendered shields are kept in a memory LRU cache bounded by the byte count of the bitmaps and
+ * keyed by the url the shield was downloaded from and the desired height, so that binding the
+ * same shield again returns the already rendered bitmap instead of parsing the SVG and allocating
+ * a new one. Shields without a url are rendered every time.
+ * Cached bitmaps are shared between the views and must not be modified or recycled.
+ *
+ * The renderer is expected to be used from the main thread.
+ */
 internal object RoadShieldRenderer {
 
-    fun renderRoadShieldAsBitmap(byteArray: ByteArray, desiredHeight: Int): Bitmap? {
+    private const val CACHE_SIZE_BYTES = 4 * 1024 * 1024
+
+    internal var cache = createCache()
+        private set
+
+    fun renderRoadShieldAsBitmap(
+        shieldUrl: String?,
+        byteArray: ByteArray,
+        desiredHeight: Int
+    ): Bitmap? {
+        if (shieldUrl == null) {
+            return render(byteArray, desiredHeight)
+        }
+        val key = ShieldKey(shieldUrl, desiredHeight)
+        return cache.get(key) ?: render(byteArray, desiredHeight)?.also {
+            cache.put(key, it)
+        }
+    }
+
+    /**
+     * Removes all rendered shields from the cache and resets its statistics.
+     */
+    fun clear() {
+        cache.evictAll()
+        cache = createCache()
+    }
+
+    private fun createCache() = object : LruCache<ShieldKey, Bitmap>(CACHE_SIZE_BYTES) {
+        override fun sizeOf(key: ShieldKey, value: Bitmap): Int = value.allocationByteCount
+    }
+
+    private fun render(byteArray: ByteArray, desiredHeight: Int): Bitmap? {
         val stream = ByteArrayInputStream(byteArray)
         val svg = SVG.getFromInputStream(stream)
 
@@ -29,4 +72,9 @@ internal object RoadShieldRenderer {
             signboard
         }
     }
+
+    internal data class ShieldKey(
+        val shieldUrl: String,
+        val desiredHeight: Int
+    )
 }
@@ -26,9 +26,13 @@ import com.mapbox.navigation.ui.base.model.maneuver.SecondaryManeuver
 import com.mapbox.navigation.ui.base.model.maneuver.SubManeuver
 import com.mapbox.navigation.ui.base.model.maneuver.TextComponentNode
 import com.mapbox.navigation.ui.base.model.maneuver.TotalManeuverDistance
+import io.mockk.coEvery
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
 import org.junit.Assert.assertEquals
 import org.junit.Rule
 import org.junit.Test
@@ -122,6 +126,49 @@ class ManeuverProcessorTest {
             assertEquals(expected, actual)
         }
 
+    @Test
+    fun `process action find upcoming maneuvers downloads a bounded number of shields at once`() =
+        coroutineRule.runBlockingTest {
+            mockkObject(RoadShieldCache)
+            var downloads = 0
+            var maxConcurrentDownloads = 0
+            coEvery { RoadShieldCache.getShield(any(), any()) } coAnswers {
+                downloads++
+                maxConcurrentDownloads = maxOf(maxConcurrentDownloads, downloads)
+                delay(100)
+                downloads--
+                null
+            }
+            val mockSteps = (0 until 10).map { index ->
+                val mockBannerText = mockk<BannerText>(relaxed = true)
+                every { mockBannerText.text() } returns "I-$index"
+                every { mockBannerText.components() } returns listOf(
+                    builder()
+                        .type(ICON)
+                        .text("I-$index")
+                        .imageBaseUrl("https://shield.mapbox.com/$index")
+                        .build()
+                )
+                val mockBannerInstructions = mockk<BannerInstructions>(relaxed = true)
+                every { mockBannerInstructions.primary() } returns mockBannerText
+                every { mockBannerInstructions.secondary() } returns null
+                every { mockBannerInstructions.sub() } returns null
+                mockk<LegStep> {
+                    every { bannerInstructions() } returns listOf(mockBannerInstructions)
+                }
+            }
+            val mockRouteLeg = mockk<RouteLeg>()
+            every { mockRouteLeg.steps() } returns mockSteps
+
+            val actual = ManeuverProcessor.process(
+                ManeuverAction.FindAllUpcomingManeuvers(mockRouteLeg)
+            ) as ManeuverResult.UpcomingManeuvers
+
+            assertEquals(10, actual.upcomingManeuverList.size)
+            assertEquals(4, maxConcurrentDownloads)
+            unmockkObject(RoadShieldCache)
+        }
+
     @Test
     fun `process action get current maneuver result without secondary, sub and lane`() =
         coroutineRule.runBlockingTest {
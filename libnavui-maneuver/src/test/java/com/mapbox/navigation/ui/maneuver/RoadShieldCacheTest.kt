@@ -0,0 +1,111 @@
+package com.mapbox.navigation.ui.maneuver
+
+import com.mapbox.navigation.testing.MainCoroutineRule
+import com.mapbox.navigation.utils.internal.ThreadController
+import io.mockk.every
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+@ExperimentalCoroutinesApi
+class RoadShieldCacheTest {
+
+    @get:Rule
+    var coroutineRule = MainCoroutineRule()
+
+    @get:Rule
+    var temporaryFolder = TemporaryFolder()
+
+    private val shield = "<svg/>".toByteArray()
+
+    @Before
+    fun setUp() {
+        mockkObject(ThreadController)
+        every { ThreadController.IODispatcher } returns coroutineRule.testDispatcher
+    }
+
+    @After
+    fun tearDown() {
+        RoadShieldCache.clear()
+        RoadShieldCache.setDiskCacheDirectory(null)
+        unmockkObject(ThreadController)
+    }
+
+    @Test
+    fun `cached shield is not downloaded again`() = coroutineRule.runBlockingTest {
+        var downloads = 0
+
+        repeat(2) {
+            val result = RoadShieldCache.getShield(URL) {
+                downloads++
+                shield
+            }
+            assertArrayEquals(shield, result)
+        }
+
+        assertEquals(1, downloads)
+    }
+
+    @Test
+    fun `concurrent requests share a single download`() = coroutineRule.runBlockingTest {
+        val download = CompletableDeferred<ByteArray?>()
+        var downloads = 0
+        val loader: suspend (String) -> ByteArray? = {
+            downloads++
+            download.await()
+        }
+
+        val first = async { RoadShieldCache.getShield(URL, loader) }
+        val second = async { RoadShieldCache.getShield(URL, loader) }
+        download.complete(shield)
+
+        assertArrayEquals(shield, first.await())
+        assertArrayEquals(shield, second.await())
+        assertEquals(1, downloads)
+    }
+
+    @Test
+    fun `failed download is not cached`() = coroutineRule.runBlockingTest {
+        var downloads = 0
+
+        repeat(2) {
+            val result = RoadShieldCache.getShield(URL) {
+                downloads++
+                null
+            }
+            assertNull(result)
+        }
+
+        assertEquals(2, downloads)
+    }
+
+    @Test
+    fun `shield is served from disk when not in memory`() = coroutineRule.runBlockingTest {
+        RoadShieldCache.setDiskCacheDirectory(temporaryFolder.newFolder())
+        RoadShieldCache.getShield(URL) { shield }
+        RoadShieldCache.clear()
+        var downloads = 0
+
+        val result = RoadShieldCache.getShield(URL) {
+            downloads++
+            null
+        }
+
+        assertArrayEquals(shield, result)
+        assertEquals(0, downloads)
+    }
+
+    private companion object {
+        private const val URL = "https://shield.mapbox.com/us-interstate/95"
+    }
+}
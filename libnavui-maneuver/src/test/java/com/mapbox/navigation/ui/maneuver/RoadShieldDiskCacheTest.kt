@@ -0,0 +1,47 @@
+package com.mapbox.navigation.ui.maneuver
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertNull
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class RoadShieldDiskCacheTest {
+
+    @get:Rule
+    var temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun `stored shield is returned`() {
+        val cache = RoadShieldDiskCache(temporaryFolder.newFolder(), 100)
+
+        cache.put(URL_1, byteArrayOf(1, 2, 3))
+
+        assertArrayEquals(byteArrayOf(1, 2, 3), cache.get(URL_1))
+    }
+
+    @Test
+    fun `missing shield returns null`() {
+        val cache = RoadShieldDiskCache(temporaryFolder.newFolder(), 100)
+
+        assertNull(cache.get(URL_1))
+    }
+
+    @Test
+    fun `least recently used shield is evicted when cache is full`() {
+        val directory = temporaryFolder.newFolder()
+        val cache = RoadShieldDiskCache(directory, 10)
+        cache.put(URL_1, ByteArray(6))
+        directory.listFiles()!!.forEach { it.setLastModified(it.lastModified() - 10_000) }
+
+        cache.put(URL_2, ByteArray(6))
+
+        assertNull(cache.get(URL_1))
+        assertArrayEquals(ByteArray(6), cache.get(URL_2))
+    }
+
+    private companion object {
+        private const val URL_1 = "https://shield.mapbox.com/us-interstate/95"
+        private const val URL_2 = "https://shield.mapbox.com/us-interstate/880"
+    }
+}
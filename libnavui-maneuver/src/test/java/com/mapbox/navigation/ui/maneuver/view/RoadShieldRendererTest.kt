@@ -0,0 +1,103 @@
+package com.mapbox.navigation.ui.maneuver.view
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RoadShieldRendererTest {
+
+    private val shield = (
+        "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 40 20\">" +
+            "<rect width=\"40\" height=\"20\" fill=\"#ff0000\"/></svg>"
+        ).toByteArray()
+
+    @Before
+    fun setUp() {
+        RoadShieldRenderer.clear()
+    }
+
+    @After
+    fun tearDown() {
+        RoadShieldRenderer.clear()
+    }
+
+    @Test
+    fun renderRoadShieldAsBitmap() {
+        val bitmap = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)!!
+
+        assertEquals(50, bitmap.height)
+        assertEquals(100, bitmap.width)
+    }
+
+    @Test
+    fun renderRoadShieldAsBitmapWithoutViewBox() {
+        val shield = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".toByteArray()
+
+        assertNull(RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50))
+    }
+
+    @Test
+    fun sameUrlAndHeightIsServedFromCache() {
+        val first = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+        val second = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield.copyOf(), 50)
+
+        assertSame(first, second)
+        assertEquals(1, MapboxRoadShieldBitmapCache.hitCount())
+        assertEquals(1, MapboxRoadShieldBitmapCache.missCount())
+        assertEquals(first!!.allocationByteCount, MapboxRoadShieldBitmapCache.sizeBytes())
+    }
+
+    @Test
+    fun differentHeightIsRenderedAgain() {
+        val first = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+        val second = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 60)
+
+        assertNotSame(first, second)
+        assertEquals(0, MapboxRoadShieldBitmapCache.hitCount())
+        assertEquals(2, MapboxRoadShieldBitmapCache.missCount())
+    }
+
+    @Test
+    fun differentUrlIsRenderedAgain() {
+        val first = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+        val second = RoadShieldRenderer.renderRoadShieldAsBitmap("$URL-2", shield, 50)
+
+        assertNotSame(first, second)
+        assertEquals(0, MapboxRoadShieldBitmapCache.hitCount())
+        assertEquals(2, MapboxRoadShieldBitmapCache.missCount())
+    }
+
+    @Test
+    fun shieldWithoutUrlIsNotCached() {
+        val first = RoadShieldRenderer.renderRoadShieldAsBitmap(null, shield, 50)
+        val second = RoadShieldRenderer.renderRoadShieldAsBitmap(null, shield, 50)
+
+        assertNotSame(first, second)
+        assertEquals(0, MapboxRoadShieldBitmapCache.hitCount())
+        assertEquals(0, MapboxRoadShieldBitmapCache.sizeBytes())
+    }
+
+    @Test
+    fun clearResetsCacheAndStatistics() {
+        val first = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+        RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+        MapboxRoadShieldBitmapCache.clear()
+
+        val second = RoadShieldRenderer.renderRoadShieldAsBitmap(URL, shield, 50)
+
+        assertNotSame(first, second)
+        assertEquals(0, MapboxRoadShieldBitmapCache.hitCount())
+        assertEquals(1, MapboxRoadShieldBitmapCache.missCount())
+    }
+
+    private companion object {
+        private const val URL = "https://shield.mapbox.com/url"
+    }
+}
@@ -4,6 +4,7 @@ import android.animation.Animator
 import android.animation.AnimatorSet
 import android.animation.ValueAnimator
 import androidx.annotation.UiThread
+import com.mapbox.maps.CameraOptions
 import com.mapbox.maps.MapView
 import com.mapbox.maps.MapboxMap
 import com.mapbox.maps.plugin.animation.CameraAnimationsLifecycleListener
@@ -68,6 +69,8 @@ import java.util.concurrent.CopyOnWriteArraySet
  * When `NavigationCamera` already is in one of the [FOLLOWING] or [OVERVIEW] states,
  * data source updates trigger creation of [NavigationCameraStateTransition.updateFrameForFollowing]
  * or [NavigationCameraStateTransition.updateFrameForOverview] transitions.
+ * Updates that target the same camera position as the running frame transition are skipped,
+ * so the running animators keep going instead of being replaced.
  *
  * After generating the transitions, `NavigationCamera` handles registering them to Maps SDK,
  * executing, listening for cancellation, adjusting states, etc.
@@ -107,6 +110,7 @@ class NavigationCamera(
     }
 
     private var runningAnimation: AnimatorSet? = null
+    private var runningFrameCamera: CameraOptions? = null
 
     private val navigationCameraStateChangedObservers =
         CopyOnWriteArraySet<NavigationCameraStateChangedObserver>()
@@ -224,20 +228,14 @@ class NavigationCamera(
     private fun updateFrame(viewportData: ViewportData, instant: Boolean) {
         when (state) {
             FOLLOWING -> {
-                startAnimation(
-                    stateTransition.updateFrameForFollowing(viewportData.cameraForFollowing).apply {
-                        addListener(createFrameListener())
-                    },
-                    instant
-                )
+                startFrameAnimation(viewportData.cameraForFollowing, instant) {
+                    stateTransition.updateFrameForFollowing(it)
+                }
             }
             OVERVIEW -> {
-                startAnimation(
-                    stateTransition.updateFrameForOverview(viewportData.cameraForOverview).apply {
-                        addListener(createFrameListener())
-                    },
-                    instant
-                )
+                startFrameAnimation(viewportData.cameraForOverview, instant) {
+                    stateTransition.updateFrameForOverview(it)
+                }
             }
             IDLE, TRANSITION_TO_FOLLOWING, TRANSITION_TO_OVERVIEW -> {
                 // no impl
@@ -245,6 +243,23 @@ class NavigationCamera(
         }
     }
 
+    private fun startFrameAnimation(
+        cameraOptions: CameraOptions,
+        instant: Boolean,
+        createAnimation: (CameraOptions) -> AnimatorSet
+    ) {
+        if (!instant && cameraOptions == runningFrameCamera) {
+            return
+        }
+        startAnimation(
+            createAnimation(cameraOptions).apply {
+                addListener(frameListener)
+            },
+            instant
+        )
+        runningFrameCamera = cameraOptions
+    }
+
     /**
      * Registers [NavigationCameraStateChangedObserver].
      */
@@ -272,6 +287,7 @@ class NavigationCamera(
             }
         }
         runningAnimation = null
+        runningFrameCamera = null
     }
 
     private fun startAnimation(animatorSet: AnimatorSet, instant: Boolean) {
@@ -292,6 +308,7 @@ class NavigationCamera(
         }
         if (runningAnimation == animatorSet) {
             runningAnimation = null
+            runningFrameCamera = null
         }
     }
 
@@ -331,7 +348,7 @@ class NavigationCamera(
         }
     }
 
-    private fun createFrameListener() = object : Animator.AnimatorListener {
+    private val frameListener = object : Animator.AnimatorListener {
 
         override fun onAnimationStart(animation: Animator?) {
             // no impl
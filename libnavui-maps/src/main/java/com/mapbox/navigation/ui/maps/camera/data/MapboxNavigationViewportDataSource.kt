@@ -1,6 +1,7 @@
 package com.mapbox.navigation.ui.maps.camera.data
 
 import android.location.Location
+import android.view.Choreographer
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.core.constants.Constants
 import com.mapbox.geojson.LineString
@@ -13,8 +14,10 @@ import com.mapbox.maps.ScreenCoordinate
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.MapboxNavigation
 import com.mapbox.navigation.ui.maps.camera.NavigationCamera
+import com.mapbox.navigation.ui.maps.camera.utils.convexHull
 import com.mapbox.navigation.ui.maps.camera.utils.metersToKilometers
 import com.mapbox.navigation.ui.maps.camera.utils.shortestRotation
+import com.mapbox.navigation.ui.maps.camera.utils.simplifyForFraming
 import com.mapbox.navigation.ui.maps.camera.utils.toPoint
 import com.mapbox.turf.TurfConstants
 import com.mapbox.turf.TurfException
@@ -27,6 +30,7 @@ private val NULL_ISLAND_POINT = Point.fromLngLat(0.0, 0.0)
 private val EMPTY_EDGE_INSETS = EdgeInsets(0.0, 0.0, 0.0, 0.0)
 private val CENTER_SCREEN_COORDINATE = ScreenCoordinate(0.0, 0.0)
 private const val MINIMUM_ZOOM_LEVEL_FOR_GEO = 2.0
+private const val OVERVIEW_SIMPLIFICATION_RATIO = 0.001
 
 /**
  * Default implementation of [ViewportDataSource] to use with the [NavigationCamera].
@@ -140,10 +144,22 @@ class MapboxNavigationViewportDataSource(
     private val mapboxMap: MapboxMap
 ) : ViewportDataSource {
 
-    private var completeRoutePoints: List<List<List<Point>>> = emptyList()
+    /**
+     * For each step of each leg, the convex hull of the points of all the steps after it.
+     * Overview frames the hull instead of all the points, so framing the rest of the route
+     * has the same cost no matter how long the route is.
+     */
+    private var hullsAfterSteps: List<List<List<Point>>> = emptyList()
     private var remainingPointsOnCurrentStep: List<Point> = emptyList()
     private var remainingPointsOnRoute: List<Point> = emptyList()
     private var targetLocation: Location? = null
+    private var isDirty = true
+    private var mapBearingOfData: Double? = null
+    private var isEvaluationScheduled = false
+    private val evaluationFrameCallback = Choreographer.FrameCallback {
+        isEvaluationScheduled = false
+        evaluateNow()
+    }
 
     /* -------- GENERATED OPTIONS -------- */
     private var followingCameraOptions = CameraOptions.Builder().build()
@@ -344,10 +360,34 @@ class MapboxNavigationViewportDataSource(
      * Computes [ViewportData] based on the available data, saves the value,
      * and notifies the [ViewportDataSourceUpdateObserver]s.
      *
+     * Camera frames are only recomputed when data was provided since the previous evaluation
+     * or when the bearing of the map changed, for example because of a gesture,
+     * since the bearing fallbacks are based on the current bearing of the map.
+     * With [MapboxNavigationViewportDataSourceOptions.evaluateOncePerFrame] the evaluation
+     * is postponed to the next display frame, together with all the evaluations requested until then.
+     *
      * @see [registerUpdateObserver]
      * @see [getViewportData]
      */
     fun evaluate() {
+        if (options.evaluateOncePerFrame) {
+            if (!isEvaluationScheduled) {
+                isEvaluationScheduled = true
+                Choreographer.getInstance().postFrameCallback(evaluationFrameCallback)
+            }
+        } else {
+            evaluateNow()
+        }
+    }
+
+    private fun evaluateNow() {
+        val mapBearing = mapboxMap.getCameraOptions(null).bearing ?: 0.0
+        if (isDirty || mapBearing != mapBearingOfData) {
+            updateData(mapBearing)
+            mapBearingOfData = mapBearing
+            isDirty = false
+        }
+        updateCameraOptions()
         viewportData = ViewportData(
             cameraForFollowing = followingCameraOptions,
             cameraForOverview = overviewCameraOptions
@@ -363,10 +403,11 @@ class MapboxNavigationViewportDataSource(
      * @see [evaluate]
      */
     fun onRouteChanged(route: DirectionsRoute) {
-        completeRoutePoints = processRouteInfo(route)
-        remainingPointsOnRoute = completeRoutePoints.flatten().flatten()
+        val completeRoutePoints = processRouteInfo(route)
+        hullsAfterSteps = completeRoutePoints.map { processHullsAfterSteps(it) }
+        remainingPointsOnRoute = convexHull(completeRoutePoints.flatten().flatten())
         remainingPointsOnCurrentStep = emptyList()
-        updateData()
+        markDirty()
     }
 
     /**
@@ -406,28 +447,22 @@ class MapboxNavigationViewportDataSource(
                     return
                 }
 
-                val currentLegPoints = completeRoutePoints[currentLegProgress.legIndex]
-                val remainingStepsAfterCurrentStep =
-                    if (currentStepProgress.stepIndex < currentLegPoints.size) {
-                        currentLegPoints.slice(
-                            currentStepProgress.stepIndex + 1 until currentLegPoints.size - 1
-                        )
-                    } else {
-                        emptyList()
-                    }
-                val remainingPointsAfterCurrentStep = remainingStepsAfterCurrentStep.flatten()
+                val remainingPointsAfterCurrentStep = hullsAfterSteps
+                    .getOrNull(currentLegProgress.legIndex)
+                    ?.getOrNull(currentStepProgress.stepIndex)
+                    ?: emptyList()
                 remainingPointsOnRoute = listOf(
-                    remainingPointsOnCurrentStep,
+                    simplifyForFraming(remainingPointsOnCurrentStep, OVERVIEW_SIMPLIFICATION_RATIO),
                     remainingPointsAfterCurrentStep
                 ).flatten()
 
-                updateData()
+                markDirty()
                 return
             }
         }
         remainingPointsOnCurrentStep = emptyList()
         remainingPointsOnRoute = emptyList()
-        updateData()
+        markDirty()
     }
 
     /**
@@ -439,7 +474,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun onLocationChanged(location: Location) {
         targetLocation = location
-        updateData()
+        markDirty()
     }
 
     /**
@@ -451,10 +486,10 @@ class MapboxNavigationViewportDataSource(
      * @see [evaluate]
      */
     fun clearRouteData() {
-        completeRoutePoints = emptyList()
+        hullsAfterSteps = emptyList()
         remainingPointsOnCurrentStep = emptyList()
         remainingPointsOnRoute = emptyList()
-        updateData()
+        markDirty()
     }
 
     /**
@@ -462,7 +497,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun additionalPointsToFrameForFollowing(points: List<Point>) {
         additionalPointsToFrameForFollowing = ArrayList(points)
-        updateData()
+        markDirty()
     }
 
     /**
@@ -470,7 +505,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun additionalPointsToFrameForOverview(points: List<Point>) {
         additionalPointsToFrameForOverview = ArrayList(points)
-        updateData()
+        markDirty()
     }
 
     /**
@@ -483,7 +518,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingCenterPropertyOverride(value: Point?) {
         followingCenterProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -496,7 +531,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingZoomPropertyOverride(value: Double?) {
         followingZoomProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -509,7 +544,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingBearingPropertyOverride(value: Double?) {
         followingBearingProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -522,7 +557,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingPitchPropertyOverride(value: Double?) {
         followingPitchProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -535,7 +570,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingPaddingPropertyOverride(value: EdgeInsets?) {
         followingPaddingProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -548,7 +583,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun followingAnchorPropertyOverride(value: ScreenCoordinate?) {
         followingAnchorProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -562,7 +597,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewCenterPropertyOverride(value: Point?) {
         overviewCenterProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -576,7 +611,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewZoomPropertyOverride(value: Double?) {
         overviewZoomProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -590,7 +625,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewBearingPropertyOverride(value: Double?) {
         overviewBearingProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -604,7 +639,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewPitchPropertyOverride(value: Double?) {
         overviewPitchProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -618,7 +653,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewPaddingPropertyOverride(value: EdgeInsets?) {
         overviewPaddingProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -632,7 +667,7 @@ class MapboxNavigationViewportDataSource(
      */
     fun overviewAnchorPropertyOverride(value: ScreenCoordinate?) {
         overviewAnchorProperty.override = value
-        updateData()
+        markDirty()
     }
 
     /**
@@ -645,7 +680,7 @@ class MapboxNavigationViewportDataSource(
         followingPitchProperty.override = null
         followingPaddingProperty.override = null
         followingAnchorProperty.override = null
-        updateData()
+        markDirty()
     }
 
     /**
@@ -658,7 +693,7 @@ class MapboxNavigationViewportDataSource(
         overviewPitchProperty.override = null
         overviewPaddingProperty.override = null
         overviewAnchorProperty.override = null
-        updateData()
+        markDirty()
     }
 
     private fun processRouteInfo(route: DirectionsRoute): List<List<List<Point>>> {
@@ -671,7 +706,18 @@ class MapboxNavigationViewportDataSource(
         } ?: emptyList()
     }
 
-    private fun updateData() {
+    /**
+     * The last step of a leg is the arrival and isn't framed.
+     */
+    private fun processHullsAfterSteps(legPoints: List<List<Point>>): List<List<Point>> {
+        val hulls = MutableList(legPoints.size) { emptyList<Point>() }
+        for (stepIndex in legPoints.size - 3 downTo 0) {
+            hulls[stepIndex] = convexHull(legPoints[stepIndex + 1] + hulls[stepIndex + 1])
+        }
+        return hulls
+    }
+
+    private fun updateData(mapBearing: Double) {
         val pointsForFollowing: MutableList<Point> = remainingPointsOnCurrentStep.toMutableList()
         val pointsForOverview: MutableList<Point> = remainingPointsOnRoute.toMutableList()
 
@@ -684,9 +730,15 @@ class MapboxNavigationViewportDataSource(
         pointsForFollowing.addAll(additionalPointsToFrameForFollowing)
         pointsForOverview.addAll(additionalPointsToFrameForOverview)
 
-        updateFollowingData(pointsForFollowing)
-        updateOverviewData(pointsForOverview)
+        updateFollowingData(pointsForFollowing, mapBearing)
+        updateOverviewData(pointsForOverview, mapBearing)
+    }
+
+    private fun markDirty() {
+        isDirty = true
+    }
 
+    private fun updateCameraOptions() {
         followingCameraOptions =
             CameraOptions.Builder().apply {
                 if (followingCenterUpdatesAllowed) {
@@ -732,9 +784,9 @@ class MapboxNavigationViewportDataSource(
             }.build()
     }
 
-    private fun updateFollowingData(pointsForFollowing: List<Point>) {
+    private fun updateFollowingData(pointsForFollowing: List<Point>, mapBearing: Double) {
         followingBearingProperty.fallback = normalizeBearing(
-            mapboxMap.getCameraOptions(null).bearing ?: 0.0,
+            mapBearing,
             targetLocation?.bearing?.toDouble() ?: 0.0
         )
 
@@ -752,9 +804,9 @@ class MapboxNavigationViewportDataSource(
             max(min(zoomAndCenter.first, options.maxZoom), options.minFollowingZoom)
     }
 
-    private fun updateOverviewData(pointsForOverview: List<Point>) {
+    private fun updateOverviewData(pointsForOverview: List<Point>, mapBearing: Double) {
         overviewBearingProperty.fallback = normalizeBearing(
-            mapboxMap.getCameraOptions(null).bearing ?: 0.0,
+            mapBearing,
             0.0
         )
 
@@ -6,11 +6,13 @@ package com.mapbox.navigation.ui.maps.camera.data
  * @param maxFollowingPitch the max pitch that will be generated for camera frames when following
  * @param minFollowingZoom the min zoom that will be generated for all following camera frames
  * @param maxZoom the max zoom that will be generated for all camera frames
+ * @param evaluateOncePerFrame whether evaluations are batched and run at most once per display frame
  */
 class MapboxNavigationViewportDataSourceOptions private constructor(
     val maxFollowingPitch: Double,
     val minFollowingZoom: Double,
-    val maxZoom: Double
+    val maxZoom: Double,
+    val evaluateOncePerFrame: Boolean
 ) {
 
     /**
@@ -20,6 +22,7 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
         maxFollowingPitch(maxFollowingPitch)
         minFollowingZoom(minFollowingZoom)
         maxZoom(maxZoom)
+        evaluateOncePerFrame(evaluateOncePerFrame)
     }
 
     /**
@@ -34,6 +37,7 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
         if (maxFollowingPitch != other.maxFollowingPitch) return false
         if (minFollowingZoom != other.minFollowingZoom) return false
         if (maxZoom != other.maxZoom) return false
+        if (evaluateOncePerFrame != other.evaluateOncePerFrame) return false
 
         return true
     }
@@ -45,6 +49,7 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
         var result = maxFollowingPitch.hashCode()
         result = 31 * result + minFollowingZoom.hashCode()
         result = 31 * result + maxZoom.hashCode()
+        result = 31 * result + evaluateOncePerFrame.hashCode()
         return result
     }
 
@@ -55,7 +60,8 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
         return "MapboxNavigationViewportDataSourceOptions(" +
             "maxFollowingPitch=$maxFollowingPitch, " +
             "minFollowingZoom=$minFollowingZoom" +
-            "maxZoom=$maxZoom" +
+            "maxZoom=$maxZoom, " +
+            "evaluateOncePerFrame=$evaluateOncePerFrame" +
             ")"
     }
 
@@ -66,6 +72,7 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
         private var maxFollowingPitch = 40.0
         private var minFollowingZoom = 12.0
         private var maxZoom = 19.0
+        private var evaluateOncePerFrame = false
 
         /**
          * Override [MapboxNavigationViewportDataSourceOptions.maxFollowingPitch].
@@ -94,6 +101,19 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
             this.maxZoom = maxZoom
         }
 
+        /**
+         * Override [MapboxNavigationViewportDataSourceOptions.evaluateOncePerFrame].
+         *
+         * When enabled, [MapboxNavigationViewportDataSource.evaluate] only schedules an evaluation
+         * for the next display frame, so all the data provided in between is processed once.
+         * The data source then has to be used from the main thread.
+         *
+         * Defaults to false.
+         */
+        fun evaluateOncePerFrame(evaluateOncePerFrame: Boolean): Builder = apply {
+            this.evaluateOncePerFrame = evaluateOncePerFrame
+        }
+
         /**
          * Build a new instance of [MapboxNavigationViewportDataSourceOptions].
          */
@@ -101,7 +121,8 @@ class MapboxNavigationViewportDataSourceOptions private constructor(
             MapboxNavigationViewportDataSourceOptions(
                 maxFollowingPitch = maxFollowingPitch,
                 minFollowingZoom = minFollowingZoom,
-                maxZoom = maxZoom
+                maxZoom = maxZoom,
+                evaluateOncePerFrame = evaluateOncePerFrame
             )
     }
 }
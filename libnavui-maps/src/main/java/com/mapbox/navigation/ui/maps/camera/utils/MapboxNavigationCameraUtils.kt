@@ -2,6 +2,14 @@ package com.mapbox.navigation.ui.maps.camera.utils
 
 import android.location.Location
 import com.mapbox.geojson.Point
+import kotlin.math.PI
+import kotlin.math.hypot
+import kotlin.math.ln
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.tan
+
+private const val MAX_MERCATOR_LATITUDE = 85.051128
 
 internal fun shortestRotation(from: Double, to: Double): Double {
     return (to - from + 540) % 360 - 180
@@ -12,3 +20,103 @@ internal fun Location.toPoint(): Point {
 }
 
 internal fun Float.metersToKilometers() = this / 1000.0
+
+/**
+ * Simplifies the line with the Douglas-Peucker algorithm. Points are dropped as long as the line
+ * moves less than [toleranceRatio] of the larger side of its bounding box, so the result stays
+ * indistinguishable from the original line when both are framed on the screen.
+ *
+ * Distances are measured in Mercator projection, the first and last points are always kept.
+ */
+internal fun simplifyForFraming(points: List<Point>, toleranceRatio: Double): List<Point> {
+    if (points.size < 3) {
+        return points
+    }
+    val xs = DoubleArray(points.size) { points[it].longitude() }
+    val ys = DoubleArray(points.size) { mercatorY(points[it].latitude()) }
+    val width = xs.maxOrNull()!! - xs.minOrNull()!!
+    val height = ys.maxOrNull()!! - ys.minOrNull()!!
+    val tolerance = max(width, height) * toleranceRatio
+    val isKept = BooleanArray(points.size)
+    isKept[0] = true
+    isKept[points.size - 1] = true
+    val ranges = ArrayDeque<Pair<Int, Int>>()
+    ranges.addLast(Pair(0, points.size - 1))
+    while (ranges.isNotEmpty()) {
+        val (first, last) = ranges.removeLast()
+        var farthestIndex = -1
+        var farthestDistance = tolerance
+        for (index in first + 1 until last) {
+            val distance = distanceToSegment(xs, ys, index, first, last)
+            if (distance > farthestDistance) {
+                farthestIndex = index
+                farthestDistance = distance
+            }
+        }
+        if (farthestIndex >= 0) {
+            isKept[farthestIndex] = true
+            ranges.addLast(Pair(first, farthestIndex))
+            ranges.addLast(Pair(farthestIndex, last))
+        }
+    }
+    return points.filterIndexed { index, _ -> isKept[index] }
+}
+
+/**
+ * Returns the convex hull of the points, computed in Mercator projection, in counterclockwise
+ * order. Framing the hull results in the same camera as framing all the points.
+ */
+internal fun convexHull(points: List<Point>): List<Point> {
+    if (points.size < 3) {
+        return points
+    }
+    val sortedPoints = points.sortedWith(
+        compareBy<Point> { it.longitude() }.thenBy { it.latitude() }
+    )
+    val hull = ArrayList<Point>(2 * sortedPoints.size)
+    for (pass in 0..1) {
+        val passStart = hull.size
+        val passPoints = if (pass == 0) sortedPoints else sortedPoints.asReversed()
+        for (point in passPoints) {
+            while (hull.size >= passStart + 2 &&
+                cross(hull[hull.size - 2], hull[hull.size - 1], point) <= 0
+            ) {
+                hull.removeAt(hull.size - 1)
+            }
+            hull.add(point)
+        }
+        // the last point of a pass is the first point of the next one
+        hull.removeAt(hull.size - 1)
+    }
+    return hull
+}
+
+private fun cross(origin: Point, a: Point, b: Point): Double {
+    val originY = mercatorY(origin.latitude())
+    return (a.longitude() - origin.longitude()) * (mercatorY(b.latitude()) - originY) -
+        (mercatorY(a.latitude()) - originY) * (b.longitude() - origin.longitude())
+}
+
+private fun distanceToSegment(
+    xs: DoubleArray,
+    ys: DoubleArray,
+    index: Int,
+    first: Int,
+    last: Int
+): Double {
+    val dx = xs[last] - xs[first]
+    val dy = ys[last] - ys[first]
+    val lengthSquared = dx * dx + dy * dy
+    val fraction = if (lengthSquared > 0) {
+        (((xs[index] - xs[first]) * dx + (ys[index] - ys[first]) * dy) / lengthSquared)
+            .coerceIn(0.0, 1.0)
+    } else {
+        0.0
+    }
+    return hypot(xs[index] - xs[first] - dx * fraction, ys[index] - ys[first] - dy * fraction)
+}
+
+private fun mercatorY(latitude: Double): Double {
+    val clampedLatitude = min(max(latitude, -MAX_MERCATOR_LATITUDE), MAX_MERCATOR_LATITUDE)
+    return Math.toDegrees(ln(tan(PI / 4 + Math.toRadians(clampedLatitude) / 2)))
+}
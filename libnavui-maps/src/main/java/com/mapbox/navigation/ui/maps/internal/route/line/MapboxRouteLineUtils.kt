@@ -402,7 +402,7 @@ object MapboxRouteLineUtils {
      * @return a RouteFeatureData containing the original route and a FeatureCollection and
      * LineString
      */
-    private fun generateFeatureCollection(routeData: RouteLine): RouteFeatureData =
+    internal fun generateFeatureCollection(routeData: RouteLine): RouteFeatureData =
         generateFeatureCollection(routeData.route, routeData.identifier)
 
     internal fun calculateRouteGranularDistances(coordinates: List<Point>):
@@ -0,0 +1,195 @@
+package com.mapbox.navigation.ui.maps.internal.route.line
+
+import com.mapbox.geojson.Point
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfMeasurement
+
+/**
+ * Precomputed lookup tables for the points of a route decoded into legs -> steps -> points.
+ *
+ * Used to find the index of the upcoming, not yet visited point of the route without slicing
+ * and flattening the remaining part of the route on every route progress update.
+ *
+ * @param legStepOffsets index of the first step of each leg in the flattened steps arrays
+ * @param remainingPointsAfterStep for each step, the number of points that remain on the route
+ * after that step, see [build] for details
+ * @param stepCumulativeDistances for each step, the distance in meters traveled along the step
+ * geometry when reaching each of its points
+ * @param pointsCount the number of all points on the route
+ */
+internal class RoutePointsIndex private constructor(
+    private val legStepOffsets: IntArray,
+    private val remainingPointsAfterStep: IntArray,
+    private val stepCumulativeDistances: Array<DoubleArray>,
+    val pointsCount: Int
+) {
+
+    /**
+     * Returns the index of the upcoming point in the flattened list of route points,
+     * or *null* if the leg or step don't exist.
+     *
+     * The result is the same as slicing the current step geometry from the distance traveled
+     * to the end of the step with [com.mapbox.turf.TurfMisc.lineSliceAlong] and counting
+     * the remaining points, but it doesn't allocate.
+     *
+     * @param legIndex index of the current leg
+     * @param stepIndex index of the current step in the leg
+     * @param stepDistanceTraveled distance traveled along the current step in meters
+     * @param stepDistance distance of the current step in meters
+     */
+    fun upcomingPointIndex(
+        legIndex: Int,
+        stepIndex: Int,
+        stepDistanceTraveled: Double,
+        stepDistance: Double
+    ): Int? {
+        if (legIndex < 0 || legIndex >= legStepOffsets.size - 1 || stepIndex < 0) {
+            return null
+        }
+        val legStepsCount = legStepOffsets[legIndex + 1] - legStepOffsets[legIndex]
+        val remainingPoints = if (stepIndex < legStepsCount) {
+            val flatStepIndex = legStepOffsets[legIndex] + stepIndex
+            val sliceSize = sliceAlongSize(
+                stepCumulativeDistances[flatStepIndex],
+                stepDistanceTraveled,
+                stepDistance
+            )
+            // the first point of the slice marks the precise cut-off point and is ignored
+            (sliceSize - 1).coerceAtLeast(0) + remainingPointsAfterStep[flatStepIndex]
+        } else {
+            remainingPointsAfterLeg(legIndex)
+        }
+        return pointsCount - remainingPoints - 1
+    }
+
+    private fun remainingPointsAfterLeg(legIndex: Int): Int {
+        val lastStepOfLeg = legStepOffsets[legIndex + 1] - 1
+        return if (lastStepOfLeg >= legStepOffsets[legIndex]) {
+            remainingPointsAfterStep[lastStepOfLeg]
+        } else {
+            var points = 0
+            for (i in legStepOffsets[legIndex + 1] until remainingPointsAfterStep.size) {
+                points += stepPointsCount(i)
+            }
+            points
+        }
+    }
+
+    private fun stepPointsCount(flatStepIndex: Int) = stepCumulativeDistances[flatStepIndex].size
+
+    companion object {
+
+        /**
+         * Builds the index.
+         *
+         * The number of points remaining after a step consists of the points of the following
+         * steps of the same leg, except for the last one which only repeats the arrival point,
+         * and all the points of the following legs.
+         *
+         * @param nestedList nested arrays of legs -> steps -> points
+         */
+        fun build(nestedList: List<List<List<Point>>>): RoutePointsIndex {
+            val legStepOffsets = IntArray(nestedList.size + 1)
+            nestedList.forEachIndexed { legIndex, steps ->
+                legStepOffsets[legIndex + 1] = legStepOffsets[legIndex] + steps.size
+            }
+            val stepsCount = legStepOffsets[nestedList.size]
+            val stepCumulativeDistances = arrayOfNulls<DoubleArray>(stepsCount)
+            val remainingPointsAfterStep = IntArray(stepsCount)
+
+            var pointsCount = 0
+            var pointsInFollowingLegs = 0
+            for (legIndex in nestedList.indices.reversed()) {
+                val steps = nestedList[legIndex]
+                var pointsInLeg = 0
+                // points of the steps after the current one, excluding the last step of the leg
+                var pointsInFollowingSteps = 0
+                for (stepIndex in steps.indices.reversed()) {
+                    val points = steps[stepIndex]
+                    val flatStepIndex = legStepOffsets[legIndex] + stepIndex
+                    stepCumulativeDistances[flatStepIndex] = cumulativeDistances(points)
+                    remainingPointsAfterStep[flatStepIndex] =
+                        pointsInFollowingSteps + pointsInFollowingLegs
+                    if (stepIndex != steps.size - 1) {
+                        pointsInFollowingSteps += points.size
+                    }
+                    pointsInLeg += points.size
+                }
+                pointsInFollowingLegs += pointsInLeg
+                pointsCount += pointsInLeg
+            }
+
+            return RoutePointsIndex(
+                legStepOffsets,
+                remainingPointsAfterStep,
+                Array(stepsCount) { stepCumulativeDistances[it]!! },
+                pointsCount
+            )
+        }
+
+        private fun cumulativeDistances(points: List<Point>): DoubleArray {
+            val distances = DoubleArray(points.size)
+            for (i in 1 until points.size) {
+                distances[i] = distances[i - 1] + TurfMeasurement.distance(
+                    points[i - 1],
+                    points[i],
+                    TurfConstants.UNIT_METERS
+                )
+            }
+            return distances
+        }
+
+        /**
+         * Returns the number of points that [com.mapbox.turf.TurfMisc.lineSliceAlong] would
+         * produce for a line with the [cumulative] distances, or 0 where it would throw.
+         */
+        internal fun sliceAlongSize(cumulative: DoubleArray, start: Double, stop: Double): Int {
+            val size = cumulative.size
+            if (size < 2 || start == stop) {
+                return 0
+            }
+            val lastIndex = size - 1
+            val firstAffected = lowerBound(cumulative, minOf(start, stop), 0)
+            if (start < stop && firstAffected < lastIndex) {
+                val stopIndex = lowerBound(cumulative, stop, firstAffected)
+                val interpolatedStart = if (cumulative[firstAffected] > start) 1 else 0
+                return when {
+                    stopIndex < size -> interpolatedStart + stopIndex - firstAffected + 1
+                    cumulative[lastIndex] == start -> lastIndex - firstAffected
+                    else -> interpolatedStart + size - firstAffected
+                }
+            }
+            // rare cases, e.g. the distance traveled exceeds the step distance
+            var sliceSize = 0
+            for (i in firstAffected.coerceAtMost(lastIndex)..lastIndex) {
+                val travelled = cumulative[i]
+                if (start >= travelled && i == lastIndex) {
+                    return if (travelled < start) 0 else sliceSize
+                } else if (travelled > start && sliceSize == 0) {
+                    sliceSize++
+                }
+                if (travelled >= stop) {
+                    return sliceSize + 1
+                }
+                if (travelled >= start) {
+                    sliceSize++
+                }
+            }
+            return sliceSize
+        }
+
+        private fun lowerBound(values: DoubleArray, value: Double, fromIndex: Int): Int {
+            var low = fromIndex
+            var high = values.size
+            while (low < high) {
+                val mid = (low + high) ushr 1
+                if (values[mid] < value) {
+                    low = mid + 1
+                } else {
+                    high = mid
+                }
+            }
+            return low
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.mapbox.navigation.ui.maps.internal.route.line
+
+import androidx.annotation.ColorInt
+import com.mapbox.maps.extension.style.expressions.generated.Expression
+import com.mapbox.navigation.ui.base.internal.model.route.RouteConstants
+import com.mapbox.navigation.ui.maps.route.line.model.RouteLineExpressionData
+
+/**
+ * Holds the traffic segments of a route line as primitive arrays together with
+ * the prebuilt stop expressions, so that the line gradient for a vanishing point offset
+ * can be produced by only trimming the traveled segments.
+ *
+ * Produces the same gradient as [MapboxRouteLineUtils.getTrafficLineExpression] as long as
+ * the number of segments doesn't exceed the maximum number of stops. Otherwise adjacent
+ * segments of the same color are merged first and then the segments that are too short to be
+ * visible in the gradient are absorbed by the segments that follow them, with a growing minimum
+ * length until the gradient has at most the maximum number of stops.
+ *
+ * The class is not thread-safe.
+ */
+internal class TrafficLineGradient private constructor(
+    private val offsets: DoubleArray,
+    @ColorInt private val colors: IntArray
+) {
+
+    private val offsetExpressions = Array(offsets.size) { Expression.literal(offsets[it]) }
+    private val colorExpressions = Array(colors.size) { Expression.color(colors[it]) }
+
+    private var lastDistanceOffset = Double.NaN
+    private var lastFallbackColor = 0
+    private var lastExpression: Expression? = null
+
+    /**
+     * Number of stops the gradient is made of before trimming.
+     */
+    val stopsCount: Int get() = offsets.size
+
+    /**
+     * Returns a line gradient that is transparent up to the [distanceOffset]
+     * and shows the traffic segments from there on.
+     *
+     * @param distanceOffset a value between 0 and 1 representing the traveled part of the line
+     * @param fallbackRouteColor the color of the line if there are no traffic segments
+     */
+    fun getExpression(distanceOffset: Double, @ColorInt fallbackRouteColor: Int): Expression {
+        lastExpression?.let {
+            if (distanceOffset == lastDistanceOffset && fallbackRouteColor == lastFallbackColor) {
+                return it
+            }
+        }
+
+        val expressionBuilder = Expression.ExpressionBuilder("step")
+        expressionBuilder.lineProgress()
+        expressionBuilder.stop {
+            rgba {
+                literal(0.0)
+                literal(0.0)
+                literal(0.0)
+                literal(0.0)
+            }
+        }
+        val firstUpcomingIndex = firstIndexAfter(distanceOffset)
+        val fillerColor = when {
+            offsets.isEmpty() -> Expression.color(fallbackRouteColor)
+            firstUpcomingIndex == 0 -> colorExpressions[0]
+            else -> colorExpressions[firstUpcomingIndex - 1]
+        }
+        expressionBuilder.addArgument(Expression.literal(distanceOffset))
+        expressionBuilder.addArgument(fillerColor)
+        for (i in firstUpcomingIndex until offsets.size) {
+            expressionBuilder.addArgument(offsetExpressions[i])
+            expressionBuilder.addArgument(colorExpressions[i])
+        }
+
+        return expressionBuilder.build().also {
+            lastDistanceOffset = distanceOffset
+            lastFallbackColor = fallbackRouteColor
+            lastExpression = it
+        }
+    }
+
+    private fun firstIndexAfter(distanceOffset: Double): Int {
+        var low = 0
+        var high = offsets.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (offsets[mid] <= distanceOffset) {
+                low = mid + 1
+            } else {
+                high = mid
+            }
+        }
+        return low
+    }
+
+    companion object {
+
+        private const val MIN_SEGMENT_LENGTH_GROWTH = 1.25
+
+        /**
+         * Creates the gradient from route line segments ordered by their offsets.
+         *
+         * @param expressionData the traffic segments of the line
+         * @param maxStops the maximum number of stops the gradient can have, at least 1
+         */
+        fun create(
+            expressionData: List<RouteLineExpressionData>,
+            maxStops: Int = RouteConstants.MAX_TRAFFIC_LINE_GRADIENT_STOPS
+        ): TrafficLineGradient {
+            require(maxStops > 0) { "maxStops must be positive" }
+            val offsets = DoubleArray(expressionData.size) { expressionData[it].offset }
+            val colors = IntArray(expressionData.size) { expressionData[it].segmentColor }
+            if (offsets.size <= maxStops) {
+                return TrafficLineGradient(offsets, colors)
+            }
+
+            var size = mergeSameColors(offsets, colors, offsets.size)
+            var minSegmentLength = 1.0 / maxStops
+            while (size > maxStops) {
+                size = mergeShortSegments(offsets, colors, size, minSegmentLength)
+                minSegmentLength *= MIN_SEGMENT_LENGTH_GROWTH
+            }
+            return TrafficLineGradient(offsets.copyOf(size), colors.copyOf(size))
+        }
+
+        private fun mergeSameColors(offsets: DoubleArray, colors: IntArray, size: Int): Int {
+            var newSize = 0
+            for (i in 0 until size) {
+                if (newSize == 0 || colors[newSize - 1] != colors[i]) {
+                    offsets[newSize] = offsets[i]
+                    colors[newSize] = colors[i]
+                    newSize++
+                }
+            }
+            return newSize
+        }
+
+        private fun mergeShortSegments(
+            offsets: DoubleArray,
+            colors: IntArray,
+            size: Int,
+            minSegmentLength: Double
+        ): Int {
+            var newSize = 0
+            for (i in 0 until size) {
+                if (newSize > 0 && offsets[i] - offsets[newSize - 1] < minSegmentLength) {
+                    // the previous segment is too short, the current one takes its place
+                    colors[newSize - 1] = colors[i]
+                    if (newSize > 1 && colors[newSize - 2] == colors[i]) {
+                        newSize--
+                    }
+                } else {
+                    offsets[newSize] = offsets[i]
+                    colors[newSize] = colors[i]
+                    newSize++
+                }
+            }
+            return newSize
+        }
+    }
+}
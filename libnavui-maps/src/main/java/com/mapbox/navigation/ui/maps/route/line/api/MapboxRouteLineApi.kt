@@ -3,7 +3,6 @@ package com.mapbox.navigation.ui.maps.route.line.api
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.geojson.Feature
 import com.mapbox.geojson.FeatureCollection
-import com.mapbox.geojson.LineString
 import com.mapbox.geojson.Point
 import com.mapbox.maps.MapboxMap
 import com.mapbox.maps.RenderedQueryOptions
@@ -16,18 +15,23 @@ import com.mapbox.navigation.ui.base.internal.model.route.RouteConstants
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants
 import com.mapbox.navigation.ui.base.util.MapboxNavigationConsumer
 import com.mapbox.navigation.ui.maps.internal.route.line.MapboxRouteLineUtils
+import com.mapbox.navigation.ui.maps.internal.route.line.TrafficLineGradient
 import com.mapbox.navigation.ui.maps.route.line.model.MapboxRouteLineOptions
 import com.mapbox.navigation.ui.maps.route.line.model.RouteFeatureData
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLine
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLineExpressionData
+import com.mapbox.navigation.ui.maps.route.line.model.RouteLineResources
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLineState
 import com.mapbox.navigation.ui.maps.route.line.model.VanishingPointState
 import com.mapbox.navigation.ui.utils.internal.ifNonNull
+import com.mapbox.navigation.utils.internal.JobControl
 import com.mapbox.navigation.utils.internal.ThreadController
-import com.mapbox.turf.TurfConstants
-import com.mapbox.turf.TurfException
-import com.mapbox.turf.TurfMisc
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import kotlin.coroutines.resume
 import kotlin.coroutines.suspendCoroutine
 
@@ -129,6 +133,19 @@ import kotlin.coroutines.suspendCoroutine
  * with the puck, data from both [OnIndicatorPositionChangedListener] and the [RouteProgressObserver]
  * are needed.
  *
+ * Traffic refresh:
+ * Route refreshes don't notify the [RoutesObserver]s registered with [MapboxNavigation], they only
+ * update the annotations of the primary route. To keep the traffic line up to date, register a
+ * [RouteAnnotationsObserver] and render the state returned by [updateTraffic]:
+ *
+ * ```kotlin
+ * override fun onRouteAnnotationsChanged(route: DirectionsRoute, legIndices: List<Int>) {
+ * mapboxRouteLineApi.updateTraffic(route, legIndices)?.let {
+ * mapboxRouteLineView.render(mapboxMap.getStyle(), it)
+ * }
+ * }
+ * ```
+ *
  * @param routeLineOptions used for determining the appearance and/or behavior of the route line
  */
 class MapboxRouteLineApi(
@@ -136,9 +153,13 @@ class MapboxRouteLineApi(
 ) {
     private var primaryRoute: DirectionsRoute? = null
     private val directionsRoutes: MutableList<DirectionsRoute> = mutableListOf()
-    private val routeLineExpressionData: MutableList<RouteLineExpressionData> = mutableListOf()
+    private var primaryRouteTrafficGradient = TrafficLineGradient.create(listOf())
+    private var primaryRouteTrafficGradientRoute: DirectionsRoute? = null
+    private var primaryRouteTrafficGradientResources: RouteLineResources? = null
     private var lastIndexUpdateTimeNano: Long = 0
     private val routeFeatureData: MutableList<RouteFeatureData> = mutableListOf()
+    private val mainJobController: JobControl by lazy { ThreadController.getMainScopeAndRootJob() }
+    private var setRoutesJob: Job? = null
 
     /**
      * @return the vanishing point of the route line if an instance of VanishingRouteLine
@@ -168,6 +189,7 @@ class MapboxRouteLineApi(
      * newly designated route line.
      */
     fun updateToPrimaryRoute(route: DirectionsRoute): RouteLineState.RouteSetState {
+        cancel()
         val newRoutes = directionsRoutes.filter { it != route }.toMutableList().also {
             it.add(0, route)
         }
@@ -185,12 +207,62 @@ class MapboxRouteLineApi(
      * @return a state which contains the side effects to be applied to the map
      */
     fun setRoutes(newRoutes: List<RouteLine>): RouteLineState.RouteSetState {
+        cancel()
         val routes = newRoutes.map(RouteLine::route)
         val featureDataProvider: () -> List<RouteFeatureData> =
             MapboxRouteLineUtils.getRouteLineFeatureDataProvider(newRoutes)
         return setNewRouteData(routes, featureDataProvider)
     }
 
+    /**
+     * Sets the routes that will be operated on.
+     *
+     * Decoding the route geometries and calculating the traffic segments is done on a worker
+     * thread, in parallel for each of the routes. The result is delivered on the main thread.
+     * A call to this method cancels the previous call that hasn't delivered its result yet,
+     * see also [cancel].
+     *
+     * @param newRoutes one or more routes. The first route in the collection will be considered
+     * the primary route and any additional routes will be alternate routes.
+     * @param consumer a callback to receive the state which contains the side effects
+     * to be applied to the map
+     */
+    fun setRoutes(
+        newRoutes: List<RouteLine>,
+        consumer: MapboxNavigationConsumer<RouteLineState.RouteSetState>
+    ) {
+        cancel()
+        val routes = newRoutes.map(RouteLine::route)
+        val resources = routeLineOptions.resourceProvider
+        val primaryRouteTrafficGradient =
+            getCachedPrimaryRouteTrafficGradient(routes.firstOrNull(), resources)
+        val calculateVanishingRouteLineData = routeLineOptions.vanishingRouteLine != null
+        setRoutesJob = mainJobController.scope.launch {
+            val routeSetData = withContext(ThreadController.DefaultDispatcher) {
+                calculateRouteSetDataInParallel(
+                    newRoutes,
+                    resources,
+                    primaryRouteTrafficGradient,
+                    calculateVanishingRouteLineData
+                )
+            }
+            directionsRoutes.clear()
+            directionsRoutes.addAll(routes)
+            primaryRoute = routes.firstOrNull()
+            routeLineOptions.vanishingRouteLine?.vanishPointOffset = 0.0
+            consumer.accept(applyRouteSetData(routeSetData))
+        }
+    }
+
+    /**
+     * Cancels the asynchronous [setRoutes] call that hasn't delivered its result yet.
+     * The consumer of the call won't be invoked.
+     */
+    fun cancel() {
+        setRoutesJob?.cancel()
+        setRoutesJob = null
+    }
+
     /**
      * @return a state which contains the side effects to be applied to the map. The data
      * can be used to draw the current route line(s) on the map.
@@ -222,7 +294,7 @@ class MapboxRouteLineApi(
         val routeLineExpressions =
             routeLineOptions.vanishingRouteLine?.getTraveledRouteLineExpressions(
                 point,
-                routeLineExpressionData,
+                primaryRouteTrafficGradient,
                 routeLineOptions.resourceProvider
             )
 
@@ -236,6 +308,48 @@ class MapboxRouteLineApi(
         }
     }
 
+    /**
+     * Applies the refreshed annotations of the primary route to the traffic line
+     * without redrawing the route line. Route refreshes are not delivered to [RoutesObserver]s,
+     * use this with a [RouteAnnotationsObserver] to show the refreshed congestion.
+     *
+     * The route geometry, the alternative routes and the vanishing point are kept as they are,
+     * only the traffic segments of the primary route are recalculated.
+     *
+     * @param route the primary route with the refreshed annotations
+     * @param legIndices indices of the legs whose annotations changed
+     *
+     * @return a state representing the updated traffic line to be rendered on the map or null if
+     * the [route] isn't a refresh of the current primary route or no leg changed
+     */
+    fun updateTraffic(
+        route: DirectionsRoute,
+        legIndices: List<Int>
+    ): RouteLineState.VanishingRouteLineUpdateState? {
+        val currentPrimaryRoute = primaryRoute
+        if (legIndices.isEmpty() ||
+            currentPrimaryRoute == null ||
+            currentPrimaryRoute.geometry() != route.geometry()
+        ) {
+            return null
+        }
+        val routeIndex = directionsRoutes.indexOfFirst { it === currentPrimaryRoute }
+        if (routeIndex >= 0) {
+            directionsRoutes[routeIndex] = route
+        }
+        routeFeatureData.forEachIndexed { index, featureData ->
+            if (featureData.route === currentPrimaryRoute) {
+                routeFeatureData[index] = featureData.copy(route = route)
+            }
+        }
+        primaryRoute = route
+        val resources = routeLineOptions.resourceProvider
+        primaryRouteTrafficGradient = calculatePrimaryRouteTrafficGradient(route, resources)
+        primaryRouteTrafficGradientRoute = route
+        primaryRouteTrafficGradientResources = resources
+        return setVanishingOffset(getVanishPointOffset())
+    }
+
     /**
      * Clears the route line data.
      *
@@ -243,10 +357,11 @@ class MapboxRouteLineApi(
      * the map should appear without any route lines.
      */
     fun clearRouteLine(): RouteLineState.ClearRouteLineState {
+        cancel()
         routeLineOptions.vanishingRouteLine?.vanishPointOffset = 0.0
         directionsRoutes.clear()
         routeFeatureData.clear()
-        routeLineExpressionData.clear()
+        clearPrimaryRouteTrafficGradient()
         routeLineOptions.vanishingRouteLine?.clear()
         return RouteLineState.ClearRouteLineState(
             FeatureCollection.fromFeatures(listOf()),
@@ -269,9 +384,8 @@ class MapboxRouteLineApi(
     fun setVanishingOffset(offset: Double): RouteLineState.VanishingRouteLineUpdateState? {
         routeLineOptions.vanishingRouteLine?.vanishPointOffset = offset
         return if (offset >= 0) {
-            val trafficLineExpression = MapboxRouteLineUtils.getTrafficLineExpression(
+            val trafficLineExpression = primaryRouteTrafficGradient.getExpression(
                 offset,
-                routeLineExpressionData,
                 routeLineOptions.resourceProvider.routeLineColorResources.routeUnknownTrafficColor
             )
             val routeLineExpression = MapboxRouteLineUtils.getVanishingRouteLineExpression(
@@ -518,76 +632,20 @@ class MapboxRouteLineApi(
         ifNonNull(
             routeProgress.currentLegProgress,
             routeProgress.currentLegProgress?.currentStepProgress,
-            routeLineOptions.vanishingRouteLine?.primaryRoutePoints
-        ) { currentLegProgress, currentStepProgress, completeRoutePoints ->
-            var allRemainingPoints = 0
-            /**
-             * Finds the count of remaining points in the current step.
-             *
-             * TurfMisc.lineSliceAlong places an additional point at index 0 to mark the precise
-             * cut-off point which we can safely ignore.
-             * We'll add the distance from the upcoming point to the current's puck position later.
-             */
-            /**
-             * Finds the count of remaining points in the current step.
-             *
-             * TurfMisc.lineSliceAlong places an additional point at index 0 to mark the precise
-             * cut-off point which we can safely ignore.
-             * We'll add the distance from the upcoming point to the current's puck position later.
-             */
-            allRemainingPoints += try {
-                TurfMisc.lineSliceAlong(
-                    LineString.fromLngLats(currentStepProgress.stepPoints ?: emptyList()),
-                    currentStepProgress.distanceTraveled.toDouble(),
-                    currentStepProgress.step?.distance() ?: 0.0,
-                    TurfConstants.UNIT_METERS
-                ).coordinates().drop(1).size
-            } catch (e: TurfException) {
-                0
-            }
-
-            /**
-             * Add to the count of remaining points all of the remaining points on the current leg,
-             * after the current step.
-             */
-            /**
-             * Add to the count of remaining points all of the remaining points on the current leg,
-             * after the current step.
-             */
-            val currentLegSteps = completeRoutePoints.nestedList[currentLegProgress.legIndex]
-            allRemainingPoints += if (currentStepProgress.stepIndex < currentLegSteps.size) {
-                currentLegSteps.slice(
-                    currentStepProgress.stepIndex + 1 until currentLegSteps.size - 1
-                ).flatten().size
-            } else {
-                0
-            }
-
-            /**
-             * Add to the count of remaining points all of the remaining legs.
-             */
-
+            routeLineOptions.vanishingRouteLine?.primaryRoutePointsIndex
+        ) { currentLegProgress, currentStepProgress, routePointsIndex ->
             /**
-             * Add to the count of remaining points all of the remaining legs.
+             * The remaining points of the current step, the points of the following steps
+             * and legs are precomputed when the route is set, so only the current step
+             * needs to be looked up.
              */
-            for (
-                i in currentLegProgress.legIndex + 1 until
-                    completeRoutePoints.nestedList.size
-            ) {
-                allRemainingPoints += completeRoutePoints.nestedList[i].flatten().size
-            }
-
-            /**
-             * When we know the number of remaining points and the number of all points,
-             * calculate the index of the upcoming point.
-             */
-            /**
-             * When we know the number of remaining points and the number of all points,
-             * calculate the index of the upcoming point.
-             */
-            val allPoints = completeRoutePoints.flatList.size
             routeLineOptions.vanishingRouteLine?.primaryRouteRemainingDistancesIndex =
-                allPoints - allRemainingPoints - 1
+                routePointsIndex.upcomingPointIndex(
+                    currentLegProgress.legIndex,
+                    currentStepProgress.stepIndex,
+                    currentStepProgress.distanceTraveled.toDouble(),
+                    currentStepProgress.step?.distance() ?: 0.0
+                )
         } ?: run { routeLineOptions.vanishingRouteLine?.primaryRouteRemainingDistancesIndex = null }
 
         lastIndexUpdateTimeNano = System.nanoTime()
@@ -608,71 +666,165 @@ class MapboxRouteLineApi(
         return buildDrawRoutesState(featureDataProvider)
     }
 
+    /**
+     * The traffic segments of the primary route only depend on the route and the resources,
+     * so they are kept as long as neither of them changes, for example when the route line
+     * is redrawn.
+     */
+    private fun getCachedPrimaryRouteTrafficGradient(
+        route: DirectionsRoute?,
+        resources: RouteLineResources
+    ): TrafficLineGradient? {
+        return if (route === primaryRouteTrafficGradientRoute &&
+            resources === primaryRouteTrafficGradientResources
+        ) {
+            primaryRouteTrafficGradient
+        } else {
+            null
+        }
+    }
+
+    private fun clearPrimaryRouteTrafficGradient() {
+        primaryRouteTrafficGradient = TrafficLineGradient.create(listOf())
+        primaryRouteTrafficGradientRoute = null
+        primaryRouteTrafficGradientResources = null
+    }
+
     private fun buildDrawRoutesState(
         featureDataProvider: () -> List<RouteFeatureData>
     ): RouteLineState.RouteSetState {
+        val featureData = featureDataProvider()
+        val primaryRoute = featureData.firstOrNull()?.route
+        val alternativeRoutes = featureData.map(RouteFeatureData::route)
+            .filter { it != primaryRoute }
+        val resources = routeLineOptions.resourceProvider
+        val routeSetData = RouteSetData(
+            featureData,
+            resources,
+            getCachedPrimaryRouteTrafficGradient(primaryRoute, resources)
+                ?: calculatePrimaryRouteTrafficGradient(primaryRoute, resources),
+            calculateAlternativeRouteSegments(alternativeRoutes.getOrNull(0), resources),
+            calculateAlternativeRouteSegments(alternativeRoutes.getOrNull(1), resources),
+            calculateWayPointsFeatureCollection(primaryRoute),
+            primaryRoute?.takeIf { routeLineOptions.vanishingRouteLine != null }?.let {
+                VanishingRouteLine.calculateRouteData(it)
+            }
+        )
+        return applyRouteSetData(routeSetData)
+    }
+
+    private suspend fun calculateRouteSetDataInParallel(
+        newRoutes: List<RouteLine>,
+        resources: RouteLineResources,
+        cachedPrimaryRouteTrafficGradient: TrafficLineGradient?,
+        calculateVanishingRouteLineData: Boolean
+    ): RouteSetData = coroutineScope {
+        val primaryRoute = newRoutes.firstOrNull()?.route
+        val alternativeRoutes = newRoutes.map(RouteLine::route).filter { it != primaryRoute }
+        val featureData = newRoutes.map {
+            async { MapboxRouteLineUtils.generateFeatureCollection(it) }
+        }
+        val primaryRouteTrafficGradient = async {
+            cachedPrimaryRouteTrafficGradient
+                ?: calculatePrimaryRouteTrafficGradient(primaryRoute, resources)
+        }
+        val alternativeRoute1Segments = async {
+            calculateAlternativeRouteSegments(alternativeRoutes.getOrNull(0), resources)
+        }
+        val alternativeRoute2Segments = async {
+            calculateAlternativeRouteSegments(alternativeRoutes.getOrNull(1), resources)
+        }
+        val wayPointsFeatureCollection = async {
+            calculateWayPointsFeatureCollection(primaryRoute)
+        }
+        val vanishingRouteLineData = async {
+            primaryRoute?.takeIf { calculateVanishingRouteLineData }?.let {
+                VanishingRouteLine.calculateRouteData(it)
+            }
+        }
+        RouteSetData(
+            featureData.awaitAll(),
+            resources,
+            primaryRouteTrafficGradient.await(),
+            alternativeRoute1Segments.await(),
+            alternativeRoute2Segments.await(),
+            wayPointsFeatureCollection.await(),
+            vanishingRouteLineData.await()
+        )
+    }
+
+    private fun calculatePrimaryRouteTrafficGradient(
+        route: DirectionsRoute?,
+        resources: RouteLineResources
+    ): TrafficLineGradient {
+        val segments: List<RouteLineExpressionData> = route?.run {
+            MapboxRouteLineUtils.calculateRouteLineSegments(
+                this,
+                resources.trafficBackfillRoadClasses,
+                true,
+                resources.routeLineColorResources
+            )
+        } ?: listOf()
+        return TrafficLineGradient.create(segments)
+    }
+
+    private fun calculateAlternativeRouteSegments(
+        route: DirectionsRoute?,
+        resources: RouteLineResources
+    ): List<RouteLineExpressionData> {
+        return route?.run {
+            MapboxRouteLineUtils.calculateRouteLineSegments(
+                this,
+                resources.trafficBackfillRoadClasses,
+                false,
+                resources.routeLineColorResources
+            )
+        } ?: listOf()
+    }
+
+    private fun calculateWayPointsFeatureCollection(route: DirectionsRoute?): FeatureCollection {
+        return route?.run {
+            MapboxRouteLineUtils.buildWayPointFeatureCollection(this)
+        } ?: FeatureCollection.fromFeatures(listOf())
+    }
+
+    private fun applyRouteSetData(routeSetData: RouteSetData): RouteLineState.RouteSetState {
         routeFeatureData.clear()
-        routeFeatureData.addAll(featureDataProvider())
-        val partitionedRoutes = routeFeatureData.partition { it.route == directionsRoutes.first() }
-        val segments: List<RouteLineExpressionData> =
-            partitionedRoutes.first.firstOrNull()?.route?.run {
-                MapboxRouteLineUtils.calculateRouteLineSegments(
-                    this,
-                    routeLineOptions.resourceProvider.trafficBackfillRoadClasses,
-                    true,
-                    routeLineOptions.resourceProvider.routeLineColorResources
-                )
-            } ?: listOf()
-        routeLineExpressionData.clear()
-        routeLineExpressionData.addAll(segments)
-        val trafficLineExpression = MapboxRouteLineUtils.getTrafficLineExpression(
+        routeFeatureData.addAll(routeSetData.routeFeatureData)
+        val partitionedRoutes = routeFeatureData.partition {
+            it.route == routeFeatureData.first().route
+        }
+        val primaryRouteFeatureData = partitionedRoutes.first.firstOrNull()
+        primaryRouteTrafficGradient = routeSetData.primaryRouteTrafficGradient
+        primaryRouteTrafficGradientRoute = primaryRouteFeatureData?.route
+        primaryRouteTrafficGradientResources = routeSetData.resources
+        routeSetData.vanishingRouteLineData?.let {
+            routeLineOptions.vanishingRouteLine?.initWithRouteData(it)
+        }
+        val colorResources = routeSetData.resources.routeLineColorResources
+        val trafficLineExpression = primaryRouteTrafficGradient.getExpression(
             routeLineOptions.vanishingRouteLine?.vanishPointOffset ?: 0.0,
-            segments,
-            routeLineOptions.resourceProvider.routeLineColorResources.routeUnknownTrafficColor
+            colorResources.routeUnknownTrafficColor
         )
         val routeLineExpression = MapboxRouteLineUtils.getVanishingRouteLineExpression(
             routeLineOptions.vanishingRouteLine?.vanishPointOffset ?: 0.0,
-            routeLineOptions.resourceProvider.routeLineColorResources.routeLineTraveledColor,
-            routeLineOptions.resourceProvider.routeLineColorResources.routeDefaultColor
+            colorResources.routeLineTraveledColor,
+            colorResources.routeDefaultColor
         )
         val routeLineCasingExpression = MapboxRouteLineUtils.getVanishingRouteLineExpression(
             routeLineOptions.vanishingRouteLine?.vanishPointOffset ?: 0.0,
-            routeLineOptions.resourceProvider.routeLineColorResources.routeLineTraveledColor,
-            routeLineOptions.resourceProvider.routeLineColorResources.routeCasingColor
+            colorResources.routeLineTraveledColor,
+            colorResources.routeCasingColor
         )
-        val alternativeRoute1TrafficSegments: List<RouteLineExpressionData> =
-            partitionedRoutes.second.firstOrNull()?.route?.run {
-                MapboxRouteLineUtils.calculateRouteLineSegments(
-                    this,
-                    routeLineOptions.resourceProvider.trafficBackfillRoadClasses,
-                    false,
-                    routeLineOptions.resourceProvider.routeLineColorResources
-                )
-            } ?: listOf()
         val alternativeRoute1TrafficExpression = MapboxRouteLineUtils.getTrafficLineExpression(
             routeLineOptions.vanishingRouteLine?.vanishPointOffset ?: 0.0,
-            alternativeRoute1TrafficSegments,
-            routeLineOptions
-                .resourceProvider.routeLineColorResources.alternativeRouteUnknownTrafficColor
+            routeSetData.alternativeRoute1TrafficSegments,
+            colorResources.alternativeRouteUnknownTrafficColor
         )
-        val alternativeRoute2TrafficSegments: List<RouteLineExpressionData> =
-            if (partitionedRoutes.second.size > 1) {
-                partitionedRoutes.second[1].route.run {
-                    MapboxRouteLineUtils.calculateRouteLineSegments(
-                        this,
-                        routeLineOptions.resourceProvider.trafficBackfillRoadClasses,
-                        false,
-                        routeLineOptions.resourceProvider.routeLineColorResources
-                    )
-                }
-            } else {
-                listOf()
-            }
         val alternativeRoute2TrafficExpression = MapboxRouteLineUtils.getTrafficLineExpression(
             routeLineOptions.vanishingRouteLine?.vanishPointOffset ?: 0.0,
-            alternativeRoute2TrafficSegments,
-            routeLineOptions
-                .resourceProvider.routeLineColorResources.alternativeRouteUnknownTrafficColor
+            routeSetData.alternativeRoute2TrafficSegments,
+            colorResources.alternativeRouteUnknownTrafficColor
         )
         val alternativeRoute1FeatureCollection: FeatureCollection =
             partitionedRoutes.second.firstOrNull()?.featureCollection
@@ -683,14 +835,7 @@ class MapboxRouteLineApi(
             } else {
                 FeatureCollection.fromFeatures(listOf())
             }
-        val wayPointsFeatureCollection: FeatureCollection =
-            partitionedRoutes.first.firstOrNull()?.route?.run {
-                MapboxRouteLineUtils.buildWayPointFeatureCollection(this)
-            } ?: FeatureCollection.fromFeatures(listOf())
-        partitionedRoutes.first.firstOrNull()?.let {
-            routeLineOptions.vanishingRouteLine?.initWithRoute(it.route)
-        }
-        val primaryRouteSource = partitionedRoutes.first.firstOrNull()?.featureCollection
+        val primaryRouteSource = primaryRouteFeatureData?.featureCollection
             ?: FeatureCollection.fromFeatures(
                 listOf()
             )
@@ -704,7 +849,21 @@ class MapboxRouteLineApi(
             alternativeRoute2TrafficExpression,
             alternativeRoute1FeatureCollection,
             alternativeRoute2FeatureCollection,
-            wayPointsFeatureCollection
+            routeSetData.wayPointsFeatureCollection
         )
     }
+
+    /**
+     * The parts of a [RouteLineState.RouteSetState] that only depend on the routes
+     * and the resources, so they can be calculated away from the main thread.
+     */
+    private class RouteSetData(
+        val routeFeatureData: List<RouteFeatureData>,
+        val resources: RouteLineResources,
+        val primaryRouteTrafficGradient: TrafficLineGradient,
+        val alternativeRoute1TrafficSegments: List<RouteLineExpressionData>,
+        val alternativeRoute2TrafficSegments: List<RouteLineExpressionData>,
+        val wayPointsFeatureCollection: FeatureCollection,
+        val vanishingRouteLineData: VanishingRouteLine.RouteData?
+    )
 }
@@ -8,7 +8,8 @@ import com.mapbox.geojson.utils.PolylineUtils
 import com.mapbox.navigation.base.trip.model.RouteProgressState
 import com.mapbox.navigation.ui.base.internal.model.route.RouteConstants
 import com.mapbox.navigation.ui.maps.internal.route.line.MapboxRouteLineUtils
-import com.mapbox.navigation.ui.maps.route.line.model.RouteLineExpressionData
+import com.mapbox.navigation.ui.maps.internal.route.line.RoutePointsIndex
+import com.mapbox.navigation.ui.maps.internal.route.line.TrafficLineGradient
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLineGranularDistances
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLineResources
 import com.mapbox.navigation.ui.maps.route.line.model.RoutePoints
@@ -35,6 +36,12 @@ internal class VanishingRouteLine {
         private set
     internal var primaryRouteLineGranularDistances: RouteLineGranularDistances? = null
 
+    /**
+     * lookup tables for finding the upcoming point of the primary route
+     */
+    internal var primaryRoutePointsIndex: RoutePointsIndex? = null
+        private set
+
     /**
      * the distance index used for calculating the point at which the primary route line
      * should change its appearance
@@ -57,41 +64,32 @@ internal class VanishingRouteLine {
      * Initializes this class with the active primary route.
      */
     fun initWithRoute(route: DirectionsRoute) {
-        primaryRoutePoints = parseRoutePoints(route)
-        primaryRouteLineGranularDistances = MapboxRouteLineUtils.calculateRouteGranularDistances(
-            primaryRoutePoints?.flatList
-                ?: emptyList()
-        )
+        initWithRouteData(calculateRouteData(route))
     }
 
     /**
-     * Decodes the route geometry into nested arrays of legs -> steps -> points.
-     *
-     * The first and last point of adjacent steps overlap and are duplicated.
+     * Initializes this class with the data of the active primary route calculated
+     * with [calculateRouteData].
      */
-    private fun parseRoutePoints(
-        route: DirectionsRoute,
-    ): RoutePoints? {
-        val precision =
-            if (route.routeOptions()?.geometries() == DirectionsCriteria.GEOMETRY_POLYLINE) {
-                Constants.PRECISION_5
-            } else {
-                Constants.PRECISION_6
-            }
-
-        val nestedList = route.legs()?.map { routeLeg ->
-            routeLeg.steps()?.map { legStep ->
-                legStep.geometry()?.let { geometry ->
-                    PolylineUtils.decode(geometry, precision).toList()
-                } ?: return null
-            } ?: return null
-        } ?: return null
-
-        val flatList = nestedList.flatten().flatten()
-
-        return RoutePoints(nestedList, flatList)
+    fun initWithRouteData(routeData: RouteData) {
+        primaryRoutePoints = routeData.routePoints
+        primaryRoutePointsIndex = routeData.routePointsIndex
+        primaryRouteLineGranularDistances = routeData.granularDistances
     }
 
+    /**
+     * Route data the vanishing point calculation is based on.
+     *
+     * @param routePoints the route points
+     * @param routePointsIndex lookup tables for the route points
+     * @param granularDistances the distances between the route points
+     */
+    internal class RouteData(
+        val routePoints: RoutePoints?,
+        val routePointsIndex: RoutePointsIndex?,
+        val granularDistances: RouteLineGranularDistances?
+    )
+
     /**
      * Updates this instance with a route progress state from a route progress.
      *
@@ -107,7 +105,7 @@ internal class VanishingRouteLine {
 
     internal fun getTraveledRouteLineExpressions(
         point: Point,
-        routeLineExpressionData: List<RouteLineExpressionData>,
+        trafficLineGradient: TrafficLineGradient,
         routeResourceProvider: RouteLineResources,
     ): VanishingRouteLineExpressions? {
         ifNonNull(
@@ -171,9 +169,8 @@ internal class VanishingRouteLine {
                 return null
             }
             vanishPointOffset = offset
-            val trafficLineExpression = MapboxRouteLineUtils.getTrafficLineExpression(
+            val trafficLineExpression = trafficLineGradient.getExpression(
                 offset,
-                routeLineExpressionData,
                 routeResourceProvider.routeLineColorResources.routeUnknownTrafficColor
             )
             val routeLineExpression = MapboxRouteLineUtils.getVanishingRouteLineExpression(
@@ -200,6 +197,53 @@ internal class VanishingRouteLine {
      */
     fun clear() {
         primaryRoutePoints = null
+        primaryRoutePointsIndex = null
         primaryRouteLineGranularDistances = null
     }
+
+    internal companion object {
+
+        /**
+         * Calculates the data needed for the vanishing point calculation. Doesn't change
+         * the state of any instance, so it can be invoked from any thread.
+         */
+        fun calculateRouteData(route: DirectionsRoute): RouteData {
+            val routePoints = parseRoutePoints(route)
+            return RouteData(
+                routePoints,
+                routePoints?.nestedList?.let { RoutePointsIndex.build(it) },
+                MapboxRouteLineUtils.calculateRouteGranularDistances(
+                    routePoints?.flatList ?: emptyList()
+                )
+            )
+        }
+
+        /**
+         * Decodes the route geometry into nested arrays of legs -> steps -> points.
+         *
+         * The first and last point of adjacent steps overlap and are duplicated.
+         */
+        private fun parseRoutePoints(
+            route: DirectionsRoute,
+        ): RoutePoints? {
+            val precision =
+                if (route.routeOptions()?.geometries() == DirectionsCriteria.GEOMETRY_POLYLINE) {
+                    Constants.PRECISION_5
+                } else {
+                    Constants.PRECISION_6
+                }
+
+            val nestedList = route.legs()?.map { routeLeg ->
+                routeLeg.steps()?.map { legStep ->
+                    legStep.geometry()?.let { geometry ->
+                        PolylineUtils.decode(geometry, precision).toList()
+                    } ?: return null
+                } ?: return null
+            } ?: return null
+
+            val flatList = nestedList.flatten().flatten()
+
+            return RoutePoints(nestedList, flatList)
+        }
+    }
 }
@@ -349,6 +349,40 @@ class NavigationCameraTest {
         )
     }
 
+    @Test
+    fun `when following and same viewport data is updated while framing, frame kept`() {
+        navigationCamera.requestNavigationCameraToFollowing()
+
+        internalTransitionListenerSlot.captured.onAnimationStart(followingAnimatorSet)
+        internalTransitionListenerSlot.captured.onAnimationEnd(followingAnimatorSet)
+
+        val frameTransition = mockFrameTransitionForFollowing()
+        internalDataSourceObserverSlot.captured.viewportDataSourceUpdated(viewportData)
+        internalDataSourceObserverSlot.captured.viewportDataSourceUpdated(viewportData)
+
+        verify(exactly = 1) {
+            stateTransition.updateFrameForFollowing(frameTransition.frameCamera)
+        }
+        verify(exactly = 0) { frameTransition.frameAnimatorSet.cancel() }
+    }
+
+    @Test
+    fun `when following and same viewport data is updated after framing, frame changes`() {
+        navigationCamera.requestNavigationCameraToFollowing()
+
+        internalTransitionListenerSlot.captured.onAnimationStart(followingAnimatorSet)
+        internalTransitionListenerSlot.captured.onAnimationEnd(followingAnimatorSet)
+
+        val frameTransition = mockFrameTransitionForFollowing()
+        internalDataSourceObserverSlot.captured.viewportDataSourceUpdated(viewportData)
+        internalFrameListenerSlot.captured.onAnimationEnd(frameTransition.frameAnimatorSet)
+        internalDataSourceObserverSlot.captured.viewportDataSourceUpdated(viewportData)
+
+        verify(exactly = 2) {
+            stateTransition.updateFrameForFollowing(frameTransition.frameCamera)
+        }
+    }
+
     @Test
     fun `when following frame ends, unregister animators`() {
         navigationCamera.requestNavigationCameraToFollowing()
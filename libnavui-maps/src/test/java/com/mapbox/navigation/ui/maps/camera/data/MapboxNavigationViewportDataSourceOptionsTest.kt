@@ -12,6 +12,7 @@ class MapboxNavigationViewportDataSourceOptionsTest :
         .maxFollowingPitch(12.3)
         .minFollowingZoom(14.213)
         .maxZoom(45.6)
+        .evaluateOncePerFrame(true)
 
     @Test
     override fun trigger() {
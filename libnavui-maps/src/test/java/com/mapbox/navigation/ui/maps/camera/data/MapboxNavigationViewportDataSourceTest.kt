@@ -0,0 +1,98 @@
+package com.mapbox.navigation.ui.maps.camera.data
+
+import android.location.Location
+import com.mapbox.geojson.Point
+import com.mapbox.maps.CameraOptions
+import com.mapbox.maps.MapboxMap
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
+
+@RunWith(RobolectricTestRunner::class)
+class MapboxNavigationViewportDataSourceTest {
+
+    private val mapboxMap: MapboxMap = mockk()
+    private var mapBearing = 0.0
+    private val location = Location("test").apply {
+        latitude = 37.0
+        longitude = -122.0
+        bearing = 90f
+    }
+
+    @Before
+    fun setUp() {
+        every { mapboxMap.getCameraOptions(any()) } answers {
+            CameraOptions.Builder().bearing(mapBearing).build()
+        }
+        every { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) } returns
+            CameraOptions.Builder()
+                .center(Point.fromLngLat(-122.0, 37.0))
+                .zoom(15.0)
+                .build()
+    }
+
+    @Test
+    fun evaluateWithoutNewDataDoesNotRecompute() {
+        val dataSource = createDataSource()
+        dataSource.onLocationChanged(location)
+
+        dataSource.evaluate()
+        dataSource.evaluate()
+        dataSource.evaluate()
+
+        // once for following and once for overview
+        verify(exactly = 2) { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun evaluateWithNewDataRecomputes() {
+        val dataSource = createDataSource()
+        dataSource.onLocationChanged(location)
+        dataSource.evaluate()
+
+        dataSource.onLocationChanged(location)
+        dataSource.evaluate()
+
+        verify(exactly = 4) { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun evaluateAfterMapBearingChangedRecomputes() {
+        val dataSource = createDataSource()
+        dataSource.onLocationChanged(location)
+        dataSource.evaluate()
+
+        mapBearing = 45.0
+        dataSource.evaluate()
+
+        verify(exactly = 4) { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) }
+    }
+
+    @Test
+    fun evaluationsRequestedInOneFrameAreEvaluatedOnce() {
+        val dataSource = createDataSource(evaluateOncePerFrame = true)
+        dataSource.onLocationChanged(location)
+
+        repeat(5) {
+            dataSource.evaluate()
+            dataSource.onLocationChanged(location)
+        }
+        verify(exactly = 0) { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) }
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks()
+
+        verify(exactly = 2) { mapboxMap.cameraForCoordinates(any(), any(), any(), any()) }
+    }
+
+    private fun createDataSource(evaluateOncePerFrame: Boolean = false) =
+        MapboxNavigationViewportDataSource(
+            MapboxNavigationViewportDataSourceOptions.Builder()
+                .evaluateOncePerFrame(evaluateOncePerFrame)
+                .build(),
+            mapboxMap
+        )
+}
@@ -0,0 +1,53 @@
+package com.mapbox.navigation.ui.maps.camera.utils
+
+import com.mapbox.geojson.Point
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class MapboxNavigationCameraUtilsTest {
+
+    @Test
+    fun `convexHull keeps only outer points`() {
+        val corners = listOf(
+            Point.fromLngLat(0.0, 0.0),
+            Point.fromLngLat(1.0, 0.0),
+            Point.fromLngLat(1.0, 1.0),
+            Point.fromLngLat(0.0, 1.0)
+        )
+        val inner = List(100) { Point.fromLngLat(0.005 * it + 0.2, 0.003 * it + 0.3) }
+
+        val hull = convexHull(inner + corners + Point.fromLngLat(0.5, 0.0))
+
+        assertEquals(4, hull.size)
+        assertTrue(hull.containsAll(corners))
+    }
+
+    @Test
+    fun `convexHull returns small inputs`() {
+        val points = listOf(Point.fromLngLat(0.0, 0.0), Point.fromLngLat(1.0, 1.0))
+
+        assertEquals(points, convexHull(points))
+    }
+
+    @Test
+    fun `simplifyForFraming drops points close to the line`() {
+        val line = List(1000) {
+            Point.fromLngLat(0.001 * it, if (it % 2 == 0) 0.0 else 0.00001)
+        }
+
+        val simplified = simplifyForFraming(line, 0.001)
+
+        assertEquals(listOf(line.first(), line.last()), simplified)
+    }
+
+    @Test
+    fun `simplifyForFraming keeps corners`() {
+        val line = List(100) { Point.fromLngLat(0.001 * it, 0.0) } +
+            List(100) { Point.fromLngLat(0.099, 0.001 * (it + 1)) }
+
+        val simplified = simplifyForFraming(line, 0.001)
+
+        assertEquals(listOf(line.first(), line[99], line.last()), simplified)
+    }
+}
@@ -0,0 +1,137 @@
+package com.mapbox.navigation.ui.maps.internal.route.line
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.LineString
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import com.mapbox.navigation.testing.FileUtils.loadJsonFixture
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfException
+import com.mapbox.turf.TurfMeasurement
+import com.mapbox.turf.TurfMisc
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class RoutePointsIndexTest {
+
+    @Test
+    fun pointsCount() {
+        val nestedList = getNestedList("multileg_route.json")
+
+        val index = RoutePointsIndex.build(nestedList)
+
+        assertEquals(nestedList.flatten().flatten().size, index.pointsCount)
+    }
+
+    @Test
+    fun upcomingPointIndexMatchesSlicedRoute() {
+        listOf("multileg_route.json", "short_route.json").forEach { fixture ->
+            val route = DirectionsRoute.fromJson(loadJsonFixture(fixture))
+            val nestedList = getNestedList(route)
+            val index = RoutePointsIndex.build(nestedList)
+
+            route.legs()!!.forEachIndexed { legIndex, leg ->
+                leg.steps()!!.forEachIndexed { stepIndex, step ->
+                    val stepDistance = step.distance()
+                    listOf(
+                        0.0,
+                        stepDistance * 0.25,
+                        stepDistance * 0.5,
+                        stepDistance * 0.99,
+                        stepDistance,
+                        stepDistance + 10.0
+                    ).forEach { distanceTraveled ->
+                        assertEquals(
+                            "$fixture leg $legIndex step $stepIndex at $distanceTraveled",
+                            expectedUpcomingPointIndex(
+                                nestedList,
+                                legIndex,
+                                stepIndex,
+                                distanceTraveled,
+                                stepDistance
+                            ),
+                            index.upcomingPointIndex(
+                                legIndex,
+                                stepIndex,
+                                distanceTraveled,
+                                stepDistance
+                            )
+                        )
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    fun upcomingPointIndexWhenLegDoesNotExist() {
+        val index = RoutePointsIndex.build(getNestedList("short_route.json"))
+
+        assertNull(index.upcomingPointIndex(1, 0, 0.0, 10.0))
+        assertNull(index.upcomingPointIndex(-1, 0, 0.0, 10.0))
+    }
+
+    @Test
+    fun sliceAlongSizeMatchesTurf() {
+        val points = getNestedList("multileg_route.json").flatten().first { it.size > 5 }
+        val cumulative = DoubleArray(points.size)
+        for (i in 1 until points.size) {
+            cumulative[i] = cumulative[i - 1] + TurfMeasurement.distance(
+                points[i - 1],
+                points[i],
+                TurfConstants.UNIT_METERS
+            )
+        }
+        val length = cumulative.last()
+        val distances = listOf(0.0, length * 0.3, cumulative[2], length, length + 1.0) +
+            cumulative.toList()
+
+        distances.forEach { start ->
+            distances.forEach { stop ->
+                assertEquals(
+                    "start $start stop $stop",
+                    turfSliceSize(points, start, stop),
+                    RoutePointsIndex.sliceAlongSize(cumulative, start, stop)
+                )
+            }
+        }
+    }
+
+    private fun expectedUpcomingPointIndex(
+        nestedList: List<List<List<Point>>>,
+        legIndex: Int,
+        stepIndex: Int,
+        distanceTraveled: Double,
+        stepDistance: Double
+    ): Int {
+        val legSteps = nestedList[legIndex]
+        var remaining = (
+            turfSliceSize(legSteps[stepIndex], distanceTraveled, stepDistance) - 1
+            ).coerceAtLeast(0)
+        remaining += legSteps.slice(stepIndex + 1 until legSteps.size - 1).flatten().size
+        for (i in legIndex + 1 until nestedList.size) {
+            remaining += nestedList[i].flatten().size
+        }
+        return nestedList.flatten().flatten().size - remaining - 1
+    }
+
+    private fun turfSliceSize(points: List<Point>, start: Double, stop: Double): Int = try {
+        TurfMisc.lineSliceAlong(
+            LineString.fromLngLats(points),
+            start,
+            stop,
+            TurfConstants.UNIT_METERS
+        ).coordinates().size
+    } catch (e: TurfException) {
+        0
+    }
+
+    private fun getNestedList(fixture: String): List<List<List<Point>>> =
+        getNestedList(DirectionsRoute.fromJson(loadJsonFixture(fixture)))
+
+    private fun getNestedList(route: DirectionsRoute): List<List<List<Point>>> =
+        route.legs()!!.map { leg ->
+            leg.steps()!!.map { step -> PolylineUtils.decode(step.geometry()!!, 6) }
+        }
+}
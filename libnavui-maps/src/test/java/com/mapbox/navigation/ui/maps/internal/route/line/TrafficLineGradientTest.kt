@@ -0,0 +1,92 @@
+package com.mapbox.navigation.ui.maps.internal.route.line
+
+import com.mapbox.navigation.ui.maps.common.ShadowValueConverter
+import com.mapbox.navigation.ui.maps.route.line.model.RouteLineExpressionData
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@Config(shadows = [ShadowValueConverter::class])
+@RunWith(RobolectricTestRunner::class)
+class TrafficLineGradientTest {
+
+    private val expressionData = listOf(
+        RouteLineExpressionData(0.0, -11097861),
+        RouteLineExpressionData(0.015670907645820537, -11097861),
+        RouteLineExpressionData(0.11898525632162987, -45747),
+        RouteLineExpressionData(0.5, -11097861)
+    )
+
+    @Test
+    fun getExpressionMatchesTrafficLineExpression() {
+        val gradient = TrafficLineGradient.create(expressionData)
+
+        listOf(0.0, 0.015670907645820537, 0.1, 0.3, 0.5, 0.9).forEach { offset ->
+            val expected = MapboxRouteLineUtils.getTrafficLineExpression(
+                offset,
+                expressionData,
+                -1
+            )
+
+            assertEquals(expected.toString(), gradient.getExpression(offset, -1).toString())
+        }
+    }
+
+    @Test
+    fun getExpressionWithoutSegmentsUsesFallbackColor() {
+        val gradient = TrafficLineGradient.create(listOf())
+
+        assertEquals(
+            MapboxRouteLineUtils.getTrafficLineExpression(0.2, listOf(), -1).toString(),
+            gradient.getExpression(0.2, -1).toString()
+        )
+    }
+
+    @Test
+    fun getExpressionForSameOffsetIsReused() {
+        val gradient = TrafficLineGradient.create(expressionData)
+
+        val expression = gradient.getExpression(0.3, -1)
+
+        assertSame(expression, gradient.getExpression(0.3, -1))
+    }
+
+    @Test
+    fun segmentsOfSameColorAreMergedWhenStopsExceedMaximum() {
+        val gradient = TrafficLineGradient.create(expressionData, maxStops = 3)
+
+        assertEquals(3, gradient.stopsCount)
+    }
+
+    @Test
+    fun shortSegmentsAreMergedWhenStopsExceedMaximum() {
+        val segments = (0 until 1000).map {
+            RouteLineExpressionData(it / 1000.0, if (it % 2 == 0) -1 else -2)
+        }
+
+        val gradient = TrafficLineGradient.create(segments, maxStops = 100)
+
+        assertTrue(gradient.stopsCount <= 100)
+    }
+
+    @Test
+    fun stopsNeverExceedMaximum() {
+        // evenly spaced stops including both ends of the line
+        val segments = (0..1000).map {
+            RouteLineExpressionData(it / 1000.0, if (it % 2 == 0) -1 else -2)
+        }
+
+        listOf(1, 2, 3, 10, 99, 100, 500, 1000).forEach { maxStops ->
+            val gradient = TrafficLineGradient.create(segments, maxStops)
+
+            assertTrue(
+                "$maxStops stops expected at most, got ${gradient.stopsCount}",
+                gradient.stopsCount in 1..maxStops
+            )
+        }
+    }
+}
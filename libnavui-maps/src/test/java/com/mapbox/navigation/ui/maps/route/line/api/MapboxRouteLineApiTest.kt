@@ -18,6 +18,7 @@ import com.mapbox.maps.extension.style.layers.properties.generated.Visibility
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.base.trip.model.RouteProgressState
 import com.mapbox.navigation.testing.FileUtils.loadJsonFixture
+import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.ALTERNATIVE_ROUTE1_CASING_LAYER_ID
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.ALTERNATIVE_ROUTE1_LAYER_ID
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.ALTERNATIVE_ROUTE1_TRAFFIC_LAYER_ID
@@ -27,29 +28,42 @@ import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.ALTERNATIVE
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.PRIMARY_ROUTE_CASING_LAYER_ID
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.PRIMARY_ROUTE_LAYER_ID
 import com.mapbox.navigation.ui.base.model.route.RouteLayerConstants.PRIMARY_ROUTE_TRAFFIC_LAYER_ID
+import com.mapbox.navigation.ui.base.util.MapboxNavigationConsumer
 import com.mapbox.navigation.ui.maps.route.line.model.MapboxRouteLineOptions
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLine
 import com.mapbox.navigation.ui.maps.route.line.model.RouteLineState
 import com.mapbox.navigation.ui.maps.route.line.model.VanishingPointState
+import com.mapbox.navigation.utils.internal.ThreadController
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.mockkObject
 import io.mockk.mockkStatic
 import io.mockk.slot
+import io.mockk.unmockkObject
 import io.mockk.unmockkStatic
+import io.mockk.verify
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.test.runBlockingTest
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
 import org.junit.Assert.assertTrue
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import java.util.UUID
 
+@ExperimentalCoroutinesApi
 @RunWith(RobolectricTestRunner::class)
 class MapboxRouteLineApiTest {
 
+    @get:Rule
+    var coroutineRule = MainCoroutineRule()
+
     lateinit var ctx: Context
 
     @Before
@@ -202,6 +216,62 @@ class MapboxRouteLineApiTest {
         assertEquals(0.0, options.vanishingRouteLine!!.vanishPointOffset, 0.0)
     }
 
+    @Test
+    fun setRoutesWithConsumer() {
+        mockkObject(ThreadController)
+        every { ThreadController.DefaultDispatcher } returns coroutineRule.testDispatcher
+        val options = MapboxRouteLineOptions.Builder(ctx)
+            .withVanishingRouteLineEnabled(true)
+            .build()
+        val routes = listOf(RouteLine(getRoute(), null))
+        val expected = MapboxRouteLineApi(options).setRoutes(routes)
+        val api = MapboxRouteLineApi(options)
+        val stateSlot = slot<RouteLineState.RouteSetState>()
+        val consumer = mockk<MapboxNavigationConsumer<RouteLineState.RouteSetState>>(
+            relaxed = true
+        )
+
+        api.setRoutes(routes, consumer)
+
+        verify { consumer.accept(capture(stateSlot)) }
+        val result = stateSlot.captured
+        assertEquals(
+            expected.getTrafficLineExpression().toString(),
+            result.getTrafficLineExpression().toString()
+        )
+        assertEquals(
+            expected.getPrimaryRouteSource().toJson(),
+            result.getPrimaryRouteSource().toJson()
+        )
+        assertEquals(
+            expected.getOriginAndDestinationPointsSource().toJson(),
+            result.getOriginAndDestinationPointsSource().toJson()
+        )
+        assertEquals(routes[0].route, api.getPrimaryRoute())
+        assertNotNull(options.vanishingRouteLine!!.primaryRoutePointsIndex)
+        unmockkObject(ThreadController)
+    }
+
+    @Test
+    fun setRoutesWithConsumerCancelled() {
+        mockkObject(ThreadController)
+        every { ThreadController.DefaultDispatcher } returns coroutineRule.testDispatcher
+        val options = MapboxRouteLineOptions.Builder(ctx).build()
+        val api = MapboxRouteLineApi(options)
+        val consumer = mockk<MapboxNavigationConsumer<RouteLineState.RouteSetState>>(
+            relaxed = true
+        )
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        api.setRoutes(listOf(RouteLine(getRoute(), null)), consumer)
+        api.cancel()
+        coroutineRule.testDispatcher.resumeDispatcher()
+
+        verify(exactly = 0) { consumer.accept(any()) }
+        assertTrue(api.getRoutes().isEmpty())
+        unmockkObject(ThreadController)
+    }
+
     @Test
     fun setRoutes() {
         val options = MapboxRouteLineOptions.Builder(ctx).build()
@@ -247,6 +317,49 @@ class MapboxRouteLineApiTest {
         )
     }
 
+    @Test
+    fun updateTraffic() {
+        val options = MapboxRouteLineOptions.Builder(ctx).build()
+        val api = MapboxRouteLineApi(options)
+        val route = getRoute()
+        val initialState = api.setRoutes(listOf(RouteLine(route, null)))
+        val refreshedRoute = route.toBuilder().legs(
+            route.legs()!!.map { leg ->
+                leg.toBuilder().annotation(
+                    leg.annotation()!!.toBuilder()
+                        .congestion(leg.annotation()!!.congestion()!!.map { "unknown" })
+                        .build()
+                ).build()
+            }
+        ).build()
+
+        val result = api.updateTraffic(refreshedRoute, listOf(0))
+
+        assertNotEquals(
+            initialState.getTrafficLineExpression().toString(),
+            result!!.getTrafficLineExpression().toString()
+        )
+        assertEquals(
+            api.getRouteDrawData().getTrafficLineExpression().toString(),
+            result.getTrafficLineExpression().toString()
+        )
+        assertSame(refreshedRoute, api.getPrimaryRoute())
+        assertSame(refreshedRoute, api.getRoutes().first())
+    }
+
+    @Test
+    fun updateTrafficOfOtherRoute() {
+        val options = MapboxRouteLineOptions.Builder(ctx).build()
+        val api = MapboxRouteLineApi(options)
+        val route = getRoute()
+        api.setRoutes(listOf(RouteLine(route, null)))
+        val otherRoute = route.toBuilder().geometry("").build()
+
+        assertNull(api.updateTraffic(otherRoute, listOf(0)))
+        assertNull(api.updateTraffic(route, listOf()))
+        assertSame(route, api.getPrimaryRoute())
+    }
+
     @Test
     fun getTraveledRouteLineUpdate() {
         val options = MapboxRouteLineOptions.Builder(ctx)
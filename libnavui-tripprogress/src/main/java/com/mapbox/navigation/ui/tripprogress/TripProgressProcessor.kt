@@ -2,7 +2,7 @@ package com.mapbox.navigation.ui.tripprogress
 
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.base.trip.model.RouteProgressState
-import java.util.Calendar
+import java.util.concurrent.TimeUnit
 
 internal class TripProgressProcessor {
 
@@ -13,29 +13,22 @@ internal class TripProgressProcessor {
     private fun calculateTripProgress(
         action: TripProgressAction.CalculateTripProgress
     ): TripProgressResult.RouteProgressCalculation {
-        val eta = if (action.routeProgress.currentState == RouteProgressState.ROUTE_COMPLETE) {
-            Calendar.getInstance()
-        } else {
-            Calendar.getInstance().also {
-                it.add(Calendar.SECOND, action.routeProgress.durationRemaining.toInt())
-            }
-        }
-        val percentRouteTraveled = getPercentDistanceTraveled(action.routeProgress)
-
-        return when (action.routeProgress.currentState) {
+        val routeProgress = action.routeProgress
+        val now = System.currentTimeMillis()
+        return when (routeProgress.currentState) {
             RouteProgressState.ROUTE_COMPLETE -> TripProgressResult.RouteProgressCalculation(
-                Calendar.getInstance().timeInMillis,
+                now,
                 0.0,
                 0.0,
                 0.0,
                 100.0
             )
             else -> TripProgressResult.RouteProgressCalculation(
-                eta.timeInMillis,
-                action.routeProgress.distanceRemaining.toDouble(),
-                action.routeProgress.currentLegProgress?.durationRemaining ?: 0.0,
-                action.routeProgress.durationRemaining,
-                percentRouteTraveled.toDouble()
+                now + TimeUnit.SECONDS.toMillis(routeProgress.durationRemaining.toLong()),
+                routeProgress.distanceRemaining.toDouble(),
+                routeProgress.currentLegProgress?.durationRemaining ?: 0.0,
+                routeProgress.durationRemaining,
+                getPercentDistanceTraveled(routeProgress).toDouble()
             )
         }
     }
@@ -2,6 +2,8 @@ package com.mapbox.navigation.ui.tripprogress.view
 
 import android.content.Context
 import android.content.res.TypedArray
+import android.text.Spanned
+import android.text.TextUtils
 import android.util.AttributeSet
 import android.view.LayoutInflater
 import android.widget.FrameLayout
@@ -9,6 +11,7 @@ import android.widget.TextView
 import androidx.annotation.StyleRes
 import androidx.core.content.ContextCompat
 import com.mapbox.navigation.ui.base.model.Expected
+import com.mapbox.navigation.ui.base.model.tripprogress.TripProgressUpdateFormatter
 import com.mapbox.navigation.ui.tripprogress.R
 import com.mapbox.navigation.ui.tripprogress.databinding.MapboxTripProgressLayoutBinding
 import com.mapbox.navigation.ui.tripprogress.model.TripProgressUpdateError
@@ -16,6 +19,9 @@ import com.mapbox.navigation.ui.tripprogress.model.TripProgressUpdateValue
 
 /**
  * A view that can be added to activity layouts which displays trip progress.
+ *
+ * A value is only formatted again when it or its formatter changes, and the views are only
+ * updated when the formatted text or its spans change.
  */
 class MapboxTripProgressView @JvmOverloads constructor(
     context: Context,
@@ -30,6 +36,25 @@ class MapboxTripProgressView @JvmOverloads constructor(
             true
         )
 
+    private val distanceRemainingText =
+        FormattedText<Double>(binding.distanceRemainingText)
+    private val estimatedTimeToArrivalText =
+        FormattedText<Long>(binding.estimatedTimeToArriveText)
+    private val timeRemainingText = FormattedText<Double>(binding.timeRemainingText)
+
+    /**
+     * Number of updates passed to [render] that changed at least one of the displayed values.
+     */
+    var renderedUpdateCount: Long = 0
+        private set
+
+    /**
+     * Number of updates passed to [render] that were skipped
+     * because none of the displayed values changed.
+     */
+    var skippedUpdateCount: Long = 0
+        private set
+
     init {
         initAttributes(attrs)
     }
@@ -93,24 +118,87 @@ class MapboxTripProgressView @JvmOverloads constructor(
     fun render(result: Expected<TripProgressUpdateValue, TripProgressUpdateError>) {
         when (result) {
             is Expected.Success<TripProgressUpdateValue> -> {
-                binding.distanceRemainingText.setText(
-                    result.value.formatter.getDistanceRemaining(result.value.distanceRemaining),
-                    TextView.BufferType.SPANNABLE
-                )
+                if (renderUpdate(result.value)) {
+                    renderedUpdateCount++
+                } else {
+                    skippedUpdateCount++
+                }
+            }
+            is Expected.Failure<TripProgressUpdateError> -> { }
+        }
+    }
 
-                binding.estimatedTimeToArriveText.setText(
-                    result.value.formatter.getEstimatedTimeToArrival(
-                        result.value.estimatedTimeToArrival
-                    ),
-                    TextView.BufferType.SPANNABLE
-                )
+    private fun renderUpdate(value: TripProgressUpdateValue): Boolean {
+        val formatter = value.formatter
+        val distanceRemainingChanged = distanceRemainingText.render(
+            formatter,
+            value.distanceRemaining,
+            formatter::getDistanceRemaining
+        )
+        val estimatedTimeToArrivalChanged = estimatedTimeToArrivalText.render(
+            formatter,
+            value.estimatedTimeToArrival,
+            formatter::getEstimatedTimeToArrival
+        )
+        val timeRemainingChanged = timeRemainingText.render(
+            formatter,
+            value.currentLegTimeRemaining,
+            formatter::getTimeRemaining
+        )
+        return distanceRemainingChanged || estimatedTimeToArrivalChanged || timeRemainingChanged
+    }
 
-                binding.timeRemainingText.setText(
-                    result.value.formatter.getTimeRemaining(result.value.currentLegTimeRemaining),
-                    TextView.BufferType.SPANNABLE
-                )
+    /**
+     * Keeps the last value displayed by [textView] with the text it was formatted to.
+     */
+    private class FormattedText<T>(private val textView: TextView) {
+
+        private var formatter: TripProgressUpdateFormatter? = null
+        private var value: T? = null
+        private var text: Spanned? = null
+
+        /**
+         * @return *true* if the displayed text changed
+         */
+        fun render(
+            formatter: TripProgressUpdateFormatter,
+            value: T,
+            format: (T) -> Spanned
+        ): Boolean {
+            if (formatter == this.formatter && value == this.value) {
+                return false
+            }
+            this.formatter = formatter
+            this.value = value
+            val text = format(value)
+            if (hasSameTextAndSpans(text, this.text)) {
+                return false
+            }
+            this.text = text
+            textView.setText(text, TextView.BufferType.SPANNABLE)
+            return true
+        }
+
+        /**
+         * Spans are compared by type and position, like the ones set by the default formatters.
+         */
+        private fun hasSameTextAndSpans(text: Spanned, other: Spanned?): Boolean {
+            if (other == null || !TextUtils.equals(text, other)) {
+                return false
+            }
+            val spans = text.getSpans(0, text.length, Any::class.java)
+            val otherSpans = other.getSpans(0, other.length, Any::class.java)
+            if (spans.size != otherSpans.size) {
+                return false
+            }
+            return spans.indices.all { index ->
+                val span = spans[index]
+                val otherSpan = otherSpans[index]
+                span.javaClass == otherSpan.javaClass &&
+                    text.getSpanStart(span) == other.getSpanStart(otherSpan) &&
+                    text.getSpanEnd(span) == other.getSpanEnd(otherSpan) &&
+                    text.getSpanFlags(span) == other.getSpanFlags(otherSpan)
             }
-            is Expected.Failure<TripProgressUpdateError> -> { }
         }
     }
 }
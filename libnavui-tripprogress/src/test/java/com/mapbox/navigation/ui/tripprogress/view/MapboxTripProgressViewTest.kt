@@ -1,17 +1,23 @@
 package com.mapbox.navigation.ui.tripprogress.view
 
 import android.content.Context
+import android.graphics.Typeface
 import android.graphics.drawable.ColorDrawable
+import android.text.Spannable
 import android.text.SpannableString
+import android.text.Spanned
+import android.text.style.StyleSpan
 import android.view.View
 import android.widget.TextView
 import androidx.test.core.app.ApplicationProvider
+import com.mapbox.navigation.ui.base.formatter.ValueFormatter
 import com.mapbox.navigation.ui.base.model.Expected
 import com.mapbox.navigation.ui.base.model.tripprogress.TripProgressUpdateFormatter
 import com.mapbox.navigation.ui.tripprogress.R
 import com.mapbox.navigation.ui.tripprogress.model.TripProgressUpdateValue
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.Assert.assertEquals
 import org.junit.Before
 import org.junit.Test
@@ -144,4 +150,176 @@ class MapboxTripProgressViewTest {
             view.findViewById<TextView>(R.id.timeRemainingText).text.toString()
         )
     }
+
+    @Test
+    fun render_SameDisplayedValuesSkipsUpdate() {
+        val etaFormatter = mockk<ValueFormatter<Long, SpannableString>> {
+            every { format(any()) } returns SpannableString("11:59")
+        }
+        val timeRemainingFormatter = mockk<ValueFormatter<Double, SpannableString>> {
+            every { format(any()) } returns SpannableString("5 min")
+        }
+        val formatter = TripProgressUpdateFormatter.Builder(ctx)
+            .estimatedTimeToArrivalFormatter(etaFormatter)
+            .distanceRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("44 mi")
+                }
+            )
+            .timeRemainingFormatter(timeRemainingFormatter)
+            .build()
+        val view = MapboxTripProgressView(ctx)
+
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+        view.render(tripProgressUpdate(formatter, eta = 61_000L, timeRemaining = 299.0))
+
+        verify(exactly = 2) { etaFormatter.format(any()) }
+        verify(exactly = 2) { timeRemainingFormatter.format(any()) }
+        assertEquals(1L, view.renderedUpdateCount)
+        assertEquals(1L, view.skippedUpdateCount)
+    }
+
+    @Test
+    fun render_CustomFormatterChangesWithinMinuteRendersUpdate() {
+        val formatter = TripProgressUpdateFormatter.Builder(ctx)
+            .estimatedTimeToArrivalFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("11:59")
+                }
+            )
+            .distanceRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("44 mi")
+                }
+            )
+            .timeRemainingFormatter(
+                mockk {
+                    every { format(300.0) } returns SpannableString("5:00")
+                    every { format(299.0) } returns SpannableString("4:59")
+                }
+            )
+            .build()
+        val view = MapboxTripProgressView(ctx)
+
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 299.0))
+
+        assertEquals(
+            "4:59",
+            view.findViewById<TextView>(R.id.timeRemainingText).text.toString()
+        )
+        assertEquals(2L, view.renderedUpdateCount)
+        assertEquals(0L, view.skippedUpdateCount)
+    }
+
+    @Test
+    fun render_ChangedDisplayedValuesRendersUpdate() {
+        val formatter = TripProgressUpdateFormatter.Builder(ctx)
+            .estimatedTimeToArrivalFormatter(
+                mockk {
+                    every { format(60_000L) } returns SpannableString("11:59")
+                    every { format(120_000L) } returns SpannableString("12:00")
+                }
+            )
+            .distanceRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("44 mi")
+                }
+            )
+            .timeRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("5 min")
+                }
+            )
+            .build()
+        val view = MapboxTripProgressView(ctx)
+
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+        view.render(tripProgressUpdate(formatter, eta = 120_000L, timeRemaining = 300.0))
+
+        assertEquals(
+            "12:00",
+            view.findViewById<TextView>(
+                R.id.estimatedTimeToArriveText
+            ).text.toString()
+        )
+        assertEquals(2L, view.renderedUpdateCount)
+        assertEquals(0L, view.skippedUpdateCount)
+    }
+
+    @Test
+    fun render_SameValuesAreNotFormattedAgain() {
+        val etaFormatter = mockk<ValueFormatter<Long, SpannableString>> {
+            every { format(any()) } returns SpannableString("11:59")
+        }
+        val timeRemainingFormatter = mockk<ValueFormatter<Double, SpannableString>> {
+            every { format(any()) } returns SpannableString("5 min")
+        }
+        val formatter = TripProgressUpdateFormatter.Builder(ctx)
+            .estimatedTimeToArrivalFormatter(etaFormatter)
+            .distanceRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("44 mi")
+                }
+            )
+            .timeRemainingFormatter(timeRemainingFormatter)
+            .build()
+        val view = MapboxTripProgressView(ctx)
+
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+
+        verify(exactly = 1) { etaFormatter.format(any()) }
+        verify(exactly = 1) { timeRemainingFormatter.format(any()) }
+        assertEquals(1L, view.skippedUpdateCount)
+    }
+
+    @Test
+    fun render_ChangedSpansRendersUpdate() {
+        val boldText = SpannableString("5 min").also {
+            it.setSpan(StyleSpan(Typeface.BOLD), 0, 1, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE)
+        }
+        val formatter = TripProgressUpdateFormatter.Builder(ctx)
+            .estimatedTimeToArrivalFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("11:59")
+                }
+            )
+            .distanceRemainingFormatter(
+                mockk {
+                    every { format(any()) } returns SpannableString("44 mi")
+                }
+            )
+            .timeRemainingFormatter(
+                mockk {
+                    every { format(300.0) } returns SpannableString("5 min")
+                    every { format(299.0) } returns boldText
+                }
+            )
+            .build()
+        val view = MapboxTripProgressView(ctx)
+
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 300.0))
+        view.render(tripProgressUpdate(formatter, eta = 60_000L, timeRemaining = 299.0))
+
+        val text = view.findViewById<TextView>(R.id.timeRemainingText).text as Spanned
+        assertEquals(1, text.getSpans(0, text.length, StyleSpan::class.java).size)
+        assertEquals(2L, view.renderedUpdateCount)
+    }
+
+    private fun tripProgressUpdate(
+        formatter: TripProgressUpdateFormatter,
+        eta: Long,
+        timeRemaining: Double
+    ) = Expected.Success(
+        TripProgressUpdateValue(
+            eta,
+            2.0,
+            timeRemaining,
+            timeRemaining,
+            5.0,
+            6,
+            formatter
+        )
+    )
 }
@@ -2,6 +2,7 @@ package com.mapbox.navigation.ui.voice.api
 
 import android.content.Context
 import com.mapbox.api.directions.v5.models.VoiceInstructions
+import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.ui.base.api.voice.SpeechApi
 import com.mapbox.navigation.ui.base.api.voice.SpeechCallback
 import com.mapbox.navigation.ui.base.model.voice.Announcement
@@ -32,6 +33,7 @@ class MapboxSpeechApi @JvmOverloads constructor(
 
     private val mainJobController: JobControl by lazy { ThreadController.getMainScopeAndRootJob() }
     private var currentVoiceFileJob: Job? = null
+    private var prefetchJob: Job? = null
     private val voiceAPI = VoiceApiProvider.retrieveMapboxVoiceApi(
         context,
         accessToken,
@@ -54,13 +56,39 @@ class MapboxSpeechApi @JvmOverloads constructor(
         }
     }
 
+    /**
+     * Synthesizes the upcoming [VoiceInstructions] of the route in the background and caches
+     * the speech files, so that the announcements can be played without waiting for the network
+     * once they are generated, even if the connection drops in the meantime.
+     *
+     * At most [MapboxSpeechApiOptions.prefetchInstructionsCount] instructions that weren't
+     * announced yet are synthesized, starting from the current position on the route,
+     * [MapboxSpeechApiOptions.prefetchConcurrency] at a time.
+     * Call it whenever the route is set and whenever the step index changes.
+     * A new call replaces the prefetch in progress.
+     *
+     * @param routeProgress the current progress along the route
+     * @see [cancel]
+     */
+    fun prefetch(routeProgress: RouteProgress) {
+        val voiceInstructions = upcomingVoiceInstructions(routeProgress)
+            .take(options.prefetchInstructionsCount)
+            .toList()
+        prefetchJob?.cancel()
+        prefetchJob = mainJobController.scope.launch {
+            voiceAPI.prefetch(voiceInstructions, options.prefetchConcurrency)
+        }
+    }
+
     /**
      * The method stops the process of retrieving the file voice instruction [Announcement]
-     * and destroys any related callbacks.
+     * and destroys any related callbacks. Any prefetch in progress is stopped too.
      * @see [generate]
+     * @see [prefetch]
      */
     override fun cancel() {
         currentVoiceFileJob?.cancel()
+        prefetchJob?.cancel()
     }
 
     /**
@@ -71,6 +99,31 @@ class MapboxSpeechApi @JvmOverloads constructor(
         voiceAPI.clean(announcement)
     }
 
+    private fun upcomingVoiceInstructions(
+        routeProgress: RouteProgress
+    ): Sequence<VoiceInstructions> {
+        val legProgress = routeProgress.currentLegProgress
+        val stepProgress = legProgress?.currentStepProgress
+        val legIndex = legProgress?.legIndex ?: 0
+        val stepIndex = stepProgress?.stepIndex ?: 0
+        val upcomingSteps = routeProgress.route.legs().orEmpty().asSequence()
+            .drop(legIndex)
+            .flatMapIndexed { index, leg ->
+                leg.steps().orEmpty().asSequence().drop(if (index == 0) stepIndex else 0)
+            }
+        return upcomingSteps.flatMapIndexed { index, step ->
+            val voiceInstructions = step.voiceInstructions().orEmpty().asSequence()
+            if (index == 0 && stepProgress != null) {
+                // the instructions further from the end of the step were already announced
+                voiceInstructions.filter {
+                    (it.distanceAlongGeometry() ?: 0.0) <= stepProgress.distanceRemaining
+                }
+            } else {
+                voiceInstructions
+            }
+        }
+    }
+
     private suspend fun retrieveVoiceFile(
         voiceInstruction: VoiceInstructions,
         callback: SpeechCallback
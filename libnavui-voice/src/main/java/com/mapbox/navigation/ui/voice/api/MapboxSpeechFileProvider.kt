@@ -6,27 +6,132 @@ import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import okhttp3.ResponseBody
 import java.io.File
+import java.io.IOException
+import java.security.MessageDigest
 
-internal class MapboxSpeechFileProvider(private val cacheDirectory: File) {
+/**
+ * Content-addressed cache of synthesized voice instruction files.
+ *
+ * Every file is named after the hash of the key of the speech it contains, so identical
+ * announcements share a single file. When the size of the cache exceeds [maxCacheSizeBytes]
+ * the least recently used files are deleted, except for the files that are being written and
+ * the files that were handed out with [retain] and weren't [delete]d yet.
+ */
+internal class MapboxSpeechFileProvider(
+    private val cacheDirectory: File,
+    private val maxCacheSizeBytes: Long = DEFAULT_CACHE_SIZE_BYTES
+) {
 
     private val ioJobController: JobControl by lazy { ThreadController.getIOScopeAndRootJob() }
+    private val retainedFiles = HashMap<File, Int>()
 
-    suspend fun generateVoiceFileFrom(data: ResponseBody): File =
+    /**
+     * Returns the cached voice file of the [key] or *null* if there is none.
+     */
+    suspend fun getVoiceFile(key: String): File? =
         withContext(ThreadController.IODispatcher) {
-            File(cacheDirectory, "${retrieveUniqueId()}$MP3_EXTENSION")
-                .apply { outputStream().use { data.byteStream().copyTo(it) } }
+            val file = File(cacheDirectory, fileName(key))
+            if (file.exists()) {
+                file.setLastModified(System.currentTimeMillis())
+                file
+            } else {
+                null
+            }
         }
 
+    /**
+     * Stores the [data] as the voice file of the [key] and evicts the least recently used files
+     * if the cache is full.
+     */
+    suspend fun generateVoiceFileFrom(data: ResponseBody, key: String): File =
+        withContext(ThreadController.IODispatcher) {
+            val file = File(cacheDirectory, fileName(key))
+            val tempFile = File(cacheDirectory, file.name + TEMP_FILE_SUFFIX)
+            try {
+                tempFile.outputStream().use { data.byteStream().copyTo(it) }
+                if (!tempFile.renameTo(file)) {
+                    throw IOException("Failed to store voice file ${file.name}")
+                }
+            } finally {
+                tempFile.delete()
+            }
+            trimToSize(file)
+            file
+        }
+
+    /**
+     * Protects the cached [file] from eviction until it's [delete]d, for example while
+     * it's played. Every call has to be balanced by a call to [delete].
+     *
+     * @return *false* if the file was already evicted
+     */
+    @Synchronized
+    fun retain(file: File): Boolean {
+        if (!file.exists()) {
+            return false
+        }
+        retainedFiles[file] = (retainedFiles[file] ?: 0) + 1
+        return true
+    }
+
+    /**
+     * Deletes the [file] unless it belongs to the cache.
+     * Cached files are shared by identical announcements and are only deleted on eviction,
+     * a cached file is only released so it can be evicted again.
+     */
     fun delete(file: File) {
+        if (file.parentFile == cacheDirectory) {
+            release(file)
+            return
+        }
         ioJobController.scope.launch {
             file.delete()
         }
     }
 
-    private fun retrieveUniqueId(): String = (++uniqueId).toString()
+    @Synchronized
+    private fun release(file: File) {
+        val count = retainedFiles[file] ?: return
+        if (count > 1) {
+            retainedFiles[file] = count - 1
+        } else {
+            retainedFiles.remove(file)
+        }
+    }
+
+    @Synchronized
+    private fun trimToSize(newFile: File) {
+        // files of other downloads that are still being written are not part of the cache
+        val files = cacheDirectory.listFiles { file -> !file.name.endsWith(TEMP_FILE_SUFFIX) }
+            ?: return
+        var size = files.fold(0L) { sum, file -> sum + file.length() }
+        if (size <= maxCacheSizeBytes) {
+            return
+        }
+        files.sortBy { it.lastModified() }
+        for (file in files) {
+            if (size <= maxCacheSizeBytes) {
+                break
+            }
+            if (file == newFile || retainedFiles.containsKey(file)) {
+                continue
+            }
+            val length = file.length()
+            if (file.delete()) {
+                size -= length
+            }
+        }
+    }
+
+    private fun fileName(key: String): String {
+        val digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(key.toByteArray())
+        return digest.joinToString(separator = "") { String.format("%02x", it) } + MP3_EXTENSION
+    }
 
     private companion object {
         private const val MP3_EXTENSION = ".mp3"
-        private var uniqueId = 0
+        private const val TEMP_FILE_SUFFIX = ".tmp"
+        private const val HASH_ALGORITHM = "SHA-1"
+        private const val DEFAULT_CACHE_SIZE_BYTES = 20L * 1024 * 1024
     }
 }
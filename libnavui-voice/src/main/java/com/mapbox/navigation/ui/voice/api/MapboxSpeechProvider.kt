@@ -3,6 +3,7 @@ package com.mapbox.navigation.ui.voice.api
 import com.mapbox.api.speech.v1.MapboxSpeech
 import com.mapbox.navigation.base.internal.accounts.UrlSkuTokenProvider
 import com.mapbox.navigation.ui.voice.VoiceResult
+import com.mapbox.navigation.ui.voice.model.TypeAndAnnouncement
 import com.mapbox.navigation.ui.voice.model.VoiceState
 import com.mapbox.navigation.ui.voice.options.MapboxSpeechApiOptions
 import okhttp3.ResponseBody
@@ -37,6 +38,18 @@ internal class MapboxSpeechProvider(
         }
     }
 
+    /**
+     * Returns the key identifying the speech synthesized for the [typeAndAnnouncement]
+     * with the language and options of this provider.
+     */
+    fun cacheKey(typeAndAnnouncement: TypeAndAnnouncement): String =
+        listOf(
+            options.baseUri,
+            language,
+            typeAndAnnouncement.type,
+            typeAndAnnouncement.announcement
+        ).joinToString(separator = CACHE_KEY_SEPARATOR)
+
     private fun setupMapboxSpeech(request: VoiceResult.VoiceRequest.Success): MapboxSpeech {
         return request.requestBuilder
             .baseUrl(options.baseUri)
@@ -49,4 +62,8 @@ internal class MapboxSpeechProvider(
             }
             .build()
     }
+
+    private companion object {
+        private const val CACHE_KEY_SEPARATOR = "\n"
+    }
 }
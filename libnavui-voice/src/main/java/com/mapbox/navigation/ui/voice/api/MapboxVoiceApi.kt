@@ -2,7 +2,6 @@ package com.mapbox.navigation.ui.voice.api
 
 import com.mapbox.api.directions.v5.models.VoiceInstructions
 import com.mapbox.navigation.ui.base.model.voice.Announcement
-import com.mapbox.navigation.ui.voice.VoiceAction
 import com.mapbox.navigation.ui.voice.VoiceAction.PrepareTypeAndAnnouncement
 import com.mapbox.navigation.ui.voice.VoiceAction.PrepareVoiceRequest
 import com.mapbox.navigation.ui.voice.VoiceAction.ProcessVoiceResponse
@@ -10,24 +9,65 @@ import com.mapbox.navigation.ui.voice.VoiceProcessor
 import com.mapbox.navigation.ui.voice.VoiceResult.VoiceRequest
 import com.mapbox.navigation.ui.voice.VoiceResult.VoiceResponse
 import com.mapbox.navigation.ui.voice.VoiceResult.VoiceTypeAndAnnouncement
+import com.mapbox.navigation.ui.voice.model.TypeAndAnnouncement
 import com.mapbox.navigation.ui.voice.model.VoiceState
 import com.mapbox.navigation.ui.voice.model.VoiceState.VoiceError
+import com.mapbox.navigation.utils.internal.ThreadController
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
 import java.io.File
+import java.io.IOException
+import java.util.concurrent.ConcurrentLinkedQueue
 
 /**
  * Implementation of [VoiceApi] allowing you to retrieve voice instructions.
+ *
+ * Synthesized files are cached by [MapboxSpeechFileProvider] and concurrent requests
+ * for the same speech share a single download.
  */
 internal class MapboxVoiceApi(
     private val speechProvider: MapboxSpeechProvider,
     private val speechFileProvider: MapboxSpeechFileProvider
 ) : VoiceApi {
 
+    private val inFlightRequests = HashMap<String, Deferred<VoiceState>>()
+
     /**
      * Given [VoiceInstructions] the method returns a [File] wrapped inside [VoiceState]
      * @param voiceInstruction VoiceInstructions object representing [VoiceInstructions]
      */
     override suspend fun retrieveVoiceFile(voiceInstruction: VoiceInstructions): VoiceState {
-        return processAction(PrepareTypeAndAnnouncement(voiceInstruction))
+        val typeAndAnnouncementResult =
+            VoiceProcessor.process(PrepareTypeAndAnnouncement(voiceInstruction))
+                as VoiceTypeAndAnnouncement
+        return when (typeAndAnnouncementResult) {
+            is VoiceTypeAndAnnouncement.Success ->
+                retrieveRetainedVoiceFile(typeAndAnnouncementResult.typeAndAnnouncement)
+            is VoiceTypeAndAnnouncement.Failure -> VoiceError(typeAndAnnouncementResult.error)
+        }
+    }
+
+    /**
+     * Given a list of [VoiceInstructions] the method synthesizes and caches their voice files
+     * running at most [maxConcurrency] requests at a time.
+     * @param voiceInstructions list of [VoiceInstructions] to synthesize
+     * @param maxConcurrency maximum number of parallel requests
+     */
+    override suspend fun prefetch(voiceInstructions: List<VoiceInstructions>, maxConcurrency: Int) {
+        val queue = ConcurrentLinkedQueue(voiceInstructions)
+        coroutineScope {
+            repeat(maxConcurrency.coerceAtMost(voiceInstructions.size)) {
+                launch {
+                    while (true) {
+                        val voiceInstruction = queue.poll() ?: break
+                        retrieveVoiceFile(voiceInstruction)
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -40,39 +80,75 @@ internal class MapboxVoiceApi(
         }
     }
 
-    private suspend fun processAction(action: VoiceAction): VoiceState {
-        return when (val result = VoiceProcessor.process(action)) {
-            is VoiceTypeAndAnnouncement -> {
-                when (result) {
-                    is VoiceTypeAndAnnouncement.Success -> processAction(
-                        PrepareVoiceRequest(result.typeAndAnnouncement)
-                    )
-                    is VoiceTypeAndAnnouncement.Failure -> VoiceError(result.error)
-                }
-            }
-            is VoiceRequest -> {
-                when (result) {
-                    is VoiceRequest.Success -> processVoiceRequest(result)
-                }
+    /**
+     * The file is handed to the player, it's protected from eviction until it's cleaned.
+     * It's fetched again if another download evicted it in the meantime.
+     */
+    private suspend fun retrieveRetainedVoiceFile(
+        typeAndAnnouncement: TypeAndAnnouncement
+    ): VoiceState {
+        repeat(MAX_RETAIN_ATTEMPTS) {
+            val voiceState = retrieveVoiceFile(typeAndAnnouncement)
+            if (voiceState !is VoiceState.VoiceFile ||
+                speechFileProvider.retain(voiceState.instructionFile)
+            ) {
+                return voiceState
             }
-            is VoiceResponse -> {
-                when (result) {
-                    is VoiceResponse.Success ->
-                        VoiceState.VoiceFile(speechFileProvider.generateVoiceFileFrom(result.data))
-                    is VoiceResponse.Failure -> VoiceError(
-                        "code: ${result.responseCode}, error: ${result.error}"
-                    )
+        }
+        return VoiceError("Voice file was evicted from the cache")
+    }
+
+    private suspend fun retrieveVoiceFile(typeAndAnnouncement: TypeAndAnnouncement): VoiceState {
+        val cacheKey = speechProvider.cacheKey(typeAndAnnouncement)
+        speechFileProvider.getVoiceFile(cacheKey)?.let {
+            return VoiceState.VoiceFile(it)
+        }
+        val request = synchronized(inFlightRequests) {
+            inFlightRequests.getOrPut(cacheKey) {
+                ThreadController.getIOScopeAndRootJob().scope.async(
+                    start = CoroutineStart.LAZY
+                ) {
+                    try {
+                        download(typeAndAnnouncement, cacheKey)
+                    } finally {
+                        synchronized(inFlightRequests) {
+                            inFlightRequests.remove(cacheKey)
+                        }
+                    }
                 }
             }
         }
+        return request.await()
     }
 
-    private suspend fun processVoiceRequest(result: VoiceRequest.Success): VoiceState {
-        return when (val speechResult = speechProvider.enqueueCall(result)) {
+    private suspend fun download(
+        typeAndAnnouncement: TypeAndAnnouncement,
+        cacheKey: String
+    ): VoiceState {
+        val request = VoiceProcessor.process(PrepareVoiceRequest(typeAndAnnouncement))
+            as VoiceRequest.Success
+        return when (val speechResult = speechProvider.enqueueCall(request)) {
             is VoiceState.VoiceResponse -> {
-                processAction(ProcessVoiceResponse(speechResult.response))
+                val response = VoiceProcessor.process(ProcessVoiceResponse(speechResult.response))
+                    as VoiceResponse
+                when (response) {
+                    is VoiceResponse.Success -> try {
+                        VoiceState.VoiceFile(
+                            speechFileProvider.generateVoiceFileFrom(response.data, cacheKey)
+                        )
+                    } catch (e: IOException) {
+                        VoiceError(e.localizedMessage ?: "Unknown")
+                    }
+                    is VoiceResponse.Failure -> VoiceError(
+                        "code: ${response.responseCode}, error: ${response.error}"
+                    )
+                }
             }
             else -> speechResult
         }
     }
+
+    private companion object {
+        private const val MAX_RETAIN_ATTEMPTS = 2
+    }
 }
@@ -15,6 +15,14 @@ internal interface VoiceApi {
      */
     suspend fun retrieveVoiceFile(voiceInstruction: VoiceInstructions): VoiceState
 
+    /**
+     * Given a list of [VoiceInstructions] the method synthesizes and caches their voice files
+     * running at most [maxConcurrency] requests at a time.
+     * @param voiceInstructions list of [VoiceInstructions] to synthesize
+     * @param maxConcurrency maximum number of parallel requests
+     */
+    suspend fun prefetch(voiceInstructions: List<VoiceInstructions>, maxConcurrency: Int)
+
     /**
      * Given the [Announcement] the method may cleanup any associated files previously generated.
      * @param announcement
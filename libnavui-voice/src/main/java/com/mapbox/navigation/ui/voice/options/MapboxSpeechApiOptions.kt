@@ -4,9 +4,15 @@ package com.mapbox.navigation.ui.voice.options
  * MapboxSpeechApiOptions.
  *
  * @param baseUri base URL
+ * @param prefetchInstructionsCount number of upcoming voice instructions synthesized ahead
+ * of time when prefetching
+ * @param prefetchConcurrency maximum number of voice instructions synthesized in parallel
+ * when prefetching
  */
 class MapboxSpeechApiOptions private constructor(
-    val baseUri: String
+    val baseUri: String,
+    val prefetchInstructionsCount: Int,
+    val prefetchConcurrency: Int
 ) {
 
     /**
@@ -14,6 +20,8 @@ class MapboxSpeechApiOptions private constructor(
      */
     fun toBuilder(): Builder = Builder().apply {
         baseUri(baseUri)
+        prefetchInstructionsCount(prefetchInstructionsCount)
+        prefetchConcurrency(prefetchConcurrency)
     }
 
     /**
@@ -26,6 +34,8 @@ class MapboxSpeechApiOptions private constructor(
         other as MapboxSpeechApiOptions
 
         if (baseUri != other.baseUri) return false
+        if (prefetchInstructionsCount != other.prefetchInstructionsCount) return false
+        if (prefetchConcurrency != other.prefetchConcurrency) return false
 
         return true
     }
@@ -34,7 +44,10 @@ class MapboxSpeechApiOptions private constructor(
      * Regenerate whenever a change is made
      */
     override fun hashCode(): Int {
-        return baseUri.hashCode()
+        var result = baseUri.hashCode()
+        result = 31 * result + prefetchInstructionsCount
+        result = 31 * result + prefetchConcurrency
+        return result
     }
 
     /**
@@ -42,7 +55,9 @@ class MapboxSpeechApiOptions private constructor(
      */
     override fun toString(): String {
         return "MapboxSpeechApiOptions(" +
-            "baseUri=$baseUri" +
+            "baseUri=$baseUri, " +
+            "prefetchInstructionsCount=$prefetchInstructionsCount, " +
+            "prefetchConcurrency=$prefetchConcurrency" +
             ")"
     }
 
@@ -52,6 +67,8 @@ class MapboxSpeechApiOptions private constructor(
     class Builder {
 
         private var baseUri: String = "https://api.mapbox.com"
+        private var prefetchInstructionsCount: Int = 10
+        private var prefetchConcurrency: Int = 2
 
         /**
          * Specifies the base URL
@@ -61,11 +78,29 @@ class MapboxSpeechApiOptions private constructor(
             apply { this.baseUri = baseUri }
 
         /**
-         * Build the [VoiceInstructionsPlayerOptions]
+         * Specifies the number of upcoming voice instructions synthesized ahead of time
+         * when prefetching.
+         * Defaults to 10
+         */
+        fun prefetchInstructionsCount(prefetchInstructionsCount: Int): Builder =
+            apply { this.prefetchInstructionsCount = prefetchInstructionsCount }
+
+        /**
+         * Specifies the maximum number of voice instructions synthesized in parallel
+         * when prefetching.
+         * Defaults to 2
+         */
+        fun prefetchConcurrency(prefetchConcurrency: Int): Builder =
+            apply { this.prefetchConcurrency = prefetchConcurrency }
+
+        /**
+         * Build the [MapboxSpeechApiOptions]
          */
         fun build(): MapboxSpeechApiOptions {
             return MapboxSpeechApiOptions(
-                baseUri = baseUri
+                baseUri = baseUri,
+                prefetchInstructionsCount = prefetchInstructionsCount,
+                prefetchConcurrency = prefetchConcurrency
             )
         }
     }
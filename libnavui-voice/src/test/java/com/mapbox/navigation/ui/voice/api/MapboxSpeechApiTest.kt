@@ -1,7 +1,9 @@
 package com.mapbox.navigation.ui.voice.api
 
 import android.content.Context
+import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.VoiceInstructions
+import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.ui.base.api.voice.SpeechCallback
 import com.mapbox.navigation.ui.base.model.voice.Announcement
@@ -16,6 +18,7 @@ import com.mapbox.navigation.utils.internal.JobControl
 import com.mapbox.navigation.utils.internal.ThreadController
 import io.mockk.Runs
 import io.mockk.coEvery
+import io.mockk.coVerify
 import io.mockk.every
 import io.mockk.just
 import io.mockk.mockk
@@ -258,6 +261,71 @@ class MapboxSpeechApiTest {
             )
         }
 
+    @Test
+    fun `prefetch voice instructions from the current position`() =
+        coroutineRule.runBlockingTest {
+            val aMockedContext: Context = mockk(relaxed = true)
+            val anyAccessToken = "pk.123"
+            val anyLanguage = Locale.US.language
+            val announced: VoiceInstructions = mockk {
+                every { distanceAlongGeometry() } returns 300.0
+            }
+            val upcoming: VoiceInstructions = mockk {
+                every { distanceAlongGeometry() } returns 100.0
+            }
+            val nextStepInstructions = listOf<VoiceInstructions>(mockk(), mockk())
+            val route: DirectionsRoute = mockk {
+                every { legs() } returns listOf(
+                    mockk {
+                        every { steps() } returns listOf(
+                            mockk { every { voiceInstructions() } returns listOf(mockk()) }
+                        )
+                    },
+                    mockk {
+                        every { steps() } returns listOf(
+                            mockk { every { voiceInstructions() } returns listOf(mockk()) },
+                            mockk {
+                                every { voiceInstructions() } returns listOf(announced, upcoming)
+                            },
+                            mockk { every { voiceInstructions() } returns nextStepInstructions }
+                        )
+                    }
+                )
+            }
+            val routeProgress: RouteProgress = mockk {
+                every { this@mockk.route } returns route
+                every { currentLegProgress } returns mockk {
+                    every { legIndex } returns 1
+                    every { currentStepProgress } returns mockk {
+                        every { stepIndex } returns 1
+                        every { distanceRemaining } returns 200f
+                    }
+                }
+            }
+            val mockedVoiceApi: MapboxVoiceApi = mockk()
+            coEvery { mockedVoiceApi.prefetch(any(), any()) } just Runs
+            val options = MapboxSpeechApiOptions.Builder()
+                .prefetchInstructionsCount(2)
+                .prefetchConcurrency(3)
+                .build()
+            every {
+                VoiceApiProvider.retrieveMapboxVoiceApi(
+                    aMockedContext,
+                    anyAccessToken,
+                    anyLanguage,
+                    options
+                )
+            } returns mockedVoiceApi
+            val mapboxSpeechApi =
+                MapboxSpeechApi(aMockedContext, anyAccessToken, anyLanguage, options)
+
+            mapboxSpeechApi.prefetch(routeProgress)
+
+            coVerify(exactly = 1) {
+                mockedVoiceApi.prefetch(listOf(upcoming, nextStepInstructions[0]), 3)
+            }
+        }
+
     @Test
     fun clean() {
         val aMockedContext: Context = mockk(relaxed = true)
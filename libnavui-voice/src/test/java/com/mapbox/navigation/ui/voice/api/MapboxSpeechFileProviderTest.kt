@@ -11,10 +11,19 @@ import io.mockk.unmockkObject
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.SupervisorJob
+import okhttp3.MediaType
+import okhttp3.ResponseBody
 import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 import java.io.File
 
 @ExperimentalCoroutinesApi
@@ -25,6 +34,9 @@ class MapboxSpeechFileProviderTest {
     private val parentJob = SupervisorJob()
     private val testScope = CoroutineScope(parentJob + coroutineRule.testDispatcher)
 
+    @get:Rule
+    var temporaryFolder = TemporaryFolder()
+
     @Before
     fun setUp() {
         mockkObject(ThreadController)
@@ -48,4 +60,88 @@ class MapboxSpeechFileProviderTest {
             mockedFile.delete()
         }
     }
+
+    @Test
+    fun `generated voice file is cached`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root)
+
+        val file = mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "key")
+
+        assertEquals(file, mapboxSpeechFileProvider.getVoiceFile("key"))
+        assertArrayEquals(ByteArray(10), file.readBytes())
+        assertNull(mapboxSpeechFileProvider.getVoiceFile("other key"))
+    }
+
+    @Test
+    fun `least recently used voice files are evicted`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root, 25)
+
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "first")
+            .setLastModified(1000)
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "second")
+            .setLastModified(2000)
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "third")
+
+        assertNull(mapboxSpeechFileProvider.getVoiceFile("first"))
+        assertNotNull(mapboxSpeechFileProvider.getVoiceFile("second"))
+        assertNotNull(mapboxSpeechFileProvider.getVoiceFile("third"))
+    }
+
+    @Test
+    fun `cached voice file is not deleted`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root)
+        val file = mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "key")
+
+        mapboxSpeechFileProvider.delete(file)
+
+        assertTrue(file.exists())
+    }
+
+    @Test
+    fun `retained voice files are not evicted until deleted`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root, 15)
+        val first = mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "first")
+        first.setLastModified(1000)
+        mapboxSpeechFileProvider.retain(first)
+
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "second")
+            .setLastModified(2000)
+        assertTrue(first.exists())
+
+        mapboxSpeechFileProvider.delete(first)
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "third")
+        assertFalse(first.exists())
+    }
+
+    @Test
+    fun `files being written are not evicted`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root, 15)
+        val tempFile = temporaryFolder.newFile("download.mp3.tmp")
+        tempFile.writeBytes(ByteArray(10))
+        tempFile.setLastModified(1000)
+
+        mapboxSpeechFileProvider.generateVoiceFileFrom(responseBody(10), "key")
+
+        assertTrue(tempFile.exists())
+    }
+
+    @Test
+    fun `evicted voice file can't be retained`() = coroutineRule.runBlockingTest {
+        mockIODispatcher()
+        val mapboxSpeechFileProvider = MapboxSpeechFileProvider(temporaryFolder.root)
+
+        assertFalse(mapboxSpeechFileProvider.retain(File(temporaryFolder.root, "evicted.mp3")))
+    }
+
+    private fun mockIODispatcher() {
+        every { ThreadController.IODispatcher } returns coroutineRule.testDispatcher
+    }
+
+    private fun responseBody(size: Int): ResponseBody =
+        ResponseBody.create(MediaType.parse("audio/mpeg"), ByteArray(size))
 }
@@ -2,8 +2,10 @@ package com.mapbox.navigation.ui.voice.api
 
 import com.mapbox.api.directions.v5.models.VoiceInstructions
 import com.mapbox.navigation.ui.base.model.voice.Announcement
+import com.mapbox.navigation.ui.voice.model.TypeAndAnnouncement
 import com.mapbox.navigation.ui.voice.model.VoiceState
 import io.mockk.coEvery
+import io.mockk.coVerify
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
@@ -41,13 +43,16 @@ class MapboxVoiceApiTest {
         coEvery { speechProvider.enqueueCall(any()) } returns voiceResponse
         val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
         val file: File = mockk(relaxed = true)
-        coEvery { fileProvider.generateVoiceFileFrom(any()) } returns file
+        coEvery { fileProvider.getVoiceFile(any()) } returns null
+        coEvery { fileProvider.generateVoiceFileFrom(any(), any()) } returns file
+        every { fileProvider.retain(file) } returns true
         val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
 
         val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
 
         assertTrue(voiceState is VoiceState.VoiceFile)
         assertEquals(file, (voiceState as VoiceState.VoiceFile).instructionFile)
+        verify(exactly = 1) { fileProvider.retain(file) }
     }
 
     @Test
@@ -119,7 +124,8 @@ class MapboxVoiceApiTest {
         coEvery { speechProvider.enqueueCall(any()) } returns voiceResponse
         val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
         val file: File = mockk(relaxed = true)
-        coEvery { fileProvider.generateVoiceFileFrom(any()) } returns file
+        coEvery { fileProvider.getVoiceFile(any()) } returns null
+        coEvery { fileProvider.generateVoiceFileFrom(any(), any()) } returns file
         val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
 
         val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
@@ -158,7 +164,8 @@ class MapboxVoiceApiTest {
         coEvery { speechProvider.enqueueCall(any()) } returns voiceResponse
         val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
         val file: File = mockk(relaxed = true)
-        coEvery { fileProvider.generateVoiceFileFrom(any()) } returns file
+        coEvery { fileProvider.getVoiceFile(any()) } returns null
+        coEvery { fileProvider.generateVoiceFileFrom(any(), any()) } returns file
         val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
 
         val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
@@ -195,7 +202,8 @@ class MapboxVoiceApiTest {
         coEvery { speechProvider.enqueueCall(any()) } returns voiceResponse
         val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
         val file: File = mockk(relaxed = true)
-        coEvery { fileProvider.generateVoiceFileFrom(any()) } returns file
+        coEvery { fileProvider.getVoiceFile(any()) } returns null
+        coEvery { fileProvider.generateVoiceFileFrom(any(), any()) } returns file
         val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
 
         val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
@@ -207,6 +215,94 @@ class MapboxVoiceApiTest {
         )
     }
 
+    @Test
+    fun `retrieve voice file from cache`() = runBlocking {
+        val voiceInstructions: VoiceInstructions = mockk()
+        every {
+            voiceInstructions.announcement()
+        } returns "Turn right onto Frederick Road, Maryland 3 55."
+        every { voiceInstructions.ssmlAnnouncement() } returns null
+        val speechProvider: MapboxSpeechProvider = mockk(relaxed = true)
+        every { speechProvider.cacheKey(any()) } returns "cacheKey"
+        val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
+        val cachedFile: File = mockk(relaxed = true)
+        coEvery { fileProvider.getVoiceFile("cacheKey") } returns cachedFile
+        every { fileProvider.retain(cachedFile) } returns true
+        val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
+
+        val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
+
+        assertEquals(cachedFile, (voiceState as VoiceState.VoiceFile).instructionFile)
+        coVerify(exactly = 0) { speechProvider.enqueueCall(any()) }
+    }
+
+    @Test
+    fun `retrieve voice file again if it was evicted before it was retained`() = runBlocking {
+        val voiceInstructions: VoiceInstructions = mockk()
+        every {
+            voiceInstructions.announcement()
+        } returns "Turn right onto Frederick Road, Maryland 3 55."
+        every { voiceInstructions.ssmlAnnouncement() } returns null
+        val speechProvider: MapboxSpeechProvider = mockk(relaxed = true)
+        every { speechProvider.cacheKey(any()) } returns "cacheKey"
+        val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
+        val evictedFile: File = mockk(relaxed = true)
+        val cachedFile: File = mockk(relaxed = true)
+        coEvery {
+            fileProvider.getVoiceFile("cacheKey")
+        } returnsMany listOf(evictedFile, cachedFile)
+        every { fileProvider.retain(evictedFile) } returns false
+        every { fileProvider.retain(cachedFile) } returns true
+        val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
+
+        val voiceState = mapboxVoiceApi.retrieveVoiceFile(voiceInstructions)
+
+        assertEquals(cachedFile, (voiceState as VoiceState.VoiceFile).instructionFile)
+    }
+
+    @Test
+    fun `prefetch does not retain voice files`() = runBlocking {
+        val voiceInstructions: VoiceInstructions = mockk {
+            every { announcement() } returns "Announcement"
+            every { ssmlAnnouncement() } returns null
+        }
+        val speechProvider: MapboxSpeechProvider = mockk(relaxed = true)
+        val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
+        coEvery { fileProvider.getVoiceFile(any()) } returns mockk()
+        val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
+
+        mapboxVoiceApi.prefetch(listOf(voiceInstructions), 1)
+
+        verify(exactly = 0) { fileProvider.retain(any()) }
+    }
+
+    @Test
+    fun `prefetch retrieves every voice instruction`() = runBlocking {
+        val voiceInstructions = (0 until 5).map {
+            mockk<VoiceInstructions> {
+                every { announcement() } returns "Announcement $it"
+                every { ssmlAnnouncement() } returns null
+            }
+        }
+        val speechProvider: MapboxSpeechProvider = mockk(relaxed = true)
+        every { speechProvider.cacheKey(any()) } answers {
+            firstArg<TypeAndAnnouncement>().announcement
+        }
+        val fileProvider: MapboxSpeechFileProvider = mockk(relaxed = true)
+        coEvery { fileProvider.getVoiceFile(any()) } returns null
+        val response: Response<ResponseBody> = mockk(relaxed = true)
+        every { response.isSuccessful } returns true
+        every { response.body() } returns mockk()
+        coEvery { speechProvider.enqueueCall(any()) } returns VoiceState.VoiceResponse(response)
+        val mapboxVoiceApi = MapboxVoiceApi(speechProvider, fileProvider)
+
+        mapboxVoiceApi.prefetch(voiceInstructions, 2)
+
+        (0 until 5).forEach {
+            coVerify(exactly = 1) { fileProvider.generateVoiceFileFrom(any(), "Announcement $it") }
+        }
+    }
+
     @Test
     fun `clean file`() = runBlocking {
         val mockedAnnouncement: Announcement = mockk()
@@ -11,7 +11,10 @@ class MapboxSpeechApiOptionsTest :
         MapboxSpeechApiOptions::class
 
     override fun getFilledUpBuilder(): MapboxSpeechApiOptions.Builder =
-        MapboxSpeechApiOptions.Builder().baseUri("https://api-routing-tiles-staging.tilestream.net")
+        MapboxSpeechApiOptions.Builder()
+            .baseUri("https://api-routing-tiles-staging.tilestream.net")
+            .prefetchInstructionsCount(5)
+            .prefetchConcurrency(4)
 
     @Test
     override fun trigger() {
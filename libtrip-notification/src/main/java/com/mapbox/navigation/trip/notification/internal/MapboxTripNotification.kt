@@ -13,8 +13,9 @@ import android.graphics.Canvas
 import android.graphics.Matrix
 import android.graphics.PointF
 import android.os.Build
-import android.text.SpannableString
-import android.text.TextUtils
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
 import android.text.format.DateFormat
 import android.view.View.GONE
 import android.view.View.VISIBLE
@@ -59,6 +60,9 @@ import java.util.Calendar
 /**
  * Default implementation of [TripNotification] interface
  *
+ * The notification is only rebuilt when one of the displayed values changes and is posted
+ * at most once every [NavigationOptions.notificationUpdateIntervalMillis].
+ *
  * @param navigationOptions is [NavigationOptions] used here to format distance and time
  *
  * @property currentManeuverType This indicates the type of current maneuver. The same [BannerText.type] of primary [BannerInstructions]
@@ -75,6 +79,9 @@ class MapboxTripNotification constructor(
          * Broadcast of [MapboxTripNotification] actions
          */
         var notificationActionButtonChannel = Channel<NotificationAction>(1)
+
+        private const val NEVER_NOTIFIED = -1L
+        private const val MAX_CACHED_MANEUVER_BITMAPS = 16
     }
 
     private val applicationContext = navigationOptions.applicationContext
@@ -84,10 +91,20 @@ class MapboxTripNotification constructor(
         private set
     var currentManeuverModifier: String? = null
         private set
-    private var currentRoundaboutAngle: Float? = null
 
-    private var currentInstructionText: String? = null
-    private var currentDistanceText: SpannableString? = null
+    private var currentState: NotificationState? = null
+    private val maneuverBitmaps = object : LinkedHashMap<ManeuverKey, Bitmap>(
+        MAX_CACHED_MANEUVER_BITMAPS,
+        0.75f,
+        true
+    ) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<ManeuverKey, Bitmap>?) =
+            size > MAX_CACHED_MANEUVER_BITMAPS
+    }
+    private val notifyHandler = Handler(Looper.getMainLooper())
+    private val notifyRunnable = Runnable { notifyNow() }
+    private var isNotifyPending = false
+    private var lastNotifyTime = NEVER_NOTIFIED
     private var collapsedNotificationRemoteViews: RemoteViews? = null
     private var expandedNotificationRemoteViews: RemoteViews? = null
     private var pendingOpenIntent: PendingIntent? = null
@@ -142,13 +159,18 @@ class MapboxTripNotification constructor(
      * @param routeProgress with the latest progress data
      */
     override fun updateNotification(routeProgress: RouteProgress?) {
+        val state = getNotificationState(routeProgress)
+        if (state == currentState) {
+            return
+        }
+        currentState = state
         // RemoteView has an internal mActions, which stores every change and cannot be cleared.
         // As we set new bitmaps, the mActions parcelable size will grow and eventually cause a crash.
         // buildRemoteViews() will rebuild the RemoteViews and clear the stored mActions.
         buildRemoteViews()
-        updateNotificationViews(routeProgress)
+        updateNotificationViews(state)
         notification = NavigationNotificationProvider.buildNotification(getNotificationBuilder())
-        notificationManager.notify(NOTIFICATION_ID, notification)
+        postNotification()
     }
 
     /**
@@ -169,8 +191,11 @@ class MapboxTripNotification constructor(
     override fun onTripSessionStopped() {
         currentManeuverType = null
         currentManeuverModifier = null
-        currentInstructionText = null
-        currentDistanceText = null
+        currentState = null
+        maneuverBitmaps.clear()
+        notifyHandler.removeCallbacks(notifyRunnable)
+        isNotifyPending = false
+        lastNotifyTime = NEVER_NOTIFIED
 
         collapsedNotificationRemoteViews?.apply {
             setTextViewText(R.id.notificationDistanceText, "")
@@ -292,23 +317,64 @@ class MapboxTripNotification constructor(
         }
     }
 
-    private fun updateNotificationViews(routeProgress: RouteProgress?) {
-        routeProgress?.let {
-            updateInstructionText(routeProgress.bannerInstructions)
-            updateDistanceText(routeProgress)
-            generateArrivalTime(routeProgress)?.let { formattedTime ->
-                updateViewsWithArrival(formattedTime)
-            }
-            routeProgress.bannerInstructions?.let { bannerInstructions ->
-                if (isManeuverStateChanged(bannerInstructions)) {
-                    updateManeuverImage(
-                        routeProgress.currentLegProgress?.currentStepProgress?.step?.drivingSide()
-                            ?: ManeuverModifier.RIGHT
-                    )
-                }
-            }
-            setFreeDriveMode(false)
-        } ?: setFreeDriveMode(true)
+    private fun getNotificationState(routeProgress: RouteProgress?): NotificationState {
+        if (routeProgress == null) {
+            currentManeuverType = null
+            currentManeuverModifier = null
+            return NotificationState(
+                instructionText = null,
+                distanceText = null,
+                arrivalText = null,
+                maneuver = null,
+                isFreeDriveMode = true
+            )
+        }
+        val bannerInstructions = routeProgress.bannerInstructions
+        val drivingSide =
+            routeProgress.currentLegProgress?.currentStepProgress?.step?.drivingSide()
+                ?: ManeuverModifier.RIGHT
+        val maneuver = bannerInstructions?.let { getManeuverKey(it, drivingSide) }
+            ?: currentState?.maneuver
+        currentManeuverType = maneuver?.type
+        currentManeuverModifier = maneuver?.modifier
+        return NotificationState(
+            instructionText = bannerInstructions?.primary()?.text()
+                ?: currentState?.instructionText,
+            distanceText = getDistanceText(routeProgress) ?: currentState?.distanceText,
+            arrivalText = generateArrivalTime(routeProgress),
+            maneuver = maneuver,
+            isFreeDriveMode = false
+        )
+    }
+
+    private fun updateNotificationViews(state: NotificationState) {
+        if (!state.isFreeDriveMode) {
+            state.instructionText?.let { updateInstructionText(it) }
+            state.distanceText?.let { updateDistanceText(it) }
+            state.arrivalText?.let { updateViewsWithArrival(it) }
+            state.maneuver?.let { updateManeuverImage(it) }
+        }
+        setFreeDriveMode(state.isFreeDriveMode)
+    }
+
+    private fun postNotification() {
+        if (isNotifyPending) {
+            return
+        }
+        val interval = navigationOptions.notificationUpdateIntervalMillis
+        val elapsed = SystemClock.elapsedRealtime() - lastNotifyTime
+        if (lastNotifyTime == NEVER_NOTIFIED || elapsed >= interval) {
+            notifyNow()
+        } else {
+            isNotifyPending = true
+            notifyHandler.postDelayed(notifyRunnable, interval - elapsed)
+        }
+    }
+
+    private fun notifyNow() {
+        isNotifyPending = false
+        lastNotifyTime = SystemClock.elapsedRealtime()
+        notificationManager.notify(NOTIFICATION_ID, notification)
     }
 
     private fun setFreeDriveMode(isFreeDriveMode: Boolean) {
@@ -317,7 +383,6 @@ class MapboxTripNotification constructor(
         updateFreeDriveTextVisibility(isFreeDriveMode)
         updateManeuverImageResource(isFreeDriveMode)
         updateEndNavigationBtnText(isFreeDriveMode)
-        updateCurrentManeuverToDefault(isFreeDriveMode)
     }
 
     private fun updateEtaContentVisibility(isFreeDriveMode: Boolean) {
@@ -378,41 +443,31 @@ class MapboxTripNotification constructor(
         }
     }
 
-    private fun updateInstructionText(bannerInstruction: BannerInstructions?) {
-        bannerInstruction?.let { bannerIns ->
-            val primaryText = bannerIns.primary().text()
-            if (currentInstructionText.isNullOrEmpty() || currentInstructionText != primaryText) {
-                collapsedNotificationRemoteViews?.setTextViewText(
-                    R.id.notificationInstructionText,
-                    primaryText
-                )
-                expandedNotificationRemoteViews?.setTextViewText(
-                    R.id.notificationInstructionText,
-                    primaryText
-                )
-                currentInstructionText = primaryText
-            }
-        }
+    private fun updateInstructionText(primaryText: String) {
+        collapsedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationInstructionText,
+            primaryText
+        )
+        expandedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationInstructionText,
+            primaryText
+        )
     }
 
-    private fun updateDistanceText(routeProgress: RouteProgress) {
-        val distanceRemaining =
-            routeProgress.currentLegProgress?.currentStepProgress?.distanceRemaining
-        val formattedDistance = distanceRemaining?.let {
-            distanceFormatter.formatDistance(distanceRemaining.toDouble())
-        } ?: return
-
-        if (currentDistanceText != formattedDistance) {
-            currentDistanceText = formattedDistance
-            collapsedNotificationRemoteViews?.setTextViewText(
-                R.id.notificationDistanceText,
-                currentDistanceText.toString()
-            )
-            expandedNotificationRemoteViews?.setTextViewText(
-                R.id.notificationDistanceText,
-                currentDistanceText.toString()
-            )
+    private fun getDistanceText(routeProgress: RouteProgress): String? =
+        routeProgress.currentLegProgress?.currentStepProgress?.distanceRemaining?.let {
+            distanceFormatter.formatDistance(it.toDouble()).toString()
         }
+
+    private fun updateDistanceText(distanceText: String) {
+        collapsedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationDistanceText,
+            distanceText
+        )
+        expandedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationDistanceText,
+            distanceText
+        )
     }
 
     private fun generateArrivalTime(
@@ -436,57 +491,40 @@ class MapboxTripNotification constructor(
         expandedNotificationRemoteViews?.setTextViewText(R.id.notificationArrivalText, time)
     }
 
-    private fun updateCurrentManeuverToDefault(isFreeDriveMode: Boolean) {
-        if (isFreeDriveMode) {
-            currentManeuverType = null
-            currentManeuverModifier = null
-            currentRoundaboutAngle = null
+    private fun updateManeuverImage(maneuver: ManeuverKey) {
+        val bitmap = maneuverBitmaps[maneuver]
+            ?: getManeuverBitmap(maneuver)?.also { maneuverBitmaps[maneuver] = it }
+        bitmap?.let {
+            collapsedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, it)
+            expandedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, it)
         }
     }
 
-    private fun updateManeuverImage(drivingSide: String) {
-        getManeuverBitmap(
-            currentManeuverType ?: "",
-            currentManeuverModifier,
-            drivingSide,
-            currentRoundaboutAngle
-        )?.let { bitmap ->
-            collapsedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, bitmap)
-            expandedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, bitmap)
-        }
-    }
-
-    private fun isManeuverStateChanged(bannerInstruction: BannerInstructions): Boolean {
-        val previousManeuverType = currentManeuverType
-        val previousManeuverModifier = currentManeuverModifier
-        val previousRoundaboutAngle = currentRoundaboutAngle
-
-        updateManeuverState(bannerInstruction)
-
-        return !TextUtils.equals(currentManeuverType, previousManeuverType) ||
-            !TextUtils.equals(currentManeuverModifier, previousManeuverModifier) ||
-            currentRoundaboutAngle != previousRoundaboutAngle
-    }
-
-    private fun updateManeuverState(bannerInstruction: BannerInstructions) {
-        currentManeuverType = bannerInstruction.primary().type()
-        currentManeuverModifier = bannerInstruction.primary().modifier()
-
-        currentRoundaboutAngle = if (ROUNDABOUT_MANEUVER_TYPES.contains(currentManeuverType)) {
+    private fun getManeuverKey(
+        bannerInstruction: BannerInstructions,
+        drivingSide: String
+    ): ManeuverKey {
+        val maneuverType = bannerInstruction.primary().type()
+        val roundaboutAngle = if (ROUNDABOUT_MANEUVER_TYPES.contains(maneuverType)) {
             bannerInstruction.primary().degrees()?.toFloat()?.let {
                 adjustRoundaboutAngle(it)
             }
         } else {
             null
         }
+        return ManeuverKey(
+            maneuverType,
+            bannerInstruction.primary().modifier(),
+            drivingSide,
+            roundaboutAngle
+        )
     }
 
-    private fun getManeuverBitmap(
-        maneuverType: String,
-        maneuverModifier: String?,
-        drivingSide: String,
-        roundaboutAngle: Float?
-    ): Bitmap? {
+    private fun getManeuverBitmap(maneuverKey: ManeuverKey): Bitmap? {
+        val maneuverType = maneuverKey.type ?: ""
+        val maneuverModifier = maneuverKey.modifier
+        val drivingSide = maneuverKey.drivingSide
+        val roundaboutAngle = maneuverKey.roundaboutAngle
         val maneuver = when {
             MANEUVER_TYPES_WITH_NULL_MODIFIERS.contains(maneuverType) -> Pair(maneuverType, null)
             !StepManeuver.ARRIVE.contentEquals(maneuverType) && maneuverModifier != null -> Pair(
@@ -537,7 +575,7 @@ class MapboxTripNotification constructor(
         maneuverCanvas.restoreToCount(maneuverCanvas.saveCount)
 
         return if (
-            isManeuverIconNeedFlip(currentManeuverType, currentManeuverModifier, drivingSide)
+            isManeuverIconNeedFlip(maneuverKey.type, maneuverModifier, drivingSide)
         ) {
             Bitmap.createBitmap(
                 maneuverImage,
@@ -568,6 +606,27 @@ class MapboxTripNotification constructor(
         }
     }
 
+    /**
+     * Values shown by the notification, the views are only rebuilt when they change.
+     */
+    private data class NotificationState(
+        val instructionText: String?,
+        val distanceText: String?,
+        val arrivalText: String?,
+        val maneuver: ManeuverKey?,
+        val isFreeDriveMode: Boolean
+    )
+
+    /**
+     * Everything the maneuver bitmap is drawn from.
+     */
+    private data class ManeuverKey(
+        @StepManeuverType val type: String?,
+        val modifier: String?,
+        val drivingSide: String,
+        val roundaboutAngle: Float?
+    )
+
     private inner class NotificationActionReceiver : BroadcastReceiver() {
         override fun onReceive(context: Context?, intent: Intent?) {
             onEndNavigationBtnClick()
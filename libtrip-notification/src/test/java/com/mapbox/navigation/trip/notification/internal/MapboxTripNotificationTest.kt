@@ -8,6 +8,7 @@ import android.content.Intent
 import android.content.pm.PackageManager
 import android.content.res.Configuration
 import android.content.res.Resources
+import android.os.SystemClock
 import android.text.SpannableString
 import android.text.TextUtils
 import android.text.format.DateFormat
@@ -345,6 +346,43 @@ class MapboxTripNotificationTest {
         verify(exactly = 1) { expandedViews.setTextViewText(any(), STOP_SESSION) }
     }
 
+    @Test
+    fun whenUpdateNotificationCalledTwiceWithSameDataThenNotificationIsPostedOnce() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        mockUpdateNotificationAndroidInteractions()
+
+        notification.updateNotification(routeProgress)
+        notification.updateNotification(routeProgress)
+
+        verify(exactly = 1) { NavigationNotificationProvider.buildNotification(any()) }
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+    }
+
+    @Test
+    fun whenUpdateNotificationCalledWithinIntervalThenNotificationIsNotPostedImmediately() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        every { navigationOptions.notificationUpdateIntervalMillis } returns 1000L
+        mockkStatic(SystemClock::class)
+        var elapsedRealtime = 5000L
+        every { SystemClock.elapsedRealtime() } answers { elapsedRealtime }
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        var primaryText = "Primary Text"
+        mockBannerText(routeProgress, { primaryText })
+        mockUpdateNotificationAndroidInteractions()
+
+        notification.updateNotification(routeProgress)
+        elapsedRealtime += 500
+        primaryText = "Changed Primary Text"
+        notification.updateNotification(routeProgress)
+
+        verify(exactly = 2) { NavigationNotificationProvider.buildNotification(any()) }
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+    }
+
     private fun mockUpdateNotificationAndroidInteractions() {
         mockkStatic(TextUtils::class)
         val slot = slot<CharSequence>()